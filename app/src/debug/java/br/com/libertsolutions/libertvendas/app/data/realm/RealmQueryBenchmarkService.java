@@ -0,0 +1,223 @@
+package br.com.libertsolutions.libertvendas.app.data.realm;
+
+import android.app.IntentService;
+import android.content.Intent;
+import android.support.annotation.Nullable;
+import br.com.libertsolutions.libertvendas.app.BuildConfig;
+import br.com.libertsolutions.libertvendas.app.data.company.customer.CustomersByCompanySpecification;
+import br.com.libertsolutions.libertvendas.app.data.customer.CustomerByCustomerIdSpecification;
+import br.com.libertsolutions.libertvendas.app.data.order.OrderByIdSpecification;
+import br.com.libertsolutions.libertvendas.app.data.order.OrderStatusSpecificationFilter;
+import br.com.libertsolutions.libertvendas.app.data.order.OrdersByUserSpecification;
+import br.com.libertsolutions.libertvendas.app.domain.entity.CompanyCustomerEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.CustomerEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.OrderEntity;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.CustomerStatus;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderStatus;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderType;
+import io.realm.DynamicRealm;
+import io.realm.Realm;
+import io.realm.RealmConfiguration;
+import io.realm.RealmObjectSchema;
+import io.realm.RealmSchema;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import rx.functions.Action1;
+import timber.log.Timber;
+
+/**
+ * Debug only benchmark of the hot sync and list queries on a synthetic in-memory database of
+ * {@value #ORDERS} orders and {@value #CUSTOMERS} customers. Each query is timed with the
+ * indexes of the schema and again after dropping them, the median latencies are logged:
+ * <pre>
+ * adb shell am startservice -n br.com.libertsolutions.libertvendas.app.dev/\
+ * br.com.libertsolutions.libertvendas.app.data.realm.RealmQueryBenchmarkService
+ * </pre>
+ *
+ * @author Filipe Bezerra
+ */
+public class RealmQueryBenchmarkService extends IntentService {
+
+    private static final String TAG = RealmQueryBenchmarkService.class.getSimpleName();
+
+    private static final int ORDERS = 50000;
+
+    private static final int CUSTOMERS = 30000;
+
+    private static final int SALESMEN = 10;
+
+    private static final int COMPANIES = 3;
+
+    private static final int WARM_UP_RUNS = 5;
+
+    private static final int MEASURED_RUNS = 51;
+
+    private static final long ONE_YEAR_IN_MILLIS = TimeUnit.DAYS.toMillis(365);
+
+    public RealmQueryBenchmarkService() {
+        super(TAG);
+    }
+
+    @Override protected void onHandleIntent(@Nullable final Intent intent) {
+        final RealmConfiguration configuration = new RealmConfiguration.Builder()
+                .name("benchmark.realm")
+                .inMemory()
+                .schemaVersion(BuildConfig.SCHEMA_VERSION)
+                .build();
+
+        // The in-memory data lives as long as one instance stays open
+        final Realm realm = Realm.getInstance(configuration);
+        try {
+            populate(realm);
+
+            final Map<String, Action1<Realm>> queries = createQueries();
+            final Map<String, Long> indexed = measure(realm, queries);
+            dropIndexes(configuration);
+            final Map<String, Long> unindexed = measure(realm, queries);
+
+            for (String query : queries.keySet()) {
+                final long before = unindexed.get(query);
+                final long after = indexed.get(query);
+                Timber.i("%-32s before %8d us, after %8d us, %6.1fx", query, before, after,
+                        after == 0 ? 0f : (float) before / after);
+            }
+        } finally {
+            realm.close();
+        }
+    }
+
+    private static void populate(final Realm realm) {
+        final Random random = new Random(42);
+        final long now = System.currentTimeMillis();
+        final long startNanos = System.nanoTime();
+
+        realm.beginTransaction();
+        for (int id = 1; id <= CUSTOMERS; id++) {
+            final CustomerEntity customer = realm.copyToRealm(new CustomerEntity()
+                    .withId(id)
+                    .withCustomerId(id)
+                    .withName("Customer " + id)
+                    .withType(1)
+                    .withCpfOrCnpj(String.valueOf(10000000000L + id))
+                    .withStatus(random.nextInt(20) == 0
+                            ? CustomerStatus.STATUS_CREATED : CustomerStatus.STATUS_UNMODIFIED));
+            customer.getCompanies().add(realm.copyToRealm(new CompanyCustomerEntity()
+                    .withId(1 + random.nextInt(COMPANIES), id)));
+        }
+
+        for (int id = 1; id <= ORDERS; id++) {
+            final CustomerEntity customer = realm.where(CustomerEntity.class)
+                    .equalTo(CustomerEntity.Fields.ID, 1 + random.nextInt(CUSTOMERS))
+                    .findFirst();
+            final double total = random.nextInt(100000) / 100d;
+
+            realm.copyToRealm(new OrderEntity()
+                    .withId(id)
+                    .withOrderId(id)
+                    .withType(OrderType.ORDER_TYPE_NORMAL)
+                    .withIssueDate(now - (long) (random.nextDouble() * ONE_YEAR_IN_MILLIS))
+                    .withCustomer(customer)
+                    .withTotalItems(total)
+                    .withTotalOrder(total)
+                    .withSalesmanId(1 + random.nextInt(SALESMEN))
+                    .withCompanyId(1 + random.nextInt(COMPANIES))
+                    .withStatus(randomOrderStatus(random)));
+        }
+        realm.commitTransaction();
+
+        Timber.i("Populated %d orders and %d customers in %d ms", ORDERS, CUSTOMERS,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    private static int randomOrderStatus(final Random random) {
+        final int roll = random.nextInt(100);
+        if (roll < 5) {
+            return OrderStatus.STATUS_CREATED;
+        } else if (roll < 10) {
+            return OrderStatus.STATUS_CANCELLED;
+        } else if (roll < 60) {
+            return OrderStatus.STATUS_INVOICED;
+        } else {
+            return OrderStatus.STATUS_SYNCED;
+        }
+    }
+
+    private static Map<String, Action1<Realm>> createQueries() {
+        final long now = System.currentTimeMillis();
+        final Map<String, Action1<Realm>> queries = new LinkedHashMap<>();
+
+        queries.put("order by orderId", realm ->
+                new OrderByIdSpecification(ORDERS / 2).toSingle(realm));
+        queries.put("orders of user", realm ->
+                new OrdersByUserSpecification(1, 1)
+                        .toRealmResults(realm).size());
+        queries.put("pending orders of user", realm ->
+                new OrdersByUserSpecification(1, 1)
+                        .byStatus(OrderStatusSpecificationFilter.CREATED_OR_MODIFIED)
+                        .toRealmResults(realm).size());
+        queries.put("orders of user in a week", realm ->
+                new OrdersByUserSpecification(1, 1)
+                        .byIssueDate(now - TimeUnit.DAYS.toMillis(7), now)
+                        .toRealmResults(realm).size());
+        queries.put("customer by customerId", realm ->
+                new CustomerByCustomerIdSpecification(CUSTOMERS / 2).toSingle(realm));
+        queries.put("customers of company", realm ->
+                new CustomersByCompanySpecification(1)
+                        .toRealmResults(realm).size());
+        return queries;
+    }
+
+    private static Map<String, Long> measure(
+            final Realm realm, final Map<String, Action1<Realm>> queries) {
+        final Map<String, Long> medians = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Action1<Realm>> query : queries.entrySet()) {
+            for (int i = 0; i < WARM_UP_RUNS; i++) {
+                query.getValue().call(realm);
+            }
+
+            final long[] durations = new long[MEASURED_RUNS];
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                final long startNanos = System.nanoTime();
+                query.getValue().call(realm);
+                durations[i] = System.nanoTime() - startNanos;
+            }
+
+            Arrays.sort(durations);
+            medians.put(query.getKey(),
+                    TimeUnit.NANOSECONDS.toMicros(durations[MEASURED_RUNS / 2]));
+        }
+        return medians;
+    }
+
+    private static void dropIndexes(final RealmConfiguration configuration) {
+        final DynamicRealm realm = DynamicRealm.getInstance(configuration);
+        try {
+            final RealmSchema schema = realm.getSchema();
+            realm.beginTransaction();
+            removeIndexes(schema.get(OrderEntity.class.getSimpleName()),
+                    OrderEntity.Fields.ORDER_ID, OrderEntity.Fields.ISSUE_DATE,
+                    OrderEntity.Fields.SALESMAN_ID, OrderEntity.Fields.COMPANY_ID,
+                    OrderEntity.Fields.STATUS);
+            removeIndexes(schema.get(CustomerEntity.class.getSimpleName()),
+                    CustomerEntity.Fields.CUSTOMER_ID, CustomerEntity.Fields.STATUS);
+            removeIndexes(schema.get(CompanyCustomerEntity.class.getSimpleName()),
+                    CompanyCustomerEntity.Fields.COMPANY_ID,
+                    CompanyCustomerEntity.Fields.CUSTOMER_ID);
+            realm.commitTransaction();
+        } finally {
+            realm.close();
+        }
+    }
+
+    private static void removeIndexes(final RealmObjectSchema schema, final String... fields) {
+        for (String field : fields) {
+            if (schema.hasIndex(field)) {
+                schema.removeIndex(field);
+            }
+        }
+    }
+}
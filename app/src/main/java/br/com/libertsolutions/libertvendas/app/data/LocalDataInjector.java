@@ -19,14 +19,23 @@ import br.com.libertsolutions.libertvendas.app.data.company.pricetable.CompanyPr
 import br.com.libertsolutions.libertvendas.app.data.customer.CustomerRealmMapper;
 import br.com.libertsolutions.libertvendas.app.data.customer.CustomerRealmRepository;
 import br.com.libertsolutions.libertvendas.app.data.customer.CustomerRepository;
+import br.com.libertsolutions.libertvendas.app.data.dailysales.DailySalesRealmMapper;
+import br.com.libertsolutions.libertvendas.app.data.dailysales.DailySalesRealmRepository;
+import br.com.libertsolutions.libertvendas.app.data.dailysales.DailySalesRepository;
 import br.com.libertsolutions.libertvendas.app.data.order.OrderItemRealmMapper;
 import br.com.libertsolutions.libertvendas.app.data.order.OrderRealmMapper;
 import br.com.libertsolutions.libertvendas.app.data.order.OrderRealmRepository;
 import br.com.libertsolutions.libertvendas.app.data.order.OrderRepository;
+import br.com.libertsolutions.libertvendas.app.data.order.OrderSummaryRealmMapper;
+import br.com.libertsolutions.libertvendas.app.data.outbox.OutboxEntryRealmMapper;
+import br.com.libertsolutions.libertvendas.app.data.outbox.OutboxRealmRepository;
+import br.com.libertsolutions.libertvendas.app.data.outbox.OutboxRepository;
 import br.com.libertsolutions.libertvendas.app.data.paymentmethod.PaymentMethodRealmMapper;
 import br.com.libertsolutions.libertvendas.app.data.paymentmethod.PaymentMethodRealmRepository;
 import br.com.libertsolutions.libertvendas.app.data.paymentmethod.PaymentMethodRepository;
 import br.com.libertsolutions.libertvendas.app.data.pricetable.PriceTableItemRealmMapper;
+import br.com.libertsolutions.libertvendas.app.data.pricetable.PriceTableItemRealmRepository;
+import br.com.libertsolutions.libertvendas.app.data.pricetable.PriceTableItemRepository;
 import br.com.libertsolutions.libertvendas.app.data.pricetable.PriceTableRealmMapper;
 import br.com.libertsolutions.libertvendas.app.data.pricetable.PriceTableRealmRepository;
 import br.com.libertsolutions.libertvendas.app.data.pricetable.PriceTableRepository;
@@ -34,32 +43,43 @@ import br.com.libertsolutions.libertvendas.app.data.product.ProductRealmMapper;
 import br.com.libertsolutions.libertvendas.app.data.product.ProductRealmRepository;
 import br.com.libertsolutions.libertvendas.app.data.product.ProductRepository;
 import br.com.libertsolutions.libertvendas.app.data.repository.Mapper;
+import br.com.libertsolutions.libertvendas.app.data.repository.ViewMapper;
+import br.com.libertsolutions.libertvendas.app.data.sync.SyncCheckpointRealmMapper;
+import br.com.libertsolutions.libertvendas.app.data.sync.SyncCheckpointRealmRepository;
+import br.com.libertsolutions.libertvendas.app.data.sync.SyncCheckpointRepository;
 import br.com.libertsolutions.libertvendas.app.domain.entity.CityEntity;
 import br.com.libertsolutions.libertvendas.app.domain.entity.CompanyCustomerEntity;
 import br.com.libertsolutions.libertvendas.app.domain.entity.CompanyEntity;
 import br.com.libertsolutions.libertvendas.app.domain.entity.CompanyPaymentMethodEntity;
 import br.com.libertsolutions.libertvendas.app.domain.entity.CompanyPriceTableEntity;
 import br.com.libertsolutions.libertvendas.app.domain.entity.CustomerEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.DailySalesEntity;
 import br.com.libertsolutions.libertvendas.app.domain.entity.OrderEntity;
 import br.com.libertsolutions.libertvendas.app.domain.entity.OrderItemEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.OutboxEntryEntity;
 import br.com.libertsolutions.libertvendas.app.domain.entity.PaymentMethodEntity;
 import br.com.libertsolutions.libertvendas.app.domain.entity.PriceTableEntity;
 import br.com.libertsolutions.libertvendas.app.domain.entity.PriceTableItemEntity;
 import br.com.libertsolutions.libertvendas.app.domain.entity.ProductEntity;
 import br.com.libertsolutions.libertvendas.app.domain.entity.StateEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.SyncCheckpointEntity;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.City;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.Company;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.CompanyCustomer;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.CompanyPaymentMethod;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.CompanyPriceTable;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.Customer;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.DailySales;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.Order;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderItem;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderSummary;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OutboxEntry;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.PaymentMethod;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.PriceTable;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.PriceTableItem;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.Product;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.State;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.SyncCheckpoint;
 
 /**
  * @author Filipe Bezerra
@@ -164,6 +184,14 @@ public class LocalDataInjector {
         return sOrderMapper;
     }
 
+    private static ViewMapper<OrderSummary, OrderEntity> sOrderSummaryMapper = null;
+    public static ViewMapper<OrderSummary, OrderEntity> orderSummaryMapper() {
+        if (sOrderSummaryMapper == null) {
+            sOrderSummaryMapper = new OrderSummaryRealmMapper();
+        }
+        return sOrderSummaryMapper;
+    }
+
     private static Mapper<OrderItem, OrderItemEntity> sOrderItemMapper = null;
     public static Mapper<OrderItem, OrderItemEntity> orderItemMapper() {
         if (sOrderItemMapper == null) {
@@ -172,6 +200,30 @@ public class LocalDataInjector {
         return sOrderItemMapper;
     }
 
+    private static Mapper<SyncCheckpoint, SyncCheckpointEntity> sSyncCheckpointMapper = null;
+    public static Mapper<SyncCheckpoint, SyncCheckpointEntity> syncCheckpointMapper() {
+        if (sSyncCheckpointMapper == null) {
+            sSyncCheckpointMapper = new SyncCheckpointRealmMapper();
+        }
+        return sSyncCheckpointMapper;
+    }
+
+    private static Mapper<DailySales, DailySalesEntity> sDailySalesMapper = null;
+    public static Mapper<DailySales, DailySalesEntity> dailySalesMapper() {
+        if (sDailySalesMapper == null) {
+            sDailySalesMapper = new DailySalesRealmMapper();
+        }
+        return sDailySalesMapper;
+    }
+
+    private static Mapper<OutboxEntry, OutboxEntryEntity> sOutboxEntryMapper = null;
+    public static Mapper<OutboxEntry, OutboxEntryEntity> outboxEntryMapper() {
+        if (sOutboxEntryMapper == null) {
+            sOutboxEntryMapper = new OutboxEntryRealmMapper();
+        }
+        return sOutboxEntryMapper;
+    }
+
     public static CustomerRepository provideCustomerRepository() {
         return new CustomerRealmRepository();
     }
@@ -184,6 +236,10 @@ public class LocalDataInjector {
         return new PriceTableRealmRepository();
     }
 
+    public static PriceTableItemRepository providePriceTableItemRepository() {
+        return new PriceTableItemRealmRepository();
+    }
+
     public static CityRepository provideCityRepository() {
         return new CityRealmRepository();
     }
@@ -211,4 +267,16 @@ public class LocalDataInjector {
     public static ProductRepository provideProductRepository() {
         return new ProductRealmRepository();
     }
+
+    public static SyncCheckpointRepository provideSyncCheckpointRepository() {
+        return new SyncCheckpointRealmRepository();
+    }
+
+    public static OutboxRepository provideOutboxRepository() {
+        return new OutboxRealmRepository();
+    }
+
+    public static DailySalesRepository provideDailySalesRepository() {
+        return new DailySalesRealmRepository();
+    }
 }
@@ -9,6 +9,9 @@ import br.com.libertsolutions.libertvendas.app.data.pricetable.PriceTableApi;
 import br.com.libertsolutions.libertvendas.app.data.product.ProductApi;
 import br.com.libertsolutions.libertvendas.app.data.salesman.SalesmanApi;
 import br.com.libertsolutions.libertvendas.app.data.sync.SyncApi;
+import java.util.HashMap;
+import java.util.Map;
+import retrofit2.Retrofit;
 
 import static br.com.libertsolutions.libertvendas.app.presentation.PresentationInjector.provideRetrofit;
 
@@ -19,39 +22,62 @@ public class RemoteDataInjector {
 
     private RemoteDataInjector() {/* No instances */}
 
+    private static Retrofit sRetrofit;
+
+    private static final Map<Class<?>, Object> sApis = new HashMap<>();
+
+    /**
+     * Returns the cached proxy of the service, created again only after the shared
+     * {@link Retrofit} is rebuilt.
+     */
+    private static synchronized <T> T provideApi(final Class<T> service) {
+        final Retrofit retrofit = provideRetrofit();
+        if (retrofit != sRetrofit) {
+            sApis.clear();
+            sRetrofit = retrofit;
+        }
+
+        Object api = sApis.get(service);
+        if (api == null) {
+            api = retrofit.create(service);
+            sApis.put(service, api);
+        }
+        return service.cast(api);
+    }
+
     public static SalesmanApi provideSalesmanApi() {
-        return provideRetrofit().create(SalesmanApi.class);
+        return provideApi(SalesmanApi.class);
     }
 
     public static CustomerApi provideCustomerApi() {
-        return provideRetrofit().create(CustomerApi.class);
+        return provideApi(CustomerApi.class);
     }
 
     public static PaymentMethodApi providePaymentMethodApi() {
-        return provideRetrofit().create(PaymentMethodApi.class);
+        return provideApi(PaymentMethodApi.class);
     }
 
     public static PriceTableApi providePriceTableApi() {
-        return provideRetrofit().create(PriceTableApi.class);
+        return provideApi(PriceTableApi.class);
     }
 
     public static CityApi provideCityApi() {
-        return provideRetrofit().create(CityApi.class);
+        return provideApi(CityApi.class);
     }
 
     public static PostalCodeApi providePostalCodeApi() {
-        return provideRetrofit().create(PostalCodeApi.class);
+        return provideApi(PostalCodeApi.class);
     }
 
     public static OrderApi provideOrderApi() {
-        return provideRetrofit().create(OrderApi.class);
+        return provideApi(OrderApi.class);
     }
 
     public static SyncApi provideSyncApi() {
-        return provideRetrofit().create(SyncApi.class);
+        return provideApi(SyncApi.class);
     }
 
     public static ProductApi provideProductApi() {
-        return provideRetrofit().create(ProductApi.class);
+        return provideApi(ProductApi.class);
     }
 }
@@ -3,12 +3,15 @@ package br.com.libertsolutions.libertvendas.app.data.city;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.City;
 import java.util.List;
 import retrofit2.http.GET;
+import retrofit2.http.Headers;
 import rx.Observable;
 
+import static br.com.libertsolutions.libertvendas.app.data.helper.HttpCachePolicy.REVALIDATE;
+
 /**
  * @author Filipe Bezerra
  */
 public interface CityApi {
 
-    @GET("api/cidade/get") Observable<List<City>> get();
+    @Headers(REVALIDATE) @GET("api/cidade/get") Observable<List<City>> get();
 }
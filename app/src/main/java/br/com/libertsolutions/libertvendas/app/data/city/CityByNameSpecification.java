@@ -2,24 +2,46 @@ package br.com.libertsolutions.libertvendas.app.data.city;
 
 import br.com.libertsolutions.libertvendas.app.data.realm.RealmSingleSpecification;
 import br.com.libertsolutions.libertvendas.app.domain.entity.CityEntity;
-import br.com.libertsolutions.libertvendas.app.presentation.util.StringUtils;
-import io.realm.Case;
 import io.realm.Realm;
+import io.realm.RealmQuery;
+
+import static br.com.libertsolutions.libertvendas.app.domain.entity.CityEntity.Fields.SEARCH_NAME;
+import static br.com.libertsolutions.libertvendas.app.domain.entity.CityEntity.Fields.STATE_ID_RELATION;
+import static br.com.libertsolutions.libertvendas.app.presentation.util.StringUtils.foldForSearch;
 
 /**
+ * Finds the city by its folded name, so the names given with or without accents match the
+ * stored ones through the index.
+ *
  * @author Filipe Bezerra
  */
 public class CityByNameSpecification implements RealmSingleSpecification<CityEntity> {
 
     private final String name;
 
+    private Integer stateId = null;
+
     public CityByNameSpecification(final String name) {
-        this.name = StringUtils.removeAccents(name);
+        this.name = foldForSearch(name);
+    }
+
+    /**
+     * Keeps only the city of the state, as cities of different states may have the same name.
+     */
+    public CityByNameSpecification byState(final Integer stateId) {
+        this.stateId = stateId;
+        return this;
     }
 
     @Override public CityEntity toSingle(final Realm realm) {
-        return realm.where(CityEntity.class)
-                .equalTo(CityEntity.Fields.NAME, name, Case.INSENSITIVE)
-                .findFirst();
+        final RealmQuery<CityEntity> query = realm
+                .where(CityEntity.class)
+                .equalTo(SEARCH_NAME, name);
+
+        if (stateId != null) {
+            query.equalTo(STATE_ID_RELATION, stateId);
+        }
+
+        return query.findFirst();
     }
 }
@@ -1,10 +1,14 @@
 package br.com.libertsolutions.libertvendas.app.data.company.customer;
 
+import br.com.libertsolutions.libertvendas.app.data.customer.CustomerByLocalIdSpecification;
 import br.com.libertsolutions.libertvendas.app.data.realm.RealmRepository;
 import br.com.libertsolutions.libertvendas.app.domain.entity.CompanyCustomerEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.CustomerEntity;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.CompanyCustomer;
+import io.realm.Realm;
 
 import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.companyCustomerMapper;
+import static br.com.libertsolutions.libertvendas.app.data.realm.RealmLinks.link;
 
 /**
  * @author Filipe Bezerra
@@ -16,4 +20,12 @@ public class CompanyCustomerRealmRepository
     public CompanyCustomerRealmRepository() {
         super(CompanyCustomerEntity.class, companyCustomerMapper());
     }
+
+    @Override protected void onSaved(final Realm realm, final CompanyCustomerEntity entity) {
+        final CustomerEntity customer
+                = new CustomerByLocalIdSpecification(entity.getCustomerId()).toSingle(realm);
+        if (customer != null) {
+            link(customer.getCompanies(), entity);
+        }
+    }
 }
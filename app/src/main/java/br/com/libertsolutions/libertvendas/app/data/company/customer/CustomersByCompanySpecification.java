@@ -1,31 +1,43 @@
 package br.com.libertsolutions.libertvendas.app.data.company.customer;
 
-import br.com.libertsolutions.libertvendas.app.data.realm.RealmResultsSpecification;
-import br.com.libertsolutions.libertvendas.app.domain.entity.CompanyCustomerEntity;
+import br.com.libertsolutions.libertvendas.app.data.realm.RealmAsyncResultsSpecification;
 import br.com.libertsolutions.libertvendas.app.domain.entity.CustomerEntity;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.CustomerStatus;
 import io.realm.Realm;
 import io.realm.RealmQuery;
 import io.realm.RealmResults;
-import java.util.ArrayList;
-import java.util.List;
 
-import static br.com.libertsolutions.libertvendas.app.domain.entity.CompanyCustomerEntity.Fields.COMPANY_ID;
-import static br.com.libertsolutions.libertvendas.app.domain.entity.CustomerEntity.Fields.ID;
+import static android.text.TextUtils.isEmpty;
+import static br.com.libertsolutions.libertvendas.app.domain.entity.CustomerEntity.Fields.CODE;
+import static br.com.libertsolutions.libertvendas.app.domain.entity.CustomerEntity.Fields.COMPANY_ID;
+import static br.com.libertsolutions.libertvendas.app.domain.entity.CustomerEntity.Fields.CONTACT;
 import static br.com.libertsolutions.libertvendas.app.domain.entity.CustomerEntity.Fields.NAME;
+import static br.com.libertsolutions.libertvendas.app.domain.entity.CustomerEntity.Fields.SEARCH_DOCUMENT;
+import static br.com.libertsolutions.libertvendas.app.domain.entity.CustomerEntity.Fields.SEARCH_NAME;
 import static br.com.libertsolutions.libertvendas.app.domain.entity.CustomerEntity.Fields.STATUS;
+import static br.com.libertsolutions.libertvendas.app.presentation.util.StringUtils.digitsOf;
+import static br.com.libertsolutions.libertvendas.app.presentation.util.StringUtils.foldForSearch;
+import static io.realm.Case.INSENSITIVE;
 import static io.realm.Sort.ASCENDING;
 
 /**
+ * Customers linked to the company, queried through the companies list of the customer.
+ *
  * @author Filipe Bezerra
  */
 public class CustomersByCompanySpecification
-        implements RealmResultsSpecification<CustomerEntity> {
+        implements RealmAsyncResultsSpecification<CustomerEntity> {
+
+    private static final int CNPJ_LENGTH = 14;
+
+    private static final String DOCUMENT_PUNCTUATION = ".-/ ";
 
     private final int mCompanyId;
 
     private int mByStatus = -1;
 
+    private String mByText = null;
+
     public CustomersByCompanySpecification(final int companyId) {
         this.mCompanyId = companyId;
     }
@@ -35,25 +47,71 @@ public class CustomersByCompanySpecification
         return this;
     }
 
+    /**
+     * Keeps only the customers whose name, contact, CPF/CNPJ or code contain the text. The name
+     * is matched without accents through its search column. The CPF/CNPJ is matched by its
+     * digits only when the text is made of digits and CPF/CNPJ punctuation alone.
+     * <p>
+     * Matching a part of a column scans it, its index only serves a whole CNPJ, which is
+     * matched for equality.
+     */
+    public CustomersByCompanySpecification byText(final String text) {
+        mByText = text;
+        return this;
+    }
+
     @Override public RealmResults<CustomerEntity> toRealmResults(final Realm realm) {
-        RealmResults<CompanyCustomerEntity> companyCustomers = realm
-                .where(CompanyCustomerEntity.class)
-                .equalTo(COMPANY_ID, mCompanyId)
-                .findAll();
-
-        List<Integer> customerIds = new ArrayList<>();
-        for (CompanyCustomerEntity customer : companyCustomers) {
-            customerIds.add(customer.getCustomerId());
-        }
+        return createQuery(realm).findAllSorted(NAME, ASCENDING);
+    }
 
+    @Override public RealmResults<CustomerEntity> toRealmResultsAsync(final Realm realm) {
+        return createQuery(realm).findAllSortedAsync(NAME, ASCENDING);
+    }
+
+    private RealmQuery<CustomerEntity> createQuery(final Realm realm) {
         RealmQuery<CustomerEntity> query = realm
                 .where(CustomerEntity.class)
-                .in(ID, customerIds.toArray(new Integer[] { customerIds.size() }));
+                .equalTo(COMPANY_ID, mCompanyId);
 
         if (mByStatus != -1) {
             query.equalTo(STATUS, mByStatus);
         }
 
-        return query.findAllSorted(NAME, ASCENDING);
+        final String name = foldForSearch(mByText);
+        if (!isEmpty(name)) {
+            query.beginGroup()
+                    .contains(SEARCH_NAME, name)
+                    .or()
+                    .contains(CONTACT, mByText.trim(), INSENSITIVE)
+                    .or()
+                    .contains(CODE, mByText.trim(), INSENSITIVE);
+
+            if (isDocument(mByText)) {
+                final String document = digitsOf(mByText);
+                if (document.length() == CNPJ_LENGTH) {
+                    query.or().equalTo(SEARCH_DOCUMENT, document);
+                } else {
+                    query.or().contains(SEARCH_DOCUMENT, document);
+                }
+            }
+            query.endGroup();
+        }
+        return query;
+    }
+
+    /**
+     * Returns whether the text has digits and nothing else than CPF/CNPJ punctuation.
+     */
+    private static boolean isDocument(final String text) {
+        boolean hasDigit = false;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                hasDigit = true;
+            } else if (DOCUMENT_PUNCTUATION.indexOf(c) == -1) {
+                return false;
+            }
+        }
+        return hasDigit;
     }
 }
@@ -1,10 +1,14 @@
 package br.com.libertsolutions.libertvendas.app.data.company.paymentmethod;
 
+import br.com.libertsolutions.libertvendas.app.data.paymentmethod.PaymentMethodByIdSpecification;
 import br.com.libertsolutions.libertvendas.app.data.realm.RealmRepository;
 import br.com.libertsolutions.libertvendas.app.domain.entity.CompanyPaymentMethodEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.PaymentMethodEntity;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.CompanyPaymentMethod;
+import io.realm.Realm;
 
 import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.companyPaymentMethodMapper;
+import static br.com.libertsolutions.libertvendas.app.data.realm.RealmLinks.link;
 
 /**
  * @author Filipe Bezerra
@@ -16,4 +20,12 @@ public class CompanyPaymentMethodRealmRepository
     public CompanyPaymentMethodRealmRepository() {
         super(CompanyPaymentMethodEntity.class, companyPaymentMethodMapper());
     }
+
+    @Override protected void onSaved(final Realm realm, final CompanyPaymentMethodEntity entity) {
+        final PaymentMethodEntity paymentMethod
+                = new PaymentMethodByIdSpecification(entity.getPaymentMethodId()).toSingle(realm);
+        if (paymentMethod != null) {
+            link(paymentMethod.getCompanies(), entity);
+        }
+    }
 }
@@ -1,10 +1,14 @@
 package br.com.libertsolutions.libertvendas.app.data.company.pricetable;
 
+import br.com.libertsolutions.libertvendas.app.data.pricetable.PriceTableByIdSpecification;
 import br.com.libertsolutions.libertvendas.app.data.realm.RealmRepository;
 import br.com.libertsolutions.libertvendas.app.domain.entity.CompanyPriceTableEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.PriceTableEntity;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.CompanyPriceTable;
+import io.realm.Realm;
 
 import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.companyPriceTableMapper;
+import static br.com.libertsolutions.libertvendas.app.data.realm.RealmLinks.link;
 
 /**
  * @author Filipe Bezerra
@@ -16,4 +20,12 @@ public class CompanyPriceTableRealmRepository
     public CompanyPriceTableRealmRepository() {
         super(CompanyPriceTableEntity.class, companyPriceTableMapper());
     }
+
+    @Override protected void onSaved(final Realm realm, final CompanyPriceTableEntity entity) {
+        final PriceTableEntity priceTable
+                = new PriceTableByIdSpecification(entity.getPriceTableId()).toSingle(realm);
+        if (priceTable != null) {
+            link(priceTable.getCompanies(), entity);
+        }
+    }
 }
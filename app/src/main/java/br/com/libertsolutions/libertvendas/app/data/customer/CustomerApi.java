@@ -2,28 +2,35 @@ package br.com.libertsolutions.libertvendas.app.data.customer;
 
 import br.com.libertsolutions.libertvendas.app.domain.pojo.Customer;
 import java.util.List;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
+import retrofit2.http.Headers;
 import retrofit2.http.PATCH;
 import retrofit2.http.POST;
 import retrofit2.http.Query;
+import retrofit2.http.Streaming;
 import rx.Observable;
 
+import static br.com.libertsolutions.libertvendas.app.data.helper.HttpCachePolicy.NO_STORE;
+import static br.com.libertsolutions.libertvendas.app.data.helper.HttpCachePolicy.REVALIDATE;
+
 /**
  * @author Filipe Bezerra
  */
 public interface CustomerApi {
 
-    @GET("api/cliente/get") Observable<List<Customer>> get(@Query("cnpj") String cnpj);
+    @Headers(REVALIDATE) @Streaming @GET("api/cliente/get") Observable<ResponseBody> get(
+            @Query("cnpj") String cnpj);
 
-    @POST("api/cliente/post")
+    @Headers(NO_STORE) @POST("api/cliente/post")
     Call<Customer> createCustomer(@Query("cnpj") String companyCnpj, @Body Customer customer);
 
-    @PATCH("api/cliente/patch")
+    @Headers(NO_STORE) @PATCH("api/cliente/patch")
     Call<List<Customer>> updateCustomers(
             @Query("cnpj") String companyCnpj, @Body List<Customer> customers);
 
-    @GET("api/cliente/get") Call<List<Customer>> getUpdates(
+    @Headers(NO_STORE) @GET("api/cliente/get") Call<List<Customer>> getUpdates(
             @Query("cnpj") String cnpj, @Query("ultimaAtualizacao") String lastUpdateTime);
 }
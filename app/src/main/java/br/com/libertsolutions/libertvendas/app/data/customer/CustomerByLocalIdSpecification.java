@@ -0,0 +1,40 @@
+package br.com.libertsolutions.libertvendas.app.data.customer;
+
+import br.com.libertsolutions.libertvendas.app.data.realm.RealmSingleSpecification;
+import br.com.libertsolutions.libertvendas.app.domain.entity.CustomerEntity;
+import io.realm.Realm;
+import io.realm.RealmQuery;
+
+import static br.com.libertsolutions.libertvendas.app.domain.entity.CustomerEntity.Fields.COMPANY_ID;
+import static br.com.libertsolutions.libertvendas.app.domain.entity.CustomerEntity.Fields.ID;
+
+/**
+ * @author Filipe Bezerra
+ */
+public class CustomerByLocalIdSpecification implements RealmSingleSpecification<CustomerEntity> {
+
+    private final int id;
+
+    private int mOfCompany = -1;
+
+    public CustomerByLocalIdSpecification(final int id) {
+        this.id = id;
+    }
+
+    public CustomerByLocalIdSpecification ofCompany(final int companyId) {
+        mOfCompany = companyId;
+        return this;
+    }
+
+    @Override public CustomerEntity toSingle(final Realm realm) {
+        RealmQuery<CustomerEntity> query = realm
+                .where(CustomerEntity.class)
+                .equalTo(ID, id);
+
+        if (mOfCompany != -1) {
+            query.equalTo(COMPANY_ID, mOfCompany);
+        }
+
+        return query.findFirst();
+    }
+}
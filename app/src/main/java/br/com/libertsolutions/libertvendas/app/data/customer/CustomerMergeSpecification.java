@@ -0,0 +1,50 @@
+package br.com.libertsolutions.libertvendas.app.data.customer;
+
+import br.com.libertsolutions.libertvendas.app.data.dailysales.DailySalesAggregator;
+import br.com.libertsolutions.libertvendas.app.data.realm.BaseRealmMergeSpecification;
+import br.com.libertsolutions.libertvendas.app.domain.entity.CompanyCustomerEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.CustomerEntity;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.Customer;
+import io.realm.Realm;
+import io.realm.RealmList;
+
+import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.customerMapper;
+import static br.com.libertsolutions.libertvendas.app.data.realm.RealmLinks.copyOf;
+import static br.com.libertsolutions.libertvendas.app.data.realm.RealmLinks.link;
+
+/**
+ * @author Filipe Bezerra
+ */
+public class CustomerMergeSpecification
+        extends BaseRealmMergeSpecification<Customer, CustomerEntity> {
+
+    private final int companyId;
+
+    public CustomerMergeSpecification(final int companyId) {
+        this.companyId = companyId;
+    }
+
+    @Override public CustomerEntity findExisting(final Realm realm, final Customer object) {
+        if (object.getCustomerId() == null) {
+            return null;
+        }
+        return new CustomerByCustomerIdSpecification(object.getCustomerId()).toSingle(realm);
+    }
+
+    @Override public CustomerEntity toEntity(
+            final Realm realm, final Customer object, final CustomerEntity existing) {
+        if (existing != null) {
+            DailySalesAggregator.renameCustomer(realm, existing, object.getName());
+            object
+                    .withId(existing.getId())
+                    .withStatus(existing.getStatus());
+        }
+        final CustomerEntity entity = customerMapper().toEntity(object);
+
+        final RealmList<CompanyCustomerEntity> companies
+                = copyOf(existing != null ? existing.getCompanies() : null);
+        link(companies, realm.copyToRealmOrUpdate(
+                new CompanyCustomerEntity().withId(companyId, entity.getId())));
+        return entity.withCompanies(companies);
+    }
+}
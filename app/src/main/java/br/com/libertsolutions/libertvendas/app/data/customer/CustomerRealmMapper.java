@@ -62,4 +62,12 @@ public class CustomerRealmMapper extends RealmMapper<Customer, CustomerEntity> {
                 .withLastChangeTime(entity.getLastChangeTime())
                 .withStatus(entity.getStatus());
     }
+
+    @Override public Object idOf(final Customer object) {
+        return object.getId();
+    }
+
+    @Override public Object entityIdOf(final CustomerEntity entity) {
+        return entity.getId();
+    }
 }
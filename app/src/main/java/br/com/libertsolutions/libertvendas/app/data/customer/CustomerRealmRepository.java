@@ -1,10 +1,16 @@
 package br.com.libertsolutions.libertvendas.app.data.customer;
 
+import br.com.libertsolutions.libertvendas.app.data.dailysales.DailySalesAggregator;
+import br.com.libertsolutions.libertvendas.app.data.outbox.SyncOutbox;
 import br.com.libertsolutions.libertvendas.app.data.realm.RealmRepository;
 import br.com.libertsolutions.libertvendas.app.domain.entity.CustomerEntity;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.Customer;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.CustomerStatus;
+import io.realm.Realm;
 
 import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.customerMapper;
+import static br.com.libertsolutions.libertvendas.app.data.realm.RealmLinks.copyOf;
+import static br.com.libertsolutions.libertvendas.app.domain.pojo.OutboxEntryType.ENTRY_TYPE_CUSTOMER;
 
 /**
  * @author Filipe Bezerra
@@ -15,4 +21,27 @@ public class CustomerRealmRepository extends RealmRepository<Customer, CustomerE
     public CustomerRealmRepository() {
         super(CustomerEntity.class, customerMapper());
     }
+
+    @Override protected CustomerEntity copyToRealmOrUpdate(
+            final Realm realm, final Customer object) {
+        final CustomerEntity entity = customerMapper().toEntity(object);
+        final CustomerEntity existing
+                = new CustomerByLocalIdSpecification(entity.getId()).toSingle(realm);
+
+        if (existing != null) {
+            DailySalesAggregator.renameCustomer(realm, existing, entity.getName());
+            entity.withCompanies(copyOf(existing.getCompanies()));
+        }
+        return realm.copyToRealmOrUpdate(entity);
+    }
+
+    @Override protected void onSaved(final Realm realm, final CustomerEntity entity) {
+        final Integer status = entity.getStatus();
+        if (status != null && (status == CustomerStatus.STATUS_CREATED
+                || status == CustomerStatus.STATUS_MODIFIED)) {
+            SyncOutbox.enqueue(realm, ENTRY_TYPE_CUSTOMER, entity.getId());
+        } else {
+            SyncOutbox.dequeue(realm, ENTRY_TYPE_CUSTOMER, entity.getId());
+        }
+    }
 }
@@ -0,0 +1,101 @@
+package br.com.libertsolutions.libertvendas.app.data.dailysales;
+
+import br.com.libertsolutions.libertvendas.app.domain.entity.CustomerEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.DailySalesEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.OrderEntity;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderStatus;
+import io.realm.Realm;
+import io.realm.RealmObject;
+import io.realm.RealmResults;
+import org.joda.time.LocalDate;
+
+import static br.com.libertsolutions.libertvendas.app.domain.entity.DailySalesEntity.Fields.CUSTOMER_ID;
+import static br.com.libertsolutions.libertvendas.app.domain.entity.DailySalesEntity.Fields.ID;
+import static br.com.libertsolutions.libertvendas.app.presentation.util.CurrencyUtils.round;
+import static br.com.libertsolutions.libertvendas.app.presentation.util.DateUtils.dateToMillis;
+
+/**
+ * Keeps the daily sales up to date, always inside the caller's write transaction. Every change
+ * to an order is applied as {@link #remove(Realm, OrderEntity)} of the stored row before it is
+ * written followed by {@link #add(Realm, OrderEntity)} of the written row. A renamed customer
+ * is applied by {@link #renameCustomer(Realm, CustomerEntity, String)} before it is written.
+ *
+ * @author Filipe Bezerra
+ */
+public final class DailySalesAggregator {
+
+    private DailySalesAggregator() {/* No instances */}
+
+    /**
+     * Returns the local midnight of the day of the given time.
+     */
+    public static long dayOf(final long timeInMillis) {
+        return dateToMillis(new LocalDate(timeInMillis));
+    }
+
+    /**
+     * Whether the order counts as a sale. Cancelled orders are left out.
+     */
+    public static boolean isCounted(final Integer status) {
+        return status != null && status != OrderStatus.STATUS_CANCELLED;
+    }
+
+    public static void add(final Realm realm, final OrderEntity order) {
+        apply(realm, order, 1);
+    }
+
+    public static void remove(final Realm realm, final OrderEntity order) {
+        apply(realm, order, -1);
+    }
+
+    /**
+     * Rewrites the customer name kept by the rows of the stored customer when it changes, as
+     * the rows of past days are not written again by their orders.
+     */
+    public static void renameCustomer(
+            final Realm realm, final CustomerEntity existing, final String name) {
+        if (existing == null
+                || (name == null ? existing.getName() == null : name.equals(existing.getName()))) {
+            return;
+        }
+
+        final RealmResults<DailySalesEntity> rows = realm.where(DailySalesEntity.class)
+                .equalTo(CUSTOMER_ID, existing.getId())
+                .findAll();
+        for (DailySalesEntity row : rows) {
+            row.withCustomerName(name);
+        }
+    }
+
+    private static void apply(final Realm realm, final OrderEntity order, final int sign) {
+        if (order == null || order.getCustomer() == null || !isCounted(order.getStatus())) {
+            return;
+        }
+
+        final CustomerEntity customer = order.getCustomer();
+        final long day = dayOf(order.getIssueDate());
+        DailySalesEntity row = realm.where(DailySalesEntity.class)
+                .equalTo(ID, DailySalesEntity.idOf(order.getSalesmanId(), order.getCompanyId(),
+                        day, customer.getId()))
+                .findFirst();
+
+        if (row == null) {
+            if (sign < 0) {
+                return;
+            }
+            row = realm.copyToRealm(new DailySalesEntity()
+                    .withId(order.getSalesmanId(), order.getCompanyId(), day, customer.getId()));
+        }
+
+        final int orderCount = row.getOrderCount() + sign;
+        if (orderCount <= 0) {
+            RealmObject.deleteFromRealm(row);
+            return;
+        }
+
+        row
+                .withCustomerName(customer.getName())
+                .withOrderCount(orderCount)
+                .withTotal(round(row.getTotal() + sign * order.getTotalOrder()));
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.libertsolutions.libertvendas.app.data.dailysales;
+
+import br.com.libertsolutions.libertvendas.app.data.realm.RealmAsyncResultsSpecification;
+import br.com.libertsolutions.libertvendas.app.domain.entity.DailySalesEntity;
+import io.realm.Realm;
+import io.realm.RealmQuery;
+import io.realm.RealmResults;
+
+import static br.com.libertsolutions.libertvendas.app.domain.entity.DailySalesEntity.Fields.COMPANY_ID;
+import static br.com.libertsolutions.libertvendas.app.domain.entity.DailySalesEntity.Fields.CUSTOMER_NAME;
+import static br.com.libertsolutions.libertvendas.app.domain.entity.DailySalesEntity.Fields.DAY;
+import static br.com.libertsolutions.libertvendas.app.domain.entity.DailySalesEntity.Fields.SALESMAN_ID;
+import static io.realm.Sort.ASCENDING;
+
+/**
+ * Daily sales of the user, sorted by customer name.
+ *
+ * @author Filipe Bezerra
+ */
+public class DailySalesByUserSpecification
+        implements RealmAsyncResultsSpecification<DailySalesEntity> {
+
+    private final int mSalesmanId;
+
+    private final int mCompanyId;
+
+    private long mInitialDay = 0;
+
+    private long mFinalDay = 0;
+
+    public DailySalesByUserSpecification(final int salesmanId, final int companyId) {
+        mSalesmanId = salesmanId;
+        mCompanyId = companyId;
+    }
+
+    /**
+     * Days are stored at the local midnight, so any time within the first and the last day
+     * may be given.
+     */
+    public DailySalesByUserSpecification byDay(final long initialDay, final long finalDay) {
+        mInitialDay = DailySalesAggregator.dayOf(initialDay);
+        mFinalDay = DailySalesAggregator.dayOf(finalDay);
+        return this;
+    }
+
+    @Override public RealmResults<DailySalesEntity> toRealmResults(final Realm realm) {
+        return createQuery(realm).findAllSorted(CUSTOMER_NAME, ASCENDING);
+    }
+
+    @Override public RealmResults<DailySalesEntity> toRealmResultsAsync(final Realm realm) {
+        return createQuery(realm).findAllSortedAsync(CUSTOMER_NAME, ASCENDING);
+    }
+
+    private RealmQuery<DailySalesEntity> createQuery(final Realm realm) {
+        RealmQuery<DailySalesEntity> query = realm
+                .where(DailySalesEntity.class)
+                .equalTo(SALESMAN_ID, mSalesmanId)
+                .equalTo(COMPANY_ID, mCompanyId);
+
+        if (mInitialDay != 0 && mFinalDay != 0) {
+            query.between(DAY, mInitialDay, mFinalDay);
+        }
+        return query;
+    }
+}
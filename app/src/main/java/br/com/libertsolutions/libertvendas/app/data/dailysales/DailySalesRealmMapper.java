@@ -0,0 +1,32 @@
+package br.com.libertsolutions.libertvendas.app.data.dailysales;
+
+import br.com.libertsolutions.libertvendas.app.data.realm.RealmMapper;
+import br.com.libertsolutions.libertvendas.app.domain.entity.DailySalesEntity;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.DailySales;
+
+/**
+ * @author Filipe Bezerra
+ */
+public class DailySalesRealmMapper extends RealmMapper<DailySales, DailySalesEntity> {
+
+    @Override public DailySalesEntity toEntity(final DailySales object) {
+        return new DailySalesEntity()
+                .withId(object.getSalesmanId(), object.getCompanyId(), object.getDay(),
+                        object.getCustomerId())
+                .withCustomerName(object.getCustomerName())
+                .withOrderCount(object.getOrderCount())
+                .withTotal(object.getTotal());
+    }
+
+    @Override public DailySales toViewObject(final DailySalesEntity entity) {
+        return new DailySales()
+                .withId(entity.getId())
+                .withSalesmanId(entity.getSalesmanId())
+                .withCompanyId(entity.getCompanyId())
+                .withDay(entity.getDay())
+                .withCustomerId(entity.getCustomerId())
+                .withCustomerName(entity.getCustomerName())
+                .withOrderCount(entity.getOrderCount())
+                .withTotal(entity.getTotal());
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.libertsolutions.libertvendas.app.data.dailysales;
+
+import br.com.libertsolutions.libertvendas.app.data.realm.RealmRepository;
+import br.com.libertsolutions.libertvendas.app.domain.entity.DailySalesEntity;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.DailySales;
+
+import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.dailySalesMapper;
+
+/**
+ * @author Filipe Bezerra
+ */
+public class DailySalesRealmRepository extends RealmRepository<DailySales, DailySalesEntity>
+        implements DailySalesRepository {
+
+    public DailySalesRealmRepository() {
+        super(DailySalesEntity.class, dailySalesMapper());
+    }
+}
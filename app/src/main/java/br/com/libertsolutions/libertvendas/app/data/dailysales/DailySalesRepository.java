@@ -0,0 +1,12 @@
+package br.com.libertsolutions.libertvendas.app.data.dailysales;
+
+import br.com.libertsolutions.libertvendas.app.data.repository.Repository;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.DailySales;
+
+/**
+ * Read side of the daily sales, the rows are written only by {@link DailySalesAggregator}.
+ *
+ * @author Filipe Bezerra
+ */
+public interface DailySalesRepository extends Repository<DailySales> {
+}
@@ -0,0 +1,100 @@
+package br.com.libertsolutions.libertvendas.app.data.helper;
+
+import java.net.HttpURLConnection;
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Cache policies declared per endpoint with {@code @Headers}. The policy header is only read by
+ * the interceptors below and never reaches the server.
+ *
+ * @author Filipe Bezerra
+ */
+public final class HttpCachePolicy {
+
+    private HttpCachePolicy() {/* No instances */}
+
+    public static final String HEADER = "X-Cache-Policy";
+
+    /**
+     * Writes, delta feeds and anything that must be live: never stored nor served from cache.
+     */
+    public static final String NO_STORE = HEADER + ": no-store";
+
+    /**
+     * Reference data: stored and revalidated on every use with ETag or If-Modified-Since, so an
+     * unchanged payload costs a 304.
+     */
+    public static final String REVALIDATE = HEADER + ": revalidate";
+
+    private static final String NO_STORE_VALUE = "no-store";
+
+    private static final String REVALIDATE_VALUE = "revalidate";
+
+    private static final String CACHE_CONTROL = "Cache-Control";
+
+    private static final CacheControl ALWAYS_REVALIDATE = new CacheControl.Builder()
+            .noCache()
+            .build();
+
+    private static final CacheControl BYPASS_CACHE = new CacheControl.Builder()
+            .noCache()
+            .noStore()
+            .build();
+
+    /**
+     * Application interceptor keeping the calls declared as {@link #NO_STORE} away from the
+     * cache.
+     */
+    public static Interceptor requestInterceptor() {
+        return chain -> {
+            final Request request = chain.request();
+
+            if (NO_STORE_VALUE.equals(request.header(HEADER))) {
+                return chain.proceed(request
+                        .newBuilder()
+                        .cacheControl(BYPASS_CACHE)
+                        .build());
+            }
+            return chain.proceed(request);
+        };
+    }
+
+    /**
+     * Network interceptor removing the policy header and marking the responses of the calls
+     * declared as {@link #REVALIDATE} to be stored and always revalidated.
+     */
+    public static Interceptor responseInterceptor() {
+        return chain -> {
+            final Request request = chain.request();
+            final String policy = request.header(HEADER);
+
+            if (policy == null) {
+                return chain.proceed(request);
+            }
+
+            final Response response = chain.proceed(request
+                    .newBuilder()
+                    .removeHeader(HEADER)
+                    .build());
+
+            if (!REVALIDATE_VALUE.equals(policy)) {
+                return response;
+            }
+
+            // Without a validator the payload could only be downloaded again, not revalidated
+            final boolean revalidable = response.code() == HttpURLConnection.HTTP_NOT_MODIFIED
+                    || response.header("ETag") != null
+                    || response.header("Last-Modified") != null;
+
+            return response
+                    .newBuilder()
+                    .removeHeader("Pragma")
+                    .header(CACHE_CONTROL, revalidable
+                            ? ALWAYS_REVALIDATE.toString() : BYPASS_CACHE.toString())
+                    .build();
+        };
+    }
+}
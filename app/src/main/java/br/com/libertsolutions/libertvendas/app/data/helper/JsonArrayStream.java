@@ -0,0 +1,92 @@
+package br.com.libertsolutions.libertvendas.app.data.helper;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import okhttp3.ResponseBody;
+
+import static br.com.libertsolutions.libertvendas.app.presentation.PresentationInjector.provideGson;
+
+/**
+ * Reads the elements of a JSON array response one at a time, so the whole array never has
+ * to be held in memory.
+ *
+ * @author Filipe Bezerra
+ */
+public final class JsonArrayStream<T> implements Iterator<T>, Closeable {
+
+    private final JsonReader reader;
+
+    private final TypeAdapter<T> adapter;
+
+    private boolean started;
+
+    private boolean finished;
+
+    private JsonArrayStream(final ResponseBody body, final TypeAdapter<T> adapter) {
+        this.reader = new JsonReader(body.charStream());
+        this.adapter = adapter;
+    }
+
+    public static <T> JsonArrayStream<T> of(final ResponseBody body, final Class<T> type) {
+        return new JsonArrayStream<>(body, provideGson().getAdapter(type));
+    }
+
+    @Override public boolean hasNext() {
+        if (finished) {
+            return false;
+        }
+
+        try {
+            if (!started) {
+                started = true;
+                if (reader.peek() == JsonToken.NULL) {
+                    finished = true;
+                    return false;
+                }
+                reader.beginArray();
+            }
+
+            if (reader.hasNext()) {
+                return true;
+            }
+
+            reader.endArray();
+            finished = true;
+            return false;
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    @Override public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        try {
+            return adapter.read(reader);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    @Override public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override public void close() throws IOException {
+        reader.close();
+    }
+
+    public void closeQuietly() {
+        try {
+            close();
+        } catch (IOException ignored) {}
+    }
+}
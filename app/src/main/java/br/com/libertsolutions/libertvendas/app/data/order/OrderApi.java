@@ -5,19 +5,22 @@ import java.util.List;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
+import retrofit2.http.Headers;
 import retrofit2.http.POST;
 import retrofit2.http.Query;
 
+import static br.com.libertsolutions.libertvendas.app.data.helper.HttpCachePolicy.NO_STORE;
+
 /**
  * @author Filipe Bezerra
  */
 public interface OrderApi {
 
-    @POST("api/pedido/post") Call<OrderDto> createOrder(
+    @Headers(NO_STORE) @POST("api/pedido/post") Call<OrderDto> createOrder(
             @Query("cnpj") String companyCnpj,
             @Query("cpfCnpj") String salesmanCpfOrCnpj, @Body OrderDto order);
 
-    @GET("api/pedido/get") Call<List<OrderDto>> getUpdates(
+    @Headers(NO_STORE) @GET("api/pedido/get") Call<List<OrderDto>> getUpdates(
             @Query("cnpj") String companyCnpj,
             @Query("cpfCnpj") String salesmanCpfOrCnpj,
             @Query("ultimaAtualizacao") String lastUpdateTime);
@@ -0,0 +1,25 @@
+package br.com.libertsolutions.libertvendas.app.data.order;
+
+import br.com.libertsolutions.libertvendas.app.data.realm.RealmSingleSpecification;
+import br.com.libertsolutions.libertvendas.app.domain.entity.OrderEntity;
+import io.realm.Realm;
+
+import static br.com.libertsolutions.libertvendas.app.domain.entity.OrderEntity.Fields.ID;
+
+/**
+ * @author Filipe Bezerra
+ */
+public class OrderByLocalIdSpecification implements RealmSingleSpecification<OrderEntity> {
+
+    private final int id;
+
+    public OrderByLocalIdSpecification(final int id) {
+        this.id = id;
+    }
+
+    @Override public OrderEntity toSingle(final Realm realm) {
+        return realm.where(OrderEntity.class)
+                .equalTo(ID, id)
+                .findFirst();
+    }
+}
@@ -11,11 +11,13 @@ import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.pri
  */
 public class OrderItemRealmMapper extends RealmMapper<OrderItem, OrderItemEntity> {
 
+    /**
+     * Maps the item only, the price table item is linked by {@link OrderRealmRepository}.
+     */
     @Override public OrderItemEntity toEntity(final OrderItem object) {
         return new OrderItemEntity()
                 .withId(object.getId())
                 .withOrderItemId(object.getOrderItemId())
-                .withItem(priceTableItemMapper().toEntity(object.getItem()))
                 .withQuantity(object.getQuantity())
                 .withSubTotal(object.getSubTotal())
                 .withLastChangeTime(object.getLastChangeTime());
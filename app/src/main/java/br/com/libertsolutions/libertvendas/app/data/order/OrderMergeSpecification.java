@@ -0,0 +1,46 @@
+package br.com.libertsolutions.libertvendas.app.data.order;
+
+import br.com.libertsolutions.libertvendas.app.data.dailysales.DailySalesAggregator;
+import br.com.libertsolutions.libertvendas.app.data.realm.BaseRealmMergeSpecification;
+import br.com.libertsolutions.libertvendas.app.domain.dto.OrderDto;
+import br.com.libertsolutions.libertvendas.app.domain.entity.OrderEntity;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderStatus;
+import io.realm.Realm;
+
+/**
+ * Applies order updates from the server to the orders already stored. Unknown orders are
+ * skipped.
+ *
+ * @author Filipe Bezerra
+ */
+public class OrderMergeSpecification
+        extends BaseRealmMergeSpecification<OrderDto, OrderEntity> {
+
+    @Override public OrderEntity findExisting(final Realm realm, final OrderDto object) {
+        return new OrderByIdSpecification(object.orderId).toSingle(realm);
+    }
+
+    @Override public OrderEntity toEntity(
+            final Realm realm, final OrderDto object, final OrderEntity existing) {
+        if (existing == null) {
+            return null;
+        }
+
+        DailySalesAggregator.remove(realm, existing);
+
+        switch (object.status) {
+            case OrderStatus.STATUS_CANCELLED: {
+                existing.withStatus(OrderStatus.STATUS_CANCELLED);
+                break;
+            }
+            case OrderStatus.STATUS_INVOICED: {
+                existing.withStatus(OrderStatus.STATUS_INVOICED);
+                break;
+            }
+        }
+        existing.withLastChangeTime(object.lastChangeTime);
+
+        DailySalesAggregator.add(realm, existing);
+        return existing;
+    }
+}
@@ -15,6 +15,11 @@ import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.pri
  * @author Filipe Bezerra
  */
 public class OrderRealmMapper extends RealmMapper<Order, OrderEntity> {
+
+    /**
+     * Maps the order and its items only. The customer, payment method, price table and price
+     * table items are linked to their existing rows by {@link OrderRealmRepository}.
+     */
     @Override public OrderEntity toEntity(final Order object) {
         return new OrderEntity()
                 .withId(object.getId())
@@ -24,11 +29,10 @@ public class OrderRealmMapper extends RealmMapper<Order, OrderEntity> {
                 .withDiscount(object.getDiscount())
                 .withDiscountPercentage(object.getDiscountPercentage())
                 .withObservation(object.getObservation())
-                .withCustomer(customerMapper().toEntity(object.getCustomer()))
-                .withPaymentMethod(paymentMethodMapper().toEntity(object.getPaymentMethod()))
-                .withPriceTable(priceTableMapper().toEntity(object.getPriceTable()))
                 .withItems((RealmList<OrderItemEntity>) orderItemMapper()
                         .toEntities(object.getItems()))
+                .withTotalItems(object.getTotalItems())
+                .withTotalOrder(object.getTotalOrder())
                 .withLastChangeTime(object.getLastChangeTime())
                 .withSalesmanId(object.getSalesmanId())
                 .withCompanyId(object.getCompanyId())
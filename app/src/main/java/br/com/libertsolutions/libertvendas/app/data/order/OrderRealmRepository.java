@@ -1,10 +1,38 @@
 package br.com.libertsolutions.libertvendas.app.data.order;
 
+import br.com.libertsolutions.libertvendas.app.data.dailysales.DailySalesAggregator;
+import br.com.libertsolutions.libertvendas.app.data.outbox.SyncOutbox;
 import br.com.libertsolutions.libertvendas.app.data.realm.RealmRepository;
+import br.com.libertsolutions.libertvendas.app.data.repository.PagedList;
+import br.com.libertsolutions.libertvendas.app.data.repository.Specification;
+import br.com.libertsolutions.libertvendas.app.domain.entity.CustomerEntity;
 import br.com.libertsolutions.libertvendas.app.domain.entity.OrderEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.OrderItemEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.PaymentMethodEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.PriceTableEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.PriceTableItemEntity;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.Customer;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.Order;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderItem;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderStatus;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderSummary;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.PaymentMethod;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.PriceTable;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.PriceTableItem;
+import io.realm.Realm;
+import io.realm.RealmObject;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import rx.Observable;
 
+import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.customerMapper;
 import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.orderMapper;
+import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.orderSummaryMapper;
+import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.paymentMethodMapper;
+import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.priceTableItemMapper;
+import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.priceTableMapper;
+import static br.com.libertsolutions.libertvendas.app.domain.pojo.OutboxEntryType.ENTRY_TYPE_ORDER;
 
 /**
  * @author Filipe Bezerra
@@ -15,4 +43,122 @@ public class OrderRealmRepository extends RealmRepository<Order, OrderEntity>
     public OrderRealmRepository() {
         super(OrderEntity.class, orderMapper());
     }
+
+    /**
+     * Writes only the order and its items, linking everything else to the rows already stored
+     * by primary key. Saving an order no longer rewrites its whole price table.
+     */
+    @Override protected OrderEntity copyToRealmOrUpdate(final Realm realm, final Order object) {
+        final OrderEntity entity = orderMapper().toEntity(object)
+                .withCustomer(linkCustomer(realm, object.getCustomer()))
+                .withPaymentMethod(linkPaymentMethod(realm, object.getPaymentMethod()))
+                .withPriceTable(linkPriceTable(realm, object.getPriceTable()));
+
+        final List<OrderItem> items = object.getItems();
+        final Set<Integer> itemIds = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            final OrderItemEntity item = entity.getItems().get(i);
+            item.withItem(linkPriceTableItem(realm, items.get(i).getItem()));
+            itemIds.add(item.getId());
+        }
+
+        final OrderEntity existing = realm.where(OrderEntity.class)
+                .equalTo(OrderEntity.Fields.ID, entity.getId())
+                .findFirst();
+
+        if (existing != null) {
+            DailySalesAggregator.remove(realm, existing);
+            deleteRemovedItems(existing, itemIds);
+        }
+
+        final OrderEntity savedEntity = realm.copyToRealmOrUpdate(entity);
+        DailySalesAggregator.add(realm, savedEntity);
+        return savedEntity;
+    }
+
+    @Override public Observable<List<OrderSummary>> querySummaries(
+            final Specification specification) {
+        return query(specification, orderSummaryMapper());
+    }
+
+    @Override public Observable<PagedList<OrderSummary>> queryPagedSummaries(
+            final Specification specification) {
+        return queryPaged(specification, orderSummaryMapper());
+    }
+
+    @Override public Observable<Double> sumTotalOrder(final Specification specification) {
+        return sum(specification, OrderEntity.Fields.TOTAL_ORDER);
+    }
+
+    @Override protected void onSaved(final Realm realm, final OrderEntity entity) {
+        final Integer status = entity.getStatus();
+        if (status != null && (status == OrderStatus.STATUS_CREATED
+                || status == OrderStatus.STATUS_MODIFIED)) {
+            SyncOutbox.enqueue(realm, ENTRY_TYPE_ORDER, entity.getId());
+        } else {
+            SyncOutbox.dequeue(realm, ENTRY_TYPE_ORDER, entity.getId());
+        }
+    }
+
+    private static void deleteRemovedItems(
+            final OrderEntity existing, final Set<Integer> itemIds) {
+        for (int i = existing.getItems().size() - 1; i >= 0; i--) {
+            final OrderItemEntity item = existing.getItems().get(i);
+            if (!itemIds.contains(item.getId())) {
+                RealmObject.deleteFromRealm(item);
+            }
+        }
+    }
+
+    private static CustomerEntity linkCustomer(final Realm realm, final Customer customer) {
+        if (customer == null) {
+            return null;
+        }
+
+        final CustomerEntity entity = realm.where(CustomerEntity.class)
+                .equalTo(CustomerEntity.Fields.ID, customer.getId())
+                .findFirst();
+        return entity != null
+                ? entity : realm.copyToRealmOrUpdate(customerMapper().toEntity(customer));
+    }
+
+    private static PaymentMethodEntity linkPaymentMethod(
+            final Realm realm, final PaymentMethod paymentMethod) {
+        if (paymentMethod == null) {
+            return null;
+        }
+
+        final PaymentMethodEntity entity = realm.where(PaymentMethodEntity.class)
+                .equalTo(PaymentMethodEntity.Fields.PAYMENT_METHOD_ID,
+                        paymentMethod.getPaymentMethodId())
+                .findFirst();
+        return entity != null
+                ? entity : realm.copyToRealmOrUpdate(paymentMethodMapper().toEntity(paymentMethod));
+    }
+
+    private static PriceTableEntity linkPriceTable(
+            final Realm realm, final PriceTable priceTable) {
+        if (priceTable == null) {
+            return null;
+        }
+
+        final PriceTableEntity entity = realm.where(PriceTableEntity.class)
+                .equalTo(PriceTableEntity.Fields.PRICE_TABLE_ID, priceTable.getPriceTableId())
+                .findFirst();
+        return entity != null
+                ? entity : realm.copyToRealmOrUpdate(priceTableMapper().toEntity(priceTable));
+    }
+
+    private static PriceTableItemEntity linkPriceTableItem(
+            final Realm realm, final PriceTableItem priceTableItem) {
+        if (priceTableItem == null) {
+            return null;
+        }
+
+        final PriceTableItemEntity entity = realm.where(PriceTableItemEntity.class)
+                .equalTo(PriceTableItemEntity.Fields.ITEM_ID, priceTableItem.getItemId())
+                .findFirst();
+        return entity != null ? entity
+                : realm.copyToRealmOrUpdate(priceTableItemMapper().toEntity(priceTableItem));
+    }
 }
@@ -1,10 +1,31 @@
 package br.com.libertsolutions.libertvendas.app.data.order;
 
+import br.com.libertsolutions.libertvendas.app.data.repository.PagedList;
 import br.com.libertsolutions.libertvendas.app.data.repository.Repository;
+import br.com.libertsolutions.libertvendas.app.data.repository.Specification;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.Order;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderSummary;
+import java.util.List;
+import rx.Observable;
 
 /**
  * @author Filipe Bezerra
  */
 public interface OrderRepository extends Repository<Order> {
+
+    /**
+     * Queries the orders matched by the specification as {@link OrderSummary}, without loading
+     * their customers, items and price tables.
+     */
+    Observable<List<OrderSummary>> querySummaries(Specification specification);
+
+    /**
+     * Same as {@link #querySummaries(Specification)} as a {@link PagedList}.
+     */
+    Observable<PagedList<OrderSummary>> queryPagedSummaries(Specification specification);
+
+    /**
+     * Sums the total of the orders matched by the specification without loading them.
+     */
+    Observable<Double> sumTotalOrder(Specification specification);
 }
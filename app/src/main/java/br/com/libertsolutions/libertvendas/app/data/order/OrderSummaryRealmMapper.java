@@ -0,0 +1,35 @@
+package br.com.libertsolutions.libertvendas.app.data.order;
+
+import br.com.libertsolutions.libertvendas.app.data.realm.RealmViewMapper;
+import br.com.libertsolutions.libertvendas.app.domain.entity.CustomerEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.OrderEntity;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderSummary;
+
+/**
+ * Reads only the columns of {@link OrderSummary}, never touching the items nor the price table
+ * of the order.
+ *
+ * @author Filipe Bezerra
+ */
+public class OrderSummaryRealmMapper extends RealmViewMapper<OrderSummary, OrderEntity> {
+
+    @Override public OrderSummary toViewObject(final OrderEntity entity) {
+        final CustomerEntity customer = entity.getCustomer();
+
+        return new OrderSummary()
+                .withId(entity.getId())
+                .withOrderId(entity.getOrderId())
+                .withCustomerName(customer != null ? customer.getName() : null)
+                .withIssueDate(entity.getIssueDate())
+                .withStatus(entity.getStatus())
+                .withTotalOrder(entity.getTotalOrder());
+    }
+
+    @Override public Object idOf(final OrderSummary object) {
+        return object.getId();
+    }
+
+    @Override public Object entityIdOf(final OrderEntity entity) {
+        return entity.getId();
+    }
+}
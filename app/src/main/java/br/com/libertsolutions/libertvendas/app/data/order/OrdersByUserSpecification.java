@@ -1,11 +1,12 @@
 package br.com.libertsolutions.libertvendas.app.data.order;
 
-import br.com.libertsolutions.libertvendas.app.data.realm.RealmResultsSpecification;
+import br.com.libertsolutions.libertvendas.app.data.realm.RealmAsyncResultsSpecification;
 import br.com.libertsolutions.libertvendas.app.domain.entity.OrderEntity;
 import io.realm.Realm;
 import io.realm.RealmQuery;
 import io.realm.RealmResults;
 
+import static android.text.TextUtils.isEmpty;
 import static br.com.libertsolutions.libertvendas.app.domain.entity.OrderEntity.Fields.COMPANY_ID;
 import static br.com.libertsolutions.libertvendas.app.domain.entity.OrderEntity.Fields.CUSTOMER_NAME;
 import static br.com.libertsolutions.libertvendas.app.domain.entity.OrderEntity.Fields.ISSUE_DATE;
@@ -16,13 +17,14 @@ import static br.com.libertsolutions.libertvendas.app.domain.pojo.OrderStatus.ST
 import static br.com.libertsolutions.libertvendas.app.domain.pojo.OrderStatus.STATUS_INVOICED;
 import static br.com.libertsolutions.libertvendas.app.domain.pojo.OrderStatus.STATUS_MODIFIED;
 import static br.com.libertsolutions.libertvendas.app.domain.pojo.OrderStatus.STATUS_SYNCED;
+import static io.realm.Case.INSENSITIVE;
 import static io.realm.Sort.ASCENDING;
 import static io.realm.Sort.DESCENDING;
 
 /**
  * @author Filipe Bezerra
  */
-public class OrdersByUserSpecification implements RealmResultsSpecification<OrderEntity> {
+public class OrdersByUserSpecification implements RealmAsyncResultsSpecification<OrderEntity> {
 
     private final int mSalesmanId;
 
@@ -38,6 +40,8 @@ public class OrdersByUserSpecification implements RealmResultsSpecification<Orde
 
     private int status = OrderStatusSpecificationFilter.NONE;
 
+    private String mCustomerName = null;
+
     public OrdersByUserSpecification(final int salesmanId, final int companyId) {
         mSalesmanId = salesmanId;
         mCompanyId = companyId;
@@ -55,6 +59,14 @@ public class OrdersByUserSpecification implements RealmResultsSpecification<Orde
         return this;
     }
 
+    /**
+     * Keeps only the orders whose customer name contains the text.
+     */
+    public OrdersByUserSpecification byCustomerName(final String customerName) {
+        mCustomerName = customerName;
+        return this;
+    }
+
     public OrdersByUserSpecification orderByIssueDate() {
         mOrderedByIssueDate = true;
         mOrderedByCustomerName = false;
@@ -68,6 +80,14 @@ public class OrdersByUserSpecification implements RealmResultsSpecification<Orde
     }
 
     @Override public RealmResults<OrderEntity> toRealmResults(final Realm realm) {
+        return findAll(createFilteredQuery(realm), false);
+    }
+
+    @Override public RealmResults<OrderEntity> toRealmResultsAsync(final Realm realm) {
+        return findAll(createFilteredQuery(realm), true);
+    }
+
+    private RealmQuery<OrderEntity> createFilteredQuery(final Realm realm) {
         RealmQuery<OrderEntity> query = createQuery(realm);
 
         switch (status) {
@@ -95,7 +115,10 @@ public class OrdersByUserSpecification implements RealmResultsSpecification<Orde
 
         ifByIssueDate(query);
 
-        return findAll(query);
+        if (!isEmpty(mCustomerName)) {
+            query.contains(CUSTOMER_NAME, mCustomerName, INSENSITIVE);
+        }
+        return query;
     }
 
     private RealmQuery<OrderEntity> createQuery(final Realm realm) {
@@ -113,13 +136,17 @@ public class OrdersByUserSpecification implements RealmResultsSpecification<Orde
         }
     }
 
-    private RealmResults<OrderEntity> findAll(RealmQuery<OrderEntity> query) {
+    private RealmResults<OrderEntity> findAll(RealmQuery<OrderEntity> query, boolean async) {
         if (mOrderedByIssueDate) {
-            return query.findAllSorted(ISSUE_DATE, DESCENDING);
+            return async
+                    ? query.findAllSortedAsync(ISSUE_DATE, DESCENDING)
+                    : query.findAllSorted(ISSUE_DATE, DESCENDING);
         } else if (mOrderedByCustomerName) {
-            return query.findAllSorted(CUSTOMER_NAME, ASCENDING);
+            return async
+                    ? query.findAllSortedAsync(CUSTOMER_NAME, ASCENDING)
+                    : query.findAllSorted(CUSTOMER_NAME, ASCENDING);
         } else {
-            return query.findAll();
+            return async ? query.findAllAsync() : query.findAll();
         }
     }
 }
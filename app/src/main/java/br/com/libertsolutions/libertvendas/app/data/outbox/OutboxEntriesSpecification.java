@@ -0,0 +1,62 @@
+package br.com.libertsolutions.libertvendas.app.data.outbox;
+
+import br.com.libertsolutions.libertvendas.app.data.realm.RealmResultsSpecification;
+import br.com.libertsolutions.libertvendas.app.domain.entity.OutboxEntryEntity;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OutboxEntryType;
+import io.realm.Realm;
+import io.realm.RealmQuery;
+import io.realm.RealmResults;
+
+import static br.com.libertsolutions.libertvendas.app.domain.entity.OutboxEntryEntity.Fields.ENTITY_ID;
+import static br.com.libertsolutions.libertvendas.app.domain.entity.OutboxEntryEntity.Fields.NEXT_ATTEMPT_TIME;
+import static br.com.libertsolutions.libertvendas.app.domain.entity.OutboxEntryEntity.Fields.SEQUENCE;
+import static br.com.libertsolutions.libertvendas.app.domain.entity.OutboxEntryEntity.Fields.TYPE;
+import static io.realm.Sort.ASCENDING;
+
+/**
+ * Outbox entries in FIFO order.
+ *
+ * @author Filipe Bezerra
+ */
+public class OutboxEntriesSpecification
+        implements RealmResultsSpecification<OutboxEntryEntity> {
+
+    private long mDueAt = -1;
+
+    private int mByType = -1;
+
+    private Integer[] mByEntityIds;
+
+    public OutboxEntriesSpecification dueAt(final long timeInMillis) {
+        mDueAt = timeInMillis;
+        return this;
+    }
+
+    public OutboxEntriesSpecification byType(@OutboxEntryType final int type) {
+        mByType = type;
+        return this;
+    }
+
+    public OutboxEntriesSpecification byEntityIds(final Integer[] entityIds) {
+        mByEntityIds = entityIds;
+        return this;
+    }
+
+    @Override public RealmResults<OutboxEntryEntity> toRealmResults(final Realm realm) {
+        RealmQuery<OutboxEntryEntity> query = realm.where(OutboxEntryEntity.class);
+
+        if (mDueAt != -1) {
+            query.lessThanOrEqualTo(NEXT_ATTEMPT_TIME, mDueAt);
+        }
+
+        if (mByType != -1) {
+            query.equalTo(TYPE, mByType);
+        }
+
+        if (mByEntityIds != null) {
+            query.in(ENTITY_ID, mByEntityIds);
+        }
+
+        return query.findAllSorted(SEQUENCE, ASCENDING);
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.libertsolutions.libertvendas.app.data.outbox;
+
+import br.com.libertsolutions.libertvendas.app.data.realm.RealmMapper;
+import br.com.libertsolutions.libertvendas.app.domain.entity.OutboxEntryEntity;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OutboxEntry;
+
+/**
+ * @author Filipe Bezerra
+ */
+public class OutboxEntryRealmMapper extends RealmMapper<OutboxEntry, OutboxEntryEntity> {
+
+    @Override public OutboxEntryEntity toEntity(final OutboxEntry object) {
+        return new OutboxEntryEntity()
+                .withId(object.getType(), object.getEntityId())
+                .withSequence(object.getSequence())
+                .withAttempts(object.getAttempts())
+                .withNextAttemptTime(object.getNextAttemptTime())
+                .withLastError(object.getLastError());
+    }
+
+    @Override public OutboxEntry toViewObject(final OutboxEntryEntity entity) {
+        return new OutboxEntry()
+                .withId(entity.getId())
+                .withType(entity.getType())
+                .withEntityId(entity.getEntityId())
+                .withSequence(entity.getSequence())
+                .withAttempts(entity.getAttempts())
+                .withNextAttemptTime(entity.getNextAttemptTime())
+                .withLastError(entity.getLastError());
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.libertsolutions.libertvendas.app.data.outbox;
+
+import br.com.libertsolutions.libertvendas.app.data.realm.RealmObservable;
+import br.com.libertsolutions.libertvendas.app.data.realm.RealmRepository;
+import br.com.libertsolutions.libertvendas.app.domain.entity.OutboxEntryEntity;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OutboxEntry;
+import rx.Observable;
+
+import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.outboxEntryMapper;
+
+/**
+ * @author Filipe Bezerra
+ */
+public class OutboxRealmRepository extends RealmRepository<OutboxEntry, OutboxEntryEntity>
+        implements OutboxRepository {
+
+    private static final long BASE_BACKOFF_IN_MILLIS = 30 * 1000;
+
+    private static final long MAX_BACKOFF_IN_MILLIS = 60 * 60 * 1000;
+
+    public OutboxRealmRepository() {
+        super(OutboxEntryEntity.class, outboxEntryMapper());
+    }
+
+    /**
+     * Counts a failed attempt, postponing the entry with exponential backoff so it does not
+     * hold back the entries queued after it.
+     */
+    @Override public Observable<OutboxEntry> recordFailure(
+            final OutboxEntry entry, final String error) {
+        final int attempts = entry.getAttempts() + 1;
+        final long backoff = Math.min(
+                BASE_BACKOFF_IN_MILLIS << Math.min(attempts - 1, 16), MAX_BACKOFF_IN_MILLIS);
+
+        return save(entry
+                .withAttempts(attempts)
+                .withNextAttemptTime(System.currentTimeMillis() + backoff)
+                .withLastError(error));
+    }
+
+    @Override public Observable<Boolean> discard(final OutboxEntry entry) {
+        return RealmObservable
+                .transaction(realm -> {
+                    SyncOutbox.dequeue(realm, entry.getType(), entry.getEntityId());
+                    return true;
+                });
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.libertsolutions.libertvendas.app.data.outbox;
+
+import br.com.libertsolutions.libertvendas.app.data.repository.Repository;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OutboxEntry;
+import rx.Observable;
+
+/**
+ * @author Filipe Bezerra
+ */
+public interface OutboxRepository extends Repository<OutboxEntry> {
+
+    Observable<OutboxEntry> recordFailure(OutboxEntry entry, String error);
+
+    Observable<Boolean> discard(OutboxEntry entry);
+}
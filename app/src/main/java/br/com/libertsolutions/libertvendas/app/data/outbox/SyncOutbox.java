@@ -0,0 +1,57 @@
+package br.com.libertsolutions.libertvendas.app.data.outbox;
+
+import br.com.libertsolutions.libertvendas.app.domain.entity.OutboxEntryEntity;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OutboxEntryType;
+import io.realm.Realm;
+import io.realm.RealmObject;
+
+import static br.com.libertsolutions.libertvendas.app.domain.entity.OutboxEntryEntity.Fields.ID;
+import static br.com.libertsolutions.libertvendas.app.domain.entity.OutboxEntryEntity.Fields.SEQUENCE;
+
+/**
+ * Writes the outbox entries, always inside the caller's write transaction so an entry is
+ * journaled atomically with the change it refers to.
+ *
+ * @author Filipe Bezerra
+ */
+public final class SyncOutbox {
+
+    private SyncOutbox() {/* No instances */}
+
+    /**
+     * Enqueues the entity for upload. Repeated changes to the same entity coalesce into the
+     * existing entry, which keeps its place in the queue and becomes due again.
+     */
+    public static void enqueue(
+            final Realm realm, @OutboxEntryType final int type, final int entityId) {
+        OutboxEntryEntity entry = realm.where(OutboxEntryEntity.class)
+                .equalTo(ID, OutboxEntryEntity.idOf(type, entityId))
+                .findFirst();
+
+        if (entry == null) {
+            final Number lastSequence = realm.where(OutboxEntryEntity.class).max(SEQUENCE);
+            entry = realm.copyToRealm(new OutboxEntryEntity()
+                    .withId(type, entityId)
+                    .withSequence(lastSequence == null ? 1L : lastSequence.longValue() + 1));
+        }
+
+        entry
+                .withAttempts(0)
+                .withNextAttemptTime(0L)
+                .withLastError(null);
+    }
+
+    /**
+     * Removes the entry of the entity, if any.
+     */
+    public static void dequeue(
+            final Realm realm, @OutboxEntryType final int type, final int entityId) {
+        final OutboxEntryEntity entry = realm.where(OutboxEntryEntity.class)
+                .equalTo(ID, OutboxEntryEntity.idOf(type, entityId))
+                .findFirst();
+
+        if (entry != null) {
+            RealmObject.deleteFromRealm(entry);
+        }
+    }
+}
@@ -4,16 +4,21 @@ import br.com.libertsolutions.libertvendas.app.domain.pojo.PaymentMethod;
 import java.util.List;
 import retrofit2.Call;
 import retrofit2.http.GET;
+import retrofit2.http.Headers;
 import retrofit2.http.Query;
 import rx.Observable;
 
+import static br.com.libertsolutions.libertvendas.app.data.helper.HttpCachePolicy.NO_STORE;
+import static br.com.libertsolutions.libertvendas.app.data.helper.HttpCachePolicy.REVALIDATE;
+
 /**
  * @author Filipe Bezerra
  */
 public interface PaymentMethodApi {
 
-    @GET("api/formpgto/get") Observable<List<PaymentMethod>> get(@Query("cnpj") String cnpj);
+    @Headers(REVALIDATE) @GET("api/formpgto/get") Observable<List<PaymentMethod>> get(
+            @Query("cnpj") String cnpj);
 
-    @GET("api/formpgto/get") Call<List<PaymentMethod>> getUpdates(
+    @Headers(NO_STORE) @GET("api/formpgto/get") Call<List<PaymentMethod>> getUpdates(
             @Query("cnpj") String cnpj, @Query("ultimaAtualizacao") String lastUpdateTime);
 }
@@ -0,0 +1,41 @@
+package br.com.libertsolutions.libertvendas.app.data.paymentmethod;
+
+import br.com.libertsolutions.libertvendas.app.data.realm.BaseRealmMergeSpecification;
+import br.com.libertsolutions.libertvendas.app.domain.entity.CompanyPaymentMethodEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.PaymentMethodEntity;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.PaymentMethod;
+import io.realm.Realm;
+import io.realm.RealmList;
+
+import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.paymentMethodMapper;
+import static br.com.libertsolutions.libertvendas.app.data.realm.RealmLinks.copyOf;
+import static br.com.libertsolutions.libertvendas.app.data.realm.RealmLinks.link;
+
+/**
+ * @author Filipe Bezerra
+ */
+public class PaymentMethodMergeSpecification
+        extends BaseRealmMergeSpecification<PaymentMethod, PaymentMethodEntity> {
+
+    private final int companyId;
+
+    public PaymentMethodMergeSpecification(final int companyId) {
+        this.companyId = companyId;
+    }
+
+    @Override public PaymentMethodEntity findExisting(
+            final Realm realm, final PaymentMethod object) {
+        return new PaymentMethodByIdSpecification(object.getPaymentMethodId()).toSingle(realm);
+    }
+
+    @Override public PaymentMethodEntity toEntity(
+            final Realm realm, final PaymentMethod object, final PaymentMethodEntity existing) {
+        final PaymentMethodEntity entity = paymentMethodMapper().toEntity(object);
+
+        final RealmList<CompanyPaymentMethodEntity> companies
+                = copyOf(existing != null ? existing.getCompanies() : null);
+        link(companies, realm.copyToRealmOrUpdate(new CompanyPaymentMethodEntity()
+                .withId(companyId, entity.getPaymentMethodId())));
+        return entity.withCompanies(companies);
+    }
+}
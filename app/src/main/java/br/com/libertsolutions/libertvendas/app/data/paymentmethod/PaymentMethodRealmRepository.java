@@ -3,8 +3,10 @@ package br.com.libertsolutions.libertvendas.app.data.paymentmethod;
 import br.com.libertsolutions.libertvendas.app.data.realm.RealmRepository;
 import br.com.libertsolutions.libertvendas.app.domain.entity.PaymentMethodEntity;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.PaymentMethod;
+import io.realm.Realm;
 
 import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.paymentMethodMapper;
+import static br.com.libertsolutions.libertvendas.app.data.realm.RealmLinks.copyOf;
 
 /**
  * @author Filipe Bezerra
@@ -15,4 +17,16 @@ public class PaymentMethodRealmRepository extends RealmRepository<PaymentMethod,
     public PaymentMethodRealmRepository() {
         super(PaymentMethodEntity.class, paymentMethodMapper());
     }
+
+    @Override protected PaymentMethodEntity copyToRealmOrUpdate(
+            final Realm realm, final PaymentMethod object) {
+        final PaymentMethodEntity entity = paymentMethodMapper().toEntity(object);
+        final PaymentMethodEntity existing
+                = new PaymentMethodByIdSpecification(entity.getPaymentMethodId()).toSingle(realm);
+
+        if (existing != null) {
+            entity.withCompanies(copyOf(existing.getCompanies()));
+        }
+        return realm.copyToRealmOrUpdate(entity);
+    }
 }
@@ -1,19 +1,24 @@
 package br.com.libertsolutions.libertvendas.app.data.pricetable;
 
-import br.com.libertsolutions.libertvendas.app.domain.pojo.PriceTable;
-import java.util.List;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.GET;
+import retrofit2.http.Headers;
 import retrofit2.http.Query;
+import retrofit2.http.Streaming;
 import rx.Observable;
 
+import static br.com.libertsolutions.libertvendas.app.data.helper.HttpCachePolicy.NO_STORE;
+import static br.com.libertsolutions.libertvendas.app.data.helper.HttpCachePolicy.REVALIDATE;
+
 /**
  * @author Filipe Bezerra
  */
 public interface PriceTableApi {
 
-    @GET("api/tabela/get") Observable<List<PriceTable>> get(@Query("cnpj") String cnpj);
+    @Headers(REVALIDATE) @Streaming @GET("api/tabela/get") Observable<ResponseBody> get(
+            @Query("cnpj") String cnpj);
 
-    @GET("api/tabela/get") Call<List<PriceTable>> getUpdates(
+    @Headers(NO_STORE) @Streaming @GET("api/tabela/get") Call<ResponseBody> getUpdates(
             @Query("cnpj") String cnpj, @Query("ultimaAtualizacao") String lastUpdateTime);
 }
@@ -0,0 +1,19 @@
+package br.com.libertsolutions.libertvendas.app.data.pricetable;
+
+import br.com.libertsolutions.libertvendas.app.data.realm.RealmRepository;
+import br.com.libertsolutions.libertvendas.app.domain.entity.PriceTableItemEntity;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.PriceTableItem;
+
+import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.priceTableItemMapper;
+
+/**
+ * @author Filipe Bezerra
+ */
+public class PriceTableItemRealmRepository
+        extends RealmRepository<PriceTableItem, PriceTableItemEntity>
+        implements PriceTableItemRepository {
+
+    public PriceTableItemRealmRepository() {
+        super(PriceTableItemEntity.class, priceTableItemMapper());
+    }
+}
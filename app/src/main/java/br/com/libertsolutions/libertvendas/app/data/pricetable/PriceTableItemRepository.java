@@ -0,0 +1,10 @@
+package br.com.libertsolutions.libertvendas.app.data.pricetable;
+
+import br.com.libertsolutions.libertvendas.app.data.repository.Repository;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.PriceTableItem;
+
+/**
+ * @author Filipe Bezerra
+ */
+public interface PriceTableItemRepository extends Repository<PriceTableItem> {
+}
@@ -0,0 +1,70 @@
+package br.com.libertsolutions.libertvendas.app.data.pricetable;
+
+import br.com.libertsolutions.libertvendas.app.data.realm.RealmAsyncResultsSpecification;
+import br.com.libertsolutions.libertvendas.app.domain.entity.PriceTableEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.PriceTableItemEntity;
+import io.realm.Realm;
+import io.realm.RealmQuery;
+import io.realm.RealmResults;
+
+import static android.text.TextUtils.isEmpty;
+import static br.com.libertsolutions.libertvendas.app.domain.entity.PriceTableItemEntity.Fields.ITEM_ID;
+import static br.com.libertsolutions.libertvendas.app.domain.entity.PriceTableItemEntity.Fields.PRODUCT_BAR_CODE;
+import static br.com.libertsolutions.libertvendas.app.domain.entity.PriceTableItemEntity.Fields.PRODUCT_DESCRIPTION;
+import static io.realm.Case.INSENSITIVE;
+import static io.realm.Sort.ASCENDING;
+
+/**
+ * Items of the price table, sorted by the description of their products.
+ *
+ * @author Filipe Bezerra
+ */
+public class PriceTableItemsSpecification
+        implements RealmAsyncResultsSpecification<PriceTableItemEntity> {
+
+    private final int mPriceTableId;
+
+    private String mText = null;
+
+    public PriceTableItemsSpecification(final int priceTableId) {
+        mPriceTableId = priceTableId;
+    }
+
+    /**
+     * Keeps only the items whose product description or bar code contain the text.
+     */
+    public PriceTableItemsSpecification byText(final String text) {
+        mText = text;
+        return this;
+    }
+
+    @Override public RealmResults<PriceTableItemEntity> toRealmResults(final Realm realm) {
+        return createQuery(realm).findAllSorted(PRODUCT_DESCRIPTION, ASCENDING);
+    }
+
+    @Override public RealmResults<PriceTableItemEntity> toRealmResultsAsync(final Realm realm) {
+        return createQuery(realm).findAllSortedAsync(PRODUCT_DESCRIPTION, ASCENDING);
+    }
+
+    private RealmQuery<PriceTableItemEntity> createQuery(final Realm realm) {
+        final PriceTableEntity priceTable
+                = new PriceTableByIdSpecification(mPriceTableId).toSingle(realm);
+
+        if (priceTable == null) {
+            // No item has a null primary key, so these results stay empty
+            return realm.where(PriceTableItemEntity.class)
+                    .isNull(ITEM_ID);
+        }
+
+        RealmQuery<PriceTableItemEntity> query = priceTable.getItems().where();
+
+        if (!isEmpty(mText)) {
+            query.beginGroup()
+                    .contains(PRODUCT_DESCRIPTION, mText, INSENSITIVE)
+                    .or()
+                    .contains(PRODUCT_BAR_CODE, mText)
+                    .endGroup();
+        }
+        return query;
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.libertsolutions.libertvendas.app.data.pricetable;
+
+import br.com.libertsolutions.libertvendas.app.data.pricetable.PriceTableStream.Entry;
+import br.com.libertsolutions.libertvendas.app.data.realm.BaseRealmMergeSpecification;
+import br.com.libertsolutions.libertvendas.app.domain.entity.CompanyPriceTableEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.PriceTableEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.PriceTableItemEntity;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.PriceTable;
+import io.realm.Realm;
+import io.realm.RealmList;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import timber.log.Timber;
+
+import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.priceTableItemMapper;
+import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.priceTableMapper;
+import static br.com.libertsolutions.libertvendas.app.data.realm.RealmLinks.copyOf;
+import static br.com.libertsolutions.libertvendas.app.data.realm.RealmLinks.link;
+import static br.com.libertsolutions.libertvendas.app.domain.entity.PriceTableItemEntity.Fields.ITEM_ID;
+
+/**
+ * Merges the entries of a {@link PriceTableStream}. A table read whole replaces the stored one
+ * along with its items. The streamed items of a table are written as they come and staged by
+ * id, the stored table keeps its items until the entry that ends them swaps in the staged ones,
+ * so readers never see a table half replaced, even when the stream fails midway.
+ *
+ * @author Filipe Bezerra
+ */
+public class PriceTableMergeSpecification
+        extends BaseRealmMergeSpecification<Entry, PriceTableEntity> {
+
+    private final int companyId;
+
+    private Integer stagedPriceTableId;
+
+    private final Set<Integer> stagedItemIds = new LinkedHashSet<>();
+
+    public PriceTableMergeSpecification(final int companyId) {
+        this.companyId = companyId;
+    }
+
+    @Override public PriceTableEntity findExisting(final Realm realm, final Entry entry) {
+        return new PriceTableByIdSpecification(entry.getPriceTableId()).toSingle(realm);
+    }
+
+    @Override public PriceTableEntity toEntity(
+            final Realm realm, final Entry entry, final PriceTableEntity existing) {
+        if (entry.startsItems()) {
+            stagedPriceTableId = entry.getPriceTableId();
+            stagedItemIds.clear();
+            return null;
+        }
+
+        if (entry.getItem() != null) {
+            if (!entry.getPriceTableId().equals(stagedPriceTableId)) {
+                return null;
+            }
+            // Staged by id, so an item sent twice is linked once
+            stagedItemIds.add(realm.copyToRealmOrUpdate(
+                    priceTableItemMapper().toEntity(entry.getItem())).getItemId());
+            return null;
+        }
+
+        final PriceTableEntity entity = priceTableMapper().toEntity(entry.getPriceTable());
+        if (entry.endsItems()) {
+            if (!entry.getPriceTableId().equals(stagedPriceTableId)) {
+                Timber.w("Items of price table %d ended without starting",
+                        entry.getPriceTableId());
+                return null;
+            }
+            entity.withItems(findStagedItems(realm));
+            stagedPriceTableId = null;
+            stagedItemIds.clear();
+        }
+
+        final RealmList<CompanyPriceTableEntity> companies
+                = copyOf(existing != null ? existing.getCompanies() : null);
+        link(companies, realm.copyToRealmOrUpdate(new CompanyPriceTableEntity()
+                .withId(companyId, entity.getPriceTableId())));
+        return entity.withCompanies(companies);
+    }
+
+    private RealmList<PriceTableItemEntity> findStagedItems(final Realm realm) {
+        final RealmList<PriceTableItemEntity> items = new RealmList<>();
+        for (Integer itemId : stagedItemIds) {
+            final PriceTableItemEntity item = realm.where(PriceTableItemEntity.class)
+                    .equalTo(ITEM_ID, itemId)
+                    .findFirst();
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+}
@@ -1,10 +1,19 @@
 package br.com.libertsolutions.libertvendas.app.data.pricetable;
 
+import br.com.libertsolutions.libertvendas.app.data.realm.RealmObservable;
 import br.com.libertsolutions.libertvendas.app.data.realm.RealmRepository;
 import br.com.libertsolutions.libertvendas.app.domain.entity.PriceTableEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.PriceTableItemEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.ProductEntity;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.PriceTable;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.ProductCatalog;
+import io.realm.Realm;
+import io.realm.RealmResults;
+import rx.Observable;
+import timber.log.Timber;
 
 import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.priceTableMapper;
+import static br.com.libertsolutions.libertvendas.app.data.realm.RealmLinks.copyOf;
 
 /**
  * @author Filipe Bezerra
@@ -15,4 +24,60 @@ public class PriceTableRealmRepository extends RealmRepository<PriceTable, Price
     public PriceTableRealmRepository() {
         super(PriceTableEntity.class, priceTableMapper());
     }
+
+    @Override protected PriceTableEntity copyToRealmOrUpdate(
+            final Realm realm, final PriceTable object) {
+        final PriceTableEntity entity = priceTableMapper().toEntity(object);
+        final PriceTableEntity existing
+                = new PriceTableByIdSpecification(entity.getPriceTableId()).toSingle(realm);
+
+        if (existing != null) {
+            entity.withCompanies(copyOf(existing.getCompanies()));
+        }
+        return realm.copyToRealmOrUpdate(entity);
+    }
+
+    @Override public Observable<ProductCatalog> findCatalog(final int priceTableId) {
+        final ProductCatalog cached = ProductCatalogCache.get(priceTableId);
+        if (cached != null) {
+            return Observable.just(cached);
+        }
+
+        final int generation = ProductCatalogCache.generation();
+        return RealmObservable
+                .read(realm -> {
+                    Timber.d("PriceTableEntity.findCatalog(%d)", priceTableId);
+                    final long startNanos = System.nanoTime();
+                    final ProductCatalog catalog = buildCatalog(realm, priceTableId);
+                    Timber.i("%s built in %d ms", catalog,
+                            (System.nanoTime() - startNanos) / 1000000);
+                    return catalog;
+                })
+                .doOnNext(catalog -> ProductCatalogCache.put(catalog, generation));
+    }
+
+    private static ProductCatalog buildCatalog(final Realm realm, final int priceTableId) {
+        final PriceTableEntity priceTable
+                = new PriceTableByIdSpecification(priceTableId).toSingle(realm);
+        final RealmResults<PriceTableItemEntity> items
+                = new PriceTableItemsSpecification(priceTableId).toRealmResults(realm);
+        final ProductCatalog.Builder builder
+                = new ProductCatalog.Builder(priceTableId, items.size());
+
+        if (priceTable != null) {
+            builder.withPriceTable(priceTable.getCode(), priceTable.getName());
+        }
+
+        for (PriceTableItemEntity item : items) {
+            final ProductEntity product = item.getProduct();
+            if (product == null) {
+                continue;
+            }
+
+            builder.add(item.getItemId(), item.getSalesPrice(), product.getProductId(),
+                    product.getStockQuantity(), product.getDescription(), product.getCode(),
+                    product.getBarCode(), product.getUnit(), product.getGroup());
+        }
+        return builder.build();
+    }
 }
@@ -2,9 +2,18 @@ package br.com.libertsolutions.libertvendas.app.data.pricetable;
 
 import br.com.libertsolutions.libertvendas.app.data.repository.Repository;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.PriceTable;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.ProductCatalog;
+import rx.Observable;
 
 /**
  * @author Filipe Bezerra
  */
 public interface PriceTableRepository extends Repository<PriceTable> {
+
+    /**
+     * Loads the items of the price table as a {@link ProductCatalog} sorted by the description
+     * of the products. The catalog is built once and reused until the price tables or
+     * products are updated, an unknown price table gives an empty catalog.
+     */
+    Observable<ProductCatalog> findCatalog(int priceTableId);
 }
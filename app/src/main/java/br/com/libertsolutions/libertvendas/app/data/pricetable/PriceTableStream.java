@@ -0,0 +1,263 @@
+package br.com.libertsolutions.libertvendas.app.data.pricetable;
+
+import br.com.libertsolutions.libertvendas.app.domain.pojo.PriceTable;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.PriceTableItem;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import okhttp3.ResponseBody;
+
+import static br.com.libertsolutions.libertvendas.app.presentation.PresentationInjector.provideGson;
+import static java.util.Collections.emptyList;
+
+/**
+ * Reads the price tables of a response one item at a time, so a table with tens of thousands
+ * of items is never held in memory as a whole. A table whose items are streamed gives an entry
+ * with the fields read before its items, then an entry for each of its items and a last entry
+ * with all of its fields, which ends its items.
+ *
+ * <p>The items are streamed once the id of the table is known. The items of a table sent
+ * before its id are read along with the fields of the table.
+ *
+ * @author Filipe Bezerra
+ */
+public final class PriceTableStream implements Iterator<PriceTableStream.Entry>, Closeable {
+
+    private static final String PRICE_TABLE_ID = "idTabela";
+
+    private static final String ITEMS = "ItensTabela";
+
+    private final JsonReader reader;
+
+    private final Gson gson;
+
+    private final TypeAdapter<PriceTableItem> itemAdapter;
+
+    private final JsonParser parser = new JsonParser();
+
+    private boolean started;
+
+    private boolean finished;
+
+    private Entry next;
+
+    /**
+     * Fields of the table being read, or null between tables.
+     */
+    private JsonObject fields;
+
+    private Integer priceTableId;
+
+    private boolean readingItems;
+
+    private boolean itemsStreamed;
+
+    private List<PriceTableItem> items;
+
+    private PriceTableStream(final ResponseBody body) {
+        reader = new JsonReader(body.charStream());
+        gson = provideGson();
+        itemAdapter = gson.getAdapter(PriceTableItem.class);
+    }
+
+    public static PriceTableStream of(final ResponseBody body) {
+        return new PriceTableStream(body);
+    }
+
+    @Override public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = readNext();
+            } catch (IOException e) {
+                throw new JsonIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override public Entry next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        final Entry entry = next;
+        next = null;
+        return entry;
+    }
+
+    @Override public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override public void close() throws IOException {
+        reader.close();
+    }
+
+    public void closeQuietly() {
+        try {
+            close();
+        } catch (IOException ignored) {}
+    }
+
+    private Entry readNext() throws IOException {
+        if (!started) {
+            started = true;
+            if (reader.peek() == JsonToken.NULL) {
+                finished = true;
+                return null;
+            }
+            reader.beginArray();
+        }
+
+        while (true) {
+            if (readingItems) {
+                if (reader.hasNext()) {
+                    return Entry.item(priceTableId, itemAdapter.read(reader));
+                }
+                reader.endArray();
+                readingItems = false;
+            }
+
+            if (fields == null) {
+                if (!reader.hasNext()) {
+                    reader.endArray();
+                    finished = true;
+                    return null;
+                }
+                reader.beginObject();
+                fields = new JsonObject();
+                priceTableId = null;
+                itemsStreamed = false;
+                items = null;
+            }
+
+            if (!reader.hasNext()) {
+                reader.endObject();
+                final PriceTable priceTable = gson.fromJson(fields, PriceTable.class);
+                fields = null;
+                if (itemsStreamed) {
+                    return Entry.itemsEnd(priceTable.withItems(emptyList()));
+                }
+                return Entry.table(priceTable.withItems(items != null ? items : emptyList()));
+            }
+
+            final String name = reader.nextName();
+            if (ITEMS.equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                if (priceTableId != null) {
+                    readingItems = true;
+                    itemsStreamed = true;
+                    return Entry.itemsStart(gson.fromJson(fields, PriceTable.class)
+                            .withItems(emptyList()));
+                }
+
+                items = new ArrayList<>();
+                while (reader.hasNext()) {
+                    items.add(itemAdapter.read(reader));
+                }
+                reader.endArray();
+            } else {
+                final JsonElement value = parser.parse(reader);
+                fields.add(name, value);
+                if (PRICE_TABLE_ID.equals(name) && !value.isJsonNull()) {
+                    priceTableId = value.getAsInt();
+                }
+            }
+        }
+    }
+
+    /**
+     * Either the fields of a price table or one of its items.
+     */
+    public static final class Entry {
+
+        private static final int TABLE = 0;
+
+        private static final int ITEMS_START = 1;
+
+        private static final int ITEM = 2;
+
+        private static final int ITEMS_END = 3;
+
+        private final Integer priceTableId;
+
+        private final PriceTable priceTable;
+
+        private final int kind;
+
+        private final PriceTableItem item;
+
+        private Entry(
+                final Integer priceTableId, final PriceTable priceTable, final int kind,
+                final PriceTableItem item) {
+            this.priceTableId = priceTableId;
+            this.priceTable = priceTable;
+            this.kind = kind;
+            this.item = item;
+        }
+
+        static Entry table(final PriceTable priceTable) {
+            return new Entry(priceTable.getPriceTableId(), priceTable, TABLE, null);
+        }
+
+        static Entry itemsStart(final PriceTable priceTable) {
+            return new Entry(priceTable.getPriceTableId(), priceTable, ITEMS_START, null);
+        }
+
+        static Entry item(final Integer priceTableId, final PriceTableItem item) {
+            return new Entry(priceTableId, null, ITEM, item);
+        }
+
+        static Entry itemsEnd(final PriceTable priceTable) {
+            return new Entry(priceTable.getPriceTableId(), priceTable, ITEMS_END, null);
+        }
+
+        public Integer getPriceTableId() {
+            return priceTableId;
+        }
+
+        /**
+         * Returns the fields of the table, or null for an item.
+         */
+        public PriceTable getPriceTable() {
+            return priceTable;
+        }
+
+        /**
+         * Returns whether the items of the table follow this entry one by one.
+         */
+        public boolean startsItems() {
+            return kind == ITEMS_START;
+        }
+
+        /**
+         * Returns whether the items streamed since the start entry of the table are all read,
+         * this entry having the complete fields of the table.
+         */
+        public boolean endsItems() {
+            return kind == ITEMS_END;
+        }
+
+        /**
+         * Returns the item, or null for the fields of the table.
+         */
+        public PriceTableItem getItem() {
+            return item;
+        }
+
+        public String getLastChangeTime() {
+            return item != null ? item.getLastChangeTime() : priceTable.getLastChangeTime();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.libertsolutions.libertvendas.app.data.pricetable;
+
+import br.com.libertsolutions.libertvendas.app.domain.pojo.ProductCatalog;
+
+/**
+ * Keeps the catalog of the last price table built, the order entry and its steps ask for the
+ * same table many times while the salesman works on an order. Any update of the price tables
+ * or products must {@link #invalidate()} it.
+ *
+ * @author Filipe Bezerra
+ */
+public final class ProductCatalogCache {
+
+    private static ProductCatalog sCatalog = null;
+
+    private static int sGeneration = 0;
+
+    private ProductCatalogCache() {/* No instances */}
+
+    static synchronized ProductCatalog get(final int priceTableId) {
+        return sCatalog != null && sCatalog.getPriceTableId() == priceTableId ? sCatalog : null;
+    }
+
+    /**
+     * Returns the current generation, to be given back to {@link #put(ProductCatalog, int)}
+     * once the catalog read from it is built.
+     */
+    static synchronized int generation() {
+        return sGeneration;
+    }
+
+    /**
+     * Keeps the catalog unless the cache was invalidated while it was being built.
+     */
+    static synchronized void put(final ProductCatalog catalog, final int generation) {
+        if (generation == sGeneration) {
+            sCatalog = catalog;
+        }
+    }
+
+    public static synchronized void invalidate() {
+        sGeneration++;
+        sCatalog = null;
+    }
+}
@@ -1,16 +1,19 @@
 package br.com.libertsolutions.libertvendas.app.data.product;
 
-import br.com.libertsolutions.libertvendas.app.domain.pojo.Product;
-import java.util.List;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.GET;
+import retrofit2.http.Headers;
 import retrofit2.http.Query;
+import retrofit2.http.Streaming;
+
+import static br.com.libertsolutions.libertvendas.app.data.helper.HttpCachePolicy.NO_STORE;
 
 /**
  * @author Filipe Bezerra
  */
 public interface ProductApi {
 
-    @GET("api/produto/get") Call<List<Product>> getUpdates(
+    @Headers(NO_STORE) @Streaming @GET("api/produto/get") Call<ResponseBody> getUpdates(
             @Query("cnpj") String cnpj, @Query("ultimaAtualizacao") String lastUpdateTime);
 }
@@ -0,0 +1,27 @@
+package br.com.libertsolutions.libertvendas.app.data.product;
+
+import br.com.libertsolutions.libertvendas.app.data.realm.BaseRealmMergeSpecification;
+import br.com.libertsolutions.libertvendas.app.domain.entity.ProductEntity;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.Product;
+import io.realm.Realm;
+
+import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.productMapper;
+import static br.com.libertsolutions.libertvendas.app.domain.entity.ProductEntity.Fields.PRODUCT_ID;
+
+/**
+ * @author Filipe Bezerra
+ */
+public class ProductMergeSpecification
+        extends BaseRealmMergeSpecification<Product, ProductEntity> {
+
+    @Override public ProductEntity findExisting(final Realm realm, final Product object) {
+        return realm.where(ProductEntity.class)
+                .equalTo(PRODUCT_ID, object.getProductId())
+                .findFirst();
+    }
+
+    @Override public ProductEntity toEntity(
+            final Realm realm, final Product object, final ProductEntity existing) {
+        return productMapper().toEntity(object);
+    }
+}
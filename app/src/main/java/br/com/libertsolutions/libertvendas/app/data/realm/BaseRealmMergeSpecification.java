@@ -0,0 +1,17 @@
+package br.com.libertsolutions.libertvendas.app.data.realm;
+
+import io.realm.Realm;
+import io.realm.RealmModel;
+
+/**
+ * {@link RealmMergeSpecification} with nothing to write besides the merged rows.
+ *
+ * @author Filipe Bezerra
+ */
+public abstract class BaseRealmMergeSpecification<S, E extends RealmModel>
+        implements RealmMergeSpecification<S, E> {
+
+    @Override public void onInserted(final Realm realm, final E entity) {}
+
+    @Override public void onMergeCompleted(final Realm realm) {}
+}
@@ -2,7 +2,6 @@ package br.com.libertsolutions.libertvendas.app.data.realm;
 
 import android.support.annotation.NonNull;
 import io.realm.Realm;
-import io.realm.RealmUtil;
 import io.realm.exceptions.RealmException;
 import java.util.ArrayList;
 import java.util.List;
@@ -11,21 +10,28 @@ import rx.Observable;
 import rx.Subscriber;
 import rx.Subscription;
 import rx.subscriptions.Subscriptions;
-import timber.log.Timber;
 
 /**
- * {@link Observable.OnSubscribe} for RealmObject subclass that follows Observable contract
+ * {@link Observable.OnSubscribe} for RealmObject subclass that follows Observable contract.
+ * Writes run inside a transaction, reads run against the plain instance without taking the
+ * write lock.
  *
  * @author Kirill Boyarshinov
  */
 abstract class OnSubscribeRealm<T> implements Observable.OnSubscribe<T> {
 
+    private final boolean mWrite;
+
     private final List<Subscriber<? super T>> mSubscribers = new ArrayList<>();
 
     private final AtomicBoolean mCanceled = new AtomicBoolean();
 
     private final Object mLock = new Object();
 
+    OnSubscribeRealm(final boolean write) {
+        mWrite = write;
+    }
+
     @Override public void call(final Subscriber<? super T> subscriber) {
         synchronized (mLock) {
             boolean canceled = mCanceled.get();
@@ -40,36 +46,51 @@ abstract class OnSubscribeRealm<T> implements Observable.OnSubscribe<T> {
         subscriber.add(newUnsubscribeAction(subscriber));
         mSubscribers.add(subscriber);
 
-        Realm realm = Realm.getDefaultInstance();
-        Timber.d(RealmUtil.dumpRealmCount());
+        final Realm realm = RealmSchedulers.acquire();
         boolean withError = false;
 
         T object = null;
-        try {
-            if (!mCanceled.get()) {
-                realm.beginTransaction();
-                object = get(realm);
-                if (object != null && !mCanceled.get()) {
-                    realm.commitTransaction();
-                } else {
-                    realm.cancelTransaction();
+        if (mWrite) {
+            try {
+                if (!mCanceled.get()) {
+                    final long startNanos = System.nanoTime();
+                    realm.beginTransaction();
+                    object = get(realm);
+                    if (object != null && !mCanceled.get()) {
+                        realm.commitTransaction();
+                    } else {
+                        realm.cancelTransaction();
+                    }
+                    RealmSchedulers.recordTransaction(startNanos);
                 }
+            } catch (RuntimeException e) {
+                realm.cancelTransaction();
+                sendOnError(new RealmException("Error during transaction.", e));
+                withError = true;
+            } catch (Error e) {
+                realm.cancelTransaction();
+                sendOnError(e);
+                withError = true;
+            }
+        } else {
+            try {
+                if (!mCanceled.get()) {
+                    object = get(realm);
+                }
+            } catch (RuntimeException e) {
+                sendOnError(new RealmException("Error during query.", e));
+                withError = true;
+            } catch (Error e) {
+                sendOnError(e);
+                withError = true;
             }
-        } catch (RuntimeException e) {
-            realm.cancelTransaction();
-            sendOnError(new RealmException("Error during transaction.", e));
-            withError = true;
-        } catch (Error e) {
-            realm.cancelTransaction();
-            sendOnError(e);
-            withError = true;
         }
         if (object != null && !mCanceled.get() && !withError) {
             sendOnNext(object);
         }
 
         try {
-            realm.close();
+            RealmSchedulers.release(realm);
         } catch (RealmException ex) {
             sendOnError(ex);
             withError = true;
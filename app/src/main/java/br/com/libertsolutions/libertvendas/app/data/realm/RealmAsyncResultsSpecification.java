@@ -0,0 +1,21 @@
+package br.com.libertsolutions.libertvendas.app.data.realm;
+
+import io.realm.Realm;
+import io.realm.RealmModel;
+import io.realm.RealmResults;
+
+/**
+ * {@link RealmResultsSpecification} that can also run its query in the background, for the
+ * results read on the main thread.
+ *
+ * @author Filipe Bezerra
+ */
+public interface RealmAsyncResultsSpecification<E extends RealmModel>
+        extends RealmResultsSpecification<E> {
+
+    /**
+     * Same as {@link #toRealmResults(Realm)}, returning the results before they are loaded. The
+     * realm must belong to a looper thread, where the results notify once loaded.
+     */
+    RealmResults<E> toRealmResultsAsync(Realm realm);
+}
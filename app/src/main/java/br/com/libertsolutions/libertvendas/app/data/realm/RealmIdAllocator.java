@@ -0,0 +1,128 @@
+package br.com.libertsolutions.libertvendas.app.data.realm;
+
+import br.com.libertsolutions.libertvendas.app.domain.entity.IdSequenceEntity;
+import io.realm.Realm;
+import io.realm.RealmModel;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import timber.log.Timber;
+
+/**
+ * Hands out the local ids of an entity from blocks reserved in its {@link IdSequenceEntity}, so
+ * the database is written once every {@value #BLOCK_SIZE} ids. Ids are unique across threads
+ * and app restarts, ids left in a block when the process dies are skipped.
+ *
+ * @author Filipe Bezerra
+ */
+public final class RealmIdAllocator {
+
+    private static final int BLOCK_SIZE = 100;
+
+    private static final Map<Class<? extends RealmModel>, RealmIdAllocator> sAllocators
+            = new HashMap<>();
+
+    private final Class<? extends RealmModel> mEntityClass;
+
+    private final String mIdField;
+
+    private int mNextId = 1;
+
+    private int mLastId = 0;
+
+    /**
+     * Highest id reserved by this process, guarding against a reservation rolled back along
+     * with the caller's transaction.
+     */
+    private final AtomicInteger mReservedId = new AtomicInteger();
+
+    private volatile boolean mStoredIdsChecked = false;
+
+    private RealmIdAllocator(final Class<? extends RealmModel> entityClass, final String idField) {
+        mEntityClass = entityClass;
+        mIdField = idField;
+    }
+
+    public static int nextId(final Class<? extends RealmModel> entityClass, final String idField) {
+        return of(entityClass, idField).nextId();
+    }
+
+    private static synchronized RealmIdAllocator of(
+            final Class<? extends RealmModel> entityClass, final String idField) {
+        RealmIdAllocator allocator = sAllocators.get(entityClass);
+        if (allocator == null) {
+            allocator = new RealmIdAllocator(entityClass, idField);
+            sAllocators.put(entityClass, allocator);
+        }
+        return allocator;
+    }
+
+    private int nextId() {
+        synchronized (this) {
+            if (mNextId <= mLastId) {
+                return mNextId++;
+            }
+        }
+
+        // Reserving waits for the write lock, so it must not hold the monitor: the thread
+        // holding the lock may be asking for an id as well
+        final int[] block = reserveBlock();
+
+        synchronized (this) {
+            if (mNextId > mLastId) {
+                mNextId = block[0] + 1;
+                mLastId = block[1];
+            }
+            return block[0];
+        }
+    }
+
+    /**
+     * Reserves the next block inside the transaction of the current thread, or in a new one.
+     */
+    private int[] reserveBlock() {
+        final Realm realm = Realm.getDefaultInstance();
+        try {
+            final boolean ownTransaction = !realm.isInTransaction();
+            if (ownTransaction) {
+                realm.beginTransaction();
+            }
+
+            try {
+                final String name = mEntityClass.getSimpleName();
+                IdSequenceEntity sequence = realm.where(IdSequenceEntity.class)
+                        .equalTo(IdSequenceEntity.Fields.NAME, name)
+                        .findFirst();
+                if (sequence == null) {
+                    sequence = realm.createObject(IdSequenceEntity.class, name);
+                }
+
+                int firstId = Math.max(sequence.getNextId(), mReservedId.get() + 1);
+                if (!mStoredIdsChecked) {
+                    final Number maxId = realm.where(mEntityClass).max(mIdField);
+                    if (maxId != null) {
+                        firstId = Math.max(firstId, maxId.intValue() + 1);
+                    }
+                    mStoredIdsChecked = true;
+                }
+
+                final int lastId = firstId + BLOCK_SIZE - 1;
+                sequence.withNextId(lastId + 1);
+                mReservedId.set(lastId);
+
+                if (ownTransaction) {
+                    realm.commitTransaction();
+                }
+                Timber.d("%s reserved ids %d to %d", name, firstId, lastId);
+                return new int[] { firstId, lastId };
+            } catch (RuntimeException e) {
+                if (ownTransaction) {
+                    realm.cancelTransaction();
+                }
+                throw e;
+            }
+        } finally {
+            realm.close();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.libertsolutions.libertvendas.app.data.realm;
+
+import io.realm.RealmList;
+import io.realm.RealmModel;
+
+/**
+ * Helpers to keep the link lists of entities written with {@code copyToRealmOrUpdate}, which
+ * replaces every field of the stored row, lists included.
+ *
+ * @author Filipe Bezerra
+ */
+public final class RealmLinks {
+
+    private RealmLinks() {/* No instances */}
+
+    /**
+     * Copies the links into a new unmanaged list, the managed list itself would be cleared
+     * before being written back.
+     */
+    public static <E extends RealmModel> RealmList<E> copyOf(final RealmList<E> links) {
+        final RealmList<E> copy = new RealmList<>();
+        if (links != null) {
+            copy.addAll(links);
+        }
+        return copy;
+    }
+
+    /**
+     * Adds the object to the links unless it is already there.
+     */
+    public static <E extends RealmModel> void link(final RealmList<E> links, final E object) {
+        if (!links.contains(object)) {
+            links.add(object);
+        }
+    }
+}
@@ -3,24 +3,13 @@ package br.com.libertsolutions.libertvendas.app.data.realm;
 import br.com.libertsolutions.libertvendas.app.data.repository.Mapper;
 import io.realm.RealmList;
 import io.realm.RealmModel;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * @author Filipe Bezerra
  */
-public abstract class RealmMapper<T, E extends RealmModel> implements Mapper<T, E> {
-
-    @Override
-    public List<T> toViewObjects(List<E> entities) {
-        final List<T> objects = new ArrayList<>();
-
-        for (E entity : entities) {
-            objects.add(toViewObject(entity));
-        }
-
-        return objects;
-    }
+public abstract class RealmMapper<T, E extends RealmModel> extends RealmViewMapper<T, E>
+        implements Mapper<T, E> {
 
     @Override
     public RealmList<E> toEntities(List<T> objects) {
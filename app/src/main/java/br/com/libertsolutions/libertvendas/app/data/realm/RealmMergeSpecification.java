@@ -0,0 +1,39 @@
+package br.com.libertsolutions.libertvendas.app.data.realm;
+
+import br.com.libertsolutions.libertvendas.app.data.repository.Specification;
+import io.realm.Realm;
+import io.realm.RealmModel;
+
+/**
+ * Describes how a list of incoming objects is merged into the local database by
+ * {@link RealmRepository#merge}. Every method is called inside the same write transaction.
+ *
+ * @author Filipe Bezerra
+ */
+public interface RealmMergeSpecification<S, E extends RealmModel> extends Specification {
+
+    /**
+     * Resolves the row already stored for the incoming object by its natural key.
+     *
+     * @return the managed entity or {@code null} when the object is new
+     */
+    E findExisting(Realm realm, S object);
+
+    /**
+     * Builds the entity to be stored for the incoming object.
+     *
+     * @return the entity to store or {@code null} to skip the object
+     */
+    E toEntity(Realm realm, S object, E existing);
+
+    /**
+     * Called after a new row was stored, allowing related rows to be written in the same
+     * transaction.
+     */
+    void onInserted(Realm realm, E entity);
+
+    /**
+     * Called once all the objects were merged, right before the transaction is committed.
+     */
+    void onMergeCompleted(Realm realm);
+}
@@ -0,0 +1,69 @@
+package br.com.libertsolutions.libertvendas.app.data.realm;
+
+/**
+ * Snapshot of the Realm execution layer, see {@link RealmSchedulers#metrics()}.
+ *
+ * @author Filipe Bezerra
+ */
+public final class RealmMetrics {
+
+    private final int openInstances;
+
+    private final int writerQueueDepth;
+
+    private final int readerQueueDepth;
+
+    private final long transactions;
+
+    private final long averageTransactionMillis;
+
+    private final long maxTransactionMillis;
+
+    RealmMetrics(
+            final int openInstances, final int writerQueueDepth, final int readerQueueDepth,
+            final long transactions, final long averageTransactionMillis,
+            final long maxTransactionMillis) {
+        this.openInstances = openInstances;
+        this.writerQueueDepth = writerQueueDepth;
+        this.readerQueueDepth = readerQueueDepth;
+        this.transactions = transactions;
+        this.averageTransactionMillis = averageTransactionMillis;
+        this.maxTransactionMillis = maxTransactionMillis;
+    }
+
+    public int getOpenInstances() {
+        return openInstances;
+    }
+
+    public int getWriterQueueDepth() {
+        return writerQueueDepth;
+    }
+
+    public int getReaderQueueDepth() {
+        return readerQueueDepth;
+    }
+
+    public long getTransactions() {
+        return transactions;
+    }
+
+    public long getAverageTransactionMillis() {
+        return averageTransactionMillis;
+    }
+
+    public long getMaxTransactionMillis() {
+        return maxTransactionMillis;
+    }
+
+    @Override public String toString() {
+        final StringBuilder sb = new StringBuilder("RealmMetrics{");
+        sb.append("openInstances=").append(openInstances);
+        sb.append(", writerQueueDepth=").append(writerQueueDepth);
+        sb.append(", readerQueueDepth=").append(readerQueueDepth);
+        sb.append(", transactions=").append(transactions);
+        sb.append(", averageTransactionMillis=").append(averageTransactionMillis);
+        sb.append(", maxTransactionMillis=").append(maxTransactionMillis);
+        sb.append('}');
+        return sb.toString();
+    }
+}
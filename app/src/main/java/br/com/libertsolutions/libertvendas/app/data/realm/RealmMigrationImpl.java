@@ -1,9 +1,38 @@
 package br.com.libertsolutions.libertvendas.app.data.realm;
 
+import br.com.libertsolutions.libertvendas.app.data.dailysales.DailySalesAggregator;
+import br.com.libertsolutions.libertvendas.app.domain.entity.CityEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.CompanyCustomerEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.CompanyPaymentMethodEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.CompanyPriceTableEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.CustomerEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.DailySalesEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.IdSequenceEntity;
 import br.com.libertsolutions.libertvendas.app.domain.entity.OrderEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.OrderItemEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.OutboxEntryEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.PaymentMethodEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.PriceTableEntity;
+import br.com.libertsolutions.libertvendas.app.domain.entity.SyncCheckpointEntity;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.CustomerStatus;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderStatus;
 import io.realm.DynamicRealm;
+import io.realm.DynamicRealmObject;
+import io.realm.FieldAttribute;
 import io.realm.RealmMigration;
+import io.realm.RealmObjectSchema;
+import io.realm.RealmResults;
 import io.realm.RealmSchema;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import rx.functions.Func2;
+
+import static br.com.libertsolutions.libertvendas.app.domain.pojo.OutboxEntryType.ENTRY_TYPE_CUSTOMER;
+import static br.com.libertsolutions.libertvendas.app.domain.pojo.OutboxEntryType.ENTRY_TYPE_ORDER;
+import static br.com.libertsolutions.libertvendas.app.presentation.util.CurrencyUtils.round;
+import static br.com.libertsolutions.libertvendas.app.presentation.util.StringUtils.digitsOf;
+import static br.com.libertsolutions.libertvendas.app.presentation.util.StringUtils.foldForSearch;
+import static io.realm.Sort.ASCENDING;
 
 /**
  * @author Filipe Bezerra
@@ -20,5 +49,278 @@ public class RealmMigrationImpl implements RealmMigration {
                     .addField("discountPercentage", Float.class);
             oldVersion++;
         }
+
+        if (oldVersion == 2) {
+            realmSchema
+                    .create(SyncCheckpointEntity.class.getSimpleName())
+                    .addField(SyncCheckpointEntity.Fields.FEED, String.class,
+                            FieldAttribute.PRIMARY_KEY)
+                    .addField(SyncCheckpointEntity.Fields.LAST_SYNC_TIME, String.class);
+            oldVersion++;
+        }
+
+        if (oldVersion == 3) {
+            realmSchema
+                    .create(OutboxEntryEntity.class.getSimpleName())
+                    .addField(OutboxEntryEntity.Fields.ID, String.class,
+                            FieldAttribute.PRIMARY_KEY)
+                    .addField(OutboxEntryEntity.Fields.TYPE, Integer.class,
+                            FieldAttribute.REQUIRED)
+                    .addField(OutboxEntryEntity.Fields.ENTITY_ID, Integer.class,
+                            FieldAttribute.REQUIRED)
+                    .addField(OutboxEntryEntity.Fields.SEQUENCE, Long.class,
+                            FieldAttribute.REQUIRED)
+                    .addField(OutboxEntryEntity.Fields.ATTEMPTS, Integer.class,
+                            FieldAttribute.REQUIRED)
+                    .addField(OutboxEntryEntity.Fields.NEXT_ATTEMPT_TIME, Long.class,
+                            FieldAttribute.REQUIRED)
+                    .addField(OutboxEntryEntity.Fields.LAST_ERROR, String.class);
+
+            // Customers are journaled first, orders may depend on them
+            long sequence = enqueuePending(realm, ENTRY_TYPE_CUSTOMER,
+                    CustomerEntity.class.getSimpleName(), CustomerEntity.Fields.ID,
+                    CustomerEntity.Fields.STATUS, CustomerStatus.STATUS_CREATED,
+                    CustomerStatus.STATUS_MODIFIED, 0L);
+            enqueuePending(realm, ENTRY_TYPE_ORDER,
+                    OrderEntity.class.getSimpleName(), OrderEntity.Fields.ID,
+                    OrderEntity.Fields.STATUS, OrderStatus.STATUS_CREATED,
+                    OrderStatus.STATUS_MODIFIED, sequence);
+            oldVersion++;
+        }
+
+        if (oldVersion == 4) {
+            realmSchema
+                    .get(OrderEntity.class.getSimpleName())
+                    .addField(OrderEntity.Fields.TOTAL_ITEMS, double.class)
+                    .addField(OrderEntity.Fields.TOTAL_ORDER, double.class);
+
+            backfillOrderTotals(realm);
+            oldVersion++;
+        }
+
+        if (oldVersion == 5) {
+            realmSchema
+                    .create(DailySalesEntity.class.getSimpleName())
+                    .addField(DailySalesEntity.Fields.ID, String.class,
+                            FieldAttribute.PRIMARY_KEY)
+                    .addField(DailySalesEntity.Fields.SALESMAN_ID, Integer.class,
+                            FieldAttribute.REQUIRED)
+                    .addField(DailySalesEntity.Fields.COMPANY_ID, Integer.class,
+                            FieldAttribute.REQUIRED)
+                    .addField(DailySalesEntity.Fields.DAY, Long.class,
+                            FieldAttribute.REQUIRED)
+                    .addField(DailySalesEntity.Fields.CUSTOMER_ID, Integer.class,
+                            FieldAttribute.REQUIRED)
+                    .addField(DailySalesEntity.Fields.CUSTOMER_NAME, String.class)
+                    .addField(DailySalesEntity.Fields.ORDER_COUNT, int.class)
+                    .addField(DailySalesEntity.Fields.TOTAL, double.class);
+
+            backfillDailySales(realm);
+            oldVersion++;
+        }
+
+        if (oldVersion == 6) {
+            addIndexes(realmSchema.get(OrderEntity.class.getSimpleName()),
+                    OrderEntity.Fields.ORDER_ID, OrderEntity.Fields.ISSUE_DATE,
+                    OrderEntity.Fields.SALESMAN_ID, OrderEntity.Fields.COMPANY_ID,
+                    OrderEntity.Fields.STATUS);
+            addIndexes(realmSchema.get(CustomerEntity.class.getSimpleName()),
+                    CustomerEntity.Fields.CUSTOMER_ID, CustomerEntity.Fields.STATUS);
+            addIndexes(realmSchema.get(CompanyCustomerEntity.class.getSimpleName()),
+                    CompanyCustomerEntity.Fields.COMPANY_ID,
+                    CompanyCustomerEntity.Fields.CUSTOMER_ID);
+            addIndexes(realmSchema.get(CompanyPaymentMethodEntity.class.getSimpleName()),
+                    CompanyPaymentMethodEntity.Fields.COMPANY_ID);
+            addIndexes(realmSchema.get(CompanyPriceTableEntity.class.getSimpleName()),
+                    CompanyPriceTableEntity.Fields.COMPANY_ID);
+            oldVersion++;
+        }
+
+        if (oldVersion == 7) {
+            linkCompanies(realm, CompanyCustomerEntity.class.getSimpleName(),
+                    CompanyCustomerEntity.Fields.CUSTOMER_ID, CompanyCustomerEntity::idOf,
+                    CustomerEntity.class.getSimpleName(), CustomerEntity.Fields.ID);
+            linkCompanies(realm, CompanyPaymentMethodEntity.class.getSimpleName(),
+                    CompanyPaymentMethodEntity.Fields.PAYMENT_METHOD_ID,
+                    CompanyPaymentMethodEntity::idOf,
+                    PaymentMethodEntity.class.getSimpleName(),
+                    PaymentMethodEntity.Fields.PAYMENT_METHOD_ID);
+            linkCompanies(realm, CompanyPriceTableEntity.class.getSimpleName(),
+                    CompanyPriceTableEntity.Fields.PRICE_TABLE_ID, CompanyPriceTableEntity::idOf,
+                    PriceTableEntity.class.getSimpleName(), PriceTableEntity.Fields.PRICE_TABLE_ID);
+            oldVersion++;
+        }
+
+        if (oldVersion == 8) {
+            realmSchema
+                    .create(IdSequenceEntity.class.getSimpleName())
+                    .addField(IdSequenceEntity.Fields.NAME, String.class,
+                            FieldAttribute.PRIMARY_KEY)
+                    .addField(IdSequenceEntity.Fields.NEXT_ID, int.class);
+            oldVersion++;
+        }
+
+        if (oldVersion == 9) {
+            realmSchema
+                    .get(CustomerEntity.class.getSimpleName())
+                    .addField(CustomerEntity.Fields.SEARCH_NAME, String.class,
+                            FieldAttribute.INDEXED)
+                    .addField(CustomerEntity.Fields.SEARCH_DOCUMENT, String.class,
+                            FieldAttribute.INDEXED)
+                    .transform(customer -> {
+                        customer.setString(CustomerEntity.Fields.SEARCH_NAME, foldForSearch(
+                                customer.getString(CustomerEntity.Fields.NAME)));
+                        customer.setString(CustomerEntity.Fields.SEARCH_DOCUMENT, digitsOf(
+                                customer.getString(CustomerEntity.Fields.CPF_OR_CNPJ)));
+                    });
+            realmSchema
+                    .get(CityEntity.class.getSimpleName())
+                    .addField(CityEntity.Fields.SEARCH_NAME, String.class, FieldAttribute.INDEXED)
+                    .transform(city -> city.setString(CityEntity.Fields.SEARCH_NAME,
+                            foldForSearch(city.getString(CityEntity.Fields.NAME))));
+            oldVersion++;
+        }
+    }
+
+    private static void addIndexes(final RealmObjectSchema schema, final String... fieldNames) {
+        for (String fieldName : fieldNames) {
+            if (!schema.hasIndex(fieldName)) {
+                schema.addIndex(fieldName);
+            }
+        }
+    }
+
+    /**
+     * Adds the companies list to the target class and links it to the join rows of the company,
+     * rewriting their ids with the separator since {@code companyId + targetId} could collide.
+     */
+    private static void linkCompanies(
+            final DynamicRealm realm, final String joinClassName, final String joinTargetIdField,
+            final Func2<Integer, Integer, String> idOf, final String targetClassName,
+            final String targetIdField) {
+        final String companiesField = CustomerEntity.Fields.COMPANIES;
+        final String companyIdField = CompanyCustomerEntity.Fields.COMPANY_ID;
+
+        realm.getSchema()
+                .get(targetClassName)
+                .addRealmListField(companiesField, realm.getSchema().get(joinClassName));
+
+        final Map<String, int[]> links = new LinkedHashMap<>();
+        for (DynamicRealmObject row : realm.where(joinClassName).findAll()) {
+            final int companyId = row.getInt(companyIdField);
+            final int targetId = row.getInt(joinTargetIdField);
+            links.put(idOf.call(companyId, targetId), new int[] { companyId, targetId });
+        }
+        realm.delete(joinClassName);
+
+        for (Map.Entry<String, int[]> link : links.entrySet()) {
+            final int companyId = link.getValue()[0];
+            final int targetId = link.getValue()[1];
+
+            final DynamicRealmObject row = realm.createObject(joinClassName, link.getKey());
+            row.setInt(companyIdField, companyId);
+            row.setInt(joinTargetIdField, targetId);
+
+            final DynamicRealmObject target = realm.where(targetClassName)
+                    .equalTo(targetIdField, targetId)
+                    .findFirst();
+            if (target != null) {
+                target.getList(companiesField).add(row);
+            }
+        }
+    }
+
+    /**
+     * Stores the totals of the existing orders the same way {@code Order} computes them.
+     */
+    private static void backfillOrderTotals(final DynamicRealm realm) {
+        final RealmResults<DynamicRealmObject> orders = realm
+                .where(OrderEntity.class.getSimpleName())
+                .findAll();
+
+        for (DynamicRealmObject order : orders) {
+            double totalItems = 0;
+            for (DynamicRealmObject item : order.getList(OrderEntity.Fields.ITEMS)) {
+                if (!item.isNull(OrderItemEntity.Fields.SUB_TOTAL)) {
+                    totalItems += round(item.getDouble(OrderItemEntity.Fields.SUB_TOTAL));
+                }
+            }
+
+            final double discount = order.isNull(OrderEntity.Fields.DISCOUNT)
+                    ? 0 : order.getDouble(OrderEntity.Fields.DISCOUNT);
+
+            order.setDouble(OrderEntity.Fields.TOTAL_ITEMS, totalItems);
+            order.setDouble(OrderEntity.Fields.TOTAL_ORDER, totalItems - discount);
+        }
+    }
+
+    /**
+     * Aggregates the existing orders the same way {@link DailySalesAggregator} does.
+     */
+    private static void backfillDailySales(final DynamicRealm realm) {
+        final String className = DailySalesEntity.class.getSimpleName();
+        final RealmResults<DynamicRealmObject> orders = realm
+                .where(OrderEntity.class.getSimpleName())
+                .notEqualTo(OrderEntity.Fields.STATUS, OrderStatus.STATUS_CANCELLED)
+                .findAll();
+
+        for (DynamicRealmObject order : orders) {
+            final DynamicRealmObject customer = order.getObject(OrderEntity.Fields.CUSTOMER);
+            if (customer == null) {
+                continue;
+            }
+
+            final int salesmanId = order.getInt(OrderEntity.Fields.SALESMAN_ID);
+            final int companyId = order.getInt(OrderEntity.Fields.COMPANY_ID);
+            final long day = DailySalesAggregator
+                    .dayOf(order.getLong(OrderEntity.Fields.ISSUE_DATE));
+            final int customerId = customer.getInt(CustomerEntity.Fields.ID);
+            final String id = DailySalesEntity.idOf(salesmanId, companyId, day, customerId);
+
+            DynamicRealmObject row = realm.where(className)
+                    .equalTo(DailySalesEntity.Fields.ID, id)
+                    .findFirst();
+
+            if (row == null) {
+                row = realm.createObject(className, id);
+                row.setInt(DailySalesEntity.Fields.SALESMAN_ID, salesmanId);
+                row.setInt(DailySalesEntity.Fields.COMPANY_ID, companyId);
+                row.setLong(DailySalesEntity.Fields.DAY, day);
+                row.setInt(DailySalesEntity.Fields.CUSTOMER_ID, customerId);
+            }
+
+            row.setString(DailySalesEntity.Fields.CUSTOMER_NAME,
+                    customer.getString(CustomerEntity.Fields.NAME));
+            row.setInt(DailySalesEntity.Fields.ORDER_COUNT,
+                    row.getInt(DailySalesEntity.Fields.ORDER_COUNT) + 1);
+            row.setDouble(DailySalesEntity.Fields.TOTAL,
+                    round(row.getDouble(DailySalesEntity.Fields.TOTAL)
+                            + order.getDouble(OrderEntity.Fields.TOTAL_ORDER)));
+        }
+    }
+
+    private static long enqueuePending(
+            final DynamicRealm realm, final int type, final String className,
+            final String idField, final String statusField, final int createdStatus,
+            final int modifiedStatus, long sequence) {
+        final RealmResults<DynamicRealmObject> pending = realm
+                .where(className)
+                .equalTo(statusField, createdStatus)
+                .or()
+                .equalTo(statusField, modifiedStatus)
+                .findAllSorted(idField, ASCENDING);
+
+        for (DynamicRealmObject object : pending) {
+            final int entityId = object.getInt(idField);
+            final DynamicRealmObject entry = realm.createObject(
+                    OutboxEntryEntity.class.getSimpleName(),
+                    OutboxEntryEntity.idOf(type, entityId));
+            entry.setInt(OutboxEntryEntity.Fields.TYPE, type);
+            entry.setInt(OutboxEntryEntity.Fields.ENTITY_ID, entityId);
+            entry.setLong(OutboxEntryEntity.Fields.SEQUENCE, ++sequence);
+            entry.setInt(OutboxEntryEntity.Fields.ATTEMPTS, 0);
+            entry.setLong(OutboxEntryEntity.Fields.NEXT_ATTEMPT_TIME, 0L);
+        }
+        return sequence;
     }
 }
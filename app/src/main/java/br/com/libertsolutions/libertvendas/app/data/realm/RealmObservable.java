@@ -1,12 +1,8 @@
 package br.com.libertsolutions.libertvendas.app.data.realm;
 
 import io.realm.Realm;
-import io.realm.RealmList;
-import io.realm.RealmModel;
-import io.realm.RealmResults;
 import rx.Observable;
 import rx.functions.Func1;
-import rx.schedulers.Schedulers;
 
 /**
  * Helper class that simplifies usage newCliente these functions providing static methods with
@@ -16,41 +12,35 @@ import rx.schedulers.Schedulers;
  */
 public final class RealmObservable {
 
-    public static <E extends RealmModel> Observable<E> object(final Func1<Realm, E> function) {
+    /**
+     * Runs the function without a transaction, so it never waits for a write in progress. The
+     * emitted value is only valid until the downstream {@code onNext} returns.
+     */
+    public static <T> Observable<T> read(final Func1<Realm, T> function) {
         return Observable
                 .create(
-                        new OnSubscribeRealm<E>() {
+                        new OnSubscribeRealm<T>(false) {
                             @Override
-                            public E get(Realm realm) {
+                            public T get(Realm realm) {
                                 return function.call(realm);
                             }
                         })
-                .subscribeOn(Schedulers.io());
+                .subscribeOn(RealmSchedulers.reader());
     }
 
-    public static <E extends RealmModel> Observable<RealmList<E>> list(
-            final Func1<Realm, RealmList<E>> function) {
+    /**
+     * Runs the function inside a write transaction on the single writer thread, committed when
+     * it returns a non null value.
+     */
+    public static <T> Observable<T> transaction(final Func1<Realm, T> function) {
         return Observable
                 .create(
-                        new OnSubscribeRealm<RealmList<E>>() {
+                        new OnSubscribeRealm<T>(true) {
                             @Override
-                            public RealmList<E> get(Realm realm) {
+                            public T get(Realm realm) {
                                 return function.call(realm);
                             }
                         })
-                .subscribeOn(Schedulers.io());
+                .subscribeOn(RealmSchedulers.writer());
     }
-
-    public static <E extends RealmModel> Observable<RealmResults<E>> results(
-            final Func1<Realm, RealmResults<E>> function) {
-        return Observable
-                .create(
-                        new OnSubscribeRealm<RealmResults<E>>() {
-                            @Override
-                            public RealmResults<E> get(Realm realm) {
-                                return function.call(realm);
-                            }
-                        })
-                .subscribeOn(Schedulers.io());
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,167 @@
+package br.com.libertsolutions.libertvendas.app.data.realm;
+
+import android.util.LruCache;
+import br.com.libertsolutions.libertvendas.app.data.repository.ChangeSet;
+import br.com.libertsolutions.libertvendas.app.data.repository.ChangeSet.Range;
+import br.com.libertsolutions.libertvendas.app.data.repository.PagedList;
+import io.realm.OrderedCollectionChangeSet;
+import io.realm.OrderedRealmCollectionChangeListener;
+import io.realm.Realm;
+import io.realm.RealmModel;
+import io.realm.RealmResults;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+import rx.Observable;
+import rx.subjects.PublishSubject;
+
+/**
+ * {@link PagedList} over {@link RealmResults}, mapping pages of {@value #PAGE_SIZE} rows on
+ * demand. Reading close to the edge of a page maps the neighbour page as well, so scrolling
+ * rarely binds a row whose page is not mapped yet. Only the last {@value #CACHED_PAGES} pages
+ * are kept, and a change drops only the pages whose rows it changed or shifted.
+ *
+ * @author Filipe Bezerra
+ */
+class RealmPagedList<T, E extends RealmModel> extends AbstractList<T> implements PagedList<T> {
+
+    private static final int PAGE_SIZE = 50;
+
+    private static final int PREFETCH_DISTANCE = 10;
+
+    private static final int CACHED_PAGES = 5;
+
+    private final Realm mRealm;
+
+    private final RealmResults<E> mResults;
+
+    private final RealmViewMapper<T, E> mMapper;
+
+    private final LruCache<Integer, List<T>> mPages = new LruCache<>(CACHED_PAGES);
+
+    private final OrderedRealmCollectionChangeListener<RealmResults<E>> mChangeListener =
+            this::onResultsChanged;
+
+    private final PublishSubject<ChangeSet> mChanges = PublishSubject.create();
+
+    RealmPagedList(
+            final Realm realm, final RealmResults<E> results, final RealmViewMapper<T, E> mapper) {
+        mRealm = realm;
+        mResults = results;
+        mMapper = mapper;
+        mResults.addChangeListener(mChangeListener);
+    }
+
+    @Override public T get(final int position) {
+        if (position < 0 || position >= size()) {
+            throw new IndexOutOfBoundsException(
+                    "Position " + position + " out of " + size() + " rows");
+        }
+
+        final int page = position / PAGE_SIZE;
+        final int offset = position % PAGE_SIZE;
+
+        if (offset < PREFETCH_DISTANCE && page > 0) {
+            pageOf(page - 1);
+        } else if (offset >= PAGE_SIZE - PREFETCH_DISTANCE && (page + 1) * PAGE_SIZE < size()) {
+            pageOf(page + 1);
+        }
+        return pageOf(page).get(offset);
+    }
+
+    /**
+     * Looks into the mapped pages first, the object sought is usually on screen. Otherwise the
+     * rows are compared by the id of their entities, without being mapped. Objects the mapper
+     * knows no id of are searched mapping every row until found.
+     */
+    @SuppressWarnings("unchecked")
+    @Override public int indexOf(final Object object) {
+        for (Map.Entry<Integer, List<T>> page : mPages.snapshot().entrySet()) {
+            final int offset = page.getValue().indexOf(object);
+            if (offset != -1) {
+                return page.getKey() * PAGE_SIZE + offset;
+            }
+        }
+
+        final Object id = object != null ? mMapper.idOf((T) object) : null;
+        if (id == null) {
+            return super.indexOf(object);
+        }
+
+        for (int position = 0; position < size(); position++) {
+            if (id.equals(mMapper.entityIdOf(mResults.get(position)))) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    @Override public int size() {
+        return mResults.isValid() ? mResults.size() : 0;
+    }
+
+    @Override public Observable<ChangeSet> changes() {
+        return mChanges.asObservable();
+    }
+
+    @Override public void close() {
+        mChanges.onCompleted();
+        mPages.evictAll();
+        if (!mRealm.isClosed()) {
+            mResults.removeChangeListener(mChangeListener);
+            mRealm.close();
+        }
+    }
+
+    private List<T> pageOf(final int page) {
+        List<T> objects = mPages.get(page);
+        if (objects == null) {
+            final int first = page * PAGE_SIZE;
+            objects = mMapper
+                    .toViewObjects(mResults.subList(first, Math.min(first + PAGE_SIZE, size())));
+            mPages.put(page, objects);
+        }
+        return objects;
+    }
+
+    private void onResultsChanged(
+            final RealmResults<E> results, final OrderedCollectionChangeSet changeSet) {
+        final ChangeSet changes = changeSet == null
+                ? ChangeSet.reloaded()
+                : new ChangeSet(toRanges(changeSet.getDeletionRanges()),
+                        toRanges(changeSet.getInsertionRanges()),
+                        toRanges(changeSet.getChangeRanges()));
+
+        evictPages(changes);
+        mChanges.onNext(changes);
+    }
+
+    private void evictPages(final ChangeSet changes) {
+        if (changes.isReloaded()) {
+            mPages.evictAll();
+        } else if (changes.isStructural()) {
+            // Every row after the first removal or insertion has moved
+            final int firstPage = changes.getFirstChangedPosition() / PAGE_SIZE;
+            for (Integer page : mPages.snapshot().keySet()) {
+                if (page >= firstPage) {
+                    mPages.remove(page);
+                }
+            }
+        } else {
+            for (Range range : changes.getChangedRanges()) {
+                final int lastPage = (range.getStart() + range.getLength() - 1) / PAGE_SIZE;
+                for (int page = range.getStart() / PAGE_SIZE; page <= lastPage; page++) {
+                    mPages.remove(page);
+                }
+            }
+        }
+    }
+
+    private static Range[] toRanges(final OrderedCollectionChangeSet.Range[] realmRanges) {
+        final Range[] ranges = new Range[realmRanges.length];
+        for (int i = 0; i < realmRanges.length; i++) {
+            ranges[i] = new Range(realmRanges[i].startIndex, realmRanges[i].length);
+        }
+        return ranges;
+    }
+}
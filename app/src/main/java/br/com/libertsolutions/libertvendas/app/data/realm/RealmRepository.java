@@ -1,23 +1,43 @@
 package br.com.libertsolutions.libertvendas.app.data.realm;
 
 import br.com.libertsolutions.libertvendas.app.data.repository.Mapper;
+import br.com.libertsolutions.libertvendas.app.data.repository.MergeResult;
+import br.com.libertsolutions.libertvendas.app.data.repository.PagedList;
 import br.com.libertsolutions.libertvendas.app.data.repository.Repository;
 import br.com.libertsolutions.libertvendas.app.data.repository.Specification;
+import br.com.libertsolutions.libertvendas.app.data.repository.ViewMapper;
+import io.realm.Realm;
+import io.realm.RealmChangeListener;
 import io.realm.RealmList;
 import io.realm.RealmModel;
 import io.realm.RealmResults;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import rx.Observable;
+import rx.android.MainThreadSubscription;
+import rx.schedulers.Schedulers;
 import timber.log.Timber;
 
 import static io.realm.Sort.ASCENDING;
 import static io.realm.Sort.DESCENDING;
+import static rx.android.schedulers.AndroidSchedulers.mainThread;
 
 /**
  * @author Filipe Bezerra
  */
 public abstract class RealmRepository<T, E extends RealmModel> implements Repository<T> {
 
+    private static final int MERGE_CHUNK_SIZE = 500;
+
+    private static final int INSERTED = 0;
+
+    private static final int UPDATED = 1;
+
+    private static final int SKIPPED = 2;
+
+    private static final int MERGE_OUTCOMES = 3;
+
     private final Class<E> mEntityClass;
 
     private final Mapper<T, E> mRealmMapper;
@@ -29,9 +49,10 @@ public abstract class RealmRepository<T, E extends RealmModel> implements Reposi
 
     @Override public Observable<T> save(final T object) {
         return RealmObservable
-                .object(realm -> {
+                .transaction(realm -> {
                     Timber.d("%s.save(%s)", mEntityClass.getSimpleName(), object);
-                    final E entity = realm.copyToRealmOrUpdate(mRealmMapper.toEntity(object));
+                    final E entity = copyToRealmOrUpdate(realm, object);
+                    onSaved(realm, entity);
                     Timber.d("%s saved %s", mEntityClass.getSimpleName(), entity);
                     return entity;
                 })
@@ -40,14 +61,16 @@ public abstract class RealmRepository<T, E extends RealmModel> implements Reposi
 
     @Override public Observable<List<T>> save(final List<T> objects) {
         return RealmObservable
-                .list(realm -> {
+                .transaction(realm -> {
                     Timber.d("%s.save(list of %d)", mEntityClass.getSimpleName(), objects.size());
-                    List<E> entities = realm.copyToRealmOrUpdate(mRealmMapper.toEntities(objects));
+                    RealmList<E> entities = new RealmList<>();
+                    for (T object : objects) {
+                        final E entity = copyToRealmOrUpdate(realm, object);
+                        onSaved(realm, entity);
+                        entities.add(entity);
+                    }
                     Timber.d("%s saved %d", mEntityClass.getSimpleName(), entities.size());
-
-                    RealmList<E> result = new RealmList<>();
-                    result.addAll(entities);
-                    return result;
+                    return entities;
                 })
                 .map(mRealmMapper::toViewObjects);
     }
@@ -55,7 +78,7 @@ public abstract class RealmRepository<T, E extends RealmModel> implements Reposi
     @Override public Observable<T> findFirst(final Specification specification) {
         RealmSingleSpecification<E> spec = (RealmSingleSpecification<E>) specification;
         return RealmObservable
-                .object(realm -> {
+                .read(realm -> {
                     Timber.d("%s.findFirst()", mEntityClass.getSimpleName());
                     E entity = spec.toSingle(realm);
                     Timber.i("%s found %s", mEntityClass.getSimpleName(), entity);
@@ -66,7 +89,7 @@ public abstract class RealmRepository<T, E extends RealmModel> implements Reposi
 
     @Override public Observable<List<T>> findAll(final String sortField, final boolean ascending) {
         return RealmObservable
-                .results(realm -> {
+                .read(realm -> {
                     Timber.d("%s.findAll()", mEntityClass.getSimpleName());
                     RealmResults<E> entities = realm.where(mEntityClass)
                             .findAllSorted(sortField, ascending ? ASCENDING : DESCENDING);
@@ -79,7 +102,7 @@ public abstract class RealmRepository<T, E extends RealmModel> implements Reposi
     @Override public Observable<List<T>> query(final Specification specification) {
         RealmResultsSpecification<E> spec = (RealmResultsSpecification<E>) specification;
         return RealmObservable
-                .results(realm -> {
+                .read(realm -> {
                     Timber.d("%s.query()", mEntityClass.getSimpleName());
                     RealmResults<E> entities = spec.toRealmResults(realm);
                     Timber.i("%s found %d", mEntityClass.getSimpleName(), entities.size());
@@ -87,4 +110,183 @@ public abstract class RealmRepository<T, E extends RealmModel> implements Reposi
                 })
                 .map(mRealmMapper::toViewObjects);
     }
+
+    /**
+     * Same as {@link #query(Specification)}, mapping the entities with the given projection
+     * instead of the full view objects of this repository.
+     */
+    protected <P> Observable<List<P>> query(
+            final Specification specification, final ViewMapper<P, E> projection) {
+        RealmResultsSpecification<E> spec = (RealmResultsSpecification<E>) specification;
+        return RealmObservable
+                .read(realm -> {
+                    Timber.d("%s.query(projection)", mEntityClass.getSimpleName());
+                    RealmResults<E> entities = spec.toRealmResults(realm);
+                    Timber.i("%s found %d", mEntityClass.getSimpleName(), entities.size());
+                    return projection.toViewObjects(entities);
+                });
+    }
+
+    @Override public Observable<PagedList<T>> queryPaged(final Specification specification) {
+        return queryPaged(specification, mRealmMapper);
+    }
+
+    /**
+     * Same as {@link #queryPaged(Specification)}, mapping the entities with the given
+     * projection. The results are opened on the main thread so they follow its changes, while
+     * the query runs on a Realm worker thread. The list is emitted once the results are loaded,
+     * without mapping any row.
+     */
+    protected <P> Observable<PagedList<P>> queryPaged(
+            final Specification specification, final ViewMapper<P, E> projection) {
+        RealmAsyncResultsSpecification<E> spec = (RealmAsyncResultsSpecification<E>) specification;
+        RealmViewMapper<P, E> mapper = (RealmViewMapper<P, E>) projection;
+        return Observable
+                .create((Observable.OnSubscribe<PagedList<P>>) subscriber -> {
+                    Timber.d("%s.queryPaged()", mEntityClass.getSimpleName());
+                    final Realm realm = Realm.getDefaultInstance();
+                    final RealmResults<E> entities;
+                    try {
+                        entities = spec.toRealmResultsAsync(realm);
+                    } catch (RuntimeException e) {
+                        realm.close();
+                        throw e;
+                    }
+
+                    final RealmChangeListener<RealmResults<E>> onLoaded =
+                            new RealmChangeListener<RealmResults<E>>() {
+                                @Override public void onChange(final RealmResults<E> results) {
+                                    results.removeChangeListener(this);
+                                    Timber.i("%s found %d",
+                                            mEntityClass.getSimpleName(), results.size());
+                                    subscriber.onNext(new RealmPagedList<>(realm, results, mapper));
+                                    subscriber.onCompleted();
+                                }
+                            };
+                    entities.addChangeListener(onLoaded);
+
+                    // Once loaded the realm belongs to the emitted list, which closes it
+                    subscriber.add(new MainThreadSubscription() {
+                        @Override protected void onUnsubscribe() {
+                            if (!realm.isClosed() && !entities.isLoaded()) {
+                                entities.removeChangeListener(onLoaded);
+                                realm.close();
+                            }
+                        }
+                    });
+                })
+                .subscribeOn(mainThread());
+    }
+
+    /**
+     * Sums the field over the entities matched by the specification inside the database.
+     */
+    protected Observable<Double> sum(final Specification specification, final String fieldName) {
+        RealmResultsSpecification<E> spec = (RealmResultsSpecification<E>) specification;
+        return RealmObservable
+                .read(realm -> {
+                    Timber.d("%s.sum(%s)", mEntityClass.getSimpleName(), fieldName);
+                    return spec.toRealmResults(realm).sum(fieldName).doubleValue();
+                });
+    }
+
+    @Override public <S> Observable<MergeResult> merge(
+            final List<S> objects, final Specification specification) {
+        RealmMergeSpecification<S, E> spec = (RealmMergeSpecification<S, E>) specification;
+        return mergeChunk(objects, spec, true);
+    }
+
+    @Override public <S> Observable<MergeResult> merge(
+            final Iterator<S> objects, final Specification specification) {
+        RealmMergeSpecification<S, E> spec = (RealmMergeSpecification<S, E>) specification;
+        return Observable
+                .fromCallable(() -> {
+                    Timber.d("%s.merge(stream)", mEntityClass.getSimpleName());
+                    final int[] counts = new int[MERGE_OUTCOMES];
+                    final List<S> chunk = new ArrayList<>(MERGE_CHUNK_SIZE);
+
+                    boolean completed;
+                    do {
+                        chunk.clear();
+                        while (chunk.size() < MERGE_CHUNK_SIZE && objects.hasNext()) {
+                            chunk.add(objects.next());
+                        }
+                        completed = !objects.hasNext();
+
+                        final MergeResult result = mergeChunk(chunk, spec, completed)
+                                .toBlocking()
+                                .single();
+                        counts[INSERTED] += result.getInserted();
+                        counts[UPDATED] += result.getUpdated();
+                        counts[SKIPPED] += result.getSkipped();
+                    } while (!completed);
+
+                    final MergeResult result = MergeResult
+                            .of(counts[INSERTED], counts[UPDATED], counts[SKIPPED]);
+                    Timber.i("%s merged %s", mEntityClass.getSimpleName(), result);
+                    return result;
+                })
+                // Reading the stream waits on the network, so each chunk is read here and only
+                // handed to the writer thread once complete, which holds the write lock just to
+                // write it
+                .subscribeOn(Schedulers.io());
+    }
+
+    /**
+     * Writes the object inside the save transaction, returning its managed entity. Subclasses
+     * may override it to link related rows instead of copying them again.
+     */
+    protected E copyToRealmOrUpdate(final Realm realm, final T object) {
+        return realm.copyToRealmOrUpdate(mRealmMapper.toEntity(object));
+    }
+
+    /**
+     * Called inside the save transaction for every saved entity, allowing subclasses to
+     * write related rows atomically with it.
+     */
+    protected void onSaved(final Realm realm, final E entity) {}
+
+    /**
+     * Merges the objects in a single transaction, completing the merge of the specification
+     * when they are the last ones.
+     */
+    private <S> Observable<MergeResult> mergeChunk(
+            final List<S> objects, final RealmMergeSpecification<S, E> spec,
+            final boolean completed) {
+        return RealmObservable
+                .transaction(realm -> {
+                    Timber.d("%s.merge(list of %d)", mEntityClass.getSimpleName(), objects.size());
+                    final int[] counts = new int[MERGE_OUTCOMES];
+
+                    for (S object : objects) {
+                        counts[mergeObject(realm, spec, object)]++;
+                    }
+                    if (completed) {
+                        spec.onMergeCompleted(realm);
+                    }
+
+                    final MergeResult result = MergeResult
+                            .of(counts[INSERTED], counts[UPDATED], counts[SKIPPED]);
+                    Timber.i("%s merged %s", mEntityClass.getSimpleName(), result);
+                    return result;
+                });
+    }
+
+    private <S> int mergeObject(
+            final Realm realm, final RealmMergeSpecification<S, E> spec, final S object) {
+        final E existing = spec.findExisting(realm, object);
+        final E entity = spec.toEntity(realm, object, existing);
+
+        if (entity == null) {
+            return SKIPPED;
+        }
+
+        final E savedEntity = realm.copyToRealmOrUpdate(entity);
+
+        if (existing == null) {
+            spec.onInserted(realm, savedEntity);
+            return INSERTED;
+        }
+        return UPDATED;
+    }
 }
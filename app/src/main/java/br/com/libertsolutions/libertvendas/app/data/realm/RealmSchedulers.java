@@ -0,0 +1,148 @@
+package br.com.libertsolutions.libertvendas.app.data.realm;
+
+import android.support.annotation.NonNull;
+import io.realm.Realm;
+import io.realm.RealmConfiguration;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import rx.Scheduler;
+import rx.schedulers.Schedulers;
+
+/**
+ * Threads the Realm work runs on: a single writer thread, so writes never contend for the write
+ * lock, and a small pool of reader threads. Each thread keeps its Realm open between tasks and
+ * closes it once idle, so no old version stays pinned while the app is not working.
+ *
+ * @author Filipe Bezerra
+ */
+public final class RealmSchedulers {
+
+    private RealmSchedulers() {/* No instances */}
+
+    private static final int READER_THREADS = 2;
+
+    private static final long IDLE_TIMEOUT_IN_SECONDS = 30;
+
+    private static final ThreadPoolExecutor sWriterExecutor = newExecutor("realm-writer", 1);
+
+    private static final ThreadPoolExecutor sReaderExecutor
+            = newExecutor("realm-reader", READER_THREADS);
+
+    private static final Scheduler sWriter = Schedulers.from(sWriterExecutor);
+
+    private static final Scheduler sReader = Schedulers.from(sReaderExecutor);
+
+    private static final AtomicLong sTransactions = new AtomicLong();
+
+    private static final AtomicLong sTransactionNanos = new AtomicLong();
+
+    private static final AtomicLong sMaxTransactionNanos = new AtomicLong();
+
+    public static Scheduler writer() {
+        return sWriter;
+    }
+
+    public static Scheduler reader() {
+        return sReader;
+    }
+
+    public static RealmMetrics metrics() {
+        final RealmConfiguration configuration = Realm.getDefaultConfiguration();
+        final long transactions = sTransactions.get();
+
+        return new RealmMetrics(
+                configuration != null ? Realm.getGlobalInstanceCount(configuration) : 0,
+                sWriterExecutor.getQueue().size(),
+                sReaderExecutor.getQueue().size(),
+                transactions,
+                transactions == 0 ? 0 : TimeUnit.NANOSECONDS
+                        .toMillis(sTransactionNanos.get() / transactions),
+                TimeUnit.NANOSECONDS.toMillis(sMaxTransactionNanos.get()));
+    }
+
+    /**
+     * Returns the Realm of the current thread, up to date with the latest commit. Outside the
+     * Realm threads a new instance is opened, to be closed by {@link #release(Realm)}.
+     */
+    static Realm acquire() {
+        final Thread thread = Thread.currentThread();
+        if (thread instanceof RealmThread) {
+            return ((RealmThread) thread).realm();
+        }
+        return Realm.getDefaultInstance();
+    }
+
+    static void release(final Realm realm) {
+        if (!(Thread.currentThread() instanceof RealmThread)) {
+            realm.close();
+        }
+    }
+
+    static void recordTransaction(final long startNanos) {
+        final long duration = System.nanoTime() - startNanos;
+        sTransactions.incrementAndGet();
+        sTransactionNanos.addAndGet(duration);
+
+        long max;
+        do {
+            max = sMaxTransactionNanos.get();
+        } while (duration > max && !sMaxTransactionNanos.compareAndSet(max, duration));
+    }
+
+    private static ThreadPoolExecutor newExecutor(final String name, final int threads) {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads, IDLE_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new RealmThreadFactory(name));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static class RealmThreadFactory implements ThreadFactory {
+
+        private final String name;
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        RealmThreadFactory(final String name) {
+            this.name = name;
+        }
+
+        @Override public Thread newThread(@NonNull final Runnable runnable) {
+            return new RealmThread(runnable, name + "-" + count.incrementAndGet());
+        }
+    }
+
+    private static class RealmThread extends Thread {
+
+        private Realm realm;
+
+        RealmThread(final Runnable runnable, final String name) {
+            super(runnable, name);
+        }
+
+        Realm realm() {
+            if (realm == null) {
+                realm = Realm.getDefaultInstance();
+            } else if (!realm.isInTransaction()) {
+                // Threads without a looper are not refreshed automatically
+                realm.refresh();
+            }
+            return realm;
+        }
+
+        @Override public void run() {
+            try {
+                super.run();
+            } finally {
+                if (realm != null) {
+                    realm.close();
+                    realm = null;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.libertsolutions.libertvendas.app.data.realm;
+
+import br.com.libertsolutions.libertvendas.app.data.repository.ViewMapper;
+import io.realm.RealmModel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Filipe Bezerra
+ */
+public abstract class RealmViewMapper<T, E extends RealmModel> implements ViewMapper<T, E> {
+
+    @Override
+    public List<T> toViewObjects(List<E> entities) {
+        final List<T> objects = new ArrayList<>();
+
+        for (E entity : entities) {
+            objects.add(toViewObject(entity));
+        }
+
+        return objects;
+    }
+
+    /**
+     * Returns the id of the object, equal to the one {@link #entityIdOf(RealmModel)} returns for
+     * the entity it was mapped from, or null when the objects are not found by id.
+     */
+    public Object idOf(final T object) {
+        return null;
+    }
+
+    /**
+     * Returns the id of the entity, see {@link #idOf(Object)}.
+     */
+    public Object entityIdOf(final E entity) {
+        return null;
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.libertsolutions.libertvendas.app.data.repository;
+
+/**
+ * Changes of a {@link PagedList} since the previous change set, as ranges of positions. The
+ * removed ranges refer to the old positions and the inserted and changed ranges to the new
+ * ones, so they are applied removals first, in reverse order, then insertions and changes.
+ *
+ * @author Filipe Bezerra
+ */
+public class ChangeSet {
+
+    private static final Range[] NO_RANGES = new Range[0];
+
+    private static final ChangeSet RELOADED = new ChangeSet(NO_RANGES, NO_RANGES, NO_RANGES);
+
+    private final Range[] mRemovedRanges;
+
+    private final Range[] mInsertedRanges;
+
+    private final Range[] mChangedRanges;
+
+    public ChangeSet(
+            final Range[] removedRanges, final Range[] insertedRanges,
+            final Range[] changedRanges) {
+        mRemovedRanges = removedRanges;
+        mInsertedRanges = insertedRanges;
+        mChangedRanges = changedRanges;
+    }
+
+    /**
+     * Returned when the changes are not known, every position must be read again.
+     */
+    public static ChangeSet reloaded() {
+        return RELOADED;
+    }
+
+    public boolean isReloaded() {
+        return this == RELOADED;
+    }
+
+    public Range[] getRemovedRanges() {
+        return mRemovedRanges;
+    }
+
+    public Range[] getInsertedRanges() {
+        return mInsertedRanges;
+    }
+
+    public Range[] getChangedRanges() {
+        return mChangedRanges;
+    }
+
+    /**
+     * Returns the first position whose row may differ from the previous one, or -1 if there
+     * are no changes.
+     */
+    public int getFirstChangedPosition() {
+        int first = -1;
+        for (Range[] ranges : new Range[][] {mRemovedRanges, mInsertedRanges, mChangedRanges}) {
+            for (Range range : ranges) {
+                if (first == -1 || range.getStart() < first) {
+                    first = range.getStart();
+                }
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Whether the positions after the changes were shifted by removals or insertions.
+     */
+    public boolean isStructural() {
+        return mRemovedRanges.length > 0 || mInsertedRanges.length > 0;
+    }
+
+    @Override public String toString() {
+        return isReloaded()
+                ? "ChangeSet{reloaded}"
+                : "ChangeSet{" +
+                        "removed=" + mRemovedRanges.length +
+                        ", inserted=" + mInsertedRanges.length +
+                        ", changed=" + mChangedRanges.length +
+                        '}';
+    }
+
+    public static class Range {
+
+        private final int mStart;
+
+        private final int mLength;
+
+        public Range(final int start, final int length) {
+            mStart = start;
+            mLength = length;
+        }
+
+        public int getStart() {
+            return mStart;
+        }
+
+        public int getLength() {
+            return mLength;
+        }
+    }
+}
@@ -5,13 +5,9 @@ import java.util.List;
 /**
  * @author Filipe Bezerra
  */
-public interface Mapper<T, E> {
+public interface Mapper<T, E> extends ViewMapper<T, E> {
 
     E toEntity(T object);
 
     List<E> toEntities(List<T> objects);
-
-    T toViewObject(E entity);
-
-    List<T> toViewObjects(List<E> entities);
 }
@@ -0,0 +1,49 @@
+package br.com.libertsolutions.libertvendas.app.data.repository;
+
+/**
+ * Outcome of a {@link Repository#merge} call.
+ *
+ * @author Filipe Bezerra
+ */
+public final class MergeResult {
+
+    private final int inserted;
+
+    private final int updated;
+
+    private final int skipped;
+
+    private MergeResult(final int inserted, final int updated, final int skipped) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.skipped = skipped;
+    }
+
+    public static MergeResult of(final int inserted, final int updated, final int skipped) {
+        return new MergeResult(inserted, updated, skipped);
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public boolean hasChanges() {
+        return inserted > 0 || updated > 0;
+    }
+
+    @Override public String toString() {
+        return "MergeResult{" +
+                "inserted=" + inserted +
+                ", updated=" + updated +
+                ", skipped=" + skipped +
+                '}';
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.libertsolutions.libertvendas.app.data.repository;
+
+import java.util.List;
+import rx.Observable;
+
+/**
+ * Read only list over the live results of a query, mapping the rows to view objects only when
+ * they are read. It is confined to the thread it was emitted on and must be closed when no
+ * longer shown, which also completes its {@link #changes()}.
+ *
+ * @author Filipe Bezerra
+ */
+public interface PagedList<T> extends List<T> {
+
+    /**
+     * Emits the {@link ChangeSet} of every change to the results, after the mapped pages
+     * affected by it were dropped.
+     */
+    Observable<ChangeSet> changes();
+
+    void close();
+}
@@ -1,5 +1,6 @@
 package br.com.libertsolutions.libertvendas.app.data.repository;
 
+import java.util.Iterator;
 import java.util.List;
 import rx.Observable;
 
@@ -17,4 +18,14 @@ public interface Repository<T> {
     Observable<List<T>> findAll(String sortField, boolean ascending);
 
     Observable<List<T>> query(Specification specification);
+
+    /**
+     * Same as {@link #query(Specification)} as a {@link PagedList}, emitted on the main thread
+     * where it is meant to be read.
+     */
+    Observable<PagedList<T>> queryPaged(Specification specification);
+
+    <S> Observable<MergeResult> merge(List<S> objects, Specification specification);
+
+    <S> Observable<MergeResult> merge(Iterator<S> objects, Specification specification);
 }
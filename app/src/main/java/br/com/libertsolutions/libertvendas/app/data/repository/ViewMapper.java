@@ -0,0 +1,16 @@
+package br.com.libertsolutions.libertvendas.app.data.repository;
+
+import java.util.List;
+
+/**
+ * Maps the entities to view objects only, for read only projections that are never written
+ * back.
+ *
+ * @author Filipe Bezerra
+ */
+public interface ViewMapper<T, E> {
+
+    T toViewObject(E entity);
+
+    List<T> toViewObjects(List<E> entities);
+}
@@ -2,14 +2,17 @@ package br.com.libertsolutions.libertvendas.app.data.salesman;
 
 import br.com.libertsolutions.libertvendas.app.domain.dto.SalesmanDto;
 import retrofit2.http.GET;
+import retrofit2.http.Headers;
 import retrofit2.http.Query;
 import rx.Observable;
 
+import static br.com.libertsolutions.libertvendas.app.data.helper.HttpCachePolicy.NO_STORE;
+
 /**
  * @author Filipe Bezerra
  */
 public interface SalesmanApi {
 
-    @GET("api/vendedor/get") Observable<SalesmanDto> get(
+    @Headers(NO_STORE) @GET("api/vendedor/get") Observable<SalesmanDto> get(
             @Query("cpfCnpj") String cpfOrCnpj, @Query("senha") String password);
 }
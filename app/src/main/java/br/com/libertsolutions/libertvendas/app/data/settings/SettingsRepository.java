@@ -31,7 +31,18 @@ public interface SettingsRepository {
 
     void setRunningSyncWith(final long syncPeriod);
 
-    void setLastSyncTime(String lastUpdateTime);
+    /**
+     * Sets the time of the last successful sync, shown to the user.
+     */
+    void setLastSyncTime(String lastSyncTime);
 
     String getLastSyncTime();
+
+    /**
+     * Sets the server time the imported data is up to date with, from which the update feeds
+     * without checkpoint are requested.
+     */
+    void setSyncBaseline(String syncBaseline);
+
+    String getSyncBaseline();
 }
@@ -32,6 +32,7 @@ public class SettingsRepositoryImpl implements SettingsRepository {
     private static final String KEY_DEFAULT_COMPANY = "pref.defaultCompany";
     private static final String KEY_RUNNING_SYNC_PERIOD = "pref.runningSyncPeriod";
     private static final String KEY_LAST_SYNC_TIME = "pref.lastSyncTime";
+    private static final String KEY_SYNC_BASELINE = "pref.syncBaseline";
 
     private final Context mContext;
 
@@ -43,6 +44,7 @@ public class SettingsRepositoryImpl implements SettingsRepository {
         mPreferences = PreferenceManager.getDefaultSharedPreferences(context);
         mContext = context;
         mGson = new Gson();
+        keepSyncBaselineOfOlderInstalls();
     }
 
     @Override public boolean isInitialFlowDone() {
@@ -135,6 +137,30 @@ public class SettingsRepositoryImpl implements SettingsRepository {
         return mPreferences.getString(KEY_LAST_SYNC_TIME, null);
     }
 
+    @Override public void setSyncBaseline(final String syncBaseline) {
+        mPreferences.edit()
+                .putString(KEY_SYNC_BASELINE, syncBaseline)
+                .apply();
+    }
+
+    @Override public String getSyncBaseline() {
+        return mPreferences.getString(KEY_SYNC_BASELINE, null);
+    }
+
+    /**
+     * Installs from before the baseline kept the server time of the last sync as the last sync
+     * time, which is now written with the device time. It is copied to the baseline once, before
+     * any sync overwrites it.
+     */
+    private void keepSyncBaselineOfOlderInstalls() {
+        if (!mPreferences.contains(KEY_SYNC_BASELINE)
+                && mPreferences.contains(KEY_LAST_SYNC_TIME)) {
+            mPreferences.edit()
+                    .putString(KEY_SYNC_BASELINE, getLastSyncTime())
+                    .apply();
+        }
+    }
+
     private Observable<String> getStringAsObservable(String value) {
         return Observable.defer(() -> Observable.just(value));
     }
@@ -0,0 +1,102 @@
+package br.com.libertsolutions.libertvendas.app.data.sync;
+
+import br.com.libertsolutions.libertvendas.app.data.realm.RealmMergeSpecification;
+import br.com.libertsolutions.libertvendas.app.domain.entity.SyncCheckpointEntity;
+import io.realm.Realm;
+import io.realm.RealmModel;
+import rx.functions.Func1;
+import timber.log.Timber;
+
+import static br.com.libertsolutions.libertvendas.app.presentation.util.DateUtils.serverDateTimeToMillis;
+import static br.com.libertsolutions.libertvendas.app.presentation.util.DateUtils.toServerDateTime;
+
+/**
+ * Decorates a {@link RealmMergeSpecification} keeping track of the newest change time of the
+ * merged objects, which is stored as the feed checkpoint in the same transaction as the data.
+ * A feed without changes is checkpointed at the time the server answered it.
+ *
+ * <p>The checkpoint is stepped back by {@link #CHECKPOINT_MARGIN_MILLIS}, so the rows committed
+ * later with the same change time are still requested even if the server filters the updates
+ * strictly after it. The rows requested again are merged by id, applying them twice is
+ * harmless.
+ *
+ * @author Filipe Bezerra
+ */
+public class CheckpointMergeSpecification<S, E extends RealmModel>
+        implements RealmMergeSpecification<S, E> {
+
+    private static final long CHECKPOINT_MARGIN_MILLIS = 1000;
+
+    private final String feed;
+
+    private final RealmMergeSpecification<S, E> delegate;
+
+    private final Func1<S, String> changeTimeFunction;
+
+    private final String responseTime;
+
+    private String lastSyncTime;
+
+    private long lastSyncMillis;
+
+    public CheckpointMergeSpecification(
+            final String feed, final RealmMergeSpecification<S, E> delegate,
+            final Func1<S, String> changeTimeFunction, final String responseTime) {
+        this.feed = feed;
+        this.delegate = delegate;
+        this.changeTimeFunction = changeTimeFunction;
+        this.responseTime = responseTime;
+    }
+
+    public String getLastSyncTime() {
+        return lastSyncTime;
+    }
+
+    @Override public E findExisting(final Realm realm, final S object) {
+        return delegate.findExisting(realm, object);
+    }
+
+    @Override public E toEntity(final Realm realm, final S object, final E existing) {
+        final String changeTime = changeTimeFunction.call(object);
+        if (changeTime != null) {
+            try {
+                final long changeMillis = serverDateTimeToMillis(changeTime);
+                if (lastSyncTime == null || changeMillis > lastSyncMillis) {
+                    lastSyncTime = changeTime;
+                    lastSyncMillis = changeMillis;
+                }
+            } catch (IllegalArgumentException e) {
+                Timber.w(e, "Ignoring the change time %s of %s", changeTime, feed);
+            }
+        }
+        return delegate.toEntity(realm, object, existing);
+    }
+
+    @Override public void onInserted(final Realm realm, final E entity) {
+        delegate.onInserted(realm, entity);
+    }
+
+    @Override public void onMergeCompleted(final Realm realm) {
+        delegate.onMergeCompleted(realm);
+
+        final String checkpoint = stepBack(lastSyncTime != null ? lastSyncTime : responseTime);
+        if (checkpoint != null) {
+            realm.copyToRealmOrUpdate(new SyncCheckpointEntity()
+                    .withFeed(feed)
+                    .withLastSyncTime(checkpoint));
+        }
+    }
+
+    private String stepBack(final String syncTime) {
+        if (syncTime == null) {
+            return null;
+        }
+
+        try {
+            return toServerDateTime(serverDateTimeToMillis(syncTime) - CHECKPOINT_MARGIN_MILLIS);
+        } catch (IllegalArgumentException e) {
+            Timber.w(e, "Keeping the checkpoint %s of %s as is", syncTime, feed);
+            return syncTime;
+        }
+    }
+}
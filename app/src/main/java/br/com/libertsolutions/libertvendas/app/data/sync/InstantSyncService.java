@@ -5,33 +5,14 @@ import android.content.Context;
 import android.content.Intent;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
-import br.com.libertsolutions.libertvendas.app.data.customer.CustomerApi;
-import br.com.libertsolutions.libertvendas.app.data.customer.CustomerRepository;
-import br.com.libertsolutions.libertvendas.app.data.order.OrderApi;
-import br.com.libertsolutions.libertvendas.app.data.order.OrderRepository;
 import br.com.libertsolutions.libertvendas.app.data.settings.SettingsRepository;
-import br.com.libertsolutions.libertvendas.app.domain.dto.OrderDto;
-import br.com.libertsolutions.libertvendas.app.domain.dto.OrderItemDto;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.Customer;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.CustomerStatus;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.LoggedUser;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.Order;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderItem;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderStatus;
-import br.com.libertsolutions.libertvendas.app.presentation.orderlist.SyncOrdersEvent;
-import java.io.IOException;
-import java.util.List;
-import retrofit2.Response;
+import java.util.ArrayList;
 import timber.log.Timber;
 
-import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.provideCustomerRepository;
-import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.providerOrderRepository;
-import static br.com.libertsolutions.libertvendas.app.data.RemoteDataInjector.provideCustomerApi;
-import static br.com.libertsolutions.libertvendas.app.data.RemoteDataInjector.provideOrderApi;
 import static br.com.libertsolutions.libertvendas.app.data.sync.OrdersSyncedEvent.ordersInstantlySynced;
 import static br.com.libertsolutions.libertvendas.app.presentation.PresentationInjector.provideEventBus;
 import static br.com.libertsolutions.libertvendas.app.presentation.PresentationInjector.provideSettingsRepository;
-import static java.util.Collections.singletonList;
 
 /**
  * @author Filipe Bezerra
@@ -40,17 +21,12 @@ public class InstantSyncService extends IntentService {
 
     private static final String TAG = InstantSyncService.class.getSimpleName();
 
-    public static void execute(@NonNull Context context) {
-        context.startService(new Intent(context, InstantSyncService.class));
-    }
-
-    private SettingsRepository settingsRepository;
-
-    private CustomerRepository customerRepository;
-
-    private CustomerApi customerApi;
+    private static final String EXTRA_ORDER_IDS = TAG + ".argOrderIds";
 
-    private LoggedUser loggedUser;
+    public static void execute(@NonNull Context context, @NonNull ArrayList<Integer> orderIds) {
+        context.startService(new Intent(context, InstantSyncService.class)
+                .putIntegerArrayListExtra(EXTRA_ORDER_IDS, orderIds));
+    }
 
     public InstantSyncService() {
         super(TAG);
@@ -59,184 +35,35 @@ public class InstantSyncService extends IntentService {
     @Override protected void onHandleIntent(@Nullable final Intent intent) {
         Timber.d("running instant sync service");
 
-        boolean notifyOrderUpdates = false;
-        boolean syncCancelled = false;
-
-        if (!getSettingsRepository().isUserLoggedIn()) {
-            Timber.i("No user logged, sync will not be executed");
-        } else {
-            syncCancelled = SyncTaskService.cancelAll(this);
-            notifyOrderUpdates = syncOrders();
+        final ArrayList<Integer> orderIds = intent != null
+                ? intent.getIntegerArrayListExtra(EXTRA_ORDER_IDS) : null;
+        if (orderIds == null || orderIds.isEmpty()) {
+            return;
         }
 
-        provideEventBus().removeStickyEvent(SyncOrdersEvent.class);
-        if (notifyOrderUpdates) {
-            provideEventBus().post(ordersInstantlySynced());
-        }
+        final SettingsRepository settingsRepository = provideSettingsRepository();
 
-        if (syncCancelled) {
-            SyncTaskService.schedule(this,
-                    getSettingsRepository().getSettings().getSyncPeriodicity());
-        }
-    }
-
-    private boolean syncOrders() {
-        SyncOrdersEvent syncOrdersEvent = provideEventBus().getStickyEvent(SyncOrdersEvent.class);
-        if (syncOrdersEvent == null)
-            return false;
-
-        List<Order> orders = syncOrdersEvent.getOrders();
-        if (orders == null || orders.isEmpty())
-            return false;
-
-        final String salesmanCpfOrCnpj = getLoggedUser().getSalesman().getCpfOrCnpj();
-        final OrderApi orderApi = provideOrderApi();
-        final OrderRepository orderRepository = providerOrderRepository();
-
-        boolean anyOrderSynced = false;
-
-        for (Order order : orders) {
-            final Customer customer = order.getCustomer();
-
-            Customer syncedCustomer = null;
-            if (customer.getStatus() == CustomerStatus.STATUS_CREATED) {
-                syncedCustomer = syncNewCustomer(customer);
-                if (syncedCustomer == null)
-                    continue;
-            } else if (customer.getStatus() == CustomerStatus.STATUS_MODIFIED) {
-                syncedCustomer = syncModifiedCustomer(customer);
-                if (syncedCustomer == null)
-                    continue;
-            }
-
-            if (syncedCustomer != null) {
-                order.withCustomer(syncedCustomer);
-            }
-
-            try {
-                final OrderDto postOrder = order.createPostOrder();
-
-                final Response<OrderDto> response = orderApi
-                        .createOrder(getCompanyCnpj(), salesmanCpfOrCnpj, postOrder)
-                        .execute();
-
-                if (response.isSuccessful()) {
-                    OrderDto syncedOrder = response.body();
-
-                    if (syncedOrder != null) {
-                        for (OrderItemDto syncedOrderItem : syncedOrder.items) {
-                            for (OrderItem item : order.getItems()) {
-                                if (item.getId().compareTo(syncedOrderItem.id) == 0) {
-                                    item
-                                            .withOrderItemId(syncedOrderItem.orderItemId)
-                                            .withLastChangeTime(syncedOrderItem.lastChangeTime);
-                                    break;
-                                }
-                            }
-                        }
-
-                        order
-                                .withOrderId(syncedOrder.orderId)
-                                .withLastChangeTime(syncedOrder.lastChangeTime)
-                                .withStatus(OrderStatus.STATUS_SYNCED);
-
-                        orderRepository
-                                .save(order)
-                                .toBlocking()
-                                .first();
-                        anyOrderSynced = true;
-                    }
-                } else {
-                    Timber.e("Unsuccessful orders sync. %s", response.message());
-                }
-            } catch (IOException e) {
-                Timber.e(e, "Server failure while syncing orders");
-            } catch (RuntimeException e) {
-                Timber.e(e, "Unknown error while syncing orders");
-            }
-        }
-        return anyOrderSynced;
-    }
-
-    private Customer syncNewCustomer(Customer newCustomer) {
-        try {
-            final Response<Customer> response = getCustomerApi()
-                    .createCustomer(getCompanyCnpj(), newCustomer)
-                    .execute();
-
-            if (response.isSuccessful() && response.body() != null) {
-                return getCustomerRepository()
-                        .save(response.body())
-                        .toBlocking()
-                        .single();
-            } else {
-                Timber.e("Unsuccessful new customer sync. %s", response.message());
-            }
-        } catch (IOException e) {
-            Timber.e(e, "Server failure while syncing new customer");
-        } catch (RuntimeException e) {
-            Timber.e(e, "Unknown error while syncing new customer");
-        }
-        return null;
-    }
-
-    private Customer syncModifiedCustomer(Customer modifiedCustomer) {
-        try {
-            Response<List<Customer>> response = getCustomerApi()
-                    .updateCustomers(getCompanyCnpj(), singletonList(modifiedCustomer))
-                    .execute();
-
-            if (response.isSuccessful()) {
-                final List<Customer> bodyList = response.body();
-                if (bodyList != null && !bodyList.isEmpty()) {
-                    return getCustomerRepository()
-                            .save(bodyList.get(0))
-                            .toBlocking()
-                            .single();
-                }
-            } else {
-                Timber.i("Unsuccessful update customer sync. %s", response.message());
-            }
-        } catch (IOException e) {
-            Timber.e(e, "Server failure while syncing modified customer");
-        } catch (RuntimeException e) {
-            Timber.e(e, "Unknown error while syncing modified customer");
+        if (!settingsRepository.isUserLoggedIn()) {
+            Timber.i("No user logged, sync will not be executed");
+            return;
         }
-        return null;
-    }
 
-    private LoggedUser getLoggedUser() {
-        if (loggedUser == null) {
-            loggedUser = getSettingsRepository()
-                    .getLoggedUser()
-                    .toBlocking()
-                    .single();
-        }
-        return loggedUser;
-    }
+        final boolean syncCancelled = SyncTaskService.cancelAll(this);
 
-    private SettingsRepository getSettingsRepository() {
-        if (settingsRepository == null) {
-            settingsRepository = provideSettingsRepository();
-        }
-        return settingsRepository;
-    }
+        final LoggedUser loggedUser = settingsRepository
+                .getLoggedUser()
+                .toBlocking()
+                .single();
 
-    private String getCompanyCnpj() {
-        return getLoggedUser().getDefaultCompany().getCnpj();
-    }
+        final OutboxProcessor outboxProcessor = new OutboxProcessor(loggedUser);
+        outboxProcessor.sendOrders(orderIds.toArray(new Integer[orderIds.size()]));
 
-    private CustomerApi getCustomerApi() {
-        if (customerApi == null) {
-            customerApi = provideCustomerApi();
+        if (outboxProcessor.hasSentOrders()) {
+            provideEventBus().post(ordersInstantlySynced());
         }
-        return customerApi;
-    }
 
-    private CustomerRepository getCustomerRepository() {
-        if (customerRepository == null) {
-            customerRepository = provideCustomerRepository();
+        if (syncCancelled) {
+            SyncTaskService.schedule(this, settingsRepository.getSettings().getSyncPeriodicity());
         }
-        return customerRepository;
     }
 }
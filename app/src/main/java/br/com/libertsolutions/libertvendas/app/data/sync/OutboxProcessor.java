@@ -0,0 +1,610 @@
+package br.com.libertsolutions.libertvendas.app.data.sync;
+
+import br.com.libertsolutions.libertvendas.app.data.customer.CustomerApi;
+import br.com.libertsolutions.libertvendas.app.data.customer.CustomerByLocalIdSpecification;
+import br.com.libertsolutions.libertvendas.app.data.customer.CustomerRepository;
+import br.com.libertsolutions.libertvendas.app.data.order.OrderApi;
+import br.com.libertsolutions.libertvendas.app.data.order.OrderByLocalIdSpecification;
+import br.com.libertsolutions.libertvendas.app.data.order.OrderRepository;
+import br.com.libertsolutions.libertvendas.app.data.outbox.OutboxEntriesSpecification;
+import br.com.libertsolutions.libertvendas.app.data.outbox.OutboxRepository;
+import br.com.libertsolutions.libertvendas.app.domain.dto.OrderDto;
+import br.com.libertsolutions.libertvendas.app.domain.dto.OrderItemDto;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.Customer;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.CustomerStatus;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.LoggedUser;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.Order;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderItem;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderStatus;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OutboxEntry;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import retrofit2.Call;
+import retrofit2.Response;
+import timber.log.Timber;
+
+import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.provideCustomerRepository;
+import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.provideOutboxRepository;
+import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.providerOrderRepository;
+import static br.com.libertsolutions.libertvendas.app.data.RemoteDataInjector.provideCustomerApi;
+import static br.com.libertsolutions.libertvendas.app.data.RemoteDataInjector.provideOrderApi;
+import static br.com.libertsolutions.libertvendas.app.domain.pojo.OutboxEntryType.ENTRY_TYPE_CUSTOMER;
+import static br.com.libertsolutions.libertvendas.app.domain.pojo.OutboxEntryType.ENTRY_TYPE_ORDER;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+/**
+ * Sends the local changes journaled in the outbox, oldest first. A rejected entry is postponed
+ * with backoff and does not hold back the others, while a network failure stops the run
+ * without penalizing any entry.
+ * <p>
+ * The orders of a batch are uploaded with a few requests in flight over the shared HTTP client,
+ * and the ones the server accepts are saved together once all of them are answered. A failure
+ * of some orders does not keep the accepted ones from being saved, so they are not sent again.
+ *
+ * @author Filipe Bezerra
+ */
+class OutboxProcessor {
+
+    private static final int BATCH_SIZE = 20;
+
+    private static final int MAX_ORDERS_IN_FLIGHT = 4;
+
+    private final int companyId;
+
+    private final String companyCnpj;
+
+    private final String salesmanCpfOrCnpj;
+
+    private final OutboxRepository outboxRepository = provideOutboxRepository();
+
+    private CustomerRepository customerRepository;
+
+    private CustomerApi customerApi;
+
+    private OrderRepository orderRepository;
+
+    private OrderApi orderApi;
+
+    private ExecutorService uploadExecutor;
+
+    private boolean customersSent;
+
+    private boolean ordersSent;
+
+    private boolean networkFailure;
+
+    OutboxProcessor(final LoggedUser loggedUser) {
+        companyId = loggedUser.getDefaultCompany().getCompanyId();
+        companyCnpj = loggedUser.getDefaultCompany().getCnpj();
+        salesmanCpfOrCnpj = loggedUser.getSalesman().getCpfOrCnpj();
+    }
+
+    /**
+     * Drains the entries that are due in batches. A customer entry already sent along with an
+     * order of an earlier batch is found no longer pending and discarded.
+     */
+    void drainDue(final boolean includeOrders) {
+        final OutboxEntriesSpecification specification = new OutboxEntriesSpecification()
+                .dueAt(System.currentTimeMillis());
+        if (!includeOrders) {
+            specification.byType(ENTRY_TYPE_CUSTOMER);
+        }
+
+        processInBatches(query(specification));
+    }
+
+    /**
+     * Sends the entries of the given orders right away, regardless of their backoff.
+     */
+    void sendOrders(final Integer[] orderIds) {
+        if (orderIds == null || orderIds.length == 0) {
+            return;
+        }
+
+        processInBatches(query(new OutboxEntriesSpecification()
+                .byType(ENTRY_TYPE_ORDER)
+                .byEntityIds(orderIds)));
+    }
+
+    boolean hasSentCustomers() {
+        return customersSent;
+    }
+
+    boolean hasSentOrders() {
+        return ordersSent;
+    }
+
+    boolean hasNetworkFailure() {
+        return networkFailure;
+    }
+
+    private List<OutboxEntry> query(final OutboxEntriesSpecification specification) {
+        return outboxRepository
+                .query(specification)
+                .toBlocking()
+                .firstOrDefault(emptyList());
+    }
+
+    private void processInBatches(final List<OutboxEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        uploadExecutor = Executors.newFixedThreadPool(MAX_ORDERS_IN_FLIGHT);
+        try {
+            for (int start = 0; start < entries.size() && !networkFailure; start += BATCH_SIZE) {
+                process(entries.subList(start, Math.min(start + BATCH_SIZE, entries.size())));
+            }
+        } finally {
+            uploadExecutor.shutdown();
+            uploadExecutor = null;
+        }
+    }
+
+    /**
+     * Sends the pending customers of the batch, including the ones its orders depend on, then
+     * uploads the orders whose customer is synced. An order whose customer is rejected is left
+     * due without counting an attempt, the failure is recorded on the customer entry alone.
+     */
+    private void process(final List<OutboxEntry> batch) {
+        final Map<Integer, PendingCustomer> pendingCustomers = new LinkedHashMap<>();
+        final List<PendingOrder> pendingOrders = new ArrayList<>();
+
+        for (OutboxEntry entry : batch) {
+            try {
+                if (entry.isCustomer()) {
+                    final Customer customer = prepareCustomerEntry(entry);
+                    if (customer != null) {
+                        pendingCustomers.put(customer.getId(),
+                                new PendingCustomer(entry, customer));
+                    }
+                } else if (entry.isOrder()) {
+                    final Order order = prepareOrderEntry(entry);
+                    if (order != null) {
+                        pendingOrders.add(new PendingOrder(entry, order));
+
+                        final Customer customer = order.getCustomer();
+                        if (isPending(customer)
+                                && !pendingCustomers.containsKey(customer.getId())) {
+                            pendingCustomers.put(customer.getId(),
+                                    new PendingCustomer(findCustomerEntry(customer), customer));
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                onFailure(singletonList(entry), e);
+            }
+        }
+
+        final Map<Integer, Customer> syncedCustomers = sendCustomers(pendingCustomers.values());
+        if (networkFailure) {
+            return;
+        }
+
+        final List<PendingOrder> readyOrders = new ArrayList<>(pendingOrders.size());
+        for (PendingOrder pendingOrder : pendingOrders) {
+            final Customer customer = pendingOrder.order.getCustomer();
+            if (isPending(customer)) {
+                final Customer syncedCustomer = syncedCustomers.get(customer.getId());
+                if (syncedCustomer == null) {
+                    Timber.i("%s waits for its customer to be sent", pendingOrder.entry);
+                    continue;
+                }
+                pendingOrder.order.withCustomer(syncedCustomer);
+            }
+            readyOrders.add(pendingOrder);
+        }
+
+        if (!readyOrders.isEmpty()) {
+            uploadOrders(readyOrders);
+        }
+    }
+
+    private void onFailure(final List<OutboxEntry> entries, final Exception e) {
+        if (e instanceof IOException) {
+            Timber.e(e, "Server failure while sending %s", entries);
+            networkFailure = true;
+            return;
+        }
+
+        final String error;
+        if (e instanceof RejectedException) {
+            Timber.i("Unsuccessful sending %s. %s", entries, e.getMessage());
+            error = e.getMessage();
+        } else {
+            Timber.e(e, "Unknown error while sending %s", entries);
+            error = e.toString();
+        }
+
+        for (OutboxEntry entry : entries) {
+            if (entry != null) {
+                recordFailure(entry, error);
+            }
+        }
+    }
+
+    /**
+     * Loads the customer of the entry, returning {@code null} when there is nothing to send.
+     */
+    private Customer prepareCustomerEntry(final OutboxEntry entry) {
+        final Customer customer = getCustomerRepository()
+                .findFirst(new CustomerByLocalIdSpecification(entry.getEntityId())
+                        .ofCompany(companyId))
+                .toBlocking()
+                .singleOrDefault(null);
+
+        if (customer == null) {
+            Timber.d("%s belongs to another company", entry);
+            return null;
+        }
+
+        if (!isPending(customer)) {
+            discard(entry);
+            return null;
+        }
+        return customer;
+    }
+
+    /**
+     * Loads the order of the entry, returning {@code null} when there is nothing to upload.
+     */
+    private Order prepareOrderEntry(final OutboxEntry entry) {
+        final Order order = getOrderRepository()
+                .findFirst(new OrderByLocalIdSpecification(entry.getEntityId()))
+                .toBlocking()
+                .singleOrDefault(null);
+
+        if (order == null || !isPending(order)) {
+            discard(entry);
+            return null;
+        }
+
+        if (!order.getCompanyId().equals(companyId)) {
+            Timber.d("%s belongs to another company", entry);
+            return null;
+        }
+        return order;
+    }
+
+    /**
+     * Finds the entry of a customer an order depends on, which may not be due yet.
+     */
+    private OutboxEntry findCustomerEntry(final Customer customer) {
+        final List<OutboxEntry> entries = query(new OutboxEntriesSpecification()
+                .byType(ENTRY_TYPE_CUSTOMER)
+                .byEntityIds(new Integer[]{customer.getId()}));
+        return entries.isEmpty() ? null : entries.get(0);
+    }
+
+    /**
+     * Uploads the orders with up to {@link #MAX_ORDERS_IN_FLIGHT} requests at once and saves the
+     * accepted ones in a single transaction. After a network failure the uploads not started yet
+     * are cancelled, while the ones already sent are still awaited.
+     */
+    private void uploadOrders(final List<PendingOrder> pendingOrders) {
+        final List<Future<Response<OrderDto>>> uploads = new ArrayList<>(pendingOrders.size());
+        for (PendingOrder pendingOrder : pendingOrders) {
+            final Call<OrderDto> call = getOrderApi()
+                    .createOrder(companyCnpj, salesmanCpfOrCnpj,
+                            pendingOrder.order.createPostOrder());
+            uploads.add(uploadExecutor.submit(call::execute));
+        }
+
+        final List<Order> syncedOrders = new ArrayList<>(pendingOrders.size());
+        for (int i = 0; i < pendingOrders.size(); i++) {
+            final PendingOrder pendingOrder = pendingOrders.get(i);
+            final Future<Response<OrderDto>> upload = uploads.get(i);
+            if (upload.isCancelled()) {
+                Timber.d("%s was not sent after a network failure", pendingOrder.entry);
+                continue;
+            }
+
+            try {
+                final Response<OrderDto> response = await(upload);
+
+                final OrderDto syncedOrder = response.body();
+                if (!response.isSuccessful() || syncedOrder == null) {
+                    throw new RejectedException(response.message());
+                }
+                syncedOrders.add(applySyncedOrder(pendingOrder.order, syncedOrder));
+            } catch (IOException | RuntimeException e) {
+                onFailure(singletonList(pendingOrder.entry), e);
+                if (networkFailure) {
+                    cancel(uploads.subList(i + 1, uploads.size()));
+                }
+            }
+        }
+
+        if (!syncedOrders.isEmpty()) {
+            saveSyncedOrders(syncedOrders);
+        }
+    }
+
+    private static <T> T await(final Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while uploading orders");
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else {
+                throw new RuntimeException(cause);
+            }
+        }
+    }
+
+    /**
+     * Cancels the uploads that have not started, leaving the ones in flight to complete so an
+     * order the server accepts is still saved.
+     */
+    private static void cancel(final List<? extends Future<?>> uploads) {
+        for (Future<?> upload : uploads) {
+            upload.cancel(false);
+        }
+    }
+
+    private static Order applySyncedOrder(final Order order, final OrderDto syncedOrder) {
+        if (syncedOrder.items != null) {
+            final Map<Integer, OrderItemDto> syncedItemsById = new HashMap<>(
+                    syncedOrder.items.size());
+            for (OrderItemDto syncedOrderItem : syncedOrder.items) {
+                syncedItemsById.put(syncedOrderItem.id, syncedOrderItem);
+            }
+
+            for (OrderItem item : order.getItems()) {
+                final OrderItemDto syncedOrderItem = syncedItemsById.get(item.getId());
+                if (syncedOrderItem != null) {
+                    item
+                            .withOrderItemId(syncedOrderItem.orderItemId)
+                            .withLastChangeTime(syncedOrderItem.lastChangeTime);
+                }
+            }
+        }
+
+        return order
+                .withOrderId(syncedOrder.orderId)
+                .withLastChangeTime(syncedOrder.lastChangeTime)
+                .withStatus(OrderStatus.STATUS_SYNCED);
+    }
+
+    /**
+     * Saves the synced orders in a single transaction, which also removes their entries from
+     * the outbox.
+     */
+    private void saveSyncedOrders(final List<Order> syncedOrders) {
+        try {
+            getOrderRepository()
+                    .save(syncedOrders)
+                    .toBlocking()
+                    .single();
+            ordersSent = true;
+        } catch (RuntimeException e) {
+            Timber.e(e, "Could not save %d orders accepted by the server", syncedOrders.size());
+        }
+    }
+
+    private static List<OutboxEntry> entriesOf(final Collection<PendingCustomer> customers) {
+        final List<OutboxEntry> entries = new ArrayList<>(customers.size());
+        for (PendingCustomer pendingCustomer : customers) {
+            entries.add(pendingCustomer.entry);
+        }
+        return entries;
+    }
+
+    /**
+     * Sends the created customers one by one and the modified ones in a single request, returning
+     * the server copies by local id. When the request is rejected the modified customers are sent
+     * one by one, so only the customer at fault is postponed.
+     */
+    private Map<Integer, Customer> sendCustomers(final Collection<PendingCustomer> customers) {
+        final Map<Integer, Customer> syncedCustomers = new HashMap<>(customers.size());
+        final List<PendingCustomer> modifiedCustomers = new ArrayList<>();
+
+        for (PendingCustomer pendingCustomer : customers) {
+            if (networkFailure) {
+                return syncedCustomers;
+            }
+
+            if (pendingCustomer.customer.getStatus() == CustomerStatus.STATUS_CREATED) {
+                try {
+                    final Customer syncedCustomer = createCustomer(pendingCustomer.customer);
+                    syncedCustomers.put(syncedCustomer.getId(), syncedCustomer);
+                } catch (IOException | RuntimeException e) {
+                    onFailure(singletonList(pendingCustomer.entry), e);
+                }
+            } else {
+                modifiedCustomers.add(pendingCustomer);
+            }
+        }
+
+        if (modifiedCustomers.size() > 1 && !networkFailure) {
+            try {
+                for (Customer syncedCustomer : updateCustomers(modifiedCustomers)) {
+                    syncedCustomers.put(syncedCustomer.getId(), syncedCustomer);
+                }
+                return syncedCustomers;
+            } catch (RejectedException e) {
+                Timber.i("Unsuccessful sending %d customers, sending them one by one. %s",
+                        modifiedCustomers.size(), e.getMessage());
+            } catch (IOException | RuntimeException e) {
+                onFailure(entriesOf(modifiedCustomers), e);
+                return syncedCustomers;
+            }
+        }
+
+        for (PendingCustomer pendingCustomer : modifiedCustomers) {
+            if (networkFailure) {
+                break;
+            }
+
+            try {
+                for (Customer syncedCustomer : updateCustomers(singletonList(pendingCustomer))) {
+                    syncedCustomers.put(syncedCustomer.getId(), syncedCustomer);
+                }
+            } catch (IOException | RuntimeException e) {
+                onFailure(singletonList(pendingCustomer.entry), e);
+            }
+        }
+        return syncedCustomers;
+    }
+
+    /**
+     * Sends the created customer and saves the server copy, which also removes its entry from
+     * the outbox.
+     */
+    private Customer createCustomer(final Customer customer) throws IOException {
+        final Response<Customer> response = getCustomerApi()
+                .createCustomer(companyCnpj, customer)
+                .execute();
+
+        if (!response.isSuccessful() || response.body() == null) {
+            throw new RejectedException(response.message());
+        }
+
+        customersSent = true;
+        return getCustomerRepository()
+                .save(response.body())
+                .toBlocking()
+                .single();
+    }
+
+    /**
+     * Sends the modified customers in a single request and saves the server copies in a single
+     * transaction, which also removes their entries from the outbox.
+     */
+    private List<Customer> updateCustomers(final List<PendingCustomer> pendingCustomers)
+            throws IOException {
+        final List<Customer> customers = new ArrayList<>(pendingCustomers.size());
+        for (PendingCustomer pendingCustomer : pendingCustomers) {
+            customers.add(pendingCustomer.customer);
+        }
+
+        final Response<List<Customer>> response = getCustomerApi()
+                .updateCustomers(companyCnpj, customers)
+                .execute();
+
+        final List<Customer> bodyList = response.body();
+        if (!response.isSuccessful() || bodyList == null || bodyList.isEmpty()) {
+            throw new RejectedException(response.message());
+        }
+
+        customersSent = true;
+        return getCustomerRepository()
+                .save(bodyList)
+                .toBlocking()
+                .single();
+    }
+
+    private void recordFailure(final OutboxEntry entry, final String error) {
+        try {
+            outboxRepository
+                    .recordFailure(entry, error)
+                    .toBlocking()
+                    .single();
+        } catch (RuntimeException e) {
+            Timber.e(e, "Could not record the failure of %s", entry);
+        }
+    }
+
+    private void discard(final OutboxEntry entry) {
+        Timber.d("%s has nothing left to send", entry);
+        outboxRepository
+                .discard(entry)
+                .toBlocking()
+                .single();
+    }
+
+    private static boolean isPending(final Customer customer) {
+        if (customer == null) {
+            return false;
+        }
+
+        final Integer status = customer.getStatus();
+        return status != null && (status == CustomerStatus.STATUS_CREATED
+                || status == CustomerStatus.STATUS_MODIFIED);
+    }
+
+    private static boolean isPending(final Order order) {
+        final Integer status = order.getStatus();
+        return status != null && (status == OrderStatus.STATUS_CREATED
+                || status == OrderStatus.STATUS_MODIFIED);
+    }
+
+    private CustomerRepository getCustomerRepository() {
+        if (customerRepository == null) {
+            customerRepository = provideCustomerRepository();
+        }
+        return customerRepository;
+    }
+
+    private CustomerApi getCustomerApi() {
+        if (customerApi == null) {
+            customerApi = provideCustomerApi();
+        }
+        return customerApi;
+    }
+
+    private OrderRepository getOrderRepository() {
+        if (orderRepository == null) {
+            orderRepository = providerOrderRepository();
+        }
+        return orderRepository;
+    }
+
+    private OrderApi getOrderApi() {
+        if (orderApi == null) {
+            orderApi = provideOrderApi();
+        }
+        return orderApi;
+    }
+
+    private static class PendingCustomer {
+
+        /**
+         * Entry of the customer, or null when the outbox has none.
+         */
+        final OutboxEntry entry;
+
+        final Customer customer;
+
+        PendingCustomer(final OutboxEntry entry, final Customer customer) {
+            this.entry = entry;
+            this.customer = customer;
+        }
+    }
+
+    private static class PendingOrder {
+
+        final OutboxEntry entry;
+
+        final Order order;
+
+        PendingOrder(final OutboxEntry entry, final Order order) {
+            this.entry = entry;
+            this.order = order;
+        }
+    }
+
+    private static class RejectedException extends RuntimeException {
+
+        RejectedException(final String message) {
+            super(message);
+        }
+    }
+}
@@ -1,16 +1,16 @@
 package br.com.libertsolutions.libertvendas.app.data.sync;
 
 import br.com.libertsolutions.libertvendas.app.domain.dto.ServerStatus;
-import retrofit2.Call;
 import retrofit2.http.GET;
+import retrofit2.http.Headers;
 import rx.Observable;
 
+import static br.com.libertsolutions.libertvendas.app.data.helper.HttpCachePolicy.NO_STORE;
+
 /**
  * @author Filipe Bezerra
  */
 public interface SyncApi {
 
-    @GET("api/servidor/get") Observable<ServerStatus> serverStatus();
-
-    @GET("api/servidor/get") Call<ServerStatus> getServerStatus();
+    @Headers(NO_STORE) @GET("api/servidor/get") Observable<ServerStatus> serverStatus();
 }
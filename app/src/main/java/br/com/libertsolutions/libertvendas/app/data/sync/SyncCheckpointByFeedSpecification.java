@@ -0,0 +1,26 @@
+package br.com.libertsolutions.libertvendas.app.data.sync;
+
+import br.com.libertsolutions.libertvendas.app.data.realm.RealmSingleSpecification;
+import br.com.libertsolutions.libertvendas.app.domain.entity.SyncCheckpointEntity;
+import io.realm.Realm;
+
+import static br.com.libertsolutions.libertvendas.app.domain.entity.SyncCheckpointEntity.Fields.FEED;
+
+/**
+ * @author Filipe Bezerra
+ */
+public class SyncCheckpointByFeedSpecification
+        implements RealmSingleSpecification<SyncCheckpointEntity> {
+
+    private final String feed;
+
+    public SyncCheckpointByFeedSpecification(final String feed) {
+        this.feed = feed;
+    }
+
+    @Override public SyncCheckpointEntity toSingle(final Realm realm) {
+        return realm.where(SyncCheckpointEntity.class)
+                .equalTo(FEED, feed)
+                .findFirst();
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.libertsolutions.libertvendas.app.data.sync;
+
+import br.com.libertsolutions.libertvendas.app.data.realm.RealmMapper;
+import br.com.libertsolutions.libertvendas.app.domain.entity.SyncCheckpointEntity;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.SyncCheckpoint;
+
+/**
+ * @author Filipe Bezerra
+ */
+public class SyncCheckpointRealmMapper extends RealmMapper<SyncCheckpoint, SyncCheckpointEntity> {
+
+    @Override public SyncCheckpointEntity toEntity(final SyncCheckpoint object) {
+        return new SyncCheckpointEntity()
+                .withFeed(object.getFeed())
+                .withLastSyncTime(object.getLastSyncTime());
+    }
+
+    @Override public SyncCheckpoint toViewObject(final SyncCheckpointEntity entity) {
+        return SyncCheckpoint.of(entity.getFeed(), entity.getLastSyncTime());
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.libertsolutions.libertvendas.app.data.sync;
+
+import br.com.libertsolutions.libertvendas.app.data.realm.RealmRepository;
+import br.com.libertsolutions.libertvendas.app.domain.entity.SyncCheckpointEntity;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.SyncCheckpoint;
+
+import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.syncCheckpointMapper;
+
+/**
+ * @author Filipe Bezerra
+ */
+public class SyncCheckpointRealmRepository
+        extends RealmRepository<SyncCheckpoint, SyncCheckpointEntity>
+        implements SyncCheckpointRepository {
+
+    public SyncCheckpointRealmRepository() {
+        super(SyncCheckpointEntity.class, syncCheckpointMapper());
+    }
+}
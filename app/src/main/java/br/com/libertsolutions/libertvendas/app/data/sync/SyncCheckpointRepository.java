@@ -0,0 +1,10 @@
+package br.com.libertsolutions.libertvendas.app.data.sync;
+
+import br.com.libertsolutions.libertvendas.app.data.repository.Repository;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.SyncCheckpoint;
+
+/**
+ * @author Filipe Bezerra
+ */
+public interface SyncCheckpointRepository extends Repository<SyncCheckpoint> {
+}
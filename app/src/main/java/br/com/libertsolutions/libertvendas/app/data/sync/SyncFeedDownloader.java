@@ -0,0 +1,117 @@
+package br.com.libertsolutions.libertvendas.app.data.sync;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import okhttp3.ResponseBody;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
+import retrofit2.Call;
+import retrofit2.Response;
+import timber.log.Timber;
+
+/**
+ * Downloads the update feeds of a sync run concurrently on a bounded executor. Each feed is
+ * awaited on its own, so a failure stays isolated to the feed that caused it.
+ *
+ * <p>Streamed feeds are spooled to a file while downloading, so their bodies are read from the
+ * network in parallel too and the merges, one at a time, read them back from the disk without
+ * holding the whole feed in memory.
+ *
+ * @author Filipe Bezerra
+ */
+class SyncFeedDownloader {
+
+    private static final int MAX_CONCURRENT_DOWNLOADS = 3;
+
+    private final ExecutorService executor = Executors
+            .newFixedThreadPool(MAX_CONCURRENT_DOWNLOADS);
+
+    private final File spoolDirectory;
+
+    SyncFeedDownloader(final File spoolDirectory) {
+        this.spoolDirectory = spoolDirectory;
+    }
+
+    <T> Download<T> download(final String feed, final Call<T> call) {
+        Timber.d("downloading %s updates", feed);
+        return new Download<>(feed, executor.submit(() -> call.execute()));
+    }
+
+    /**
+     * Same as {@link #download(String, Call)} for a streamed body, which is read to the end
+     * before the download completes.
+     */
+    Download<ResponseBody> spool(final String feed, final Call<ResponseBody> call) {
+        Timber.d("downloading %s updates", feed);
+        return new Download<>(feed, executor.submit(() -> spool(call.execute())));
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private Response<ResponseBody> spool(final Response<ResponseBody> response)
+            throws IOException {
+        if (!response.isSuccessful()) {
+            return response;
+        }
+
+        final ResponseBody body = response.body();
+        final File file = File.createTempFile("feed", null, spoolDirectory);
+        try {
+            final BufferedSink sink = Okio.buffer(Okio.sink(file));
+            try {
+                sink.writeAll(body.source());
+            } finally {
+                sink.close();
+            }
+
+            // The open file stays readable once deleted, so it is gone when the body is closed
+            final BufferedSource source = Okio.buffer(Okio.source(file));
+            return Response.success(
+                    ResponseBody.create(body.contentType(), file.length(), source),
+                    response.raw());
+        } finally {
+            body.close();
+            if (!file.delete()) {
+                Timber.w("Could not delete the spool file %s", file);
+            }
+        }
+    }
+
+    static class Download<T> {
+
+        private final String feed;
+
+        private final Future<Response<T>> future;
+
+        private Download(final String feed, final Future<Response<T>> future) {
+            this.feed = feed;
+            this.future = future;
+        }
+
+        Response<T> await() throws IOException {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while downloading " + feed);
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else {
+                    throw new RuntimeException(cause);
+                }
+            }
+        }
+    }
+}
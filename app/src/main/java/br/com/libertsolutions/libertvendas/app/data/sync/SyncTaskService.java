@@ -3,85 +3,80 @@ package br.com.libertsolutions.libertvendas.app.data.sync;
 import android.content.Context;
 import android.support.annotation.IntRange;
 import android.support.annotation.NonNull;
-import br.com.libertsolutions.libertvendas.app.data.company.customer.CompanyCustomerRepository;
-import br.com.libertsolutions.libertvendas.app.data.company.customer.CustomersByCompanySpecification;
-import br.com.libertsolutions.libertvendas.app.data.company.paymentmethod.CompanyPaymentMethodRepository;
-import br.com.libertsolutions.libertvendas.app.data.company.pricetable.CompanyPriceTableRepository;
 import br.com.libertsolutions.libertvendas.app.data.customer.CustomerApi;
-import br.com.libertsolutions.libertvendas.app.data.customer.CustomerByCustomerIdSpecification;
+import br.com.libertsolutions.libertvendas.app.data.customer.CustomerMergeSpecification;
+import br.com.libertsolutions.libertvendas.app.data.helper.JsonArrayStream;
 import br.com.libertsolutions.libertvendas.app.data.customer.CustomerRepository;
-import br.com.libertsolutions.libertvendas.app.data.order.OrderApi;
-import br.com.libertsolutions.libertvendas.app.data.order.OrderByIdSpecification;
+import br.com.libertsolutions.libertvendas.app.data.order.OrderMergeSpecification;
 import br.com.libertsolutions.libertvendas.app.data.order.OrderRepository;
-import br.com.libertsolutions.libertvendas.app.data.order.OrdersByUserSpecification;
-import br.com.libertsolutions.libertvendas.app.data.paymentmethod.PaymentMethodByIdSpecification;
-import br.com.libertsolutions.libertvendas.app.data.paymentmethod.PaymentMethodRepository;
-import br.com.libertsolutions.libertvendas.app.data.pricetable.PriceTableByIdSpecification;
-import br.com.libertsolutions.libertvendas.app.data.pricetable.PriceTableRepository;
-import br.com.libertsolutions.libertvendas.app.data.product.ProductRepository;
+import br.com.libertsolutions.libertvendas.app.data.paymentmethod.PaymentMethodMergeSpecification;
+import br.com.libertsolutions.libertvendas.app.data.pricetable.PriceTableMergeSpecification;
+import br.com.libertsolutions.libertvendas.app.data.pricetable.PriceTableStream;
+import br.com.libertsolutions.libertvendas.app.data.pricetable.ProductCatalogCache;
+import br.com.libertsolutions.libertvendas.app.data.product.ProductMergeSpecification;
+import br.com.libertsolutions.libertvendas.app.data.realm.RealmSchedulers;
+import br.com.libertsolutions.libertvendas.app.data.repository.MergeResult;
 import br.com.libertsolutions.libertvendas.app.data.settings.SettingsRepository;
+import br.com.libertsolutions.libertvendas.app.data.sync.SyncFeedDownloader.Download;
 import br.com.libertsolutions.libertvendas.app.domain.dto.OrderDto;
-import br.com.libertsolutions.libertvendas.app.domain.dto.OrderItemDto;
-import br.com.libertsolutions.libertvendas.app.domain.dto.ServerStatus;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.CompanyCustomer;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.CompanyPaymentMethod;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.CompanyPriceTable;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.Customer;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.CustomerStatus;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.LoggedUser;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.Order;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderItem;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderStatus;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.PaymentMethod;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.PriceTable;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.Product;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.SyncCheckpoint;
 import com.google.android.gms.gcm.GcmNetworkManager;
 import com.google.android.gms.gcm.GcmTaskService;
 import com.google.android.gms.gcm.PeriodicTask;
 import com.google.android.gms.gcm.Task;
 import com.google.android.gms.gcm.TaskParams;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import okhttp3.ResponseBody;
 import retrofit2.Response;
 import timber.log.Timber;
 
-import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.provideCompanyCustomerRepository;
-import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.provideCompanyPaymentMethodRepository;
-import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.provideCompanyPriceTableRepository;
 import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.provideCustomerRepository;
 import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.providePaymentMethodRepository;
 import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.providePriceTableRepository;
 import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.provideProductRepository;
+import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.provideSyncCheckpointRepository;
 import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.providerOrderRepository;
 import static br.com.libertsolutions.libertvendas.app.data.RemoteDataInjector.provideCustomerApi;
 import static br.com.libertsolutions.libertvendas.app.data.RemoteDataInjector.provideOrderApi;
 import static br.com.libertsolutions.libertvendas.app.data.RemoteDataInjector.providePaymentMethodApi;
 import static br.com.libertsolutions.libertvendas.app.data.RemoteDataInjector.providePriceTableApi;
 import static br.com.libertsolutions.libertvendas.app.data.RemoteDataInjector.provideProductApi;
-import static br.com.libertsolutions.libertvendas.app.data.RemoteDataInjector.provideSyncApi;
-import static br.com.libertsolutions.libertvendas.app.data.order.OrderStatusSpecificationFilter.CREATED_OR_MODIFIED;
 import static br.com.libertsolutions.libertvendas.app.data.sync.CustomersSyncedEvent.customersSynced;
 import static br.com.libertsolutions.libertvendas.app.data.sync.OrdersSyncedEvent.ordersSyncedBySchedule;
 import static br.com.libertsolutions.libertvendas.app.data.sync.ProductsUpdatedEvent.productsUpdated;
 import static br.com.libertsolutions.libertvendas.app.presentation.PresentationInjector.provideEventBus;
 import static br.com.libertsolutions.libertvendas.app.presentation.PresentationInjector.provideSettingsRepository;
-import static java.util.Collections.emptyList;
+import static br.com.libertsolutions.libertvendas.app.presentation.util.DateUtils.getCurrentDateTimeInMillis;
+import static br.com.libertsolutions.libertvendas.app.presentation.util.DateUtils.toServerDateTime;
 
 /**
  * @author Filipe Bezerra
  */
 public class SyncTaskService extends GcmTaskService {
 
-    private OrderApi orderApi;
+    private static final String FEED_CUSTOMERS = "customers";
+
+    private static final String FEED_ORDERS = "orders";
+
+    private static final String FEED_PAYMENT_METHODS = "payment methods";
+
+    private static final String FEED_PRICE_TABLES = "price tables";
+
+    private static final String FEED_PRODUCTS = "products";
 
     private OrderRepository orderRepository;
 
     private String companyCnpj;
 
-    private String salesmanCpfOrCnpj;
-
     public static boolean schedule(@NonNull Context context, @IntRange(from = 0) int periodInMinutes) {
         try {
             final long syncPeriodInSeconds = TimeUnit.MINUTES.toSeconds(periodInMinutes);
@@ -159,376 +154,223 @@ public class SyncTaskService extends GcmTaskService {
 
         final int companyId = loggedUser.getDefaultCompany().getCompanyId();
         companyCnpj = loggedUser.getDefaultCompany().getCnpj();
-        salesmanCpfOrCnpj = loggedUser.getSalesman().getCpfOrCnpj();
+        final String salesmanCpfOrCnpj = loggedUser.getSalesman().getCpfOrCnpj();
 
         final CustomerRepository customerRepository = provideCustomerRepository();
         final CustomerApi customerApi = provideCustomerApi();
 
-        final String lastSyncTime = settingsRepository.getLastSyncTime();
+        final String syncBaseline = settingsRepository.getSyncBaseline();
 
         boolean notifyOrderUpdates = false;
         boolean notifyCustomerUpdates = false;
         boolean notifyProductUpdates = false;
 
-        //region sending created customers
-        final List<Customer> createdCustomers = customerRepository
-                .query(new CustomersByCompanySpecification(companyId)
-                        .byStatus(CustomerStatus.STATUS_CREATED))
-                .toBlocking()
-                .firstOrDefault(emptyList());
-
-        if (!createdCustomers.isEmpty()) {
-            Timber.i("%d new customers ready to sync", createdCustomers.size());
-
-            for (final Customer newCustomer : createdCustomers) {
-                try {
-                    final Response<Customer> response = customerApi
-                            .createCustomer(companyCnpj, newCustomer)
-                            .execute();
-
-                    if (response.isSuccessful() && response.body() != null) {
-                        customerRepository
-                                .save(response.body())
-                                .toBlocking()
-                                .single();
-                    } else {
-                        Timber.i("Unsuccessful new customer sync. %s", response.message());
-                    }
-                } catch (IOException e) {
-                    Timber.e(e, "Server failure while syncing new customers");
-                    return GcmNetworkManager.RESULT_RESCHEDULE;
-                } catch (RuntimeException e) {
-                    Timber.e(e, "Unknown error while syncing new customers");
-                    return GcmNetworkManager.RESULT_RESCHEDULE;
-                }
-            }
-            notifyCustomerUpdates = true;
+        //region sending outbox
+        final boolean includeOrders = settingsRepository.getSettings().isAutomaticallySyncOrders();
+        if (!includeOrders) {
+            Timber.i("Orders are not enabled to sync automatically");
         }
-        //endregion
 
-        //region sending modified customers
-        final List<Customer> modifiedCustomers = customerRepository
-                .query(new CustomersByCompanySpecification(companyId)
-                        .byStatus(CustomerStatus.STATUS_MODIFIED))
-                .toBlocking()
-                .firstOrDefault(emptyList());
-
-        if (!modifiedCustomers.isEmpty()) {
-            Timber.i("%d modified customers ready to sync", modifiedCustomers.size());
-
-            try {
-                Response<List<Customer>> response = customerApi
-                        .updateCustomers(companyCnpj, modifiedCustomers)
-                        .execute();
-
-                if (response.isSuccessful()) {
-                    final List<Customer> bodyList = response.body();
-                    if (bodyList != null && !bodyList.isEmpty()) {
-                        customerRepository
-                                .save(response.body())
-                                .toBlocking()
-                                .single();
-                    }
-                } else {
-                    Timber.i("Unsuccessful update customer sync. %s", response.message());
-                }
-            } catch (IOException e) {
-                Timber.e(e, "Server failure while syncing modified customers");
-                return GcmNetworkManager.RESULT_RESCHEDULE;
-            } catch (RuntimeException e) {
-                Timber.e(e, "Unknown error while syncing modified customers");
-                return GcmNetworkManager.RESULT_RESCHEDULE;
-            }
-            notifyCustomerUpdates = true;
+        final OutboxProcessor outboxProcessor = new OutboxProcessor(loggedUser);
+        outboxProcessor.drainDue(includeOrders);
+
+        if (outboxProcessor.hasNetworkFailure()) {
+            return GcmNetworkManager.RESULT_RESCHEDULE;
         }
+        notifyCustomerUpdates = outboxProcessor.hasSentCustomers();
+        notifyOrderUpdates = outboxProcessor.hasSentOrders();
         //endregion
 
-        //region sending orders
-        if (settingsRepository.getSettings().isAutomaticallySyncOrders()) {
-            final int salesmanId = loggedUser.getSalesman().getSalesmanId();
-
-            final List<Order> createdOrModifiedOrders = getOrderRepository()
-                    .query(new OrdersByUserSpecification(salesmanId, companyId)
-                            .byStatus(CREATED_OR_MODIFIED))
-                    .toBlocking()
-                    .firstOrDefault(Collections.emptyList());
-
-            Boolean successful = syncOrders(createdOrModifiedOrders);
-            if (successful != null) {
-                if (successful) {
-                    notifyOrderUpdates = true;
-                } else {
-                    return GcmNetworkManager.RESULT_RESCHEDULE;
-                }
-            }
-        } else {
-            Timber.i("Orders are not enabled to sync automatically");
-        }
+        //region downloading updates
+        final SyncFeedDownloader downloader = new SyncFeedDownloader(getCacheDir());
+        final Download<List<Customer>> customerUpdates = downloader
+                .download(FEED_CUSTOMERS, customerApi.getUpdates(companyCnpj,
+                        getLastSyncTime(FEED_CUSTOMERS, syncBaseline)));
+        final Download<List<OrderDto>> orderUpdates = downloader
+                .download(FEED_ORDERS, provideOrderApi()
+                        .getUpdates(companyCnpj, salesmanCpfOrCnpj,
+                                getLastSyncTime(FEED_ORDERS, syncBaseline)));
+        final Download<List<PaymentMethod>> paymentMethodUpdates = downloader
+                .download(FEED_PAYMENT_METHODS, providePaymentMethodApi()
+                        .getUpdates(companyCnpj,
+                                getLastSyncTime(FEED_PAYMENT_METHODS, syncBaseline)));
+        final Download<ResponseBody> priceTableUpdates = downloader
+                .spool(FEED_PRICE_TABLES, providePriceTableApi()
+                        .getUpdates(companyCnpj,
+                                getLastSyncTime(FEED_PRICE_TABLES, syncBaseline)));
+        final Download<ResponseBody> productUpdates = downloader
+                .spool(FEED_PRODUCTS, provideProductApi()
+                        .getUpdates(companyCnpj, getLastSyncTime(FEED_PRODUCTS, syncBaseline)));
+        downloader.shutdown();
+
+        final List<String> failedFeeds = new ArrayList<>();
         //endregion
 
         //region getting customer updates
         try {
-            final Response<List<Customer>> response = customerApi
-                    .getUpdates(companyCnpj, lastSyncTime)
-                    .execute();
+            final Response<List<Customer>> response = customerUpdates.await();
 
             if (response.isSuccessful()) {
-                final List<Customer> updatedCustomers = response.body();
-
-                if (updatedCustomers != null && !updatedCustomers.isEmpty()) {
-                    final CompanyCustomerRepository companyCustomerRepository
-                            = provideCompanyCustomerRepository();
-
-                    for (final Customer customer : updatedCustomers) {
-                        final Integer customerId = customer.getCustomerId();
-                        final Customer existingCustomer = customerRepository
-                                .findFirst(new CustomerByCustomerIdSpecification(customerId))
-                                .toBlocking()
-                                .singleOrDefault(null);
-
-                        if (existingCustomer != null) {
-                            customer
-                                    .withId(existingCustomer.getId())
-                                    .withStatus(existingCustomer.getStatus());
-
-                            customerRepository
-                                    .save(customer)
-                                    .toBlocking()
-                                    .single();
-                        } else {
-                            final Customer savedCustomer = customerRepository
-                                    .save(customer)
-                                    .toBlocking()
-                                    .single();
-
-                            final CompanyCustomer newCompanyCustomer = CompanyCustomer
-                                    .from(loggedUser.getDefaultCompany(), savedCustomer);
-
-                            companyCustomerRepository
-                                    .save(newCompanyCustomer)
-                                    .toBlocking()
-                                    .single();
-                        }
-                    }
-                    notifyCustomerUpdates = true;
-                }
+                final List<Customer> updatedCustomers = bodyOf(response);
+                final MergeResult result = customerRepository
+                        .merge(updatedCustomers, new CheckpointMergeSpecification<>(
+                                checkpointOf(FEED_CUSTOMERS),
+                                new CustomerMergeSpecification(companyId),
+                                Customer::getLastChangeTime,
+                                responseTimeOf(response)))
+                        .toBlocking()
+                        .single();
+                Timber.i("Customer updates applied. %s", result);
+                notifyCustomerUpdates |= !updatedCustomers.isEmpty();
             } else {
                 Timber.i("Unsuccessful getting customer updates. %s", response.message());
+                failedFeeds.add(FEED_CUSTOMERS);
             }
         } catch (IOException e) {
             Timber.e(e, "Server failure while getting customer updates");
-            return GcmNetworkManager.RESULT_RESCHEDULE;
+            failedFeeds.add(FEED_CUSTOMERS);
         } catch (RuntimeException e) {
             Timber.e(e, "Unknown error while getting customer updates");
-            return GcmNetworkManager.RESULT_RESCHEDULE;
+            failedFeeds.add(FEED_CUSTOMERS);
         }
         //endregion
 
         //region getting orders updates
         try {
-            final Response<List<OrderDto>> response = getOrderApi()
-                    .getUpdates(companyCnpj, salesmanCpfOrCnpj, lastSyncTime)
-                    .execute();
+            final Response<List<OrderDto>> response = orderUpdates.await();
 
             if (response.isSuccessful()) {
-                final List<OrderDto> updatedOrders = response.body();
-
-                if (updatedOrders != null && !updatedOrders.isEmpty()) {
-                    for (final OrderDto order : updatedOrders) {
-                        final int orderId = order.orderId;
-                        final Order existingOrder = getOrderRepository()
-                                .findFirst(new OrderByIdSpecification(orderId))
-                                .toBlocking()
-                                .singleOrDefault(null);
-
-                        if (existingOrder != null) {
-                            switch (order.status) {
-                                case OrderStatus.STATUS_CANCELLED: {
-                                    existingOrder.withStatus(OrderStatus.STATUS_CANCELLED);
-                                    break;
-                                }
-                                case OrderStatus.STATUS_INVOICED: {
-                                    existingOrder.withStatus(OrderStatus.STATUS_INVOICED);
-                                    break;
-                                }
-                            }
-                            existingOrder
-                                    .withLastChangeTime(order.lastChangeTime);
-
-                            getOrderRepository()
-                                    .save(existingOrder)
-                                    .toBlocking()
-                                    .single();
-                        }
-                    }
-                    notifyOrderUpdates = true;
-                }
+                final List<OrderDto> updatedOrders = bodyOf(response);
+                final MergeResult result = getOrderRepository()
+                        .merge(updatedOrders, new CheckpointMergeSpecification<>(
+                                checkpointOf(FEED_ORDERS),
+                                new OrderMergeSpecification(),
+                                order -> order.lastChangeTime,
+                                responseTimeOf(response)))
+                        .toBlocking()
+                        .single();
+                Timber.i("Order updates applied. %s", result);
+                notifyOrderUpdates |= !updatedOrders.isEmpty();
             } else {
                 Timber.i("Unsuccessful getting order updates. %s", response.message());
+                failedFeeds.add(FEED_ORDERS);
             }
         } catch (IOException e) {
             Timber.e(e, "Server failure while getting order updates");
-            return GcmNetworkManager.RESULT_RESCHEDULE;
+            failedFeeds.add(FEED_ORDERS);
         } catch (RuntimeException e) {
             Timber.e(e, "Unknown error while getting order updates");
-            return GcmNetworkManager.RESULT_RESCHEDULE;
+            failedFeeds.add(FEED_ORDERS);
         }
         //endregion
 
         //region getting payment method updates
         try {
-            final Response<List<PaymentMethod>> response = providePaymentMethodApi()
-                    .getUpdates(companyCnpj, lastSyncTime)
-                    .execute();
+            final Response<List<PaymentMethod>> response = paymentMethodUpdates.await();
 
             if (response.isSuccessful()) {
-                final List<PaymentMethod> updatedPaymentMethods = response.body();
-
-                if (updatedPaymentMethods != null && !updatedPaymentMethods.isEmpty()) {
-                    final PaymentMethodRepository paymentMethodRepository
-                            = providePaymentMethodRepository();
-                    final CompanyPaymentMethodRepository companyPaymentMethodRepository
-                            = provideCompanyPaymentMethodRepository();
-
-                    for (final PaymentMethod paymentMethod : updatedPaymentMethods) {
-                        final Integer paymentMethodId = paymentMethod.getPaymentMethodId();
-                        final PaymentMethod existingPaymentMethod = paymentMethodRepository
-                                .findFirst(new PaymentMethodByIdSpecification(paymentMethodId))
-                                .toBlocking()
-                                .singleOrDefault(null);
-
-                        final PaymentMethod savedPaymentMethod = paymentMethodRepository
-                                .save(paymentMethod)
-                                .toBlocking()
-                                .single();
-
-                        if (existingPaymentMethod == null) {
-                            final CompanyPaymentMethod newCompanyPaymentMethod
-                                    = CompanyPaymentMethod
-                                    .from(loggedUser.getDefaultCompany(), savedPaymentMethod);
-
-                            companyPaymentMethodRepository
-                                    .save(newCompanyPaymentMethod)
-                                    .toBlocking()
-                                    .single();
-                        }
-                    }
-                }
+                final List<PaymentMethod> updatedPaymentMethods = bodyOf(response);
+                final MergeResult result = providePaymentMethodRepository()
+                        .merge(updatedPaymentMethods, new CheckpointMergeSpecification<>(
+                                checkpointOf(FEED_PAYMENT_METHODS),
+                                new PaymentMethodMergeSpecification(companyId),
+                                PaymentMethod::getLastChangeTime,
+                                responseTimeOf(response)))
+                        .toBlocking()
+                        .single();
+                Timber.i("Payment method updates applied. %s", result);
             } else {
                 Timber.i("Unsuccessful getting payment method updates. %s", response.message());
+                failedFeeds.add(FEED_PAYMENT_METHODS);
             }
         } catch (IOException e) {
             Timber.e(e, "Server failure while getting payment method updates");
-            return GcmNetworkManager.RESULT_RESCHEDULE;
+            failedFeeds.add(FEED_PAYMENT_METHODS);
         } catch (RuntimeException e) {
             Timber.e(e, "Unknown error while getting payment method updates");
-            return GcmNetworkManager.RESULT_RESCHEDULE;
+            failedFeeds.add(FEED_PAYMENT_METHODS);
         }
         //endregion
 
         //region getting price table updates
         try {
-            final Response<List<PriceTable>> response = providePriceTableApi()
-                    .getUpdates(companyCnpj, lastSyncTime)
-                    .execute();
+            final Response<ResponseBody> response = priceTableUpdates.await();
 
             if (response.isSuccessful()) {
-                final List<PriceTable> updatedPriceTables = response.body();
-
-                if (updatedPriceTables != null && !updatedPriceTables.isEmpty()) {
-                    final PriceTableRepository priceTableRepository = providePriceTableRepository();
-                    final CompanyPriceTableRepository companyPriceTableRepository
-                            = provideCompanyPriceTableRepository();
-
-                    for (final PriceTable priceTable : updatedPriceTables) {
-                        final Integer priceTableId = priceTable.getPriceTableId();
-                        final PriceTable existingPriceTable = priceTableRepository
-                                .findFirst(new PriceTableByIdSpecification(priceTableId))
-                                .toBlocking()
-                                .singleOrDefault(null);
-
-                        final PriceTable savedPriceTable = priceTableRepository
-                                .save(priceTable)
-                                .toBlocking()
-                                .single();
-
-                        if (existingPriceTable == null) {
-                            final CompanyPriceTable newCompanyPriceTable = CompanyPriceTable
-                                    .from(loggedUser.getDefaultCompany(), savedPriceTable);
-
-                            companyPriceTableRepository
-                                    .save(newCompanyPriceTable)
-                                    .toBlocking()
-                                    .single();
-                        }
-                    }
-                    notifyProductUpdates = true;
+                final PriceTableStream updatedPriceTables = PriceTableStream.of(response.body());
+
+                try {
+                    final MergeResult result = providePriceTableRepository()
+                            .merge(updatedPriceTables, new CheckpointMergeSpecification<>(
+                                    checkpointOf(FEED_PRICE_TABLES),
+                                    new PriceTableMergeSpecification(companyId),
+                                    PriceTableStream.Entry::getLastChangeTime,
+                                    responseTimeOf(response)))
+                            .toBlocking()
+                            .single();
+                    Timber.i("Price table updates applied. %s", result);
+                    notifyProductUpdates |= result.hasChanges();
+                } finally {
+                    updatedPriceTables.closeQuietly();
                 }
             } else {
                 Timber.i("Unsuccessful getting price table updates. %s", response.message());
+                failedFeeds.add(FEED_PRICE_TABLES);
             }
         } catch (IOException e) {
             Timber.e(e, "Server failure while getting price table updates");
-            return GcmNetworkManager.RESULT_RESCHEDULE;
+            failedFeeds.add(FEED_PRICE_TABLES);
         } catch (RuntimeException e) {
             Timber.e(e, "Unknown error while getting price table updates");
-            return GcmNetworkManager.RESULT_RESCHEDULE;
+            failedFeeds.add(FEED_PRICE_TABLES);
         }
         //endregion
 
         //region getting product updates
         try {
-            final Response<List<Product>> response = provideProductApi()
-                    .getUpdates(companyCnpj, lastSyncTime)
-                    .execute();
+            final Response<ResponseBody> response = productUpdates.await();
 
             if (response.isSuccessful()) {
-                final List<Product> updatedProducts = response.body();
-
-                if (updatedProducts!= null && !updatedProducts.isEmpty()) {
-                    final ProductRepository productRepository = provideProductRepository();
-
-                    for (final Product product : updatedProducts) {
-                        productRepository
-                                .save(product)
-                                .toBlocking()
-                                .single();
-                    }
-                    notifyProductUpdates = true;
+                final JsonArrayStream<Product> updatedProducts = JsonArrayStream
+                        .of(response.body(), Product.class);
+
+                try {
+                    final MergeResult result = provideProductRepository()
+                            .merge(updatedProducts, new CheckpointMergeSpecification<>(
+                                    checkpointOf(FEED_PRODUCTS),
+                                    new ProductMergeSpecification(),
+                                    Product::getLastChangeTime,
+                                    responseTimeOf(response)))
+                            .toBlocking()
+                            .single();
+                    Timber.i("Product updates applied. %s", result);
+                    notifyProductUpdates |= result.hasChanges();
+                } finally {
+                    updatedProducts.closeQuietly();
                 }
             } else {
                 Timber.i("Unsuccessful getting product updates. %s", response.message());
+                failedFeeds.add(FEED_PRODUCTS);
             }
         } catch (IOException e) {
             Timber.e(e, "Server failure while getting product updates");
-            return GcmNetworkManager.RESULT_RESCHEDULE;
+            failedFeeds.add(FEED_PRODUCTS);
         } catch (RuntimeException e) {
             Timber.e(e, "Unknown error while getting product updates");
-            return GcmNetworkManager.RESULT_RESCHEDULE;
+            failedFeeds.add(FEED_PRODUCTS);
         }
         //endregion
 
         //region updating last sync time
-        try {
-            final Response<ServerStatus> response = provideSyncApi()
-                    .getServerStatus()
-                    .execute();
-
-            if (response.isSuccessful()) {
-                final ServerStatus body = response.body();
-                if (body != null) {
-                    settingsRepository.setLastSyncTime(body.currentTime);
-                }
-            }
-        } catch (IOException e) {
-            Timber.e(e, "Server failure while getting server status");
-            return GcmNetworkManager.RESULT_RESCHEDULE;
-        } catch (RuntimeException e) {
-            Timber.e(e, "Unknown error while getting server status");
-            return GcmNetworkManager.RESULT_RESCHEDULE;
+        if (failedFeeds.isEmpty()) {
+            settingsRepository.setLastSyncTime(toServerDateTime(getCurrentDateTimeInMillis()));
+        } else {
+            Timber.i("Updates of %s were not applied, sync will be rescheduled", failedFeeds);
         }
         //endregion
 
+        Timber.d("sync finished. %s", RealmSchedulers.metrics());
+
         //region notifications
         if (notifyOrderUpdates) {
             provideEventBus().post(ordersSyncedBySchedule());
@@ -539,69 +381,43 @@ public class SyncTaskService extends GcmTaskService {
         }
 
         if (notifyProductUpdates) {
+            ProductCatalogCache.invalidate();
             provideEventBus().post(productsUpdated());
         }
         //endregion
 
-        return GcmNetworkManager.RESULT_SUCCESS;
+        return failedFeeds.isEmpty()
+                ? GcmNetworkManager.RESULT_SUCCESS : GcmNetworkManager.RESULT_RESCHEDULE;
     }
 
-    private Boolean syncOrders(List<Order> orders) {
-        if (orders != null && !orders.isEmpty()) {
-            for (Order order : orders) {
-                try {
-                    final OrderDto postOrder = order.createPostOrder();
-
-                    final Response<OrderDto> response = getOrderApi()
-                            .createOrder(companyCnpj, salesmanCpfOrCnpj, postOrder)
-                            .execute();
-
-                    if (response.isSuccessful()) {
-                        OrderDto syncedOrder = response.body();
-
-                        if (syncedOrder != null) {
-                            for (OrderItemDto syncedOrderItem : syncedOrder.items) {
-                                for (OrderItem item : order.getItems()) {
-                                    if (item.getId().compareTo(syncedOrderItem.id) == 0) {
-                                        item
-                                                .withOrderItemId(syncedOrderItem.orderItemId)
-                                                .withLastChangeTime(syncedOrderItem.lastChangeTime);
-                                        break;
-                                    }
-                                }
-                            }
-
-                            order
-                                    .withOrderId(syncedOrder.orderId)
-                                    .withLastChangeTime(syncedOrder.lastChangeTime)
-                                    .withStatus(OrderStatus.STATUS_SYNCED);
-
-                            getOrderRepository()
-                                    .save(order)
-                                    .toBlocking()
-                                    .first();
-                        }
-                    } else {
-                        Timber.i("Unsuccessful orders sync. %s", response.message());
-                    }
-                } catch (IOException e) {
-                    Timber.e(e, "Server failure while syncing orders");
-                    return false;
-                } catch (RuntimeException e) {
-                    Timber.e(e, "Unknown error while syncing orders");
-                    return false;
-                }
-            }
-            return true;
-        } else
-            return null;
+    private String checkpointOf(final String feed) {
+        return feed + "@" + companyCnpj;
     }
 
-    private OrderApi getOrderApi() {
-        if (orderApi == null) {
-            orderApi = provideOrderApi();
-        }
-        return orderApi;
+    /**
+     * Returns the checkpoint of the feed, falling back to the sync baseline when the feed has
+     * never been applied.
+     */
+    private String getLastSyncTime(final String feed, final String syncBaseline) {
+        final SyncCheckpoint checkpoint = provideSyncCheckpointRepository()
+                .findFirst(new SyncCheckpointByFeedSpecification(checkpointOf(feed)))
+                .toBlocking()
+                .singleOrDefault(null);
+        return checkpoint != null ? checkpoint.getLastSyncTime() : syncBaseline;
+    }
+
+    /**
+     * Returns the time the server answered the feed, or the time the request was sent when the
+     * server sends no date.
+     */
+    private static String responseTimeOf(final Response<?> response) {
+        final Date date = response.headers().getDate("Date");
+        return toServerDateTime(
+                date != null ? date.getTime() : response.raw().sentRequestAtMillis());
+    }
+
+    private static <T> List<T> bodyOf(final Response<List<T>> response) {
+        return response.body() != null ? response.body() : Collections.emptyList();
     }
 
     private OrderRepository getOrderRepository() {
@@ -4,6 +4,8 @@ import com.google.gson.annotations.Expose;
 import com.google.gson.annotations.SerializedName;
 import java.util.List;
 
+import static br.com.libertsolutions.libertvendas.app.presentation.util.CurrencyUtils.fromCents;
+
 /**
  * @author Filipe Bezerra
  */
@@ -61,11 +63,14 @@ public class OrderDto {
     @Expose
     public int status;
 
+    /**
+     * The discount is given in cents and sent as a decimal, as the server expects.
+     */
     public OrderDto(
             final int id,
             final int type,
             final String issueDate,
-            final double discount,
+            final long discountCents,
             final float discountPercentage,
             final String observation,
             final int customerId,
@@ -75,7 +80,7 @@ public class OrderDto {
         this.id = id;
         this.type = type;
         this.issueDate = issueDate;
-        this.discount = discount;
+        this.discount = fromCents(discountCents);
         this.discountPercentage = discountPercentage;
         this.observation = observation;
         this.customerId = customerId;
@@ -3,6 +3,8 @@ package br.com.libertsolutions.libertvendas.app.domain.dto;
 import com.google.gson.annotations.Expose;
 import com.google.gson.annotations.SerializedName;
 
+import static br.com.libertsolutions.libertvendas.app.presentation.util.CurrencyUtils.fromCents;
+
 /**
  * @author Filipe Bezerra
  */
@@ -36,13 +38,16 @@ public class OrderItemDto {
     @Expose
     public String lastChangeTime;
 
+    /**
+     * The sub total is given in cents and sent as a decimal, as the server expects.
+     */
     public OrderItemDto(
             final int id, final int productId, final float quantity,
-            final double subTotal, final double salesPrice) {
+            final long subTotalCents, final double salesPrice) {
         this.id = id;
         this.productId = productId;
         this.quantity = quantity;
-        this.subTotal = subTotal;
+        this.subTotal = fromCents(subTotalCents);
         this.salesPrice = salesPrice;
     }
 }
@@ -1,10 +1,13 @@
 package br.com.libertsolutions.libertvendas.app.domain.entity;
 
 import io.realm.RealmModel;
+import io.realm.annotations.Index;
 import io.realm.annotations.PrimaryKey;
 import io.realm.annotations.RealmClass;
 import io.realm.annotations.Required;
 
+import static br.com.libertsolutions.libertvendas.app.presentation.util.StringUtils.foldForSearch;
+
 /**
  * @author Filipe Bezerra
  */
@@ -16,6 +19,8 @@ public class CityEntity implements RealmModel {
         public static final String STATE_ID_RELATION = "state."+StateEntity.Fields.STATE_ID;
 
         public static final String NAME = "name";
+
+        public static final String SEARCH_NAME = "searchName";
     }
 
     @PrimaryKey
@@ -26,6 +31,12 @@ public class CityEntity implements RealmModel {
     @Required
     private String name;
 
+    /**
+     * Name folded to lowercase without accents, kept along with the name for the searches.
+     */
+    @Index
+    private String searchName;
+
     private StateEntity state;
 
     public Integer getCityId() {
@@ -52,9 +63,14 @@ public class CityEntity implements RealmModel {
 
     public CityEntity withName(final String name) {
         this.name = name;
+        this.searchName = foldForSearch(name);
         return this;
     }
 
+    public String getSearchName() {
+        return searchName;
+    }
+
     public StateEntity getState() {
         return state;
     }
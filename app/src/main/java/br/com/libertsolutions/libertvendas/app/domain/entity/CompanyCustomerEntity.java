@@ -1,6 +1,7 @@
 package br.com.libertsolutions.libertvendas.app.domain.entity;
 
 import io.realm.RealmModel;
+import io.realm.annotations.Index;
 import io.realm.annotations.PrimaryKey;
 import io.realm.annotations.RealmClass;
 import io.realm.annotations.Required;
@@ -14,19 +15,27 @@ public class CompanyCustomerEntity implements RealmModel {
     public static final class Fields {
 
         public static final String COMPANY_ID = "companyId";
+
+        public static final String CUSTOMER_ID = "customerId";
     }
 
     @PrimaryKey
     private String id;
 
+    @Index
     @Required
     private Integer companyId;
 
+    @Index
     @Required
     private Integer customerId;
 
+    public static String idOf(final int companyId, final int customerId) {
+        return companyId + ":" + customerId;
+    }
+
     public CompanyCustomerEntity withId(Integer companyId, Integer customerId) {
-        this.id = String.valueOf(companyId) + String.valueOf(customerId);
+        this.id = idOf(companyId, customerId);
         this.companyId = companyId;
         this.customerId = customerId;
         return this;
@@ -1,6 +1,7 @@
 package br.com.libertsolutions.libertvendas.app.domain.entity;
 
 import io.realm.RealmModel;
+import io.realm.annotations.Index;
 import io.realm.annotations.PrimaryKey;
 import io.realm.annotations.RealmClass;
 import io.realm.annotations.Required;
@@ -14,19 +15,26 @@ public class CompanyPaymentMethodEntity implements RealmModel {
     public static final class Fields {
 
         public static final String COMPANY_ID = "companyId";
+
+        public static final String PAYMENT_METHOD_ID = "paymentMethodId";
     }
 
     @PrimaryKey
     private String id;
 
+    @Index
     @Required
     private Integer companyId;
 
     @Required
     private Integer paymentMethodId;
 
+    public static String idOf(final int companyId, final int paymentMethodId) {
+        return companyId + ":" + paymentMethodId;
+    }
+
     public CompanyPaymentMethodEntity withId(Integer companyId, Integer paymentMethodId) {
-        this.id = String.valueOf(companyId) + String.valueOf(paymentMethodId);
+        this.id = idOf(companyId, paymentMethodId);
         this.companyId = companyId;
         this.paymentMethodId = paymentMethodId;
         return this;
@@ -1,6 +1,7 @@
 package br.com.libertsolutions.libertvendas.app.domain.entity;
 
 import io.realm.RealmModel;
+import io.realm.annotations.Index;
 import io.realm.annotations.PrimaryKey;
 import io.realm.annotations.RealmClass;
 import io.realm.annotations.Required;
@@ -14,19 +15,26 @@ public class CompanyPriceTableEntity implements RealmModel {
     public static final class Fields {
 
         public static final String COMPANY_ID = "companyId";
+
+        public static final String PRICE_TABLE_ID = "priceTableId";
     }
 
     @PrimaryKey
     private String id;
 
+    @Index
     @Required
     private Integer companyId;
 
     @Required
     private Integer priceTableId;
 
+    public static String idOf(final int companyId, final int priceTableId) {
+        return companyId + ":" + priceTableId;
+    }
+
     public CompanyPriceTableEntity withId(Integer companyId, Integer priceTableId) {
-        this.id = String.valueOf(companyId) + String.valueOf(priceTableId);
+        this.id = idOf(companyId, priceTableId);
         this.companyId = companyId;
         this.priceTableId = priceTableId;
         return this;
@@ -1,13 +1,17 @@
 package br.com.libertsolutions.libertvendas.app.domain.entity;
 
 import br.com.libertsolutions.libertvendas.app.domain.pojo.CustomerStatus;
+import io.realm.RealmList;
 import io.realm.RealmModel;
+import io.realm.annotations.Index;
 import io.realm.annotations.PrimaryKey;
 import io.realm.annotations.RealmClass;
 import io.realm.annotations.Required;
 
-import static br.com.libertsolutions.libertvendas.app.data.helper.RealmAutoIncrement.autoIncrementor;
+import static br.com.libertsolutions.libertvendas.app.data.realm.RealmIdAllocator.nextId;
 import static br.com.libertsolutions.libertvendas.app.domain.pojo.CustomerStatus.STATUS_UNMODIFIED;
+import static br.com.libertsolutions.libertvendas.app.presentation.util.StringUtils.digitsOf;
+import static br.com.libertsolutions.libertvendas.app.presentation.util.StringUtils.foldForSearch;
 
 /**
  * @author Filipe Bezerra
@@ -24,11 +28,27 @@ public class CustomerEntity implements RealmModel {
         public static final String STATUS = "status";
 
         public static final String NAME = "name";
+
+        public static final String CODE = "code";
+
+        public static final String CPF_OR_CNPJ = "cpfOrCnpj";
+
+        public static final String CONTACT = "contact";
+
+        public static final String SEARCH_NAME = "searchName";
+
+        public static final String SEARCH_DOCUMENT = "searchDocument";
+
+        public static final String COMPANIES = "companies";
+
+        public static final String COMPANY_ID
+                = COMPANIES + "." + CompanyCustomerEntity.Fields.COMPANY_ID;
     }
 
     @PrimaryKey
     private Integer id;
 
+    @Index
     private Integer customerId;
 
     private String code;
@@ -46,6 +66,18 @@ public class CustomerEntity implements RealmModel {
 
     private String contact;
 
+    /**
+     * Name folded to lowercase without accents, kept along with the name for the searches.
+     */
+    @Index
+    private String searchName;
+
+    /**
+     * Digits of the CPF or CNPJ, kept along with it for the searches.
+     */
+    @Index
+    private String searchDocument;
+
     private String email;
 
     private String mainPhone;
@@ -70,15 +102,18 @@ public class CustomerEntity implements RealmModel {
 
     private String lastChangeTime;
 
+    @Index
     private Integer status;
 
+    private RealmList<CompanyCustomerEntity> companies;
+
     public Integer getId() {
         return id;
     }
 
     public CustomerEntity withId(final Integer id) {
         if (id == null || id == 0) {
-            this.id = autoIncrementor(getClass(), Fields.ID).getNextIdFromModel();
+            this.id = nextId(CustomerEntity.class, Fields.ID);
         } else {
             this.id = id;
         }
@@ -109,9 +144,14 @@ public class CustomerEntity implements RealmModel {
 
     public CustomerEntity withName(final String name) {
         this.name = name;
+        this.searchName = foldForSearch(name);
         return this;
     }
 
+    public String getSearchName() {
+        return searchName;
+    }
+
     public String getFantasyName() {
         return fantasyName;
     }
@@ -136,9 +176,14 @@ public class CustomerEntity implements RealmModel {
 
     public CustomerEntity withCpfOrCnpj(final String cpfOrCnpj) {
         this.cpfOrCnpj = cpfOrCnpj;
+        this.searchDocument = digitsOf(cpfOrCnpj);
         return this;
     }
 
+    public String getSearchDocument() {
+        return searchDocument;
+    }
+
     public String getContact() {
         return contact;
     }
@@ -256,6 +301,15 @@ public class CustomerEntity implements RealmModel {
         return this;
     }
 
+    public RealmList<CompanyCustomerEntity> getCompanies() {
+        return companies;
+    }
+
+    public CustomerEntity withCompanies(final RealmList<CompanyCustomerEntity> companies) {
+        this.companies = companies;
+        return this;
+    }
+
     @CustomerStatus public Integer getStatus() {
         return status;
     }
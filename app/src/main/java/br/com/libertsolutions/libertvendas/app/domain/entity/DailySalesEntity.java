@@ -0,0 +1,116 @@
+package br.com.libertsolutions.libertvendas.app.domain.entity;
+
+import io.realm.RealmModel;
+import io.realm.annotations.PrimaryKey;
+import io.realm.annotations.RealmClass;
+import io.realm.annotations.Required;
+
+/**
+ * @author Filipe Bezerra
+ */
+@RealmClass
+public class DailySalesEntity implements RealmModel {
+
+    public static final class Fields {
+
+        public static final String ID = "id";
+
+        public static final String SALESMAN_ID = "salesmanId";
+
+        public static final String COMPANY_ID = "companyId";
+
+        public static final String DAY = "day";
+
+        public static final String CUSTOMER_ID = "customerId";
+
+        public static final String CUSTOMER_NAME = "customerName";
+
+        public static final String ORDER_COUNT = "orderCount";
+
+        public static final String TOTAL = "total";
+    }
+
+    @PrimaryKey
+    private String id;
+
+    @Required
+    private Integer salesmanId;
+
+    @Required
+    private Integer companyId;
+
+    @Required
+    private Long day;
+
+    @Required
+    private Integer customerId;
+
+    private String customerName;
+
+    private int orderCount;
+
+    private double total;
+
+    public static String idOf(
+            final int salesmanId, final int companyId, final long day, final int customerId) {
+        return salesmanId + ":" + companyId + ":" + day + ":" + customerId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public DailySalesEntity withId(
+            final Integer salesmanId, final Integer companyId, final Long day,
+            final Integer customerId) {
+        this.id = idOf(salesmanId, companyId, day, customerId);
+        this.salesmanId = salesmanId;
+        this.companyId = companyId;
+        this.day = day;
+        this.customerId = customerId;
+        return this;
+    }
+
+    public Integer getSalesmanId() {
+        return salesmanId;
+    }
+
+    public Integer getCompanyId() {
+        return companyId;
+    }
+
+    public Long getDay() {
+        return day;
+    }
+
+    public Integer getCustomerId() {
+        return customerId;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public DailySalesEntity withCustomerName(final String customerName) {
+        this.customerName = customerName;
+        return this;
+    }
+
+    public int getOrderCount() {
+        return orderCount;
+    }
+
+    public DailySalesEntity withOrderCount(final int orderCount) {
+        this.orderCount = orderCount;
+        return this;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    public DailySalesEntity withTotal(final double total) {
+        this.total = total;
+        return this;
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.libertsolutions.libertvendas.app.domain.entity;
+
+import io.realm.RealmModel;
+import io.realm.annotations.PrimaryKey;
+import io.realm.annotations.RealmClass;
+
+/**
+ * Next free local id of an entity, named by the entity class.
+ *
+ * @author Filipe Bezerra
+ */
+@RealmClass
+public class IdSequenceEntity implements RealmModel {
+
+    public static final class Fields {
+
+        public static final String NAME = "name";
+
+        public static final String NEXT_ID = "nextId";
+    }
+
+    @PrimaryKey
+    private String name;
+
+    private int nextId;
+
+    public String getName() {
+        return name;
+    }
+
+    public IdSequenceEntity withName(final String name) {
+        this.name = name;
+        return this;
+    }
+
+    public int getNextId() {
+        return nextId;
+    }
+
+    public IdSequenceEntity withNextId(final int nextId) {
+        this.nextId = nextId;
+        return this;
+    }
+}
@@ -4,11 +4,12 @@ import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderStatus;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderType;
 import io.realm.RealmList;
 import io.realm.RealmModel;
+import io.realm.annotations.Index;
 import io.realm.annotations.PrimaryKey;
 import io.realm.annotations.RealmClass;
 import io.realm.annotations.Required;
 
-import static br.com.libertsolutions.libertvendas.app.data.helper.RealmAutoIncrement.autoIncrementor;
+import static br.com.libertsolutions.libertvendas.app.data.realm.RealmIdAllocator.nextId;
 import static br.com.libertsolutions.libertvendas.app.domain.pojo.OrderStatus.STATUS_SYNCED;
 
 /**
@@ -25,23 +26,35 @@ public class OrderEntity implements RealmModel {
 
         public static final String ISSUE_DATE = "issueDate";
 
+        public static final String DISCOUNT = "discount";
+
+        public static final String ITEMS = "items";
+
         public static final String STATUS = "status";
 
         public static final String SALESMAN_ID = "salesmanId";
 
         public static final String COMPANY_ID = "companyId";
 
-        public static final String CUSTOMER_NAME = "customer." + CustomerEntity.Fields.NAME;
+        public static final String TOTAL_ITEMS = "totalItems";
+
+        public static final String TOTAL_ORDER = "totalOrder";
+
+        public static final String CUSTOMER = "customer";
+
+        public static final String CUSTOMER_NAME = CUSTOMER + "." + CustomerEntity.Fields.NAME;
     }
 
     @PrimaryKey
     private Integer id;
 
+    @Index
     private Integer orderId;
 
     @Required
     private Integer type;
 
+    @Index
     @Required
     private Long issueDate;
 
@@ -59,14 +72,21 @@ public class OrderEntity implements RealmModel {
 
     private RealmList<OrderItemEntity> items;
 
+    private double totalItems;
+
+    private double totalOrder;
+
     private String lastChangeTime;
 
+    @Index
     @Required
     private Integer salesmanId;
 
+    @Index
     @Required
     private Integer companyId;
 
+    @Index
     @Required
     private Integer status;
 
@@ -76,7 +96,7 @@ public class OrderEntity implements RealmModel {
 
     public OrderEntity withId(final Integer id) {
         if (id == null || id == 0) {
-            this.id = autoIncrementor(getClass(), Fields.ID).getNextIdFromModel();
+            this.id = nextId(OrderEntity.class, Fields.ID);
         } else {
             this.id = id;
         }
@@ -173,6 +193,24 @@ public class OrderEntity implements RealmModel {
         return this;
     }
 
+    public double getTotalItems() {
+        return totalItems;
+    }
+
+    public OrderEntity withTotalItems(final double totalItems) {
+        this.totalItems = totalItems;
+        return this;
+    }
+
+    public double getTotalOrder() {
+        return totalOrder;
+    }
+
+    public OrderEntity withTotalOrder(final double totalOrder) {
+        this.totalOrder = totalOrder;
+        return this;
+    }
+
     public String getLastChangeTime() {
         return lastChangeTime;
     }
@@ -5,7 +5,7 @@ import io.realm.annotations.PrimaryKey;
 import io.realm.annotations.RealmClass;
 import io.realm.annotations.Required;
 
-import static br.com.libertsolutions.libertvendas.app.data.helper.RealmAutoIncrement.autoIncrementor;
+import static br.com.libertsolutions.libertvendas.app.data.realm.RealmIdAllocator.nextId;
 
 /**
  * @author Filipe Bezerra
@@ -16,6 +16,8 @@ public class OrderItemEntity implements RealmModel {
     public static final class Fields {
 
         public static final String ID = "id";
+
+        public static final String SUB_TOTAL = "subTotal";
     }
 
     @PrimaryKey
@@ -39,7 +41,7 @@ public class OrderItemEntity implements RealmModel {
 
     public OrderItemEntity withId(final Integer id) {
         if (id == null || id == 0) {
-            this.id = autoIncrementor(getClass(), Fields.ID).getNextIdFromModel();
+            this.id = nextId(OrderItemEntity.class, Fields.ID);
         } else {
             this.id = id;
         }
@@ -0,0 +1,110 @@
+package br.com.libertsolutions.libertvendas.app.domain.entity;
+
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OutboxEntryType;
+import io.realm.RealmModel;
+import io.realm.annotations.PrimaryKey;
+import io.realm.annotations.RealmClass;
+import io.realm.annotations.Required;
+
+/**
+ * @author Filipe Bezerra
+ */
+@RealmClass
+public class OutboxEntryEntity implements RealmModel {
+
+    public static final class Fields {
+
+        public static final String ID = "id";
+
+        public static final String TYPE = "type";
+
+        public static final String ENTITY_ID = "entityId";
+
+        public static final String SEQUENCE = "sequence";
+
+        public static final String ATTEMPTS = "attempts";
+
+        public static final String NEXT_ATTEMPT_TIME = "nextAttemptTime";
+
+        public static final String LAST_ERROR = "lastError";
+    }
+
+    @PrimaryKey
+    private String id;
+
+    @Required
+    private Integer type;
+
+    @Required
+    private Integer entityId;
+
+    @Required
+    private Long sequence;
+
+    @Required
+    private Integer attempts;
+
+    @Required
+    private Long nextAttemptTime;
+
+    private String lastError;
+
+    public static String idOf(@OutboxEntryType int type, int entityId) {
+        return String.valueOf(type) + ":" + String.valueOf(entityId);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public OutboxEntryEntity withId(@OutboxEntryType final Integer type, final Integer entityId) {
+        this.id = idOf(type, entityId);
+        this.type = type;
+        this.entityId = entityId;
+        return this;
+    }
+
+    @OutboxEntryType public Integer getType() {
+        return type;
+    }
+
+    public Integer getEntityId() {
+        return entityId;
+    }
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public OutboxEntryEntity withSequence(final Long sequence) {
+        this.sequence = sequence;
+        return this;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public OutboxEntryEntity withAttempts(final Integer attempts) {
+        this.attempts = attempts;
+        return this;
+    }
+
+    public Long getNextAttemptTime() {
+        return nextAttemptTime;
+    }
+
+    public OutboxEntryEntity withNextAttemptTime(final Long nextAttemptTime) {
+        this.nextAttemptTime = nextAttemptTime;
+        return this;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public OutboxEntryEntity withLastError(final String lastError) {
+        this.lastError = lastError;
+        return this;
+    }
+}
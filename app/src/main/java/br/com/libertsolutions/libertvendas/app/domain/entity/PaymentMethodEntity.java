@@ -1,5 +1,6 @@
 package br.com.libertsolutions.libertvendas.app.domain.entity;
 
+import io.realm.RealmList;
 import io.realm.RealmModel;
 import io.realm.annotations.PrimaryKey;
 import io.realm.annotations.RealmClass;
@@ -16,6 +17,11 @@ public class PaymentMethodEntity implements RealmModel {
         public static final String PAYMENT_METHOD_ID = "paymentMethodId";
 
         public static final String DESCRIPTION = "description";
+
+        public static final String COMPANIES = "companies";
+
+        public static final String COMPANY_ID
+                = COMPANIES + "." + CompanyPaymentMethodEntity.Fields.COMPANY_ID;
     }
 
     @PrimaryKey
@@ -34,6 +40,8 @@ public class PaymentMethodEntity implements RealmModel {
 
     private String lastChangeTime;
 
+    private RealmList<CompanyPaymentMethodEntity> companies;
+
     public Integer getPaymentMethodId() {
         return paymentMethodId;
     }
@@ -96,4 +104,13 @@ public class PaymentMethodEntity implements RealmModel {
         this.lastChangeTime = lastChangeTime;
         return this;
     }
+
+    public RealmList<CompanyPaymentMethodEntity> getCompanies() {
+        return companies;
+    }
+
+    public PaymentMethodEntity withCompanies(final RealmList<CompanyPaymentMethodEntity> companies) {
+        this.companies = companies;
+        return this;
+    }
 }
@@ -14,6 +14,11 @@ public class PriceTableEntity implements RealmModel {
     public static final class Fields {
 
         public static final String PRICE_TABLE_ID = "priceTableId";
+
+        public static final String COMPANIES = "companies";
+
+        public static final String COMPANY_ID
+                = COMPANIES + "." + CompanyPriceTableEntity.Fields.COMPANY_ID;
     }
 
     @PrimaryKey
@@ -29,6 +34,8 @@ public class PriceTableEntity implements RealmModel {
 
     private String lastChangeTime;
 
+    private RealmList<CompanyPriceTableEntity> companies;
+
     public Integer getPriceTableId() {
         return priceTableId;
     }
@@ -82,4 +89,13 @@ public class PriceTableEntity implements RealmModel {
         this.lastChangeTime = lastChangeTime;
         return this;
     }
+
+    public RealmList<CompanyPriceTableEntity> getCompanies() {
+        return companies;
+    }
+
+    public PriceTableEntity withCompanies(final RealmList<CompanyPriceTableEntity> companies) {
+        this.companies = companies;
+        return this;
+    }
 }
@@ -11,6 +11,18 @@ import io.realm.annotations.Required;
 @RealmClass
 public class PriceTableItemEntity implements RealmModel {
 
+    public static final class Fields {
+
+        public static final String ITEM_ID = "itemId";
+
+        public static final String PRODUCT = "product";
+
+        public static final String PRODUCT_BAR_CODE = PRODUCT + "." + ProductEntity.Fields.BAR_CODE;
+
+        public static final String PRODUCT_DESCRIPTION
+                = PRODUCT + "." + ProductEntity.Fields.DESCRIPTION;
+    }
+
     @PrimaryKey
     private Integer itemId;
 
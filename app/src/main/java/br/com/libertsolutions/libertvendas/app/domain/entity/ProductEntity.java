@@ -11,6 +11,15 @@ import io.realm.annotations.Required;
 @RealmClass
 public class ProductEntity implements RealmModel {
 
+    public static final class Fields {
+
+        public static final String PRODUCT_ID = "productId";
+
+        public static final String BAR_CODE = "barCode";
+
+        public static final String DESCRIPTION = "description";
+    }
+
     @PrimaryKey
     private Integer productId;
 
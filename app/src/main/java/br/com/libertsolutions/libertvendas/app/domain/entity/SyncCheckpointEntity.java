@@ -0,0 +1,42 @@
+package br.com.libertsolutions.libertvendas.app.domain.entity;
+
+import io.realm.RealmModel;
+import io.realm.annotations.PrimaryKey;
+import io.realm.annotations.RealmClass;
+
+/**
+ * @author Filipe Bezerra
+ */
+@RealmClass
+public class SyncCheckpointEntity implements RealmModel {
+
+    public static final class Fields {
+
+        public static final String FEED = "feed";
+
+        public static final String LAST_SYNC_TIME = "lastSyncTime";
+    }
+
+    @PrimaryKey
+    private String feed;
+
+    private String lastSyncTime;
+
+    public String getFeed() {
+        return feed;
+    }
+
+    public SyncCheckpointEntity withFeed(final String feed) {
+        this.feed = feed;
+        return this;
+    }
+
+    public String getLastSyncTime() {
+        return lastSyncTime;
+    }
+
+    public SyncCheckpointEntity withLastSyncTime(final String lastSyncTime) {
+        this.lastSyncTime = lastSyncTime;
+        return this;
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.libertsolutions.libertvendas.app.domain.pojo;
+
+/**
+ * Orders not cancelled of a salesman for one customer in one day, see
+ * {@link br.com.libertsolutions.libertvendas.app.data.dailysales.DailySalesAggregator}.
+ *
+ * @author Filipe Bezerra
+ */
+public class DailySales {
+
+    private String id;
+
+    private Integer salesmanId;
+
+    private Integer companyId;
+
+    private Long day;
+
+    private Integer customerId;
+
+    private String customerName;
+
+    private int orderCount;
+
+    private double total;
+
+    public String getId() {
+        return id;
+    }
+
+    public DailySales withId(final String id) {
+        this.id = id;
+        return this;
+    }
+
+    public Integer getSalesmanId() {
+        return salesmanId;
+    }
+
+    public DailySales withSalesmanId(final Integer salesmanId) {
+        this.salesmanId = salesmanId;
+        return this;
+    }
+
+    public Integer getCompanyId() {
+        return companyId;
+    }
+
+    public DailySales withCompanyId(final Integer companyId) {
+        this.companyId = companyId;
+        return this;
+    }
+
+    public Long getDay() {
+        return day;
+    }
+
+    public DailySales withDay(final Long day) {
+        this.day = day;
+        return this;
+    }
+
+    public Integer getCustomerId() {
+        return customerId;
+    }
+
+    public DailySales withCustomerId(final Integer customerId) {
+        this.customerId = customerId;
+        return this;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public DailySales withCustomerName(final String customerName) {
+        this.customerName = customerName;
+        return this;
+    }
+
+    public int getOrderCount() {
+        return orderCount;
+    }
+
+    public DailySales withOrderCount(final int orderCount) {
+        this.orderCount = orderCount;
+        return this;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    public DailySales withTotal(final double total) {
+        this.total = total;
+        return this;
+    }
+
+    @Override public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        DailySales that = (DailySales) o;
+
+        return getId().equals(that.getId());
+    }
+
+    @Override public int hashCode() {
+        return getId().hashCode();
+    }
+
+    @Override public String toString() {
+        final StringBuilder sb = new StringBuilder("DailySales{");
+        sb.append("id='").append(id).append('\'');
+        sb.append(", salesmanId=").append(salesmanId);
+        sb.append(", companyId=").append(companyId);
+        sb.append(", day=").append(day);
+        sb.append(", customerId=").append(customerId);
+        sb.append(", customerName='").append(customerName).append('\'');
+        sb.append(", orderCount=").append(orderCount);
+        sb.append(", total=").append(total);
+        sb.append('}');
+        return sb.toString();
+    }
+}
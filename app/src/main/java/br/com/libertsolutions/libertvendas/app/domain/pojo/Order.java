@@ -5,6 +5,8 @@ import br.com.libertsolutions.libertvendas.app.domain.dto.OrderItemDto;
 import java.util.ArrayList;
 import java.util.List;
 
+import static br.com.libertsolutions.libertvendas.app.presentation.util.CurrencyUtils.fromCents;
+import static br.com.libertsolutions.libertvendas.app.presentation.util.CurrencyUtils.toCents;
 import static br.com.libertsolutions.libertvendas.app.presentation.util.DateUtils.getCurrentDateTimeInMillis;
 import static br.com.libertsolutions.libertvendas.app.presentation.util.FormattingUtils.formatAsISODateTime;
 import static br.com.libertsolutions.libertvendas.app.presentation.util.NumberUtils.withDefaultValue;
@@ -22,7 +24,10 @@ public class Order {
 
     private Long issueDate;
 
-    private Double discount;
+    /**
+     * Discount in cents.
+     */
+    private long discount;
 
     private Float discountPercentage;
 
@@ -36,6 +41,12 @@ public class Order {
 
     private List<OrderItem> items;
 
+    /**
+     * Sum of the sub totals of the items in cents, kept when the items are set instead of being
+     * summed on every read.
+     */
+    private long totalItems;
+
     private String lastChangeTime;
 
     private Integer salesmanId;
@@ -80,11 +91,20 @@ public class Order {
         return this;
     }
 
-    public Double getDiscount() {
-        return withDefaultValue(discount, 0);
+    public double getDiscount() {
+        return fromCents(discount);
+    }
+
+    public long getDiscountCents() {
+        return discount;
     }
 
     public Order withDiscount(final Double discount) {
+        this.discount = discount == null ? 0 : toCents(discount);
+        return this;
+    }
+
+    public Order withDiscountCents(final long discount) {
         this.discount = discount;
         return this;
     }
@@ -139,19 +159,33 @@ public class Order {
     }
 
     public Order withItems(final List<OrderItem> items) {
+        long totalItems = 0;
+        if (items != null) {
+            for (OrderItem item : items)
+                totalItems += item.getSubTotalCents();
+        }
+        return withItems(items, totalItems);
+    }
+
+    /**
+     * Sets the items along with their total in cents, already kept by whoever changed them.
+     */
+    public Order withItems(final List<OrderItem> items, final long totalItems) {
         this.items = items;
+        this.totalItems = totalItems;
         return this;
     }
 
     public double getTotalItems() {
-        double totalItems = 0;
-        for (OrderItem item : getItems())
-            totalItems += item.getSubTotal();
+        return fromCents(totalItems);
+    }
+
+    public long getTotalItemsCents() {
         return totalItems;
     }
 
     public double getTotalOrder() {
-        return getTotalItems() - getDiscount();
+        return fromCents(totalItems - discount);
     }
 
     public String getLastChangeTime() {
@@ -190,17 +224,24 @@ public class Order {
         return this;
     }
 
+    /**
+     * Returns whether the status still has to be sent to the server, false when it is null.
+     */
+    public static boolean isCreatedOrModified(final Integer status) {
+        return status != null
+                && (status == OrderStatus.STATUS_CREATED || status == OrderStatus.STATUS_MODIFIED);
+    }
+
     public boolean isStatusCreatedOrModified() {
-        return status == OrderStatus.STATUS_CREATED || status == OrderStatus.STATUS_MODIFIED;
+        return isCreatedOrModified(status);
     }
 
     public boolean isStatusNotCreatedAndModified() {
-        return status != OrderStatus.STATUS_CREATED && status != OrderStatus.STATUS_MODIFIED;
+        return !isCreatedOrModified(status);
     }
 
     public boolean isStatusEquals(final Order order) {
-        return isStatusCreatedOrModified() && order.isStatusCreatedOrModified() ||
-                isStatusNotCreatedAndModified() && order.isStatusNotCreatedAndModified();
+        return isCreatedOrModified(status) == isCreatedOrModified(order.getStatus());
     }
 
     @Override public boolean equals(final Object o) {
@@ -276,7 +317,7 @@ public class Order {
                 getId(),
                 getType(),
                 formatAsISODateTime(getIssueDate()),
-                getDiscount(),
+                getDiscountCents(),
                 getDiscountPercentage(),
                 getObservation(),
                 getCustomer().getCustomerId(),
@@ -2,7 +2,8 @@ package br.com.libertsolutions.libertvendas.app.domain.pojo;
 
 import br.com.libertsolutions.libertvendas.app.domain.dto.OrderItemDto;
 
-import static br.com.libertsolutions.libertvendas.app.presentation.util.CurrencyUtils.round;
+import static br.com.libertsolutions.libertvendas.app.presentation.util.CurrencyUtils.fromCents;
+import static br.com.libertsolutions.libertvendas.app.presentation.util.CurrencyUtils.toCents;
 
 /**
  * @author Filipe Bezerra
@@ -15,9 +16,12 @@ public class OrderItem {
 
     private PriceTableItem item;
 
-    private Float quantity;
+    private float quantity;
 
-    private Double subTotal;
+    /**
+     * Sub total in cents, kept primitive since it changes on every tap of the order entry.
+     */
+    private long subTotal;
 
     private String lastChangeTime;
 
@@ -50,44 +54,48 @@ public class OrderItem {
         return this;
     }
 
-    public Float getQuantity() {
+    public float getQuantity() {
         return quantity;
     }
 
-    public OrderItem withQuantity(final Float quantity) {
+    public OrderItem withQuantity(final float quantity) {
         this.quantity = quantity;
         calculateSubTotal();
         return this;
     }
 
     public OrderItem addQuantity(final float quantity) {
-        if (this.quantity == null) {
-            this.quantity = quantity;
-        } else {
-            this.quantity += quantity;
-        }
+        this.quantity += quantity;
         calculateSubTotal();
         return this;
     }
 
     public OrderItem removeOneFromQuantity() {
-        if (quantity != null && quantity >= 1) {
+        if (quantity >= 1) {
             --quantity;
             calculateSubTotal();
         }
         return this;
     }
 
+    /**
+     * The prices may have more decimals than the currency, so the sub total is rounded to cents
+     * only after the multiplication.
+     */
     private void calculateSubTotal() {
-        subTotal = this.quantity * item.getSalesPrice();
+        subTotal = toCents(quantity * item.getSalesPrice());
+    }
+
+    public double getSubTotal() {
+        return fromCents(subTotal);
     }
 
-    public Double getSubTotal() {
-        return round(subTotal);
+    public long getSubTotalCents() {
+        return subTotal;
     }
 
     public OrderItem withSubTotal(final Double subTotal) {
-        this.subTotal = subTotal;
+        this.subTotal = subTotal == null ? 0 : toCents(subTotal);
         return this;
     }
 
@@ -144,7 +152,7 @@ public class OrderItem {
                 getId(),
                 getItem().getProduct().getProductId(),
                 getQuantity(),
-                getSubTotal(),
+                getSubTotalCents(),
                 getItem().getSalesPrice()
         );
     }
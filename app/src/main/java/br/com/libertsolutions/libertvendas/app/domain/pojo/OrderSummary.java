@@ -0,0 +1,128 @@
+package br.com.libertsolutions.libertvendas.app.domain.pojo;
+
+/**
+ * Read only projection of an {@link Order} with just what the list screens show. The full order
+ * is loaded on demand by its {@link #getId() id}.
+ *
+ * @author Filipe Bezerra
+ */
+public class OrderSummary {
+
+    private Integer id;
+
+    private Integer orderId;
+
+    private String customerName;
+
+    private Long issueDate;
+
+    private Integer status;
+
+    private double totalOrder;
+
+    public static OrderSummary of(final Order order) {
+        final Customer customer = order.getCustomer();
+        return new OrderSummary()
+                .withId(order.getId())
+                .withOrderId(order.getOrderId())
+                .withCustomerName(customer != null ? customer.getName() : null)
+                .withIssueDate(order.getIssueDate())
+                .withStatus(order.getStatus())
+                .withTotalOrder(order.getTotalOrder());
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public OrderSummary withId(final Integer id) {
+        this.id = id;
+        return this;
+    }
+
+    public Integer getOrderId() {
+        return orderId;
+    }
+
+    public OrderSummary withOrderId(final Integer orderId) {
+        this.orderId = orderId;
+        return this;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public OrderSummary withCustomerName(final String customerName) {
+        this.customerName = customerName;
+        return this;
+    }
+
+    public Long getIssueDate() {
+        return issueDate;
+    }
+
+    public OrderSummary withIssueDate(final Long issueDate) {
+        this.issueDate = issueDate;
+        return this;
+    }
+
+    @OrderStatus public Integer getStatus() {
+        return status;
+    }
+
+    public OrderSummary withStatus(@OrderStatus final Integer status) {
+        this.status = status;
+        return this;
+    }
+
+    public double getTotalOrder() {
+        return totalOrder;
+    }
+
+    public OrderSummary withTotalOrder(final double totalOrder) {
+        this.totalOrder = totalOrder;
+        return this;
+    }
+
+    public boolean isStatusCreatedOrModified() {
+        return Order.isCreatedOrModified(status);
+    }
+
+    public boolean isStatusNotCreatedAndModified() {
+        return !Order.isCreatedOrModified(status);
+    }
+
+    public boolean isStatusEquals(final OrderSummary order) {
+        return Order.isCreatedOrModified(status) == Order.isCreatedOrModified(order.getStatus());
+    }
+
+    @Override public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        OrderSummary summary = (OrderSummary) o;
+
+        return getId().equals(summary.getId());
+    }
+
+    @Override public int hashCode() {
+        return getId().hashCode();
+    }
+
+    @Override public String toString() {
+        final StringBuilder sb = new StringBuilder("OrderSummary{");
+        sb.append("id=").append(id);
+        sb.append(", orderId=").append(orderId);
+        sb.append(", customerName='").append(customerName).append('\'');
+        sb.append(", issueDate=").append(issueDate);
+        sb.append(", status=").append(status);
+        sb.append(", totalOrder=").append(totalOrder);
+        sb.append('}');
+        return sb.toString();
+    }
+}
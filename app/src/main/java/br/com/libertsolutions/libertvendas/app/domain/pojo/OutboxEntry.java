@@ -0,0 +1,105 @@
+package br.com.libertsolutions.libertvendas.app.domain.pojo;
+
+/**
+ * Pending upload of a locally created or modified customer or order.
+ *
+ * @author Filipe Bezerra
+ */
+public class OutboxEntry {
+
+    private String id;
+
+    private Integer type;
+
+    private Integer entityId;
+
+    private Long sequence;
+
+    private Integer attempts;
+
+    private Long nextAttemptTime;
+
+    private String lastError;
+
+    public String getId() {
+        return id;
+    }
+
+    public OutboxEntry withId(final String id) {
+        this.id = id;
+        return this;
+    }
+
+    @OutboxEntryType public Integer getType() {
+        return type;
+    }
+
+    public OutboxEntry withType(@OutboxEntryType final Integer type) {
+        this.type = type;
+        return this;
+    }
+
+    public Integer getEntityId() {
+        return entityId;
+    }
+
+    public OutboxEntry withEntityId(final Integer entityId) {
+        this.entityId = entityId;
+        return this;
+    }
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public OutboxEntry withSequence(final Long sequence) {
+        this.sequence = sequence;
+        return this;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public OutboxEntry withAttempts(final Integer attempts) {
+        this.attempts = attempts;
+        return this;
+    }
+
+    public Long getNextAttemptTime() {
+        return nextAttemptTime;
+    }
+
+    public OutboxEntry withNextAttemptTime(final Long nextAttemptTime) {
+        this.nextAttemptTime = nextAttemptTime;
+        return this;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public OutboxEntry withLastError(final String lastError) {
+        this.lastError = lastError;
+        return this;
+    }
+
+    public boolean isCustomer() {
+        return type == OutboxEntryType.ENTRY_TYPE_CUSTOMER;
+    }
+
+    public boolean isOrder() {
+        return type == OutboxEntryType.ENTRY_TYPE_ORDER;
+    }
+
+    @Override public String toString() {
+        final StringBuilder sb = new StringBuilder("OutboxEntry{");
+        sb.append("id='").append(id).append('\'');
+        sb.append(", sequence=").append(sequence);
+        sb.append(", attempts=").append(attempts);
+        sb.append(", nextAttemptTime=").append(nextAttemptTime);
+        sb.append(", lastError='").append(lastError).append('\'');
+        sb.append('}');
+        return sb.toString();
+    }
+}
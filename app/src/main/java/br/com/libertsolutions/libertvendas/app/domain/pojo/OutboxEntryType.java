@@ -0,0 +1,18 @@
+package br.com.libertsolutions.libertvendas.app.domain.pojo;
+
+import android.support.annotation.IntDef;
+import java.lang.annotation.Retention;
+
+import static br.com.libertsolutions.libertvendas.app.domain.pojo.OutboxEntryType.ENTRY_TYPE_CUSTOMER;
+import static br.com.libertsolutions.libertvendas.app.domain.pojo.OutboxEntryType.ENTRY_TYPE_ORDER;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
+/**
+ * @author Filipe Bezerra
+ */
+@Retention(SOURCE)
+@IntDef({ENTRY_TYPE_CUSTOMER, ENTRY_TYPE_ORDER})
+public @interface OutboxEntryType {
+    int ENTRY_TYPE_CUSTOMER = 0;
+    int ENTRY_TYPE_ORDER = 1;
+}
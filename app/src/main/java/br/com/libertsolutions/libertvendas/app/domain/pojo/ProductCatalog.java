@@ -0,0 +1,363 @@
+package br.com.libertsolutions.libertvendas.app.domain.pojo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read only catalog of the items of a price table, laid out in columns of primitives instead
+ * of one {@link PriceTableItem} and {@link Product} per item. The texts are kept once in a
+ * shared pool, so the repeated units and groups cost an index per item. Items are addressed by
+ * their index in the catalog, and only turned into objects by {@link #toPriceTableItem(int)}
+ * once they are added to an order.
+ *
+ * @author Filipe Bezerra
+ */
+public final class ProductCatalog {
+
+    private static final int NO_TEXT = -1;
+
+    private final int priceTableId;
+
+    private final String priceTableCode;
+
+    private final String priceTableName;
+
+    private final int size;
+
+    private final int[] itemIds;
+
+    private final int[] productIds;
+
+    private final double[] salesPrices;
+
+    private final float[] stockQuantities;
+
+    private final int[] descriptions;
+
+    private final int[] codes;
+
+    private final int[] barCodes;
+
+    private final int[] units;
+
+    private final int[] groups;
+
+    private final String[] texts;
+
+    /**
+     * Item ids sorted ascending along with the index of each one, for lookups by id.
+     */
+    private final int[] sortedItemIds;
+
+    private final int[] sortedItemIndexes;
+
+    /**
+     * Index of each text in the pool, along with the first item having the text as its barcode
+     * or code, for the lookups of scanned codes.
+     */
+    private final Map<String, Integer> textIndexes;
+
+    private final int[] itemsByBarCode;
+
+    private final int[] itemsByCode;
+
+    private final ProductSearchIndex searchIndex;
+
+    private ProductCatalog(final Builder builder) {
+        priceTableId = builder.priceTableId;
+        priceTableCode = builder.priceTableCode;
+        priceTableName = builder.priceTableName;
+        size = builder.size;
+        itemIds = Arrays.copyOf(builder.itemIds, size);
+        productIds = Arrays.copyOf(builder.productIds, size);
+        salesPrices = Arrays.copyOf(builder.salesPrices, size);
+        stockQuantities = Arrays.copyOf(builder.stockQuantities, size);
+        descriptions = Arrays.copyOf(builder.descriptions, size);
+        codes = Arrays.copyOf(builder.codes, size);
+        barCodes = Arrays.copyOf(builder.barCodes, size);
+        units = Arrays.copyOf(builder.units, size);
+        groups = Arrays.copyOf(builder.groups, size);
+        texts = builder.texts.toArray(new String[builder.texts.size()]);
+        textIndexes = builder.textIndexes;
+        itemsByBarCode = itemsByText(barCodes);
+        itemsByCode = itemsByText(codes);
+
+        // Sorting the id and the index packed in a long avoids boxing every item
+        final long[] idsAndIndexes = new long[size];
+        for (int i = 0; i < size; i++) {
+            idsAndIndexes[i] = ((long) itemIds[i] << 32) | i;
+        }
+        Arrays.sort(idsAndIndexes);
+
+        sortedItemIds = new int[size];
+        sortedItemIndexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            sortedItemIds[i] = (int) (idsAndIndexes[i] >> 32);
+            sortedItemIndexes[i] = (int) idsAndIndexes[i];
+        }
+
+        searchIndex = new ProductSearchIndex(this);
+    }
+
+    public int getPriceTableId() {
+        return priceTableId;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getItemId(final int index) {
+        return itemIds[index];
+    }
+
+    public int getProductId(final int index) {
+        return productIds[index];
+    }
+
+    /**
+     * Returns the sales price, or 0 if the item has none.
+     */
+    public double getSalesPrice(final int index) {
+        return Double.isNaN(salesPrices[index]) ? 0 : salesPrices[index];
+    }
+
+    /**
+     * Returns the stock quantity, or 0 if the product has none.
+     */
+    public float getStockQuantity(final int index) {
+        return Float.isNaN(stockQuantities[index]) ? 0 : stockQuantities[index];
+    }
+
+    public String getDescription(final int index) {
+        return textOf(descriptions[index]);
+    }
+
+    public String getCode(final int index) {
+        return textOf(codes[index]);
+    }
+
+    public String getBarCode(final int index) {
+        return textOf(barCodes[index]);
+    }
+
+    public String getUnit(final int index) {
+        return textOf(units[index]);
+    }
+
+    public String getGroup(final int index) {
+        return textOf(groups[index]);
+    }
+
+    /**
+     * Returns the index of the item of the price table, or -1 if it is not in the catalog.
+     */
+    public int indexOfItem(final int itemId) {
+        final int found = Arrays.binarySearch(sortedItemIds, itemId);
+        return found >= 0 ? sortedItemIndexes[found] : -1;
+    }
+
+    /**
+     * Returns the index of the item with the barcode or, failing that, with the code, or -1 if
+     * none has it. The lookup takes constant time, so it keeps up with a barcode scanner. The
+     * codes are compared trimmed.
+     */
+    public int indexOfCode(final String code) {
+        if (code == null) {
+            return -1;
+        }
+
+        final Integer text = textIndexes.get(code.trim());
+        if (text == null) {
+            return -1;
+        }
+        return itemsByBarCode[text] != -1 ? itemsByBarCode[text] : itemsByCode[text];
+    }
+
+    /**
+     * Returns the index to search the items, built along with the catalog.
+     */
+    public ProductSearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    /**
+     * Creates the price table item, and its product, of the catalog item.
+     */
+    public PriceTableItem toPriceTableItem(final int index) {
+        return new PriceTableItem()
+                .withItemId(itemIds[index])
+                .withSalesPrice(Double.isNaN(salesPrices[index]) ? null : salesPrices[index])
+                .withProductId(productIds[index])
+                .withProduct(new Product()
+                        .withProductId(productIds[index])
+                        .withCode(getCode(index))
+                        .withBarCode(getBarCode(index))
+                        .withDescription(getDescription(index))
+                        .withUnit(getUnit(index))
+                        .withGroup(getGroup(index))
+                        .withStockQuantity(Float.isNaN(stockQuantities[index])
+                                ? null : stockQuantities[index]));
+    }
+
+    /**
+     * Creates the price table of the catalog, without its items.
+     */
+    public PriceTable toPriceTable() {
+        return new PriceTable()
+                .withPriceTableId(priceTableId)
+                .withCode(priceTableCode)
+                .withName(priceTableName)
+                .withItems(Collections.emptyList());
+    }
+
+    private int[] itemsByText(final int[] column) {
+        final int[] items = new int[texts.length];
+        Arrays.fill(items, -1);
+        for (int i = size - 1; i >= 0; i--) {
+            if (column[i] != NO_TEXT) {
+                items[column[i]] = i;
+            }
+        }
+        return items;
+    }
+
+    private String textOf(final int text) {
+        return text == NO_TEXT ? null : texts[text];
+    }
+
+    @Override public String toString() {
+        final StringBuilder sb = new StringBuilder("ProductCatalog{");
+        sb.append("priceTableId=").append(priceTableId);
+        sb.append(", size=").append(size);
+        sb.append(", texts=").append(texts.length);
+        sb.append('}');
+        return sb.toString();
+    }
+
+    public static class Builder {
+
+        private final int priceTableId;
+
+        private String priceTableCode;
+
+        private String priceTableName;
+
+        private int size;
+
+        private int[] itemIds;
+
+        private int[] productIds;
+
+        private double[] salesPrices;
+
+        private float[] stockQuantities;
+
+        private int[] descriptions;
+
+        private int[] codes;
+
+        private int[] barCodes;
+
+        private int[] units;
+
+        private int[] groups;
+
+        private final List<String> texts = new ArrayList<>();
+
+        private final Map<String, Integer> textIndexes = new HashMap<>();
+
+        public Builder(final int priceTableId, final int expectedSize) {
+            this.priceTableId = priceTableId;
+            final int capacity = Math.max(expectedSize, 1);
+            itemIds = new int[capacity];
+            productIds = new int[capacity];
+            salesPrices = new double[capacity];
+            stockQuantities = new float[capacity];
+            descriptions = new int[capacity];
+            codes = new int[capacity];
+            barCodes = new int[capacity];
+            units = new int[capacity];
+            groups = new int[capacity];
+        }
+
+        public Builder withPriceTable(final String code, final String name) {
+            priceTableCode = code;
+            priceTableName = name;
+            return this;
+        }
+
+        public Builder add(
+                final int itemId, final Double salesPrice, final int productId,
+                final Float stockQuantity, final String description, final String code,
+                final String barCode, final String unit, final String group) {
+            if (size == itemIds.length) {
+                grow();
+            }
+
+            itemIds[size] = itemId;
+            productIds[size] = productId;
+            salesPrices[size] = salesPrice == null ? Double.NaN : salesPrice;
+            stockQuantities[size] = stockQuantity == null ? Float.NaN : stockQuantity;
+            descriptions[size] = indexOf(description);
+            codes[size] = indexOf(trimCode(code));
+            barCodes[size] = indexOf(trimCode(barCode));
+            units[size] = indexOf(unit);
+            groups[size] = indexOf(group);
+            size++;
+            return this;
+        }
+
+        public ProductCatalog build() {
+            return new ProductCatalog(this);
+        }
+
+        private int indexOf(final String text) {
+            if (text == null) {
+                return NO_TEXT;
+            }
+
+            Integer index = textIndexes.get(text);
+            if (index == null) {
+                index = texts.size();
+                texts.add(text);
+                textIndexes.put(text, index);
+            }
+            return index;
+        }
+
+        /**
+         * Trims the code as the scanned ones are, the ERP pads them with spaces. A blank code
+         * is taken as none.
+         */
+        private static String trimCode(final String code) {
+            if (code == null) {
+                return null;
+            }
+
+            final String trimmed = code.trim();
+            return trimmed.isEmpty() ? null : trimmed;
+        }
+
+        private void grow() {
+            final int capacity = itemIds.length * 2;
+            itemIds = Arrays.copyOf(itemIds, capacity);
+            productIds = Arrays.copyOf(productIds, capacity);
+            salesPrices = Arrays.copyOf(salesPrices, capacity);
+            stockQuantities = Arrays.copyOf(stockQuantities, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+            codes = Arrays.copyOf(codes, capacity);
+            barCodes = Arrays.copyOf(barCodes, capacity);
+            units = Arrays.copyOf(units, capacity);
+            groups = Arrays.copyOf(groups, capacity);
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package br.com.libertsolutions.libertvendas.app.domain.pojo;
+
+import java.util.Arrays;
+
+import static br.com.libertsolutions.libertvendas.app.presentation.util.StringUtils.foldForSearch;
+
+/**
+ * Search index of the items of a {@link ProductCatalog}, built once along with the catalog.
+ * The description, code and barcode of each item are folded into a single text by
+ * {@code StringUtils.foldForSearch}, and every trigram of the texts points to the items
+ * containing it.
+ *
+ * <p>Queries of three or more characters match anywhere in the texts, shorter ones only match
+ * the start of the words. The items whose match starts a word come first, each group in the
+ * catalog order, and a query extending the previous one only checks the previous results.
+ *
+ * @author Filipe Bezerra
+ */
+public final class ProductSearchIndex {
+
+    private static final int NO_KEY = -1;
+
+    private static final int NOT_FOUND = 0;
+
+    private static final int FOUND = 1;
+
+    private static final int FOUND_AT_WORD_START = 2;
+
+    /**
+     * Marks the keys of the words starting by a character, so they never clash with the
+     * trigrams, since the folded texts have no control characters.
+     */
+    private static final char WORD_START = 0;
+
+    private final int size;
+
+    /**
+     * Folded texts of every item, one after the other, each one starting by a space.
+     */
+    private final char[] texts;
+
+    private final int[] textStarts;
+
+    private long[] keys;
+
+    private int[] keyIds;
+
+    private final int[] postingStarts;
+
+    private final int[] postings;
+
+    ProductSearchIndex(final ProductCatalog catalog) {
+        size = catalog.size();
+        textStarts = new int[size + 1];
+
+        final StringBuilder builder = new StringBuilder(size * 32);
+        for (int item = 0; item < size; item++) {
+            textStarts[item] = builder.length();
+            appendField(builder, catalog.getDescription(item));
+            appendField(builder, catalog.getCode(item));
+            appendField(builder, catalog.getBarCode(item));
+        }
+        textStarts[size] = builder.length();
+        texts = new char[builder.length()];
+        builder.getChars(0, builder.length(), texts, 0);
+
+        keys = new long[4096];
+        keyIds = new int[4096];
+        Arrays.fill(keyIds, NO_KEY);
+
+        // First pass gives an id to every key and counts the items of each one
+        final long[] keysAt = new long[2];
+        int[] counts = new int[1024];
+        int[] lastItems = new int[1024];
+        int keyCount = 0;
+        for (int item = 0; item < size; item++) {
+            for (int i = textStarts[item]; i < textStarts[item + 1]; i++) {
+                for (int k = keysAt(i, textStarts[item + 1], keysAt) - 1; k >= 0; k--) {
+                    int id = findKey(keysAt[k]);
+                    if (id == NO_KEY) {
+                        id = keyCount++;
+                        addKey(keysAt[k], id, keyCount);
+                        if (id == counts.length) {
+                            counts = Arrays.copyOf(counts, id * 2);
+                            lastItems = Arrays.copyOf(lastItems, id * 2);
+                        }
+                        lastItems[id] = NO_KEY;
+                    }
+                    if (lastItems[id] != item) {
+                        lastItems[id] = item;
+                        counts[id]++;
+                    }
+                }
+            }
+        }
+
+        postingStarts = new int[keyCount + 1];
+        for (int id = 0; id < keyCount; id++) {
+            postingStarts[id + 1] = postingStarts[id] + counts[id];
+        }
+
+        // Second pass fills the items of each key, in the catalog order
+        postings = new int[postingStarts[keyCount]];
+        final int[] next = Arrays.copyOf(postingStarts, keyCount);
+        Arrays.fill(lastItems, NO_KEY);
+        for (int item = 0; item < size; item++) {
+            for (int i = textStarts[item]; i < textStarts[item + 1]; i++) {
+                for (int k = keysAt(i, textStarts[item + 1], keysAt) - 1; k >= 0; k--) {
+                    final int id = findKey(keysAt[k]);
+                    if (lastItems[id] != item) {
+                        lastItems[id] = item;
+                        postings[next[id]++] = item;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the items matching the query, or null if the query is blank and every item must
+     * be shown. The previous result, if any, is only checked again when the query extends its
+     * query, otherwise the index is used.
+     */
+    public Result search(final String query, final Result previous) {
+        final String folded = foldForSearch(query);
+        if (folded.isEmpty()) {
+            return null;
+        }
+
+        final char[] pattern = folded.toCharArray();
+        if (previous != null && previous.extendedBy(folded)) {
+            final Result result = match(folded, pattern, previous.items);
+            // Items may have moved between the groups, so they are put back in catalog order
+            Arrays.sort(result.items, 0, result.prefixCount);
+            Arrays.sort(result.items, result.prefixCount, result.items.length);
+            return result;
+        }
+
+        return match(folded, pattern, candidatesOf(pattern));
+    }
+
+    /**
+     * Returns the items of the key with less items among the keys of the pattern.
+     */
+    private int[] candidatesOf(final char[] pattern) {
+        int best = NO_KEY;
+        if (pattern.length < 3) {
+            best = findKey(pattern.length == 1
+                    ? pack(WORD_START, ' ', pattern[0]) : pack(' ', pattern[0], pattern[1]));
+            if (best == NO_KEY) {
+                return new int[0];
+            }
+        } else {
+            for (int i = 0; i + 2 < pattern.length; i++) {
+                final int id = findKey(pack(pattern[i], pattern[i + 1], pattern[i + 2]));
+                if (id == NO_KEY) {
+                    return new int[0];
+                }
+                if (best == NO_KEY || itemsOf(id) < itemsOf(best)) {
+                    best = id;
+                }
+            }
+        }
+        return Arrays.copyOfRange(postings, postingStarts[best], postingStarts[best + 1]);
+    }
+
+    private Result match(final String query, final char[] pattern, final int[] candidates) {
+        final int count = candidates.length;
+        final boolean wordsOnly = pattern.length < 3;
+        final int[] prefixed = new int[count];
+        final int[] others = new int[count];
+        int prefixedCount = 0;
+        int othersCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            final int item = candidates[i];
+            final int found = find(item, pattern);
+            if (found == FOUND_AT_WORD_START) {
+                prefixed[prefixedCount++] = item;
+            } else if (found == FOUND && !wordsOnly) {
+                others[othersCount++] = item;
+            }
+        }
+
+        final int[] items = Arrays.copyOf(prefixed, prefixedCount + othersCount);
+        System.arraycopy(others, 0, items, prefixedCount, othersCount);
+        return new Result(query, items, prefixedCount);
+    }
+
+    private int find(final int item, final char[] pattern) {
+        final int end = textStarts[item + 1] - pattern.length;
+        int found = NOT_FOUND;
+        for (int i = textStarts[item]; i <= end; i++) {
+            if (texts[i] != pattern[0]) {
+                continue;
+            }
+
+            int matched = 1;
+            while (matched < pattern.length && texts[i + matched] == pattern[matched]) {
+                matched++;
+            }
+            if (matched == pattern.length) {
+                if (texts[i - 1] == ' ') {
+                    return FOUND_AT_WORD_START;
+                }
+                found = FOUND;
+            }
+        }
+        return found;
+    }
+
+    private int itemsOf(final int id) {
+        return postingStarts[id + 1] - postingStarts[id];
+    }
+
+    /**
+     * Puts the keys starting at the position of the text, the trigram and, at the start of a
+     * word, the key of its first character, returning how many they are.
+     */
+    private int keysAt(final int i, final int end, final long[] keysAt) {
+        int count = 0;
+        if (i + 2 < end) {
+            keysAt[count++] = pack(texts[i], texts[i + 1], texts[i + 2]);
+        }
+        if (texts[i] == ' ' && i + 1 < end) {
+            keysAt[count++] = pack(WORD_START, ' ', texts[i + 1]);
+        }
+        return count;
+    }
+
+    private int findKey(final long key) {
+        final int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            if (keyIds[slot] == NO_KEY) {
+                return NO_KEY;
+            }
+            if (keys[slot] == key) {
+                return keyIds[slot];
+            }
+        }
+    }
+
+    /**
+     * Adds the key to the open addressing table, doubling it once it gets half full.
+     */
+    private void addKey(final long key, final int id, final int keyCount) {
+        if (keyCount * 2 > keys.length) {
+            final long[] oldKeys = keys;
+            final int[] oldKeyIds = keyIds;
+            keys = new long[oldKeys.length * 2];
+            keyIds = new int[oldKeys.length * 2];
+            Arrays.fill(keyIds, NO_KEY);
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeyIds[slot] != NO_KEY) {
+                    putKey(oldKeys[slot], oldKeyIds[slot]);
+                }
+            }
+        }
+        putKey(key, id);
+    }
+
+    private void putKey(final long key, final int id) {
+        final int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keyIds[slot] != NO_KEY) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        keyIds[slot] = id;
+    }
+
+    private static void appendField(final StringBuilder builder, final String field) {
+        final String folded = foldForSearch(field);
+        if (!folded.isEmpty()) {
+            builder.append(' ').append(folded);
+        }
+    }
+
+    private static long pack(final char first, final char second, final char third) {
+        return ((long) first << 32) | ((long) second << 16) | third;
+    }
+
+    private static int hash(final long key) {
+        final long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    /**
+     * Items matching a query, by their index in the catalog, those matching the start of a
+     * word first.
+     */
+    public static final class Result {
+
+        private final String query;
+
+        private final int[] items;
+
+        private final int prefixCount;
+
+        private Result(final String query, final int[] items, final int prefixCount) {
+            this.query = query;
+            this.items = items;
+            this.prefixCount = prefixCount;
+        }
+
+        public String getQuery() {
+            return query;
+        }
+
+        public int size() {
+            return items.length;
+        }
+
+        public int getItem(final int position) {
+            return items[position];
+        }
+
+        /**
+         * Returns how many of the first items match the start of a word.
+         */
+        public int getPrefixCount() {
+            return prefixCount;
+        }
+
+        /**
+         * Short queries only match the start of words, so their results hold the results of
+         * the longer queries only while these are short too.
+         */
+        private boolean extendedBy(final String other) {
+            return other.startsWith(query) && (query.length() >= 3 || other.length() < 3);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.libertsolutions.libertvendas.app.domain.pojo;
+
+/**
+ * High-water mark of a sync feed, the last change time already applied locally.
+ *
+ * @author Filipe Bezerra
+ */
+public class SyncCheckpoint {
+
+    private final String feed;
+
+    private final String lastSyncTime;
+
+    private SyncCheckpoint(final String feed, final String lastSyncTime) {
+        this.feed = feed;
+        this.lastSyncTime = lastSyncTime;
+    }
+
+    public static SyncCheckpoint of(final String feed, final String lastSyncTime) {
+        return new SyncCheckpoint(feed, lastSyncTime);
+    }
+
+    public String getFeed() {
+        return feed;
+    }
+
+    public String getLastSyncTime() {
+        return lastSyncTime;
+    }
+}
@@ -2,8 +2,10 @@ package br.com.libertsolutions.libertvendas.app.presentation;
 
 import android.content.Context;
 import android.support.annotation.NonNull;
+import android.text.TextUtils;
 import br.com.libertsolutions.libertvendas.app.BaseApplication;
 import br.com.libertsolutions.libertvendas.app.BuildConfig;
+import br.com.libertsolutions.libertvendas.app.data.helper.HttpCachePolicy;
 import br.com.libertsolutions.libertvendas.app.data.settings.SettingsRepository;
 import br.com.libertsolutions.libertvendas.app.data.settings.SettingsRepositoryImpl;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.Settings;
@@ -13,12 +15,10 @@ import com.google.gson.GsonBuilder;
 import java.io.File;
 import java.util.concurrent.TimeUnit;
 import okhttp3.Cache;
-import okhttp3.CacheControl;
 import okhttp3.HttpUrl;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
-import okhttp3.Response;
 import okhttp3.logging.HttpLoggingInterceptor;
 import org.greenrobot.eventbus.EventBus;
 import retrofit2.Retrofit;
@@ -72,36 +72,70 @@ public class PresentationInjector {
 
     private static final String HTTP_CACHE_FILE_NAME = "http-cache";
 
-    private static final String CACHE_CONTROL = "Cache-Control";
+    private static Retrofit sRetrofit;
 
-    public static Retrofit provideRetrofit() {
+    private static String sRetrofitServerAddress;
+
+    private static String sRetrofitAuthKey;
+
+    /**
+     * Returns the shared {@link Retrofit}, rebuilt only when the server address or the auth key
+     * change in the settings.
+     */
+    public static synchronized Retrofit provideRetrofit() {
         final Settings settings = provideSettingsRepository().getSettings();
         final String serverAddress = settings.getServerAddress();
         final String authKey = settings.getAuthKey();
 
-        return new Retrofit.Builder()
-                .baseUrl(serverAddress)
-                .addConverterFactory(GsonConverterFactory.create(provideGson()))
-                .addCallAdapterFactory(
-                        RxJavaCallAdapterFactory.createWithScheduler(Schedulers.io()))
-                .client(provideOkHttpClient(authKey))
-                .build();
+        if (sRetrofit == null
+                || !TextUtils.equals(serverAddress, sRetrofitServerAddress)
+                || !TextUtils.equals(authKey, sRetrofitAuthKey)) {
+            Timber.d("building retrofit for %s", serverAddress);
+            sRetrofit = new Retrofit.Builder()
+                    .baseUrl(serverAddress)
+                    .addConverterFactory(GsonConverterFactory.create(provideGson()))
+                    .addCallAdapterFactory(
+                            RxJavaCallAdapterFactory.createWithScheduler(Schedulers.io()))
+                    .client(provideOkHttpClient(authKey))
+                    .build();
+            sRetrofitServerAddress = serverAddress;
+            sRetrofitAuthKey = authKey;
+        }
+        return sRetrofit;
     }
 
-    private static Gson provideGson() {
-        return new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create();
+    private static Gson sGson;
+
+    public static synchronized Gson provideGson() {
+        if (sGson == null) {
+            sGson = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create();
+        }
+        return sGson;
     }
 
+    private static OkHttpClient sOkHttpClient;
+
+    /**
+     * Derives the client of the auth key from the shared one, so every client uses the same
+     * connection pool, dispatcher and cache.
+     */
     private static OkHttpClient provideOkHttpClient(String authenticationKey) {
-        return new OkHttpClient
-                .Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .writeTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .cache(provideHttpCache())
+        if (sOkHttpClient == null) {
+            sOkHttpClient = new OkHttpClient
+                    .Builder()
+                    .connectTimeout(30, TimeUnit.SECONDS)
+                    .writeTimeout(30, TimeUnit.SECONDS)
+                    .readTimeout(30, TimeUnit.SECONDS)
+                    .cache(provideHttpCache())
+                    .addInterceptor(HttpCachePolicy.requestInterceptor())
+                    .addNetworkInterceptor(HttpCachePolicy.responseInterceptor())
+                    .build();
+        }
+
+        return sOkHttpClient
+                .newBuilder()
                 .addInterceptor(provideLoggingInterceptor())
                 .addInterceptor(provideApiInterceptor(authenticationKey))
-                .addNetworkInterceptor(provideCacheInterceptor())
                 .build();
     }
 
@@ -140,19 +174,4 @@ public class PresentationInjector {
             return chain.proceed(request);
         };
     }
-
-    private static Interceptor provideCacheInterceptor() {
-        return chain -> {
-            Response response = chain.proceed(chain.request());
-
-            // re-write response header to force use of cache
-            CacheControl cacheControl = new CacheControl.Builder()
-                    .maxAge(2, TimeUnit.MINUTES)
-                    .build();
-
-            return response.newBuilder()
-                    .header(CACHE_CONTROL, cacheControl.toString())
-                    .build();
-        };
-    }
 }
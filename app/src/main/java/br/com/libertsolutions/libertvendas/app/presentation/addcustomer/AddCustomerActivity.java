@@ -462,24 +462,26 @@ public class AddCustomerActivity extends BaseActivity {
         mInputLayoutPostalCode.getEditText().setText(postalCode.postalCode);
 
         for (int i = 0; i < mStatesAdapter.getCount(); i++) {
-            if (mStatesAdapter.getItem(i).getName().equalsIgnoreCase(postalCode.stateInfo.name)) {
+            final State state = mStatesAdapter.getItem(i);
+            if (state.getName().equalsIgnoreCase(postalCode.stateInfo.name)) {
                 mSpinnerState.setSelection(i + 1, true);
-                loadCityByName(postalCode.cityName);
+                loadCityByName(postalCode.cityName, state.getStateId());
             }
         }
     }
 
-    private void loadCityByName(String name) {
+    private void loadCityByName(String name, Integer stateId) {
         if (mCityRepository == null) {
             mCityRepository = provideCityRepository();
         }
-        subscribeToLoadCityByName(name);
+        subscribeToLoadCityByName(name, stateId);
     }
 
-    private void subscribeToLoadCityByName(String name) {
-        mCurrentSubscription = mCityRepository.findFirst(new CityByNameSpecification(name))
+    private void subscribeToLoadCityByName(String name, Integer stateId) {
+        mCurrentSubscription = mCityRepository
+                .findFirst(new CityByNameSpecification(name).byState(stateId))
                 .observeOn(mainThread())
-                .subscribe(this::showCity, (e) -> handleLoadCityByNameError(e, name));
+                .subscribe(this::showCity, (e) -> handleLoadCityByNameError(e, name, stateId));
     }
 
     private void showCity(final City city) {
@@ -487,12 +489,12 @@ public class AddCustomerActivity extends BaseActivity {
         mInputLayoutCity.getEditText().setText(city.getName());
     }
 
-    private void handleLoadCityByNameError(Throwable e, final String name) {
+    private void handleLoadCityByNameError(Throwable e, final String name, final Integer stateId) {
         Timber.e(e, "Could not load city by name");
         new MaterialDialog.Builder(this)
                 .content(add_customer_unknown_error_loading_city)
                 .positiveText(R.string.all_retry)
-                .onPositive((dialog, which) -> loadCityByName(name))
+                .onPositive((dialog, which) -> loadCityByName(name, stateId))
                 .show();
     }
 
@@ -70,7 +70,7 @@ import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.pro
 import static br.com.libertsolutions.libertvendas.app.domain.pojo.OrderStatus.STATUS_CREATED;
 import static br.com.libertsolutions.libertvendas.app.domain.pojo.OrderStatus.STATUS_MODIFIED;
 import static br.com.libertsolutions.libertvendas.app.domain.pojo.OrderType.ORDER_TYPE_NORMAL;
-import static br.com.libertsolutions.libertvendas.app.presentation.util.CurrencyUtils.round;
+import static br.com.libertsolutions.libertvendas.app.presentation.util.CurrencyUtils.percentOf;
 import static br.com.libertsolutions.libertvendas.app.presentation.util.DateUtils.getCurrentDateTimeInMillis;
 import static br.com.libertsolutions.libertvendas.app.presentation.util.EventTracker.ACTION_SAVED_ORDER;
 import static br.com.libertsolutions.libertvendas.app.presentation.util.FormattingUtils.formatAsCurrency;
@@ -129,7 +129,7 @@ public class OrderFormStepFragment extends BaseFragment implements BlockingStep
     }
 
     @Subscribe public void onAddedOrderItems(AddedOrderItemsEvent event) {
-        setOrderItems(event.getOrderItems());
+        setOrderItems(event.getOrderItems(), event.getTotalItemsCents());
         calculateDiscount();
     }
 
@@ -338,8 +338,8 @@ public class OrderFormStepFragment extends BaseFragment implements BlockingStep
         mInputLayoutCustomerName.getEditText().setText(customer.getName());
     }
 
-    private void setOrderItems(final List<OrderItem> orderItems) {
-        mCurrentOrder.withItems(orderItems);
+    private void setOrderItems(final List<OrderItem> orderItems, final long totalItemsCents) {
+        mCurrentOrder.withItems(orderItems, totalItemsCents);
         mInputLayoutTotalItems.getEditText()
                 .setText(formatAsCurrency(mCurrentOrder.getTotalItems()));
     }
@@ -354,9 +354,9 @@ public class OrderFormStepFragment extends BaseFragment implements BlockingStep
 
     private void calculateDiscount() {
         final float discountPercentage = mCurrentOrder.getDiscountPercentage();
-        final double discount = round(mCurrentOrder.getTotalItems() * discountPercentage / 100);
+        final long discount = percentOf(mCurrentOrder.getTotalItemsCents(), discountPercentage);
 
-        mCurrentOrder.withDiscount(discount);
+        mCurrentOrder.withDiscountCents(discount);
         mInputLayoutTotalOrder.getEditText()
                 .setText(formatAsCurrency(mCurrentOrder.getTotalOrder()));
     }
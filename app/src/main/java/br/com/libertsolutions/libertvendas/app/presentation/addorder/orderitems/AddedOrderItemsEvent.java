@@ -10,15 +10,26 @@ public class AddedOrderItemsEvent {
 
     private final List<OrderItem> mOrderItems;
 
-    private AddedOrderItemsEvent(final List<OrderItem> orderItems) {
+    private final long mTotalItemsCents;
+
+    private AddedOrderItemsEvent(final List<OrderItem> orderItems, final long totalItemsCents) {
         mOrderItems = orderItems;
+        mTotalItemsCents = totalItemsCents;
     }
 
-    static AddedOrderItemsEvent newEvent(final List<OrderItem> orderItems) {
-        return new AddedOrderItemsEvent(orderItems);
+    static AddedOrderItemsEvent newEvent(
+            final List<OrderItem> orderItems, final long totalItemsCents) {
+        return new AddedOrderItemsEvent(orderItems, totalItemsCents);
     }
 
     public List<OrderItem> getOrderItems() {
         return mOrderItems;
     }
+
+    /**
+     * Returns the sum of the sub totals of the items in cents, kept while they were changed.
+     */
+    public long getTotalItemsCents() {
+        return mTotalItemsCents;
+    }
 }
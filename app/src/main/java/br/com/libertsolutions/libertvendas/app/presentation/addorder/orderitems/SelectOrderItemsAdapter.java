@@ -2,6 +2,7 @@ package br.com.libertsolutions.libertvendas.app.presentation.addorder.orderitems
 
 import android.content.Context;
 import android.support.v7.widget.RecyclerView;
+import android.util.SparseArray;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -9,33 +10,39 @@ import android.widget.Filter;
 import android.widget.Filterable;
 import br.com.libertsolutions.libertvendas.app.R;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderItem;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.PriceTableItem;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.Product;
-import br.com.libertsolutions.libertvendas.app.presentation.base.BaseFilter;
-import java.util.List;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.ProductCatalog;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.ProductSearchIndex;
 
 import static br.com.libertsolutions.libertvendas.app.presentation.util.FormattingUtils.formatAsCurrency;
 import static br.com.libertsolutions.libertvendas.app.presentation.util.FormattingUtils.formatAsNumber;
-import static br.com.libertsolutions.libertvendas.app.presentation.util.NumberUtils.withDefaultValue;
 
 /**
+ * Shows the products of a {@link ProductCatalog} along with the quantities added to the order,
+ * which are given only for the items the salesman changed, by their index in the catalog.
+ *
  * @author Filipe Bezerra
  */
 class SelectOrderItemsAdapter extends RecyclerView.Adapter<SelectOrderItemsViewHolder>
         implements Filterable {
 
-    private final List<OrderItem> orderItems;
+    private final ProductCatalog catalog;
+
+    private final SparseArray<OrderItem> orderItems;
 
     private final SelectOrderItemsCallbacks itemsCallbacks;
 
     private final Context context;
 
-    private List<OrderItem> originalOrderItems;
+    /**
+     * Items matching the filter, or null when every item is shown.
+     */
+    private ProductSearchIndex.Result filteredItems = null;
 
     private OrderItemListFilter filter;
 
-    SelectOrderItemsAdapter(final List<OrderItem> orderItems,
+    SelectOrderItemsAdapter(final ProductCatalog catalog, final SparseArray<OrderItem> orderItems,
             final SelectOrderItemsCallbacks itemsCallbacks, final Context context) {
+        this.catalog = catalog;
         this.orderItems = orderItems;
         this.itemsCallbacks = itemsCallbacks;
         this.context = context;
@@ -50,32 +57,31 @@ class SelectOrderItemsAdapter extends RecyclerView.Adapter<SelectOrderItemsViewH
 
     @Override public void onBindViewHolder(
             final SelectOrderItemsViewHolder holder, final int position) {
-        final OrderItem orderItem = orderItems.get(position);
-        final PriceTableItem item = orderItem.getItem();
-        final Product product = item.getProduct();
+        final int item = getItem(position);
+        final OrderItem orderItem = orderItems.get(item);
 
-        holder.textViewProductName.setText(product.getDescription());
+        holder.textViewProductName.setText(catalog.getDescription(item));
         holder.textViewProductPrice.setText(
                 context.getString(R.string.select_order_items_template_product_price,
-                        formatAsCurrency(withDefaultValue(item.getSalesPrice(), 0))));
+                        formatAsCurrency(catalog.getSalesPrice(item))));
         holder.textViewItemTotal.setText(
                 context.getString(R.string.select_order_items_template_item_total,
-                    formatAsCurrency(withDefaultValue(orderItem.getSubTotal(), 0))));
+                    formatAsCurrency(orderItem != null ? orderItem.getSubTotal() : 0)));
         holder.textViewQuantity.setText(
-                formatAsNumber(withDefaultValue(orderItem.getQuantity(), 0)));
+                formatAsNumber(orderItem != null ? orderItem.getQuantity() : 0));
         holder.inputLayoutEditQuantity.getEditText().setText(holder.textViewQuantity.getText());
         holder.textViewProductCode.setText(
                 context.getString(R.string.select_order_items_template_product_code,
-                        product.getCode()));
+                        catalog.getCode(item)));
         holder.textViewProductBarcode.setText(
                 context.getString(R.string.select_order_items_template_product_barcode,
-                        product.getBarCode()));
+                        catalog.getBarCode(item)));
 
-        holder.itemView.setTag(orderItem);
+        holder.item = item;
     }
 
     @Override public int getItemCount() {
-        return orderItems.size();
+        return filteredItems == null ? catalog.size() : filteredItems.size();
     }
 
     @Override public Filter getFilter() {
@@ -89,16 +95,53 @@ class SelectOrderItemsAdapter extends RecyclerView.Adapter<SelectOrderItemsViewH
         return getItemCount() == 0;
     }
 
-    private class OrderItemListFilter extends BaseFilter<OrderItem> {
+    /**
+     * Returns the index in the catalog of the item shown at the position.
+     */
+    int getItem(final int position) {
+        return filteredItems == null ? position : filteredItems.getItem(position);
+    }
+
+    /**
+     * Returns the position of the catalog item, or {@link RecyclerView#NO_POSITION} if it is
+     * filtered out.
+     */
+    int getPosition(final int item) {
+        if (filteredItems == null) {
+            return item;
+        }
+
+        for (int position = 0; position < filteredItems.size(); position++) {
+            if (filteredItems.getItem(position) == item) {
+                return position;
+            }
+        }
+        return RecyclerView.NO_POSITION;
+    }
+
+    /**
+     * Searches the index of the catalog, in the background, narrowing the last results while the
+     * query is only extended.
+     */
+    private class OrderItemListFilter extends Filter {
+
+        private ProductSearchIndex.Result lastResult;
+
+        @Override protected FilterResults performFiltering(final CharSequence constraint) {
+            final FilterResults results = new FilterResults();
+            final ProductSearchIndex.Result result = catalog.getSearchIndex()
+                    .search(constraint == null ? null : constraint.toString(), lastResult);
+            lastResult = result;
 
-        OrderItemListFilter() {
-            super(SelectOrderItemsAdapter.this, orderItems, originalOrderItems);
+            results.values = result;
+            results.count = result == null ? catalog.size() : result.size();
+            return results;
         }
 
-        @Override protected String[] filterValues(final OrderItem orderItem) {
-            final Product product = orderItem.getItem().getProduct();
-            return new String[] { product.getDescription(), product.getBarCode(),
-                    product.getCode(), product.getBarCode() };
+        @Override protected void publishResults(
+                final CharSequence constraint, final FilterResults results) {
+            filteredItems = (ProductSearchIndex.Result) results.values;
+            notifyDataSetChanged();
         }
     }
 }
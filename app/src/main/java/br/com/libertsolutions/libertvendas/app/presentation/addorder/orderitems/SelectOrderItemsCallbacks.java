@@ -1,16 +1,18 @@
 package br.com.libertsolutions.libertvendas.app.presentation.addorder.orderitems;
 
-import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderItem;
-
 /**
+ * Requests of the rows of {@link SelectOrderItemsAdapter}, the item is the index of the product
+ * in the {@link br.com.libertsolutions.libertvendas.app.domain.pojo.ProductCatalog} and the
+ * position is the row that shows it.
+ *
  * @author Filipe Bezerra
  */
 interface SelectOrderItemsCallbacks {
 
-    void onAddOrderItemRequested(final OrderItem orderItem, final int position);
+    void onAddOrderItemRequested(final int item, final int position);
 
-    void onRemoveOrderItemRequested(final OrderItem orderItem, final int position);
+    void onRemoveOrderItemRequested(final int item, final int position);
 
     void onChangeOrderItemQuantityRequested(
-            final OrderItem orderItem, final float quantity, final int position);
+            final int item, final float quantity, final int position);
 }
@@ -8,6 +8,7 @@ import android.support.v4.view.MenuItemCompat;
 import android.support.v4.widget.SwipeRefreshLayout;
 import android.support.v7.widget.RecyclerView;
 import android.support.v7.widget.SearchView;
+import android.util.SparseArray;
 import android.view.LayoutInflater;
 import android.view.Menu;
 import android.view.MenuInflater;
@@ -16,13 +17,11 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.view.ViewTreeObserver.OnGlobalLayoutListener;
 import br.com.libertsolutions.libertvendas.app.R;
-import br.com.libertsolutions.libertvendas.app.data.pricetable.PriceTableByIdSpecification;
 import br.com.libertsolutions.libertvendas.app.data.pricetable.PriceTableRepository;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.LoggedUser;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.Order;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderItem;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.PriceTable;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.PriceTableItem;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.ProductCatalog;
 import br.com.libertsolutions.libertvendas.app.presentation.base.BaseFragment;
 import br.com.libertsolutions.libertvendas.app.presentation.customerlist.SelectedCustomerEvent;
 import br.com.libertsolutions.libertvendas.app.presentation.main.LoggedInUserEvent;
@@ -32,9 +31,7 @@ import butterknife.OnClick;
 import com.stepstone.stepper.Step;
 import com.stepstone.stepper.VerificationError;
 import java.util.ArrayList;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.UUID;
 import org.greenrobot.eventbus.Subscribe;
 import rx.Subscriber;
@@ -51,6 +48,7 @@ import static br.com.libertsolutions.libertvendas.app.R.id.button_all_retry;
 import static br.com.libertsolutions.libertvendas.app.R.id.recycler_view_order_items;
 import static br.com.libertsolutions.libertvendas.app.R.id.swipe_container_all_pull_refresh;
 import static br.com.libertsolutions.libertvendas.app.R.layout.fragment_select_order_items;
+import static br.com.libertsolutions.libertvendas.app.R.string.select_order_items_code_not_found;
 import static br.com.libertsolutions.libertvendas.app.R.string.select_order_items_invalid_quantity;
 import static br.com.libertsolutions.libertvendas.app.R.string.select_order_items_no_order_items;
 import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.providePriceTableRepository;
@@ -58,7 +56,6 @@ import static br.com.libertsolutions.libertvendas.app.presentation.addorder.orde
 import static java.lang.Integer.valueOf;
 import static java.util.Collections.emptyList;
 import static rx.android.schedulers.AndroidSchedulers.mainThread;
-import static rx.schedulers.Schedulers.io;
 
 /**
  * @author Filipe Bezerra
@@ -78,14 +75,32 @@ public class SelectOrderItemsStepFragment extends BaseFragment implements Step,
 
     private Integer customerDefaultPriceTable;
 
-    private List<OrderItem> orderItems;
+    private ProductCatalog catalog;
 
-    private Set<OrderItem> selectedOrderItems;
+    /**
+     * Items added to the order by their index in the catalog, the other products of the
+     * catalog have no order item until their quantity is changed.
+     */
+    private SparseArray<OrderItem> orderItems;
+
+    /**
+     * Sum of the sub totals of the order items in cents, updated by the change of each item
+     * instead of being summed again.
+     */
+    private long totalItemsCents = 0;
 
     private Order selectedOrder;
 
+    private MenuItem searchItem;
+
     private SearchView searchView;
 
+    /**
+     * Whether the search box takes the codes read by a barcode scanner, which adds the items
+     * instead of filtering the list.
+     */
+    private boolean scannerMode = false;
+
     @BindView(swipe_container_all_pull_refresh) SwipeRefreshLayout swipeRefreshLayout;
     @BindView(recycler_view_order_items) RecyclerView recyclerViewOrderItems;
 
@@ -128,17 +143,23 @@ public class SelectOrderItemsStepFragment extends BaseFragment implements Step,
     }
 
     @Override public void onCreateOptionsMenu(Menu menu, MenuInflater inflater) {
-        inflater.inflate(R.menu.menu_search, menu);
-        final MenuItem searchItem = menu.findItem(R.id.action_all_search);
+        inflater.inflate(R.menu.menu_select_order_items, menu);
+        searchItem = menu.findItem(R.id.action_all_search);
         searchView = (SearchView) MenuItemCompat.getActionView(searchItem);
-        searchView.setQueryHint(getString(R.string.select_order_items_search_hint));
+        searchView.setQueryHint(getString(scannerMode
+                ? R.string.select_order_items_scanner_hint
+                : R.string.select_order_items_search_hint));
         searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
             @Override public boolean onQueryTextSubmit(String query) {
+                if (scannerMode) {
+                    onCodeScanned(query);
+                    return true;
+                }
                 return false;
             }
 
             @Override public boolean onQueryTextChange(String newText) {
-                if (selectOrderItemsAdapter != null) {
+                if (!scannerMode && selectOrderItemsAdapter != null) {
                     selectOrderItemsAdapter.getFilter().filter(newText);
                 }
                 return true;
@@ -147,8 +168,21 @@ public class SelectOrderItemsStepFragment extends BaseFragment implements Step,
     }
 
     @Override public void onPrepareOptionsMenu(final Menu menu) {
-        menu.findItem(R.id.action_all_search).setVisible(
-                selectOrderItemsAdapter != null && !selectOrderItemsAdapter.isEmptyList());
+        final boolean hasItems
+                = selectOrderItemsAdapter != null && !selectOrderItemsAdapter.isEmptyList();
+        menu.findItem(R.id.action_all_search).setVisible(hasItems || scannerMode);
+        menu.findItem(R.id.action_select_order_items_scanner_mode)
+                .setVisible(hasItems || scannerMode)
+                .setChecked(scannerMode);
+    }
+
+    @Override public boolean onOptionsItemSelected(final MenuItem item) {
+        if (item.getItemId() == R.id.action_select_order_items_scanner_mode) {
+            changeScannerMode(!scannerMode);
+            return true;
+        } else {
+            return super.onOptionsItemSelected(item);
+        }
     }
 
     @OnClick(button_all_retry) void onButtonRetryClicked() {
@@ -179,35 +213,46 @@ public class SelectOrderItemsStepFragment extends BaseFragment implements Step,
         }
     }
 
-    @Override public void onAddOrderItemRequested(final OrderItem orderItem, final int position) {
+    @Override public void onAddOrderItemRequested(final int item, final int position) {
+        final OrderItem orderItem = getOrCreateOrderItem(item);
         final float quantity = orderItem.getQuantity() + 1;
         if (checkQuantity(quantity)) {
+            final long oldSubTotal = orderItem.getSubTotalCents();
             orderItem.addQuantity(1);
-            selectOrderItemsAdapter.notifyItemChanged(position);
-            selectedOrderItems.add(orderItem);
+            totalItemsCents += orderItem.getSubTotalCents() - oldSubTotal;
+            orderItems.put(item, orderItem);
+            notifyOrderItemChanged(position);
         }
     }
 
-    @Override public void onRemoveOrderItemRequested(
-            final OrderItem orderItem, final int position) {
-        final Float quantity = orderItem.getQuantity();
-        if (quantity != null && quantity >= 1) {
+    @Override public void onRemoveOrderItemRequested(final int item, final int position) {
+        final OrderItem orderItem = orderItems.get(item);
+        if (orderItem == null) {
+            return;
+        }
+
+        if (orderItem.getQuantity() >= 1) {
+            final long oldSubTotal = orderItem.getSubTotalCents();
             orderItem.removeOneFromQuantity();
-            selectOrderItemsAdapter.notifyItemChanged(position);
+            totalItemsCents += orderItem.getSubTotalCents() - oldSubTotal;
             if (orderItem.getQuantity() == 0)
-                selectedOrderItems.remove(orderItem);
+                orderItems.remove(item);
+            notifyOrderItemChanged(position);
         }
     }
 
     @Override public void onChangeOrderItemQuantityRequested(
-            final OrderItem orderItem, final float quantity, final int position) {
+            final int item, final float quantity, final int position) {
         if (checkQuantity(quantity)) {
+            final OrderItem orderItem = getOrCreateOrderItem(item);
+            final long oldSubTotal = orderItem.getSubTotalCents();
             orderItem.withQuantity(quantity);
-            selectOrderItemsAdapter.notifyItemChanged(position);
-            if (orderItem.getQuantity() == 0)
-                selectedOrderItems.remove(orderItem);
+            totalItemsCents += orderItem.getSubTotalCents() - oldSubTotal;
+            if (quantity == 0)
+                orderItems.remove(item);
             else
-                selectedOrderItems.add(orderItem);
+                orderItems.put(item, orderItem);
+            notifyOrderItemChanged(position);
         }
     }
 
@@ -220,7 +265,7 @@ public class SelectOrderItemsStepFragment extends BaseFragment implements Step,
 
         List<OrderItem> addedOrderItems = getSelectedOrderItems();
         if (!addedOrderItems.isEmpty()) {
-            eventBus().post(newEvent(addedOrderItems));
+            eventBus().post(newEvent(addedOrderItems, totalItemsCents));
             return null;
         } else {
             return new VerificationError(getString(select_order_items_no_order_items));
@@ -234,18 +279,14 @@ public class SelectOrderItemsStepFragment extends BaseFragment implements Step,
     }
 
     private void loadProducts() {
+        if (currentSubscription != null && !currentSubscription.isUnsubscribed()) {
+            currentSubscription.unsubscribe();
+        }
         currentSubscription = priceTableRepository
-                .findFirst(new PriceTableByIdSpecification(loadDefaultPriceTableId()))
-                .observeOn(mainThread())
-                .doOnNext(priceTable ->
-                        eventBus().post(SelectedPriceTableEvent.newEvent(priceTable)))
-                .observeOn(io())
-                .map(PriceTable::getItems)
-                .flatMapIterable(item -> item)
-                .map(this::createOrderItem)
+                .findCatalog(loadDefaultPriceTableId())
                 .observeOn(mainThread())
                 .doOnUnsubscribe(() -> swipeRefreshLayout.setRefreshing(false))
-                .subscribe(createPriceTableItemSubscriber());
+                .subscribe(createProductCatalogSubscriber());
     }
 
     private int loadDefaultPriceTableId() {
@@ -260,33 +301,40 @@ public class SelectOrderItemsStepFragment extends BaseFragment implements Step,
         return loggedUser.getDefaultCompany().getPriceTableId();
     }
 
-    private OrderItem createOrderItem(final PriceTableItem priceTableItem) {
-        OrderItem orderItem;
-        if (selectedOrder != null) {
-            for (final OrderItem item : selectedOrder.getItems()) {
-                if (item.getItem().equals(priceTableItem)) {
-                    orderItem = new OrderItem()
-                            .withTempId(UUID.randomUUID().toString())
-                            .withItem(priceTableItem)
-                            .withQuantity(item.getQuantity());
-
-                    if (selectedOrderItems == null)
-                        selectedOrderItems = new LinkedHashSet<>();
-                    selectedOrderItems.add(orderItem);
-                    return orderItem;
-                }
-            }
+    private OrderItem getOrCreateOrderItem(final int item) {
+        final OrderItem orderItem = orderItems.get(item);
+        if (orderItem != null) {
+            return orderItem;
         }
 
-        orderItem = new OrderItem()
+        return new OrderItem()
                 .withTempId(UUID.randomUUID().toString())
-                .withItem(priceTableItem)
+                .withItem(catalog.toPriceTableItem(item))
                 .withQuantity(0.0f);
-        return orderItem;
     }
 
-    private Subscriber<OrderItem> createPriceTableItemSubscriber() {
-        return new Subscriber<OrderItem>() {
+    /**
+     * Adds the items of the order being edited that are still in the price table.
+     */
+    private void addSelectedOrderItems() {
+        if (selectedOrder == null) {
+            return;
+        }
+
+        for (final OrderItem orderItem : selectedOrder.getItems()) {
+            final int item = catalog.indexOfItem(orderItem.getItem().getItemId());
+            if (item != -1) {
+                final OrderItem selectedOrderItem = getOrCreateOrderItem(item);
+                final long oldSubTotal = selectedOrderItem.getSubTotalCents();
+                selectedOrderItem.withQuantity(orderItem.getQuantity());
+                totalItemsCents += selectedOrderItem.getSubTotalCents() - oldSubTotal;
+                orderItems.put(item, selectedOrderItem);
+            }
+        }
+    }
+
+    private Subscriber<ProductCatalog> createProductCatalogSubscriber() {
+        return new Subscriber<ProductCatalog>() {
             @Override public void onStart() {
                 startLoadingProducts();
             }
@@ -295,24 +343,23 @@ public class SelectOrderItemsStepFragment extends BaseFragment implements Step,
                 handleLoadProductsError(e);
             }
 
-            @Override public void onNext(final OrderItem orderItem) {
-                orderItems.add(orderItem);
+            @Override public void onNext(final ProductCatalog catalog) {
+                eventBus().post(SelectedPriceTableEvent.newEvent(catalog.toPriceTable()));
+                showCatalog(catalog);
             }
 
-            @Override public void onCompleted() {
-                showOrderItems();
-            }
+            @Override public void onCompleted() {}
         };
     }
 
     private void startLoadingProducts() {
+        catalog = null;
         if (orderItems == null) {
-            orderItems = new ArrayList<>();
-            selectedOrderItems = new LinkedHashSet<>();
+            orderItems = new SparseArray<>();
         } else {
             orderItems.clear();
-            selectedOrderItems.clear();
         }
+        totalItemsCents = 0;
         swipeRefreshLayout.setRefreshing(true);
         selectOrderItemsAdapter = null;
         recyclerViewOrderItems.setAdapter(null);
@@ -328,12 +375,14 @@ public class SelectOrderItemsStepFragment extends BaseFragment implements Step,
         mLinearLayoutEmptyState.setVisibility(GONE);
     }
 
-    private void showOrderItems() {
-        if (!orderItems.isEmpty()) {
+    private void showCatalog(final ProductCatalog catalog) {
+        this.catalog = catalog;
+        if (!catalog.isEmpty()) {
+            addSelectedOrderItems();
             recyclerViewOrderItems.setVisibility(VISIBLE);
             recyclerViewOrderItems.setAdapter(
                     selectOrderItemsAdapter = new SelectOrderItemsAdapter(
-                            orderItems, this, getContext()));
+                            catalog, orderItems, this, getContext()));
             recyclerViewOrderItems
                     .getViewTreeObserver()
                     .addOnGlobalLayoutListener(
@@ -360,6 +409,56 @@ public class SelectOrderItemsStepFragment extends BaseFragment implements Step,
         }
     }
 
+    private void notifyOrderItemChanged(final int position) {
+        if (position != RecyclerView.NO_POSITION) {
+            selectOrderItemsAdapter.notifyItemChanged(position);
+        }
+    }
+
+    /**
+     * The scanned codes are not filtered, the list shows every item while in scanner mode.
+     */
+    private void changeScannerMode(final boolean enabled) {
+        scannerMode = enabled;
+        if (selectOrderItemsAdapter != null) {
+            selectOrderItemsAdapter.getFilter().filter(null);
+        }
+        if (searchView != null) {
+            searchView.setQuery("", false);
+            searchView.setQueryHint(getString(enabled
+                    ? R.string.select_order_items_scanner_hint
+                    : R.string.select_order_items_search_hint));
+            if (enabled) {
+                MenuItemCompat.expandActionView(searchItem);
+            }
+        }
+        getActivity().invalidateOptionsMenu();
+    }
+
+    /**
+     * Adds one of the item read by the scanner, looking it up by barcode or code so that a scan
+     * costs the same whatever the size of the price table.
+     */
+    private void onCodeScanned(final String code) {
+        searchView.setQuery("", false);
+        if (catalog == null || selectOrderItemsAdapter == null || isEmpty(code)) {
+            return;
+        }
+
+        final int item = catalog.indexOfCode(code);
+        if (item == -1) {
+            Snackbar.make(getView(), getString(select_order_items_code_not_found, code.trim()),
+                    LENGTH_SHORT).show();
+            return;
+        }
+
+        final int position = selectOrderItemsAdapter.getPosition(item);
+        onAddOrderItemRequested(item, position);
+        if (position != RecyclerView.NO_POSITION) {
+            recyclerViewOrderItems.scrollToPosition(position);
+        }
+    }
+
     private boolean checkQuantity(final float quantity) {
         if (quantity < 0) {
             Snackbar.make(getView(), select_order_items_invalid_quantity, LENGTH_SHORT)
@@ -371,17 +470,18 @@ public class SelectOrderItemsStepFragment extends BaseFragment implements Step,
     }
 
     private List<OrderItem> getSelectedOrderItems() {
-        if (selectedOrderItems == null || selectedOrderItems.isEmpty()) {
+        if (orderItems == null || orderItems.size() == 0) {
             return emptyList();
         }
 
-        List<OrderItem> orderItems = new ArrayList<>();
-        for (final OrderItem item : selectedOrderItems) {
+        List<OrderItem> selectedOrderItems = new ArrayList<>();
+        for (int i = 0; i < orderItems.size(); i++) {
+            final OrderItem item = orderItems.valueAt(i);
             if (item.getQuantity() > 0) {
-                orderItems.add(item);
+                selectedOrderItems.add(item);
             }
         }
-        return orderItems;
+        return selectedOrderItems;
     }
 
     @Override public void onDestroyView() {
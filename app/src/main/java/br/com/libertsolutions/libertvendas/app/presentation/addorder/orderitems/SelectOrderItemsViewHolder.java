@@ -11,7 +11,6 @@ import android.widget.EditText;
 import android.widget.TextView;
 import android.widget.ViewSwitcher;
 import br.com.libertsolutions.libertvendas.app.R;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderItem;
 import br.com.libertsolutions.libertvendas.app.presentation.util.AndroidUtils;
 import butterknife.BindView;
 import butterknife.ButterKnife;
@@ -34,6 +33,11 @@ class SelectOrderItemsViewHolder extends RecyclerView.ViewHolder {
 
     private final SelectOrderItemsCallbacks mItemsCallbacks;
 
+    /**
+     * Index in the catalog of the product bound to the row.
+     */
+    int item;
+
     SelectOrderItemsViewHolder(
             final View itemView, @Nullable final SelectOrderItemsCallbacks itemsCallbacks) {
         super(itemView);
@@ -64,9 +68,8 @@ class SelectOrderItemsViewHolder extends RecyclerView.ViewHolder {
             AndroidUtils.hideKeyboard(itemView.getContext(), editText);
 
             if (!TextUtils.isEmpty(editText.getText())) {
-                Float quantity = Float.valueOf(editText.getText().toString());
-                OrderItem orderItem = (OrderItem) itemView.getTag();
-                mItemsCallbacks.onChangeOrderItemQuantityRequested(orderItem, quantity,
+                float quantity = Float.parseFloat(editText.getText().toString());
+                mItemsCallbacks.onChangeOrderItemQuantityRequested(item, quantity,
                         getAdapterPosition());
             }
 
@@ -76,12 +79,10 @@ class SelectOrderItemsViewHolder extends RecyclerView.ViewHolder {
     }
 
     @OnClick(R.id.button_add_item) public void onButtonAddItemClicked() {
-        OrderItem orderItem = (OrderItem) itemView.getTag();
-        mItemsCallbacks.onAddOrderItemRequested(orderItem, getAdapterPosition());
+        mItemsCallbacks.onAddOrderItemRequested(item, getAdapterPosition());
     }
 
     @OnClick(R.id.button_remove_item) public void onButtonRemoveItemClicked() {
-        OrderItem orderItem = (OrderItem) itemView.getTag();
-        mItemsCallbacks.onRemoveOrderItemRequested(orderItem, getAdapterPosition());
+        mItemsCallbacks.onRemoveOrderItemRequested(item, getAdapterPosition());
     }
 }
@@ -57,7 +57,7 @@ public class SelectCustomerStepFragment extends CustomerListFragment implements
         if (!isEmpty(mSearchView.getQuery())) {
             mSearchView.setQuery("", false);
             mSearchView.clearFocus();
-            mCustomerListAdapter.getFilter().filter("");
+            searchCustomers(null);
         }
 
         return mSelectedCustomer == null ?
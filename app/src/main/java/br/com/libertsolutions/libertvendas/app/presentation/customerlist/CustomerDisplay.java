@@ -0,0 +1,89 @@
+package br.com.libertsolutions.libertvendas.app.presentation.customerlist;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import br.com.libertsolutions.libertvendas.app.R;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.Customer;
+import br.com.libertsolutions.libertvendas.app.presentation.widget.recyclerview.DisplayModelCache;
+
+import static android.text.TextUtils.isEmpty;
+import static br.com.libertsolutions.libertvendas.app.presentation.util.FormattingUtils.formatCpforCnpj;
+import static br.com.libertsolutions.libertvendas.app.presentation.util.FormattingUtils.formatPhoneNumber;
+
+/**
+ * Texts of a customer row, formatted once for each version of the customer.
+ *
+ * @author Filipe Bezerra
+ */
+final class CustomerDisplay {
+
+    final CharSequence name;
+
+    final CharSequence cpfOrCnpj;
+
+    final CharSequence phones;
+
+    final CharSequence email;
+
+    final CharSequence fantasyName;
+
+    final CharSequence code;
+
+    private CustomerDisplay(
+            final CharSequence name, final CharSequence cpfOrCnpj, final CharSequence phones,
+            final CharSequence email, final CharSequence fantasyName, final CharSequence code) {
+        this.name = name;
+        this.cpfOrCnpj = cpfOrCnpj;
+        this.phones = phones;
+        this.email = email;
+        this.fantasyName = fantasyName;
+        this.code = code;
+    }
+
+    static class Factory implements DisplayModelCache.Factory<Customer, CustomerDisplay> {
+
+        private final Context mContext;
+
+        Factory(final Context context) {
+            mContext = context.getApplicationContext();
+        }
+
+        @Override public String versionKeyOf(@NonNull final Customer customer) {
+            return customer.getId() + "|" + customer.getName() + "|" + customer.getCpfOrCnpj()
+                    + "|" + customer.getMainPhone() + "|" + customer.getSecondaryPhone()
+                    + "|" + customer.getEmail() + "|" + customer.getFantasyName()
+                    + "|" + customer.getCode();
+        }
+
+        @Override public CustomerDisplay create(@NonNull final Customer customer) {
+            return new CustomerDisplay(
+                    customer.getName(),
+                    formatCpforCnpj(customer.getCpfOrCnpj()),
+                    phonesOf(customer),
+                    !isEmpty(customer.getEmail())
+                            ? customer.getEmail()
+                            : mContext.getString(R.string.customer_list_text_no_email),
+                    !isEmpty(customer.getFantasyName())
+                            ? customer.getFantasyName()
+                            : mContext.getString(R.string.customer_list_text_no_fantasy_name),
+                    !isEmpty(customer.getCode())
+                            ? mContext.getString(R.string.customer_list_template_customer_code,
+                                    customer.getCode())
+                            : mContext.getString(R.string.customer_list_text_no_customer_code));
+        }
+
+        private CharSequence phonesOf(final Customer customer) {
+            if (!isEmpty(customer.getMainPhone()) && !isEmpty(customer.getSecondaryPhone())) {
+                return mContext.getString(R.string.customer_list_template_text_phones,
+                        formatPhoneNumber(customer.getMainPhone()),
+                        formatPhoneNumber(customer.getSecondaryPhone()));
+            } else if (!isEmpty(customer.getMainPhone())) {
+                return formatPhoneNumber(customer.getMainPhone());
+            } else if (!isEmpty(customer.getSecondaryPhone())) {
+                return formatPhoneNumber(customer.getSecondaryPhone());
+            } else {
+                return mContext.getString(R.string.customer_list_text_no_phone);
+            }
+        }
+    }
+}
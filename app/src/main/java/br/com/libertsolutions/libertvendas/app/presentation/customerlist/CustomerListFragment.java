@@ -18,6 +18,7 @@ import android.view.ViewTreeObserver.OnGlobalLayoutListener;
 import br.com.libertsolutions.libertvendas.app.R;
 import br.com.libertsolutions.libertvendas.app.data.company.customer.CustomersByCompanySpecification;
 import br.com.libertsolutions.libertvendas.app.data.customer.CustomerRepository;
+import br.com.libertsolutions.libertvendas.app.data.repository.PagedList;
 import br.com.libertsolutions.libertvendas.app.data.sync.CustomersSyncedEvent;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.Customer;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.LoggedUser;
@@ -29,19 +30,16 @@ import br.com.libertsolutions.libertvendas.app.presentation.widget.recyclerview.
 import br.com.libertsolutions.libertvendas.app.presentation.widget.recyclerview.OnItemTouchListener;
 import butterknife.BindView;
 import butterknife.OnClick;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 import org.greenrobot.eventbus.Subscribe;
 import rx.Subscriber;
 import rx.Subscription;
 import timber.log.Timber;
 
 import static android.support.v7.widget.RecyclerView.NO_POSITION;
+import static android.text.TextUtils.isEmpty;
 import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.provideCustomerRepository;
 import static br.com.libertsolutions.libertvendas.app.presentation.customerlist.SelectedCustomerEvent.selectCustomer;
 import static br.com.libertsolutions.libertvendas.app.presentation.util.EventTracker.SEARCHED_CUSTOMERS;
-import static rx.android.schedulers.AndroidSchedulers.mainThread;
 
 /**
  * @author Filipe Bezerra
@@ -57,6 +55,10 @@ public class CustomerListFragment extends BaseFragment implements OnRefreshListe
 
     protected Subscription mCurrentSubscription;
 
+    protected Subscription mSearchSubscription;
+
+    protected String mSearchText = null;
+
     protected CustomerListAdapter mCustomerListAdapter;
 
     protected OnGlobalLayoutListener mRecyclerViewLayoutListener = null;
@@ -115,9 +117,7 @@ public class CustomerListFragment extends BaseFragment implements OnRefreshListe
             }
 
             @Override public boolean onQueryTextChange(String newText) {
-                if (mCustomerListAdapter != null) {
-                    mCustomerListAdapter.getFilter().filter(newText);
-                }
+                searchCustomers(newText);
                 return true;
             }
         });
@@ -125,7 +125,8 @@ public class CustomerListFragment extends BaseFragment implements OnRefreshListe
 
     @Override public void onPrepareOptionsMenu(final Menu menu) {
         menu.findItem(R.id.action_all_search)
-                .setVisible(mCustomerListAdapter != null && !mCustomerListAdapter.isEmptyList());
+                .setVisible(mCustomerListAdapter != null
+                        && (!mCustomerListAdapter.isEmptyList() || !isEmpty(mSearchText)));
     }
 
     @Override public void onRefresh() {
@@ -133,7 +134,7 @@ public class CustomerListFragment extends BaseFragment implements OnRefreshListe
     }
 
     @Override public void onSingleTapUp(final View view, final int position) {
-        Customer selectedCustomer = mCustomerListAdapter.getCustomer(position);
+        Customer selectedCustomer = mCustomerListAdapter.getItem(position);
         if (selectedCustomer != null) {
             onSelectedCustomerFromList(selectedCustomer);
         }
@@ -157,26 +158,65 @@ public class CustomerListFragment extends BaseFragment implements OnRefreshListe
         final Customer customer = event.getCustomer();
         eventBus().removeStickyEvent(SavedCustomerEvent.class);
         if (mCustomerListAdapter != null) {
-            final int position = mCustomerListAdapter.updateCustomer(customer);
+            // The list already follows the saved customer
+            final int position = mCustomerListAdapter.getItemPosition(customer);
             if (position != NO_POSITION) {
                 mRecyclerViewCustomers.scrollToPosition(position);
             }
         } else {
-            showCustomers(new ArrayList<>(Collections.singleton(customer)));
+            loadCustomers();
         }
     }
 
+    /**
+     * A shown list already follows the synced customers, only the empty state is reloaded.
+     */
     @Subscribe public void onCustomersSynced(CustomersSyncedEvent event) {
-        getActivity().runOnUiThread(this::loadCustomers);
+        getActivity().runOnUiThread(() -> {
+            if (mCustomerListAdapter == null) {
+                loadCustomers();
+            }
+        });
     }
 
     private void loadCustomers() {
+        if (mCurrentSubscription != null && !mCurrentSubscription.isUnsubscribed()) {
+            mCurrentSubscription.unsubscribe();
+        }
         mCurrentSubscription = mCustomerRepository
-                .query(new CustomersByCompanySpecification(loadSelectedCompanyId()))
-                .observeOn(mainThread())
+                .queryPaged(createCustomersSpecification())
                 .subscribe(createCustomerListSubscriber());
     }
 
+    /**
+     * Replaces the shown customers by the ones matching the text, keeping the list on screen
+     * while the search view is open.
+     */
+    protected void searchCustomers(final String text) {
+        mSearchText = text;
+        if (mCustomerListAdapter == null) {
+            return;
+        }
+
+        if (mSearchSubscription != null && !mSearchSubscription.isUnsubscribed()) {
+            mSearchSubscription.unsubscribe();
+        }
+        mSearchSubscription = mCustomerRepository
+                .queryPaged(createCustomersSpecification())
+                .subscribe(customers -> {
+                    if (mCustomerListAdapter != null) {
+                        mCustomerListAdapter.swapItems(customers);
+                    } else {
+                        customers.close();
+                    }
+                }, e -> Timber.e(e, "Could not search customers"));
+    }
+
+    private CustomersByCompanySpecification createCustomersSpecification() {
+        return new CustomersByCompanySpecification(loadSelectedCompanyId())
+                .byText(mSearchText);
+    }
+
     private int loadSelectedCompanyId() {
         if (mLoggedUser == null) {
             mLoggedUser = eventBus().getStickyEvent(LoggedInUserEvent.class).getUser();
@@ -184,8 +224,8 @@ public class CustomerListFragment extends BaseFragment implements OnRefreshListe
         return mLoggedUser.getDefaultCompany().getCompanyId();
     }
 
-    private Subscriber<List<Customer>> createCustomerListSubscriber() {
-        return new Subscriber<List<Customer>>() {
+    private Subscriber<PagedList<Customer>> createCustomerListSubscriber() {
+        return new Subscriber<PagedList<Customer>>() {
             @Override public void onStart() {
                 startLoadingCustomers();
             }
@@ -194,7 +234,7 @@ public class CustomerListFragment extends BaseFragment implements OnRefreshListe
                 handleLoadCustomersError(e);
             }
 
-            @Override public void onNext(final List<Customer> customers) {
+            @Override public void onNext(final PagedList<Customer> customers) {
                 showCustomers(customers);
             }
 
@@ -204,7 +244,7 @@ public class CustomerListFragment extends BaseFragment implements OnRefreshListe
 
     private void startLoadingCustomers() {
         mSwipeRefreshLayout.setRefreshing(true);
-        mCustomerListAdapter = null;
+        closeCustomers();
         mRecyclerViewCustomers.setAdapter(null);
         mRecyclerViewCustomers.setVisibility(View.GONE);
         mLinearLayoutEmptyState.setVisibility(View.VISIBLE);
@@ -218,20 +258,28 @@ public class CustomerListFragment extends BaseFragment implements OnRefreshListe
         mLinearLayoutEmptyState.setVisibility(View.GONE);
     }
 
-    private void showCustomers(List<Customer> customers) {
-        if (!customers.isEmpty()) {
+    private void showCustomers(PagedList<Customer> customers) {
+        if (!customers.isEmpty() || !isEmpty(mSearchText)) {
             mRecyclerViewCustomers.setVisibility(View.VISIBLE);
             mRecyclerViewCustomers.setAdapter(
-                    mCustomerListAdapter = new CustomerListAdapter(customers));
+                    mCustomerListAdapter = new CustomerListAdapter(customers, getContext()));
             mRecyclerViewCustomers
                     .getViewTreeObserver()
                     .addOnGlobalLayoutListener(
                             mRecyclerViewLayoutListener = this::onRecyclerViewFinishLoading);
         } else {
+            customers.close();
             mSwipeRefreshLayout.setRefreshing(false);
         }
     }
 
+    private void closeCustomers() {
+        if (mCustomerListAdapter != null) {
+            mCustomerListAdapter.close();
+            mCustomerListAdapter = null;
+        }
+    }
+
     protected void onRecyclerViewFinishLoading() {
         if (getView() != null) {
             mRecyclerViewCustomers
@@ -266,6 +314,11 @@ public class CustomerListFragment extends BaseFragment implements OnRefreshListe
         if (mCurrentSubscription != null && !mCurrentSubscription.isUnsubscribed()) {
             mCurrentSubscription.unsubscribe();
         }
+        if (mSearchSubscription != null && !mSearchSubscription.isUnsubscribed()) {
+            mSearchSubscription.unsubscribe();
+        }
+        mRecyclerViewCustomers.setAdapter(null);
+        closeCustomers();
         if (mSwipeRefreshLayout.isRefreshing()) {
             mSwipeRefreshLayout.setRefreshing(false);
             mLinearLayoutEmptyState.setVisibility(View.GONE);
@@ -15,13 +15,12 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.view.ViewTreeObserver.OnGlobalLayoutListener;
 import br.com.libertsolutions.libertvendas.app.R;
-import br.com.libertsolutions.libertvendas.app.data.order.OrderRepository;
-import br.com.libertsolutions.libertvendas.app.data.order.OrdersByUserSpecification;
-import br.com.libertsolutions.libertvendas.app.data.sync.OrdersSyncedEvent;
+import br.com.libertsolutions.libertvendas.app.data.dailysales.DailySalesByUserSpecification;
+import br.com.libertsolutions.libertvendas.app.data.dailysales.DailySalesRepository;
+import br.com.libertsolutions.libertvendas.app.data.repository.PagedList;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.DailySales;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.LoggedUser;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.Order;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderChartData;
-import br.com.libertsolutions.libertvendas.app.presentation.addorder.orderform.SavedOrderEvent;
 import br.com.libertsolutions.libertvendas.app.presentation.base.BaseFragment;
 import br.com.libertsolutions.libertvendas.app.presentation.main.LoggedInUserEvent;
 import br.com.libertsolutions.libertvendas.app.presentation.util.EventTracker;
@@ -37,15 +36,16 @@ import com.github.mikephil.charting.formatter.DefaultValueFormatter;
 import com.github.mikephil.charting.utils.ColorTemplate;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.greenrobot.eventbus.Subscribe;
 import org.joda.time.DateTime;
 import rx.Subscriber;
 import rx.Subscription;
 import timber.log.Timber;
 
-import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.providerOrderRepository;
-import static br.com.libertsolutions.libertvendas.app.data.order.OrderStatusSpecificationFilter.NOT_CANCELLED;
+import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.provideDailySalesRepository;
 import static br.com.libertsolutions.libertvendas.app.presentation.util.DateUtils.BEFORE_MIDNIGHT;
 import static br.com.libertsolutions.libertvendas.app.presentation.util.DateUtils.convertFromZeroBasedIndex;
 import static br.com.libertsolutions.libertvendas.app.presentation.util.DateUtils.dateTimeToMillis;
@@ -55,7 +55,6 @@ import static br.com.libertsolutions.libertvendas.app.presentation.util.DateUtil
 import static br.com.libertsolutions.libertvendas.app.presentation.util.DateUtils.toDateTime;
 import static br.com.libertsolutions.libertvendas.app.presentation.util.EventTracker.ACTION_FILTERED_GRAPH;
 import static org.joda.time.LocalTime.MIDNIGHT;
-import static rx.android.schedulers.AndroidSchedulers.mainThread;
 
 /**
  * @author Filipe Bezerra
@@ -65,10 +64,12 @@ public class DashboardFragment extends BaseFragment
 
     public static final String TAG = DashboardFragment.class.getName();
 
-    private OrderRepository orderRepository;
+    private DailySalesRepository dailySalesRepository;
 
     private Subscription currentSubscription;
 
+    private PagedList<DailySales> dailySales;
+
     private LoggedUser loggedUser;
 
     private OnGlobalLayoutListener pieChartLayoutListener = null;
@@ -103,7 +104,7 @@ public class DashboardFragment extends BaseFragment
 
         drawPieChart();
 
-        orderRepository = providerOrderRepository();
+        dailySalesRepository = provideDailySalesRepository();
         eventBus().register(this);
 
         return view;
@@ -140,14 +141,6 @@ public class DashboardFragment extends BaseFragment
         }
     }
 
-    @Subscribe(sticky = true) public void onSavedOrder(SavedOrderEvent event) {
-        loadOrderedOrders();
-    }
-
-    @Subscribe public void onOrdersSynced(OrdersSyncedEvent event) {
-        getActivity().runOnUiThread(this::loadOrderedOrders);
-    }
-
     @OnClick(R.id.button_all_retry) void onButtonRetryClicked() {
         mLinearLayoutErrorState.setVisibility(View.GONE);
         loadOrderedOrders();
@@ -195,15 +188,14 @@ public class DashboardFragment extends BaseFragment
             long initialDate = dateTimeToMillis(initialDateFilter);
             long finalDate = dateTimeToMillis(finalDateFilter);
 
-            currentSubscription = orderRepository
-                    .query(new OrdersByUserSpecification(getSalesmanId(), getCompanyId())
-                            .byStatus(NOT_CANCELLED)
-                            .byIssueDate(initialDate, finalDate)
-                            .orderByCustomerName())
-                    .map(this::toChartData)
-                    .observeOn(mainThread())
+            if (currentSubscription != null && !currentSubscription.isUnsubscribed()) {
+                currentSubscription.unsubscribe();
+            }
+            currentSubscription = dailySalesRepository
+                    .queryPaged(new DailySalesByUserSpecification(getSalesmanId(), getCompanyId())
+                            .byDay(initialDate, finalDate))
                     .doOnUnsubscribe(() -> swipeRefreshLayout.setRefreshing(false))
-                    .subscribe(createOrderChartDataListSubscriber());
+                    .subscribe(createDailySalesListSubscriber());
         }
     }
 
@@ -225,31 +217,31 @@ public class DashboardFragment extends BaseFragment
         return getLoggedUser().getDefaultCompany().getCompanyId();
     }
 
-    private List<OrderChartData> toChartData(List<Order> orders) {
-        if (orders.isEmpty()) {
+    private List<OrderChartData> toChartData(List<DailySales> dailySales) {
+        if (dailySales.isEmpty()) {
             return Collections.emptyList();
         }
-        List<OrderChartData> chartData = new ArrayList<>();
-        float orderAmount = 0;
-        String name = orders.get(0).getCustomer().getName();
-        for (Order order : orders) {
-            if (!name.equals(order.getCustomer().getName())) {
-                chartData.add(OrderChartData.create(name, orderAmount));
-                name = order.getCustomer().getName();
-                orderAmount = 0;
-            }
 
-            orderAmount += order.getTotalOrder();
+        // The days come sorted by customer name, summing them per customer keeps that order
+        Map<Integer, String> customerNames = new LinkedHashMap<>();
+        Map<Integer, Float> customerAmounts = new LinkedHashMap<>();
+        for (DailySales sales : dailySales) {
+            final Float amount = customerAmounts.get(sales.getCustomerId());
+            customerNames.put(sales.getCustomerId(), sales.getCustomerName());
+            customerAmounts.put(sales.getCustomerId(),
+                    (amount == null ? 0 : amount) + (float) sales.getTotal());
+        }
 
-            if (orders.indexOf(order) == orders.size() - 1) {
-                chartData.add(OrderChartData.create(name, orderAmount));
-            }
+        List<OrderChartData> chartData = new ArrayList<>();
+        for (Map.Entry<Integer, Float> entry : customerAmounts.entrySet()) {
+            chartData.add(OrderChartData
+                    .create(customerNames.get(entry.getKey()), entry.getValue()));
         }
         return chartData;
     }
 
-    private Subscriber<List<OrderChartData>> createOrderChartDataListSubscriber() {
-        return new Subscriber<List<OrderChartData>>() {
+    private Subscriber<PagedList<DailySales>> createDailySalesListSubscriber() {
+        return new Subscriber<PagedList<DailySales>>() {
             @Override public void onStart() {
                 startLoadingOrderedOrders();
             }
@@ -258,8 +250,8 @@ public class DashboardFragment extends BaseFragment
                 handleLoadOrderedOrdersError(e);
             }
 
-            @Override public void onNext(final List<OrderChartData> orders) {
-                showOrderedOrders(orders);
+            @Override public void onNext(final PagedList<DailySales> dailySales) {
+                showDailySales(dailySales);
             }
 
             @Override public void onCompleted() {
@@ -268,6 +260,7 @@ public class DashboardFragment extends BaseFragment
     }
 
     private void startLoadingOrderedOrders() {
+        closeDailySales();
         clearPieChart(false);
         swipeRefreshLayout.setRefreshing(true);
         pieChart.setVisibility(View.GONE);
@@ -294,6 +287,36 @@ public class DashboardFragment extends BaseFragment
         mLinearLayoutEmptyState.setVisibility(View.GONE);
     }
 
+    /**
+     * The daily sales are kept open and the chart is redrawn whenever they change, as orders
+     * are saved or synced.
+     */
+    private void showDailySales(PagedList<DailySales> dailySales) {
+        this.dailySales = dailySales;
+        dailySales.changes().subscribe(changes -> redrawOrderedOrders());
+        showOrderedOrders(toChartData(dailySales));
+    }
+
+    private void redrawOrderedOrders() {
+        final List<OrderChartData> orders = toChartData(dailySales);
+        if (!orders.isEmpty()) {
+            pieChart.setVisibility(View.VISIBLE);
+            mLinearLayoutEmptyState.setVisibility(View.GONE);
+            convertToPieData(orders);
+        } else {
+            clearPieChart(false);
+            pieChart.setVisibility(View.GONE);
+            mLinearLayoutEmptyState.setVisibility(View.VISIBLE);
+        }
+    }
+
+    private void closeDailySales() {
+        if (dailySales != null) {
+            dailySales.close();
+            dailySales = null;
+        }
+    }
+
     private void showOrderedOrders(List<OrderChartData> orders) {
         if (!orders.isEmpty()) {
             pieChart.setVisibility(View.VISIBLE);
@@ -363,6 +386,7 @@ public class DashboardFragment extends BaseFragment
             swipeRefreshLayout.setRefreshing(false);
             mLinearLayoutEmptyState.setVisibility(View.GONE);
         }
+        closeDailySales();
         clearPieChart(true);
         eventBus().unregister(this);
         super.onDestroyView();
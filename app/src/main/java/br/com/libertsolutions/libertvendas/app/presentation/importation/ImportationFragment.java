@@ -9,23 +9,24 @@ import android.view.ViewGroup;
 import android.widget.Button;
 import br.com.libertsolutions.libertvendas.app.R;
 import br.com.libertsolutions.libertvendas.app.data.city.CityRepository;
-import br.com.libertsolutions.libertvendas.app.data.company.customer.CompanyCustomerRepository;
 import br.com.libertsolutions.libertvendas.app.data.company.paymentmethod.CompanyPaymentMethodRepository;
-import br.com.libertsolutions.libertvendas.app.data.company.pricetable.CompanyPriceTableRepository;
+import br.com.libertsolutions.libertvendas.app.data.customer.CustomerMergeSpecification;
 import br.com.libertsolutions.libertvendas.app.data.customer.CustomerRepository;
+import br.com.libertsolutions.libertvendas.app.data.helper.JsonArrayStream;
 import br.com.libertsolutions.libertvendas.app.data.paymentmethod.PaymentMethodRepository;
+import br.com.libertsolutions.libertvendas.app.data.pricetable.PriceTableMergeSpecification;
+import br.com.libertsolutions.libertvendas.app.data.pricetable.PriceTableStream;
 import br.com.libertsolutions.libertvendas.app.data.pricetable.PriceTableRepository;
+import br.com.libertsolutions.libertvendas.app.data.pricetable.ProductCatalogCache;
+import br.com.libertsolutions.libertvendas.app.data.repository.MergeResult;
 import br.com.libertsolutions.libertvendas.app.data.sync.SyncTaskService;
 import br.com.libertsolutions.libertvendas.app.domain.dto.ServerStatus;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.City;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.Company;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.CompanyCustomer;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.CompanyPaymentMethod;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.CompanyPriceTable;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.Customer;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.LoggedUser;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.PaymentMethod;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.PriceTable;
 import br.com.libertsolutions.libertvendas.app.presentation.base.BaseFragment;
 import br.com.libertsolutions.libertvendas.app.presentation.login.CompletedLoginEvent;
 import butterknife.BindView;
@@ -46,9 +47,7 @@ import rx.subscriptions.CompositeSubscription;
 import timber.log.Timber;
 
 import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.provideCityRepository;
-import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.provideCompanyCustomerRepository;
 import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.provideCompanyPaymentMethodRepository;
-import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.provideCompanyPriceTableRepository;
 import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.provideCustomerRepository;
 import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.providePaymentMethodRepository;
 import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.providePriceTableRepository;
@@ -80,12 +79,8 @@ public class ImportationFragment extends BaseFragment {
 
     private CustomerRepository mCustomerRepository;
 
-    private CompanyCustomerRepository mCompanyCustomerRepository;
-
     private PriceTableRepository mPriceTableRepository;
 
-    private CompanyPriceTableRepository mCompanyPriceTableRepository;
-
     private CompositeSubscription mCompositeSubscription = new CompositeSubscription();
 
     private AtomicInteger mImportationTotalCounter = new AtomicInteger(1);
@@ -122,9 +117,7 @@ public class ImportationFragment extends BaseFragment {
         mPaymentMethodRepository = providePaymentMethodRepository();
         mCompanyPaymentMethodRepository = provideCompanyPaymentMethodRepository();
         mCustomerRepository = provideCustomerRepository();
-        mCompanyCustomerRepository = provideCompanyCustomerRepository();
         mPriceTableRepository = providePriceTableRepository();
-        mCompanyPriceTableRepository = provideCompanyPriceTableRepository();
 
         eventBus().register(this);
 
@@ -259,48 +252,23 @@ public class ImportationFragment extends BaseFragment {
         return companyPaymentMethods;
     }
 
-    private Observable<List<CompanyCustomer>> importCustomers(final Company company) {
+    private Observable<MergeResult> importCustomers(final Company company) {
         return provideCustomerApi().get(company.getCnpj())
-                .filter(customers -> !customers.isEmpty())
-                .flatMap(mCustomerRepository::save)
-                .flatMap(customers -> saveCompanyCustomers(company, customers));
-    }
-
-    private Observable<List<CompanyCustomer>> saveCompanyCustomers(
-            final Company company, final List<Customer> customers) {
-        return mCompanyCustomerRepository.save(toCompanyCustomers(company, customers));
-    }
-
-    private List<CompanyCustomer> toCompanyCustomers(
-            final Company company, final List<Customer> customers) {
-        List<CompanyCustomer> companyCustomers = new ArrayList<>();
-
-        for (Customer customer : customers) {
-            companyCustomers.add(CompanyCustomer.from(company, customer));
-        }
-        return companyCustomers;
+                .flatMap(body -> Observable.using(
+                        () -> JsonArrayStream.of(body, Customer.class),
+                        customers -> mCustomerRepository.merge(customers,
+                                new CustomerMergeSpecification(company.getCompanyId())),
+                        JsonArrayStream::closeQuietly));
     }
 
-    private Observable<List<CompanyPriceTable>> importPriceTable(final Company company) {
+    private Observable<MergeResult> importPriceTable(final Company company) {
         return providePriceTableApi().get(company.getCnpj())
-                .filter(priceTables -> !priceTables.isEmpty())
-                .flatMap(mPriceTableRepository::save)
-                .flatMap(priceTables -> saveCompanyPriceTables(company, priceTables));
-    }
-
-    private Observable<List<CompanyPriceTable>> saveCompanyPriceTables(
-            final Company company, final List<PriceTable> priceTables) {
-        return mCompanyPriceTableRepository.save(toCompanyPriceTables(company, priceTables));
-    }
-
-    private List<CompanyPriceTable> toCompanyPriceTables(
-            final Company company, final List<PriceTable> priceTables) {
-        List<CompanyPriceTable> companyPriceTables = new ArrayList<>();
-
-        for (PriceTable priceTable : priceTables) {
-            companyPriceTables.add(CompanyPriceTable.from(company, priceTable));
-        }
-        return companyPriceTables;
+                .flatMap(body -> Observable.using(
+                        () -> PriceTableStream.of(body),
+                        priceTables -> mPriceTableRepository.merge(priceTables,
+                                new PriceTableMergeSpecification(company.getCompanyId())),
+                        PriceTableStream::closeQuietly))
+                .doOnNext(result -> ProductCatalogCache.invalidate());
     }
 
     private void incrementAndCheckImportantionCounter() {
@@ -328,6 +296,7 @@ public class ImportationFragment extends BaseFragment {
             }
 
             @Override public void onNext(final ServerStatus serverStatus) {
+                settings().setSyncBaseline(serverStatus.currentTime);
                 settings().setLastSyncTime(serverStatus.currentTime);
             }
 
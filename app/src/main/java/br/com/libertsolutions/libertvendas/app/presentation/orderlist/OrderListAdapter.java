@@ -0,0 +1,110 @@
+package br.com.libertsolutions.libertvendas.app.presentation.orderlist;
+
+import android.content.Context;
+import android.support.v4.content.ContextCompat;
+import android.view.View;
+import android.view.ViewGroup;
+import br.com.libertsolutions.libertvendas.app.R;
+import br.com.libertsolutions.libertvendas.app.data.repository.PagedList;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderSummary;
+import br.com.libertsolutions.libertvendas.app.presentation.widget.recyclerview.PagedListAdapter;
+import com.mikepenz.fastadapter.commons.utils.FastAdapterUIUtils;
+import com.mikepenz.materialize.util.UIUtils;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static android.view.LayoutInflater.from;
+import static android.view.View.GONE;
+import static android.view.View.VISIBLE;
+import static br.com.libertsolutions.libertvendas.app.R.layout.list_item_order;
+import static br.com.libertsolutions.libertvendas.app.presentation.util.DrawableUtils.changeDrawableBackground;
+import static br.com.libertsolutions.libertvendas.app.presentation.util.OrderUtils.getStatusColor;
+
+/**
+ * Order summaries with a multiple selection. The selection is kept by order id, in selection
+ * order, so it survives the list being swapped by a search.
+ *
+ * @author Filipe Bezerra
+ */
+class OrderListAdapter
+        extends PagedListAdapter<OrderSummary, OrderSummaryDisplay, OrderListViewHolder> {
+
+    private final boolean mShowStatusIndicator;
+
+    private final Map<Integer, OrderSummary> mSelectedOrders = new LinkedHashMap<>();
+
+    OrderListAdapter(
+            final PagedList<OrderSummary> orders, final boolean showStatusIndicator,
+            final Context context) {
+        super(orders, new OrderSummaryDisplay.Factory(context));
+        mShowStatusIndicator = showStatusIndicator;
+        setHasStableIds(true);
+    }
+
+    @Override public OrderListViewHolder onCreateViewHolder(
+            final ViewGroup parent, final int viewType) {
+        final View itemView = from(parent.getContext()).inflate(list_item_order, parent, false);
+        return new OrderListViewHolder(itemView);
+    }
+
+    @Override public void onBindViewHolder(final OrderListViewHolder holder, final int position) {
+        final OrderSummary order = getItem(position);
+        final OrderSummaryDisplay display = getDisplayModel(position);
+        final Context context = holder.itemView.getContext();
+
+        holder.textViewOrderNumber.setText(display.orderNumber);
+        holder.textViewCustomerName.setText(display.customerName);
+        holder.textViewTotalOrder.setText(display.totalOrder);
+        holder.textViewOrderDate.setText(display.orderDate);
+
+        holder.viewOrderStatus.setVisibility(mShowStatusIndicator ? VISIBLE : GONE);
+        if (mShowStatusIndicator) {
+            changeDrawableBackground(context, holder.viewOrderStatus.getBackground(),
+                    getStatusColor(order.getStatus()));
+        }
+
+        holder.itemView.setSelected(mSelectedOrders.containsKey(order.getId()));
+        UIUtils.setBackground(holder.itemView, FastAdapterUIUtils.getSelectableBackground(context,
+                ContextCompat.getColor(context, R.color.color_accent), true));
+    }
+
+    @Override public long getItemId(final int position) {
+        return getItem(position).getId();
+    }
+
+    boolean isSelected(final OrderSummary order) {
+        return mSelectedOrders.containsKey(order.getId());
+    }
+
+    void toggleSelection(final int position) {
+        final OrderSummary order = getItem(position);
+        if (order == null) {
+            return;
+        }
+
+        if (mSelectedOrders.remove(order.getId()) == null) {
+            mSelectedOrders.put(order.getId(), order);
+        }
+        notifyItemChanged(position);
+    }
+
+    void clearSelection() {
+        if (!mSelectedOrders.isEmpty()) {
+            mSelectedOrders.clear();
+            notifyDataSetChanged();
+        }
+    }
+
+    int getSelectionSize() {
+        return mSelectedOrders.size();
+    }
+
+    /**
+     * Returns the selected orders in the order they were selected.
+     */
+    List<OrderSummary> getSelectedOrders() {
+        return new ArrayList<>(mSelectedOrders.values());
+    }
+}
@@ -18,28 +18,26 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.view.ViewTreeObserver.OnGlobalLayoutListener;
 import br.com.libertsolutions.libertvendas.app.R;
+import br.com.libertsolutions.libertvendas.app.data.order.OrderByLocalIdSpecification;
 import br.com.libertsolutions.libertvendas.app.data.order.OrderRepository;
 import br.com.libertsolutions.libertvendas.app.data.order.OrdersByUserSpecification;
+import br.com.libertsolutions.libertvendas.app.data.repository.PagedList;
 import br.com.libertsolutions.libertvendas.app.data.sync.InstantSyncService;
 import br.com.libertsolutions.libertvendas.app.data.sync.OrdersSyncedEvent;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.LoggedUser;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.Order;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderSummary;
 import br.com.libertsolutions.libertvendas.app.presentation.addorder.orderform.SavedOrderEvent;
 import br.com.libertsolutions.libertvendas.app.presentation.base.BaseFragment;
 import br.com.libertsolutions.libertvendas.app.presentation.main.LoggedInUserEvent;
 import br.com.libertsolutions.libertvendas.app.presentation.util.EventTracker;
+import br.com.libertsolutions.libertvendas.app.presentation.widget.recyclerview.OnItemClickListener;
+import br.com.libertsolutions.libertvendas.app.presentation.widget.recyclerview.OnItemTouchListener;
 import butterknife.BindView;
 import butterknife.OnClick;
-import com.mikepenz.fastadapter.FastAdapter.OnClickListener;
-import com.mikepenz.fastadapter.FastAdapter.OnLongClickListener;
-import com.mikepenz.fastadapter.IItemAdapter.Predicate;
-import com.mikepenz.fastadapter.ISelectionListener;
-import com.mikepenz.fastadapter.commons.adapters.FastItemAdapter;
-import com.mikepenz.fastadapter_extensions.ActionModeHelper;
 import com.mikepenz.materialize.util.UIUtils;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 import org.greenrobot.eventbus.Subscribe;
 import rx.Subscriber;
 import rx.Subscription;
@@ -48,6 +46,8 @@ import timber.log.Timber;
 import static android.support.design.widget.Snackbar.LENGTH_LONG;
 import static android.support.design.widget.Snackbar.LENGTH_SHORT;
 import static android.support.v4.content.ContextCompat.getColor;
+import static android.support.v7.widget.RecyclerView.NO_POSITION;
+import static android.text.TextUtils.isEmpty;
 import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.providerOrderRepository;
 import static br.com.libertsolutions.libertvendas.app.data.order.OrderStatusSpecificationFilter.CREATED_OR_MODIFIED;
 import static br.com.libertsolutions.libertvendas.app.presentation.orderlist.SelectedOrderEvent.duplicateOrder;
@@ -60,7 +60,8 @@ import static rx.android.schedulers.AndroidSchedulers.mainThread;
 /**
  * @author Filipe Bezerra
  */
-public class OrderListFragment extends BaseFragment implements OnRefreshListener {
+public class OrderListFragment extends BaseFragment implements OnRefreshListener,
+        OnItemClickListener {
 
     private static final String ARG_SHOW_ONLY_PENDING_ORDERS =
             OrderListFragment.class.getName() + ".argShowOnlyPendingOrders";
@@ -69,86 +70,20 @@ public class OrderListFragment extends BaseFragment implements OnRefreshListener
 
     private Subscription currentSubscription;
 
-    private FastItemAdapter<OrderAdapterItem> fastItemAdapter;
+    private Subscription openOrderSubscription;
 
-    private ActionModeHelper actionModeHelper;
+    private Subscription searchSubscription;
 
-    private Predicate<OrderAdapterItem> filterPredicate = (item, constraint) ->
-            !item.getOrder().getCustomer().getName().trim().toLowerCase()
-                    .contains(constraint.toString().toLowerCase());
+    private String searchText = null;
 
-    private OnClickListener<OrderAdapterItem> preClickListener = (v, a, item, position) -> {
-        if (actionModeHelper.isActive()) {
-            Set<OrderAdapterItem> selectedItems = fastItemAdapter.getSelectedItems();
-            OrderAdapterItem[] selectedItemsArray =
-                    selectedItems.toArray(new OrderAdapterItem[selectedItems.size()]);
+    private OrderListAdapter orderListAdapter;
 
-            Order firstOrder = selectedItemsArray[0].getOrder();
-            Order selectedOrder = item.getOrder();
-
-            if (!selectedOrder.isStatusEquals(firstOrder)) {
-                Snackbar.make(getView(), R.string.order_list_multi_selection_only_for_same_status,
-                        LENGTH_SHORT)
-                        .show();
-                return true;
-            } else if (!selectedOrder.isStatusCreatedOrModified()) {
-                if (selectedItems.contains(item) && selectedItems.size() == 1) {
-                    actionModeHelper.reset();
-                } else {
-                    Snackbar.make(getView(), R.string.order_list_single_selection_to_duplicate_order,
-                            LENGTH_SHORT)
-                            .show();
-                }
-                return true;
-            }
-        }
-
-        return actionModeHelper.onClick(item) != null;
-    };
-
-    private OnClickListener<OrderAdapterItem> clickListener = (v, a, i, position) -> {
-        if (!actionModeHelper.isActive()) {
-            final Order selectedOrder = fastItemAdapter.getAdapterItem(position)
-                    .getOrder();
-
-            if (selectedOrder != null) {
-                eventBus().postSticky(selectOrder(selectedOrder));
-
-                if (selectedOrder.isStatusCreatedOrModified()) {
-                    navigate().toAddOrder();
-                } else {
-                    navigate().toViewOrder();
-                }
-            }
-        } else {
-            actionModeHelper.getActionMode().invalidate();
-        }
-
-        return false;
-    };
-
-    private OnLongClickListener<OrderAdapterItem> preLongClickListener = (v, d, i, position) -> {
-        ActionMode actionMode = actionModeHelper.onLongClick(getHostActivity(), position);
-
-        if (actionMode != null) {
-            //we want color our CAB
-            getHostActivity()
-                    .findViewById(R.id.action_mode_bar)
-                    .setBackgroundColor(UIUtils.getThemeColorFromAttrOrRes(getContext(),
-                            R.attr.colorPrimary, R.color.material_drawer_primary));
-        }
-
-        return actionMode != null;
-    };
-
-    private ISelectionListener<OrderAdapterItem> seleciontListener = (item, selected) -> {
-        if (actionModeHelper.isActive()) {
-            actionModeHelper.getActionMode().invalidate();
-        }
-    };
+    private ActionMode actionMode;
 
     protected OnGlobalLayoutListener recyclerViewLayoutListener = null;
 
+    protected OnItemTouchListener recyclerViewItemTouchListener = null;
+
     protected LoggedUser loggedUser;
 
     @BindView(R.id.swipe_container_all_pull_refresh) protected SwipeRefreshLayout swipeRefreshLayout;
@@ -183,22 +118,6 @@ public class OrderListFragment extends BaseFragment implements OnRefreshListener
 
         orderRepository = providerOrderRepository();
 
-        fastItemAdapter = new FastItemAdapter<>();
-        actionModeHelper = new ActionModeHelper(
-                fastItemAdapter, R.menu.menu_cab_order_list, new ActionBarCallback());
-
-        fastItemAdapter.setHasStableIds(true);
-        fastItemAdapter
-                .withFilterPredicate(filterPredicate)
-                .withSelectable(true)
-                .withMultiSelect(true)
-                .withSelectOnLongClick(true)
-                .withSavedInstanceState(inState)
-                .withOnPreClickListener(preClickListener)
-                .withOnClickListener(clickListener)
-                .withOnPreLongClickListener(preLongClickListener)
-                .withSelectionListener(seleciontListener);
-
         recyclerViewOrders.setHasFixedSize(true);
 
         return view;
@@ -222,25 +141,104 @@ public class OrderListFragment extends BaseFragment implements OnRefreshListener
         searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
             @Override public boolean onQueryTextSubmit(String query) {
                 EventTracker.search(SEARCHED_ORDERS, query);
-                fastItemAdapter.filter(query);
+                searchOrders(query);
                 return false;
             }
 
             @Override public boolean onQueryTextChange(String query) {
-                fastItemAdapter.filter(query);
+                searchOrders(query);
                 return true;
             }
         });
     }
 
     @Override public void onPrepareOptionsMenu(final Menu menu) {
-        menu.findItem(R.id.action_all_search).setVisible(recyclerViewOrders.getAdapter() != null);
+        menu.findItem(R.id.action_all_search)
+                .setVisible(orderListAdapter != null
+                        && (!orderListAdapter.isEmptyList() || !isEmpty(searchText)));
     }
 
     @Override public void onRefresh() {
         loadOrders();
     }
 
+    @Override public void onSingleTapUp(final View view, final int position) {
+        if (orderListAdapter == null || position == NO_POSITION) {
+            return;
+        }
+
+        if (actionMode != null) {
+            toggleSelection(position);
+        } else {
+            final OrderSummary selectedOrder = orderListAdapter.getItem(position);
+
+            if (selectedOrder != null) {
+                openOrder(selectedOrder, false);
+            }
+        }
+    }
+
+    @Override public void onLongPress(final View view, final int position) {
+        if (orderListAdapter == null || position == NO_POSITION) {
+            return;
+        }
+
+        if (actionMode != null) {
+            toggleSelection(position);
+            return;
+        }
+
+        orderListAdapter.toggleSelection(position);
+        actionMode = getHostActivity().startSupportActionMode(new ActionBarCallback());
+
+        if (actionMode != null) {
+            //we want color our CAB
+            getHostActivity()
+                    .findViewById(R.id.action_mode_bar)
+                    .setBackgroundColor(UIUtils.getThemeColorFromAttrOrRes(getContext(),
+                            R.attr.colorPrimary, R.color.material_drawer_primary));
+        }
+    }
+
+    /**
+     * Multiple selection is allowed only for orders of the same status and still pending,
+     * other orders may only be selected alone to be duplicated.
+     */
+    private void toggleSelection(final int position) {
+        final List<OrderSummary> selectedOrders = orderListAdapter.getSelectedOrders();
+        final OrderSummary selectedOrder = orderListAdapter.getItem(position);
+        if (selectedOrder == null) {
+            return;
+        }
+
+        if (!selectedOrders.isEmpty()) {
+            OrderSummary firstOrder = selectedOrders.get(0);
+
+            if (!selectedOrder.isStatusEquals(firstOrder)) {
+                Snackbar.make(getView(), R.string.order_list_multi_selection_only_for_same_status,
+                        LENGTH_SHORT)
+                        .show();
+                return;
+            } else if (!selectedOrder.isStatusCreatedOrModified()) {
+                if (orderListAdapter.isSelected(selectedOrder) && selectedOrders.size() == 1) {
+                    actionMode.finish();
+                } else {
+                    Snackbar.make(getView(), R.string.order_list_single_selection_to_duplicate_order,
+                            LENGTH_SHORT)
+                            .show();
+                }
+                return;
+            }
+        }
+
+        orderListAdapter.toggleSelection(position);
+        if (orderListAdapter.getSelectionSize() == 0) {
+            actionMode.finish();
+        } else {
+            actionMode.invalidate();
+        }
+    }
+
     @OnClick(R.id.button_all_retry) void onButtonRetryClicked() {
         mLinearLayoutErrorState.setVisibility(View.GONE);
         loadOrders();
@@ -269,9 +267,14 @@ public class OrderListFragment extends BaseFragment implements OnRefreshListener
 */
     }
 
+    /**
+     * A shown list already follows the synced orders, only the empty state is reloaded.
+     */
     @Subscribe public void onOrdersSynced(OrdersSyncedEvent event) {
         getActivity().runOnUiThread(() -> {
-            loadOrders();
+            if (orderListAdapter == null) {
+                loadOrders();
+            }
             if (event.isInstantly()) {
                 Snackbar.make(getView(), R.string.order_list_instant_sync_done, LENGTH_LONG)
                         .show();
@@ -280,6 +283,39 @@ public class OrderListFragment extends BaseFragment implements OnRefreshListener
     }
 
     private void loadOrders() {
+        if (currentSubscription != null && !currentSubscription.isUnsubscribed()) {
+            currentSubscription.unsubscribe();
+        }
+        currentSubscription = orderRepository
+                .queryPagedSummaries(createOrdersSpecification())
+                .subscribe(createOrderListSubscriber());
+    }
+
+    /**
+     * Replaces the shown orders by the ones of customers matching the text, keeping the list
+     * on screen while the search view is open.
+     */
+    private void searchOrders(final String text) {
+        searchText = text;
+        if (orderListAdapter == null) {
+            return;
+        }
+
+        if (searchSubscription != null && !searchSubscription.isUnsubscribed()) {
+            searchSubscription.unsubscribe();
+        }
+        searchSubscription = orderRepository
+                .queryPagedSummaries(createOrdersSpecification())
+                .subscribe(orders -> {
+                    if (orderListAdapter != null) {
+                        orderListAdapter.swapItems(orders);
+                    } else {
+                        orders.close();
+                    }
+                }, e -> Timber.e(e, "Could not search orders"));
+    }
+
+    private OrdersByUserSpecification createOrdersSpecification() {
         OrdersByUserSpecification specification
                 = new OrdersByUserSpecification(getSalesmanId(), getCompanyId())
                 .orderByIssueDate();
@@ -287,11 +323,39 @@ public class OrderListFragment extends BaseFragment implements OnRefreshListener
         if (isShowOnlyPendingOrders()) {
             specification.byStatus(CREATED_OR_MODIFIED);
         }
+        if (!isEmpty(searchText)) {
+            specification.byCustomerName(searchText);
+        }
 
-        currentSubscription = orderRepository
-                .query(specification)
+        return specification;
+    }
+
+    /**
+     * The list holds only summaries, so the full order is loaded right before it is opened.
+     */
+    private void openOrder(final OrderSummary summary, final boolean duplicate) {
+        if (openOrderSubscription != null && !openOrderSubscription.isUnsubscribed()) {
+            return;
+        }
+
+        openOrderSubscription = orderRepository
+                .findFirst(new OrderByLocalIdSpecification(summary.getId()))
                 .observeOn(mainThread())
-                .subscribe(createOrderListSubscriber());
+                .subscribe(order -> {
+                    if (duplicate) {
+                        eventBus().postSticky(duplicateOrder(order));
+                        EventTracker.action(ACTION_DUPLICATE_ORDER);
+                        navigate().toAddOrder();
+                    } else {
+                        eventBus().postSticky(selectOrder(order));
+
+                        if (order.isStatusCreatedOrModified()) {
+                            navigate().toAddOrder();
+                        } else {
+                            navigate().toViewOrder();
+                        }
+                    }
+                }, e -> Timber.e(e, "Could not load order %d", summary.getId()));
     }
 
     private int getSalesmanId() {
@@ -314,8 +378,8 @@ public class OrderListFragment extends BaseFragment implements OnRefreshListener
                 getArguments().getBoolean(ARG_SHOW_ONLY_PENDING_ORDERS, false);
     }
 
-    private Subscriber<List<Order>> createOrderListSubscriber() {
-        return new Subscriber<List<Order>>() {
+    private Subscriber<PagedList<OrderSummary>> createOrderListSubscriber() {
+        return new Subscriber<PagedList<OrderSummary>>() {
             @Override public void onStart() {
                 startLoadingOrders();
             }
@@ -324,7 +388,7 @@ public class OrderListFragment extends BaseFragment implements OnRefreshListener
                 handleLoadOrdersError(e);
             }
 
-            @Override public void onNext(final List<Order> orders) {
+            @Override public void onNext(final PagedList<OrderSummary> orders) {
                 showOrders(orders);
             }
 
@@ -334,12 +398,12 @@ public class OrderListFragment extends BaseFragment implements OnRefreshListener
     }
 
     private void startLoadingOrders() {
-        if (actionModeHelper.isActive()) {
-            actionModeHelper.reset();
+        if (actionMode != null) {
+            actionMode.finish();
         }
         swipeRefreshLayout.setRefreshing(true);
-        fastItemAdapter.clear();
         recyclerViewOrders.setAdapter(null);
+        closeOrders();
         recyclerViewOrders.setVisibility(View.GONE);
         mLinearLayoutEmptyState.setVisibility(View.VISIBLE);
         getActivity().invalidateOptionsMenu();
@@ -352,25 +416,19 @@ public class OrderListFragment extends BaseFragment implements OnRefreshListener
         mLinearLayoutEmptyState.setVisibility(View.GONE);
     }
 
-    private void showOrders(List<Order> orders) {
-        if (!orders.isEmpty()) {
+    private void showOrders(PagedList<OrderSummary> orders) {
+        if (!orders.isEmpty() || !isEmpty(searchText)) {
             recyclerViewOrders.setVisibility(View.VISIBLE);
-
-            List<OrderAdapterItem> itens = new ArrayList<>();
-            for (Order order : orders) {
-                itens.add(OrderAdapterItem
-                        .create(!isShowOnlyPendingOrders())
-                        .withOrder(order)
-                        .withIdentifier(order.getId()));
-            }
-            fastItemAdapter.add(itens);
-            recyclerViewOrders.setAdapter(fastItemAdapter);
+            recyclerViewOrders.setAdapter(
+                    orderListAdapter = new OrderListAdapter(
+                            orders, !isShowOnlyPendingOrders(), getContext()));
 
             recyclerViewOrders
                     .getViewTreeObserver()
                     .addOnGlobalLayoutListener(
                             recyclerViewLayoutListener = this::onRecyclerViewFinishLoading);
         } else {
+            orders.close();
             swipeRefreshLayout.setRefreshing(false);
             if (!eventBus().isRegistered(this)) {
                 eventBus().register(this);
@@ -378,12 +436,29 @@ public class OrderListFragment extends BaseFragment implements OnRefreshListener
         }
     }
 
+    private void closeOrders() {
+        if (orderListAdapter != null) {
+            orderListAdapter.close();
+            orderListAdapter = null;
+        }
+    }
+
     private void onRecyclerViewFinishLoading() {
         if (getView() != null) {
             recyclerViewOrders
                     .getViewTreeObserver()
                     .removeOnGlobalLayoutListener(recyclerViewLayoutListener);
             recyclerViewLayoutListener = null;
+
+            if (recyclerViewItemTouchListener != null) {
+                recyclerViewOrders.removeOnItemTouchListener(recyclerViewItemTouchListener);
+                recyclerViewItemTouchListener = null;
+            }
+
+            recyclerViewOrders.addOnItemTouchListener(
+                    recyclerViewItemTouchListener
+                            = new OnItemTouchListener(getContext(), recyclerViewOrders, this));
+
             getActivity().invalidateOptionsMenu();
             swipeRefreshLayout.setRefreshing(false);
             mLinearLayoutEmptyState.setVisibility(View.GONE);
@@ -393,15 +468,21 @@ public class OrderListFragment extends BaseFragment implements OnRefreshListener
         }
     }
 
-    @Override public void onSaveInstanceState(Bundle outState) {
-        outState = fastItemAdapter.saveInstanceState(outState);
-        super.onSaveInstanceState(outState);
-    }
-
     @Override public void onDestroyView() {
         if (currentSubscription != null && !currentSubscription.isUnsubscribed()) {
             currentSubscription.unsubscribe();
         }
+        if (openOrderSubscription != null && !openOrderSubscription.isUnsubscribed()) {
+            openOrderSubscription.unsubscribe();
+        }
+        if (searchSubscription != null && !searchSubscription.isUnsubscribed()) {
+            searchSubscription.unsubscribe();
+        }
+        if (actionMode != null) {
+            actionMode.finish();
+        }
+        recyclerViewOrders.setAdapter(null);
+        closeOrders();
         if (swipeRefreshLayout.isRefreshing()) {
             swipeRefreshLayout.setRefreshing(false);
             mLinearLayoutEmptyState.setVisibility(View.GONE);
@@ -413,6 +494,7 @@ public class OrderListFragment extends BaseFragment implements OnRefreshListener
     private class ActionBarCallback implements ActionMode.Callback {
 
         @Override public boolean onCreateActionMode(final ActionMode mode, final Menu menu) {
+            mode.getMenuInflater().inflate(R.menu.menu_cab_order_list, menu);
             if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
                 getActivity().getWindow()
                         .setStatusBarColor(getColor(getContext(), R.color.color_primary_dark));
@@ -421,17 +503,14 @@ public class OrderListFragment extends BaseFragment implements OnRefreshListener
         }
 
         @Override public boolean onPrepareActionMode(final ActionMode mode, final Menu menu) {
-            final int selectionSize = fastItemAdapter.getSelectedItems().size();
+            final int selectionSize = orderListAdapter.getSelectionSize();
             final MenuItem duplicateMenuItem = menu.findItem(R.id.action_duplicate_order);
             if (selectionSize == 1) {
                 if (!duplicateMenuItem.isVisible()) {
                     duplicateMenuItem.setVisible(true);
                 }
 
-                OrderAdapterItem[] orderAdapterItems =
-                        fastItemAdapter.getSelectedItems()
-                                .toArray(new OrderAdapterItem[selectionSize]);
-                Order firstOrder = orderAdapterItems[0].getOrder();
+                OrderSummary firstOrder = orderListAdapter.getSelectedOrders().get(0);
                 if (!firstOrder.isStatusCreatedOrModified()) {
                     MenuItem syncItemsMenuItem = menu.findItem(R.id.action_sync);
                     if (syncItemsMenuItem.isVisible()) {
@@ -451,23 +530,18 @@ public class OrderListFragment extends BaseFragment implements OnRefreshListener
         @Override public boolean onActionItemClicked(final ActionMode mode, final MenuItem item) {
             switch (item.getItemId()) {
                 case R.id.action_sync: {
-                    Set<OrderAdapterItem> selectedItems = fastItemAdapter.getSelectedItems();
-                    List<Order> orders = new ArrayList<>();
-                    for (OrderAdapterItem orderAdapterItem : selectedItems) {
-                        orders.add(orderAdapterItem.getOrder());
+                    ArrayList<Integer> orderIds = new ArrayList<>();
+                    for (OrderSummary order : orderListAdapter.getSelectedOrders()) {
+                        orderIds.add(order.getId());
                     }
-                    eventBus().postSticky(SyncOrdersEvent.just(orders));
-                    InstantSyncService.execute(getContext());
+                    InstantSyncService.execute(getContext(), orderIds);
                     EventTracker.action(ACTION_MANUAL_SYNC);
                     break;
                 }
                 case R.id.action_duplicate_order: {
-                    Set<OrderAdapterItem> selectedItems = fastItemAdapter.getSelectedItems();
-                    if (selectedItems != null && selectedItems.size() == 1) {
-                        OrderAdapterItem orderAdapterItem = selectedItems.iterator().next();
-                        eventBus().postSticky(duplicateOrder(orderAdapterItem.getOrder()));
-                        EventTracker.action(ACTION_DUPLICATE_ORDER);
-                        navigate().toAddOrder();
+                    List<OrderSummary> selectedOrders = orderListAdapter.getSelectedOrders();
+                    if (selectedOrders.size() == 1) {
+                        openOrder(selectedOrders.get(0), true);
                     }
                     break;
                 }
@@ -477,6 +551,11 @@ public class OrderListFragment extends BaseFragment implements OnRefreshListener
             return true;
         }
 
-        @Override public void onDestroyActionMode(final ActionMode mode) {}
+        @Override public void onDestroyActionMode(final ActionMode mode) {
+            actionMode = null;
+            if (orderListAdapter != null) {
+                orderListAdapter.clearSelection();
+            }
+        }
     }
 }
@@ -0,0 +1,69 @@
+package br.com.libertsolutions.libertvendas.app.presentation.orderlist;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderSummary;
+import br.com.libertsolutions.libertvendas.app.presentation.widget.recyclerview.DisplayModelCache;
+
+import static br.com.libertsolutions.libertvendas.app.R.string.order_list_template_text_customer_name;
+import static br.com.libertsolutions.libertvendas.app.R.string.order_list_template_text_order_date;
+import static br.com.libertsolutions.libertvendas.app.R.string.order_list_template_text_order_number;
+import static br.com.libertsolutions.libertvendas.app.R.string.order_list_template_text_order_total;
+import static br.com.libertsolutions.libertvendas.app.R.string.orders_report_text_no_order_number;
+import static br.com.libertsolutions.libertvendas.app.presentation.util.FormattingUtils.formatAsCurrency;
+import static br.com.libertsolutions.libertvendas.app.presentation.util.FormattingUtils.formatAsDateTime;
+
+/**
+ * Texts of an order row, shared by the order list and the orders report, formatted once for
+ * each version of the order.
+ *
+ * @author Filipe Bezerra
+ */
+public final class OrderSummaryDisplay {
+
+    public final CharSequence orderNumber;
+
+    public final CharSequence customerName;
+
+    public final CharSequence totalOrder;
+
+    public final CharSequence orderDate;
+
+    private OrderSummaryDisplay(
+            final CharSequence orderNumber, final CharSequence customerName,
+            final CharSequence totalOrder, final CharSequence orderDate) {
+        this.orderNumber = orderNumber;
+        this.customerName = customerName;
+        this.totalOrder = totalOrder;
+        this.orderDate = orderDate;
+    }
+
+    public static class Factory
+            implements DisplayModelCache.Factory<OrderSummary, OrderSummaryDisplay> {
+
+        private final Context mContext;
+
+        public Factory(final Context context) {
+            mContext = context.getApplicationContext();
+        }
+
+        @Override public String versionKeyOf(@NonNull final OrderSummary order) {
+            return order.getId() + "|" + order.getOrderId() + "|" + order.getCustomerName()
+                    + "|" + order.getTotalOrder() + "|" + order.getIssueDate();
+        }
+
+        @Override public OrderSummaryDisplay create(@NonNull final OrderSummary order) {
+            return new OrderSummaryDisplay(
+                    order.getOrderId() != null && order.getOrderId() != 0
+                            ? mContext.getString(order_list_template_text_order_number,
+                                    order.getOrderId())
+                            : mContext.getString(orders_report_text_no_order_number),
+                    mContext.getString(order_list_template_text_customer_name,
+                            order.getCustomerName()),
+                    mContext.getString(order_list_template_text_order_total,
+                            formatAsCurrency(order.getTotalOrder())),
+                    mContext.getString(order_list_template_text_order_date,
+                            formatAsDateTime(order.getIssueDate())));
+        }
+    }
+}
@@ -19,9 +19,10 @@ import android.widget.RadioGroup;
 import br.com.libertsolutions.libertvendas.app.R;
 import br.com.libertsolutions.libertvendas.app.data.order.OrderRepository;
 import br.com.libertsolutions.libertvendas.app.data.order.OrdersByUserSpecification;
+import br.com.libertsolutions.libertvendas.app.data.repository.PagedList;
 import br.com.libertsolutions.libertvendas.app.data.sync.OrdersSyncedEvent;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.LoggedUser;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.Order;
+import br.com.libertsolutions.libertvendas.app.domain.pojo.OrderSummary;
 import br.com.libertsolutions.libertvendas.app.presentation.addorder.orderform.SavedOrderEvent;
 import br.com.libertsolutions.libertvendas.app.presentation.base.BaseFragment;
 import br.com.libertsolutions.libertvendas.app.presentation.main.LoggedInUserEvent;
@@ -33,9 +34,6 @@ import com.afollestad.materialdialogs.MaterialDialog;
 import com.borax12.materialdaterangepicker.date.DatePickerDialog;
 import com.borax12.materialdaterangepicker.date.DatePickerDialog.OnDateSetListener;
 import java.lang.annotation.Retention;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 import org.greenrobot.eventbus.Subscribe;
 import org.joda.time.DateTime;
 import org.joda.time.LocalDate;
@@ -77,6 +75,10 @@ public class OrdersReportFragment extends BaseFragment
 
     private Subscription currentSubscription;
 
+    private Subscription totalSubscription;
+
+    private OrdersByUserSpecification currentSpecification;
+
     private OrdersReportAdapter ordersReportAdapter;
 
     private OnGlobalLayoutListener recyclerViewLayoutListener = null;
@@ -167,20 +169,28 @@ public class OrdersReportFragment extends BaseFragment
     }
 
     @Subscribe(sticky = true) public void onSavedOrder(SavedOrderEvent event) {
-        final Order order = event.getOrder();
+        final OrderSummary order = OrderSummary.of(event.getOrder());
         eventBus().removeStickyEvent(SavedOrderEvent.class);
         if (ordersReportAdapter != null) {
-            final int position = ordersReportAdapter.updateOrder(order);
+            // The list and its total already follow the saved order
+            final int position = ordersReportAdapter.getItemPosition(order);
             if (position != NO_POSITION) {
                 recyclerViewOrders.scrollToPosition(position);
             }
         } else {
-            showOrders(new ArrayList<>(Collections.singletonList(order)));
+            loadOrdersByDefault();
         }
     }
 
+    /**
+     * A shown list already follows the synced orders, only the empty state is reloaded.
+     */
     @Subscribe public void onOrdersSynced(OrdersSyncedEvent event) {
-        getActivity().runOnUiThread(this::loadOrdersByDefault);
+        getActivity().runOnUiThread(() -> {
+            if (ordersReportAdapter == null) {
+                loadOrdersByDefault();
+            }
+        });
     }
 
     @Override public void onDateSet(final DatePickerDialog view,
@@ -196,9 +206,12 @@ public class OrdersReportFragment extends BaseFragment
     }
 
     private void loadOrders(OrdersByUserSpecification specification) {
+        currentSpecification = specification;
+        if (currentSubscription != null && !currentSubscription.isUnsubscribed()) {
+            currentSubscription.unsubscribe();
+        }
         currentSubscription = orderRepository
-                .query(specification)
-                .observeOn(mainThread())
+                .queryPagedSummaries(specification)
                 .subscribe(createOrderListSubscriber());
     }
 
@@ -217,8 +230,8 @@ public class OrdersReportFragment extends BaseFragment
         return loggedUser;
     }
 
-    private Subscriber<List<Order>> createOrderListSubscriber() {
-        return new Subscriber<List<Order>>() {
+    private Subscriber<PagedList<OrderSummary>> createOrderListSubscriber() {
+        return new Subscriber<PagedList<OrderSummary>>() {
             @Override public void onStart() {
                 startLoadingOrders();
             }
@@ -227,7 +240,7 @@ public class OrdersReportFragment extends BaseFragment
                 handleLoadOrdersError(e);
             }
 
-            @Override public void onNext(final List<Order> orders) {
+            @Override public void onNext(final PagedList<OrderSummary> orders) {
                 showOrders(orders);
             }
 
@@ -237,8 +250,8 @@ public class OrdersReportFragment extends BaseFragment
 
     private void startLoadingOrders() {
         swipeRefreshLayout.setRefreshing(true);
-        ordersReportAdapter = null;
         recyclerViewOrders.setAdapter(null);
+        closeOrders();
         recyclerViewOrders.setVisibility(View.GONE);
         mLinearLayoutEmptyState.setVisibility(View.VISIBLE);
         setTitle(getString(R.string.main_drawer_item_orders_report));
@@ -251,18 +264,22 @@ public class OrdersReportFragment extends BaseFragment
         mLinearLayoutEmptyState.setVisibility(View.GONE);
     }
 
-    private void showOrders(List<Order> orders) {
+    private void showOrders(PagedList<OrderSummary> orders) {
         if (!orders.isEmpty()) {
-            setTitleWithTotalOrders(orders);
+            loadTotalOrders();
+            // Completes along with the list when it is closed
+            orders.changes().subscribe(changes -> loadTotalOrders());
+
             recyclerViewOrders.setVisibility(View.VISIBLE);
             recyclerViewOrders.setAdapter(
-                    ordersReportAdapter = new OrdersReportAdapter(orders));
+                    ordersReportAdapter = new OrdersReportAdapter(orders, getContext()));
             recyclerViewOrders.addItemDecoration(new DividerItemDecoration(getContext(), VERTICAL));
             recyclerViewOrders
                     .getViewTreeObserver()
                     .addOnGlobalLayoutListener(
                             recyclerViewLayoutListener = this::onRecyclerViewFinishLoading);
         } else {
+            orders.close();
             swipeRefreshLayout.setRefreshing(false);
             if (!eventBus().isRegistered(this)) {
                 eventBus().register(this);
@@ -270,11 +287,30 @@ public class OrdersReportFragment extends BaseFragment
         }
     }
 
-    private void setTitleWithTotalOrders(List<Order> orders) {
-        double total = 0;
-        for (Order order : orders) {
-            total += order.getTotalOrder();
+    private void closeOrders() {
+        if (ordersReportAdapter != null) {
+            ordersReportAdapter.close();
+            ordersReportAdapter = null;
         }
+    }
+
+    private void loadTotalOrders() {
+        if (currentSpecification == null) {
+            return;
+        }
+
+        if (totalSubscription != null && !totalSubscription.isUnsubscribed()) {
+            totalSubscription.unsubscribe();
+        }
+
+        totalSubscription = orderRepository
+                .sumTotalOrder(currentSpecification)
+                .observeOn(mainThread())
+                .subscribe(this::setTitleWithTotalOrders,
+                        e -> Timber.e(e, "Could not sum the orders total"));
+    }
+
+    private void setTitleWithTotalOrders(double total) {
         setTitle(getString(R.string.orders_report_total_title, formatAsCurrency(total)));
     }
 
@@ -440,6 +476,11 @@ public class OrdersReportFragment extends BaseFragment
         if (currentSubscription != null && !currentSubscription.isUnsubscribed()) {
             currentSubscription.unsubscribe();
         }
+        if (totalSubscription != null && !totalSubscription.isUnsubscribed()) {
+            totalSubscription.unsubscribe();
+        }
+        recyclerViewOrders.setAdapter(null);
+        closeOrders();
         if (swipeRefreshLayout.isRefreshing()) {
             swipeRefreshLayout.setRefreshing(false);
             mLinearLayoutEmptyState.setVisibility(View.GONE);
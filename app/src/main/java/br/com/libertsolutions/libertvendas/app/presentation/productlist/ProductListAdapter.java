@@ -1,19 +1,14 @@
 package br.com.libertsolutions.libertvendas.app.presentation.productlist;
 
 import android.content.Context;
-import android.support.v7.widget.RecyclerView;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.Filter;
-import android.widget.Filterable;
 import br.com.libertsolutions.libertvendas.app.R;
+import br.com.libertsolutions.libertvendas.app.data.repository.PagedList;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.PriceTableItem;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.Product;
-import br.com.libertsolutions.libertvendas.app.presentation.base.BaseFilter;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.List;
+import br.com.libertsolutions.libertvendas.app.presentation.widget.recyclerview.PagedListAdapter;
 
 import static br.com.libertsolutions.libertvendas.app.presentation.util.FormattingUtils.formatAsCurrency;
 import static br.com.libertsolutions.libertvendas.app.presentation.util.FormattingUtils.formatAsNumber;
@@ -22,23 +17,10 @@ import static br.com.libertsolutions.libertvendas.app.presentation.util.NumberUt
 /**
  * @author Filipe Bezerra
  */
-class ProductListAdapter extends RecyclerView.Adapter<ProductListViewHolder>
-        implements Filterable {
+class ProductListAdapter extends PagedListAdapter<PriceTableItem, Void, ProductListViewHolder> {
 
-    private final List<PriceTableItem> mPriceTableItems;
-
-    private List<PriceTableItem> mPriceTableItemsOriginalCopy;
-
-    private ProductListFilter mFilter;
-
-    ProductListAdapter(final List<PriceTableItem> priceTableItems) {
-        mPriceTableItems = priceTableItems;
-        Collections.sort(mPriceTableItems, new Comparator<PriceTableItem>() {
-            @Override public int compare(final PriceTableItem item1, final PriceTableItem item2) {
-                return item1.getProduct().getDescription()
-                        .compareToIgnoreCase(item2.getProduct().getDescription());
-            }
-        });
+    ProductListAdapter(final PagedList<PriceTableItem> priceTableItems) {
+        super(priceTableItems);
     }
 
     @Override public ProductListViewHolder onCreateViewHolder(
@@ -49,7 +31,7 @@ class ProductListAdapter extends RecyclerView.Adapter<ProductListViewHolder>
     }
 
     @Override public void onBindViewHolder(final ProductListViewHolder holder, final int position) {
-        final PriceTableItem priceTableItem = mPriceTableItems.get(position);
+        final PriceTableItem priceTableItem = getItem(position);
         final Product product = priceTableItem.getProduct();
         final Context context = holder.itemView.getContext();
 
@@ -61,31 +43,4 @@ class ProductListAdapter extends RecyclerView.Adapter<ProductListViewHolder>
                 context.getString(R.string.product_list_template_product_stock_quantity,
                         formatAsNumber(withDefaultValue(product.getStockQuantity(), 0))));
     }
-
-    @Override public int getItemCount() {
-        return mPriceTableItems.size();
-    }
-
-    @Override public Filter getFilter() {
-        if (mFilter == null) {
-            mFilter = new ProductListFilter();
-        }
-        return mFilter;
-    }
-
-    boolean isEmptyList() {
-        return getItemCount() == 0;
-    }
-
-    private class ProductListFilter extends BaseFilter<PriceTableItem> {
-
-        ProductListFilter() {
-            super(ProductListAdapter.this, mPriceTableItems, mPriceTableItemsOriginalCopy);
-        }
-
-        @Override protected String[] filterValues(final PriceTableItem priceTableItem) {
-            final Product product = priceTableItem.getProduct();
-            return new String[] { product.getDescription(), product.getBarCode()};
-        }
-    }
 }
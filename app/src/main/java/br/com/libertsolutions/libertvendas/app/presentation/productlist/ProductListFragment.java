@@ -15,26 +15,25 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.view.ViewTreeObserver.OnGlobalLayoutListener;
 import br.com.libertsolutions.libertvendas.app.R;
-import br.com.libertsolutions.libertvendas.app.data.pricetable.PriceTableByIdSpecification;
-import br.com.libertsolutions.libertvendas.app.data.pricetable.PriceTableRepository;
+import br.com.libertsolutions.libertvendas.app.data.pricetable.PriceTableItemRepository;
+import br.com.libertsolutions.libertvendas.app.data.pricetable.PriceTableItemsSpecification;
+import br.com.libertsolutions.libertvendas.app.data.repository.PagedList;
 import br.com.libertsolutions.libertvendas.app.data.sync.ProductsUpdatedEvent;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.LoggedUser;
-import br.com.libertsolutions.libertvendas.app.domain.pojo.PriceTable;
 import br.com.libertsolutions.libertvendas.app.domain.pojo.PriceTableItem;
 import br.com.libertsolutions.libertvendas.app.presentation.base.BaseFragment;
 import br.com.libertsolutions.libertvendas.app.presentation.main.LoggedInUserEvent;
 import br.com.libertsolutions.libertvendas.app.presentation.util.EventTracker;
 import butterknife.BindView;
 import butterknife.OnClick;
-import java.util.List;
 import org.greenrobot.eventbus.Subscribe;
 import rx.Subscriber;
 import rx.Subscription;
 import timber.log.Timber;
 
-import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.providePriceTableRepository;
+import static android.text.TextUtils.isEmpty;
+import static br.com.libertsolutions.libertvendas.app.data.LocalDataInjector.providePriceTableItemRepository;
 import static br.com.libertsolutions.libertvendas.app.presentation.util.EventTracker.SEARCHED_PRODUCTS;
-import static rx.android.schedulers.AndroidSchedulers.mainThread;
 
 /**
  * @author Filipe Bezerra
@@ -45,10 +44,14 @@ public class ProductListFragment extends BaseFragment implements OnRefreshListen
 
     private SearchView mSearchView;
 
-    private PriceTableRepository mPriceTableRepository;
+    private PriceTableItemRepository mPriceTableItemRepository;
 
     private Subscription mCurrentSubscription;
 
+    private Subscription mSearchSubscription;
+
+    private String mSearchText = null;
+
     private ProductListAdapter mProductListAdapter;
 
     private OnGlobalLayoutListener mRecyclerViewLayoutListener = null;
@@ -82,7 +85,7 @@ public class ProductListFragment extends BaseFragment implements OnRefreshListen
         mSwipeRefreshLayout.setColorSchemeResources(R.color.colorPrimary);
         mSwipeRefreshLayout.setProgressBackgroundColorSchemeResource(android.R.color.white);
 
-        mPriceTableRepository = providePriceTableRepository();
+        mPriceTableItemRepository = providePriceTableItemRepository();
 
         return view;
     }
@@ -105,9 +108,7 @@ public class ProductListFragment extends BaseFragment implements OnRefreshListen
             }
 
             @Override public boolean onQueryTextChange(String newText) {
-                if (mProductListAdapter != null) {
-                    mProductListAdapter.getFilter().filter(newText);
-                }
+                searchProducts(newText);
                 return true;
             }
         });
@@ -115,7 +116,8 @@ public class ProductListFragment extends BaseFragment implements OnRefreshListen
 
     @Override public void onPrepareOptionsMenu(final Menu menu) {
         menu.findItem(R.id.action_all_search)
-                .setVisible(mProductListAdapter != null && !mProductListAdapter.isEmptyList());
+                .setVisible(mProductListAdapter != null
+                        && (!mProductListAdapter.isEmptyList() || !isEmpty(mSearchText)));
     }
 
     @Override public void onRefresh() {
@@ -134,18 +136,55 @@ public class ProductListFragment extends BaseFragment implements OnRefreshListen
         }
     }
 
+    /**
+     * A shown list already follows the updated products, only the empty state is reloaded.
+     */
     @Subscribe public void onProductsUpdated(ProductsUpdatedEvent event) {
-        getActivity().runOnUiThread(this::loadProducts);
+        getActivity().runOnUiThread(() -> {
+            if (mProductListAdapter == null) {
+                loadProducts();
+            }
+        });
     }
 
     private void loadProducts() {
-        mCurrentSubscription = mPriceTableRepository
-                .findFirst(new PriceTableByIdSpecification(loadDefaultPriceTableId()))
-                .map(PriceTable::getItems)
-                .observeOn(mainThread())
+        if (mCurrentSubscription != null && !mCurrentSubscription.isUnsubscribed()) {
+            mCurrentSubscription.unsubscribe();
+        }
+        mCurrentSubscription = mPriceTableItemRepository
+                .queryPaged(createPriceTableItemsSpecification())
                 .subscribe(createPriceTableItemListSubscriber());
     }
 
+    /**
+     * Replaces the shown products by the ones matching the text, keeping the list on screen
+     * while the search view is open.
+     */
+    private void searchProducts(final String text) {
+        mSearchText = text;
+        if (mProductListAdapter == null) {
+            return;
+        }
+
+        if (mSearchSubscription != null && !mSearchSubscription.isUnsubscribed()) {
+            mSearchSubscription.unsubscribe();
+        }
+        mSearchSubscription = mPriceTableItemRepository
+                .queryPaged(createPriceTableItemsSpecification())
+                .subscribe(priceTableItems -> {
+                    if (mProductListAdapter != null) {
+                        mProductListAdapter.swapItems(priceTableItems);
+                    } else {
+                        priceTableItems.close();
+                    }
+                }, e -> Timber.e(e, "Could not search products"));
+    }
+
+    private PriceTableItemsSpecification createPriceTableItemsSpecification() {
+        return new PriceTableItemsSpecification(loadDefaultPriceTableId())
+                .byText(mSearchText);
+    }
+
     private int loadDefaultPriceTableId() {
         if (mLoggedUser == null) {
             mLoggedUser = eventBus().getStickyEvent(LoggedInUserEvent.class).getUser();
@@ -153,8 +192,8 @@ public class ProductListFragment extends BaseFragment implements OnRefreshListen
         return mLoggedUser.getDefaultCompany().getPriceTableId();
     }
 
-    private Subscriber<List<PriceTableItem>> createPriceTableItemListSubscriber() {
-        return new Subscriber<List<PriceTableItem>>() {
+    private Subscriber<PagedList<PriceTableItem>> createPriceTableItemListSubscriber() {
+        return new Subscriber<PagedList<PriceTableItem>>() {
             @Override public void onStart() {
                 startLoadingProducts();
             }
@@ -163,7 +202,7 @@ public class ProductListFragment extends BaseFragment implements OnRefreshListen
                 handleLoadProductsError(e);
             }
 
-            @Override public void onNext(final List<PriceTableItem> priceTableItems) {
+            @Override public void onNext(final PagedList<PriceTableItem> priceTableItems) {
                 showProducts(priceTableItems);
             }
 
@@ -173,7 +212,7 @@ public class ProductListFragment extends BaseFragment implements OnRefreshListen
 
     private void startLoadingProducts() {
         mSwipeRefreshLayout.setRefreshing(true);
-        mProductListAdapter = null;
+        closeProducts();
         mRecyclerViewProducts.setAdapter(null);
         mRecyclerViewProducts.setVisibility(View.GONE);
         mLinearLayoutEmptyState.setVisibility(View.VISIBLE);
@@ -187,8 +226,8 @@ public class ProductListFragment extends BaseFragment implements OnRefreshListen
         mLinearLayoutEmptyState.setVisibility(View.GONE);
     }
 
-    private void showProducts(List<PriceTableItem> priceTableItems) {
-        if (!priceTableItems.isEmpty()) {
+    private void showProducts(PagedList<PriceTableItem> priceTableItems) {
+        if (!priceTableItems.isEmpty() || !isEmpty(mSearchText)) {
             mRecyclerViewProducts.setVisibility(View.VISIBLE);
             mRecyclerViewProducts.setAdapter(
                     mProductListAdapter = new ProductListAdapter(priceTableItems));
@@ -197,10 +236,18 @@ public class ProductListFragment extends BaseFragment implements OnRefreshListen
                     .addOnGlobalLayoutListener(
                             mRecyclerViewLayoutListener = this::onRecyclerViewFinishLoading);
         } else {
+            priceTableItems.close();
             mSwipeRefreshLayout.setRefreshing(false);
         }
     }
 
+    private void closeProducts() {
+        if (mProductListAdapter != null) {
+            mProductListAdapter.close();
+            mProductListAdapter = null;
+        }
+    }
+
     private void onRecyclerViewFinishLoading() {
         if (getView() != null) {
             mRecyclerViewProducts
@@ -221,6 +268,11 @@ public class ProductListFragment extends BaseFragment implements OnRefreshListen
         if (mCurrentSubscription != null && !mCurrentSubscription.isUnsubscribed()) {
             mCurrentSubscription.unsubscribe();
         }
+        if (mSearchSubscription != null && !mSearchSubscription.isUnsubscribed()) {
+            mSearchSubscription.unsubscribe();
+        }
+        mRecyclerViewProducts.setAdapter(null);
+        closeProducts();
         if (mSwipeRefreshLayout.isRefreshing()) {
             mSwipeRefreshLayout.setRefreshing(false);
             mLinearLayoutEmptyState.setVisibility(View.GONE);
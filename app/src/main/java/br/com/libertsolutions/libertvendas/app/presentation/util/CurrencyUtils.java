@@ -10,6 +10,8 @@ import static java.math.BigDecimal.ROUND_HALF_UP;
  */
 public class CurrencyUtils {
 
+    private static final double CENTS_PER_UNIT = 100d;
+
     private CurrencyUtils() {}
 
     public static double round(final double value) {
@@ -17,4 +19,23 @@ public class CurrencyUtils {
         BigDecimal scaledValue = bigValue.setScale(CURRENCY_SCALE, ROUND_HALF_UP);
         return scaledValue.doubleValue();
     }
+
+    /**
+     * Converts the amount to cents, rounding half up as {@link #round(double)} does. Amounts
+     * are summed as cents so that long orders do not drift by the floating point errors.
+     */
+    public static long toCents(final double value) {
+        return Math.round(value * CENTS_PER_UNIT);
+    }
+
+    public static double fromCents(final long cents) {
+        return cents / CENTS_PER_UNIT;
+    }
+
+    /**
+     * Returns the percentage of the amount in cents, rounded half up.
+     */
+    public static long percentOf(final long cents, final float percentage) {
+        return Math.round(cents * (double) percentage / CENTS_PER_UNIT);
+    }
 }
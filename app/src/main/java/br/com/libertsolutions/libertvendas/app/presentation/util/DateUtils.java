@@ -2,6 +2,7 @@ package br.com.libertsolutions.libertvendas.app.presentation.util;
 
 import org.joda.time.DateTime;
 import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
 import org.joda.time.LocalTime;
 
 /**
@@ -26,6 +27,30 @@ public class DateUtils {
         return DateTime.now().getMillis();
     }
 
+    /**
+     * Gets the milliseconds of a date-time sent by the server, so date-times written with or
+     * without zone offset and fraction of seconds are compared as instants. The date-times
+     * without zone offset are taken in the default time zone.
+     *
+     * @param dateTime the date-time in ISO 8601
+     * @return the milliseconds
+     * @throws IllegalArgumentException if the date-time is not in ISO 8601
+     */
+    public static long serverDateTimeToMillis(final String dateTime) {
+        return DateTime.parse(dateTime).getMillis();
+    }
+
+    /**
+     * Formats the milliseconds as a date-time in the format sent by the server, in the default
+     * time zone without zone offset.
+     *
+     * @param dateTimeInMillis the milliseconds
+     * @return the date-time in ISO 8601
+     */
+    public static String toServerDateTime(final long dateTimeInMillis) {
+        return new LocalDateTime(dateTimeInMillis).toString();
+    }
+
     /**
      * Gets the year from milliseconds.
      *
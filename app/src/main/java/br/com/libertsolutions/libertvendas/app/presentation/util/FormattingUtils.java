@@ -1,9 +1,9 @@
 package br.com.libertsolutions.libertvendas.app.presentation.util;
 
+import android.util.LruCache;
 import com.google.i18n.phonenumbers.NumberParseException;
 import com.google.i18n.phonenumbers.PhoneNumberUtil;
 import com.google.i18n.phonenumbers.Phonenumber.PhoneNumber;
-import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.Calendar;
 import org.joda.time.DateTime;
@@ -32,12 +32,18 @@ public class FormattingUtils {
 
     private FormattingUtils() {/* No constructor */}
 
-    private static final DecimalFormat sCnpjFormatter = new DecimalFormat("00000000000000");
+    private static final String CPF_MASK = "###.###.###-##";
 
-    private static final DecimalFormat sCpfFormatter = new DecimalFormat("00000000000");
+    private static final String CNPJ_MASK = "##.###.###/####-##";
 
     private static final PhoneNumberUtil sPhoneFormatter = getInstance();
 
+    /**
+     * Phone numbers already formatted, as parsing them is by far the slowest formatting and the
+     * same numbers are shown again and again while scrolling.
+     */
+    private static final LruCache<String, String> sFormattedPhoneNumbers = new LruCache<>(512);
+
     private static final NumberFormat sCurrencyFormatter
             = getCurrencyInstance(PT_BR_DEFAULT_LOCALE);
 
@@ -60,6 +66,10 @@ public class FormattingUtils {
         percentFormatter.setMaximumFractionDigits(PERCENT_SCALE);
     }
 
+    /**
+     * Formats the digits as a CPF when they are up to 11 or as a CNPJ otherwise, padding them
+     * with zeros to the left. Values with anything but digits are returned as they are.
+     */
     public static String formatCpforCnpj(String value) {
         if (StringUtils.isNullOrEmpty(value)) {
             return value;
@@ -70,33 +80,58 @@ public class FormattingUtils {
             return value;
         }
 
-        boolean isCPF = valueSize < 12;
-        DecimalFormat formatDecimal = isCPF ? sCpfFormatter : sCnpjFormatter;
-
-        final String stringNumber = formatDecimal.format(Long.valueOf(value));
+        for (int i = 0; i < valueSize; i++) {
+            if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+                return value;
+            }
+        }
 
-        return isCPF ? stringNumber.replaceAll(
-                "([0-9]{3})([0-9]{3})([0-9]{3})([0-9]{2})", "$1.$2.$3-$4")
-                : stringNumber.replaceAll(
-                        "([0-9]{2})([0-9]{3})([0-9]{3})([0-9]{4})([0-9]{2})",
-                        "$1.$2.$3/$4-$5");
+        final boolean isCPF = valueSize < 12;
+        final String mask = isCPF ? CPF_MASK : CNPJ_MASK;
+        final char[] formatted = new char[mask.length()];
+        int digit = valueSize - (isCPF ? 11 : 14);
+        for (int i = 0; i < formatted.length; i++) {
+            if (mask.charAt(i) == '#') {
+                formatted[i] = digit < 0 ? '0' : value.charAt(digit);
+                digit++;
+            } else {
+                formatted[i] = mask.charAt(i);
+            }
+        }
+        return new String(formatted);
     }
 
     public static String formatPhoneNumber(String phoneNumberText) {
-        try {
-            PhoneNumber phoneNumber = sPhoneFormatter.parse(phoneNumberText, BR_REGION_CODE);
-            return sPhoneFormatter.format(phoneNumber, NATIONAL);
-        } catch (NumberParseException e) {
-            return phoneNumberText;
+        if (phoneNumberText == null) {
+            return null;
         }
+
+        String formatted = sFormattedPhoneNumbers.get(phoneNumberText);
+        if (formatted == null) {
+            try {
+                PhoneNumber phoneNumber = sPhoneFormatter.parse(phoneNumberText, BR_REGION_CODE);
+                formatted = sPhoneFormatter.format(phoneNumber, NATIONAL);
+            } catch (NumberParseException e) {
+                formatted = phoneNumberText;
+            }
+            sFormattedPhoneNumbers.put(phoneNumberText, formatted);
+        }
+        return formatted;
     }
 
+    /**
+     * Number formats are not thread safe and the list rows are also formatted in the background.
+     */
     public static String formatAsCurrency(double value) {
-        return sCurrencyFormatter.format(value);
+        synchronized (sCurrencyFormatter) {
+            return sCurrencyFormatter.format(value);
+        }
     }
 
     public static String formatAsNumber(double value) {
-        return sNumberFormatter.format(value);
+        synchronized (sNumberFormatter) {
+            return sNumberFormatter.format(value);
+        }
     }
 
     public static String formatAsDateTime(long dateTimeInMillis) {
@@ -132,6 +167,8 @@ public class FormattingUtils {
      * @return valor representativo de porcentagem
      */
     public static String formatAsPercent(double notInPercentValue) {
-        return percentFormatter.format(notInPercentValue / 100);
+        synchronized (percentFormatter) {
+            return percentFormatter.format(notInPercentValue / 100);
+        }
     }
 }
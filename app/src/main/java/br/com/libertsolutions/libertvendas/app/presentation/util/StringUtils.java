@@ -1,14 +1,20 @@
 package br.com.libertsolutions.libertvendas.app.presentation.util;
 
-import java.text.Normalizer;
-
-import static java.text.Normalizer.Form.NFD;
-
 /**
  * @author Filipe Bezerra
  */
 public class StringUtils {
 
+    /**
+     * Letters of the Latin-1 block, from U+00C0 to U+00FF, folded to lowercase ASCII. The
+     * signs of multiplication and division are kept as they are.
+     */
+    private static final String LATIN_1_FOLDED
+            = "aaaaaaaceeeeiiii"
+            + "dnooooo\u00D7ouuuuyts"
+            + "aaaaaaaceeeeiiii"
+            + "dnooooo\u00F7ouuuuyty";
+
     private StringUtils() {/* No instances */}
 
     public static boolean isNullOrEmpty(String str) {
@@ -19,11 +25,74 @@ public class StringUtils {
         return str == null || str.toString().isEmpty();
     }
 
-    public static String removeAccents(String str) {
-        if (isNullOrEmpty(str)) {
-            throw new NullPointerException("str is null or empty");
+    /**
+     * Folds the text for searches: lowercase, without accents and with any whitespace or
+     * control character turned into a single space. It needs no normalization nor regular
+     * expressions, so it is cheap enough for every item of a price table, and it accepts null or
+     * empty texts.
+     */
+    public static String foldForSearch(final CharSequence text) {
+        if (text == null || text.length() == 0) {
+            return "";
+        }
+
+        final char[] folded = new char[text.length()];
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = foldForSearch(text.charAt(i));
+            if (c == 0 || (c == ' ' && (length == 0 || folded[length - 1] == ' '))) {
+                continue;
+            }
+            folded[length++] = c;
+        }
+
+        if (length > 0 && folded[length - 1] == ' ') {
+            length--;
+        }
+        return new String(folded, 0, length);
+    }
+
+    /**
+     * Folds a single character as {@link #foldForSearch(CharSequence)} does, returning 0 for
+     * the combining marks, which are dropped.
+     */
+    public static char foldForSearch(final char c) {
+        if (c < 0x80) {
+            if (c >= 'A' && c <= 'Z') {
+                return (char) (c + ('a' - 'A'));
+            }
+            return c <= ' ' || c == 0x7F ? ' ' : c;
         }
 
-        return Normalizer.normalize(str, NFD).replaceAll("[^\\p{ASCII}]", "");
+        if (c >= 0xC0 && c <= 0xFF) {
+            return LATIN_1_FOLDED.charAt(c - 0xC0);
+        }
+
+        if (Character.isWhitespace(c) || Character.isISOControl(c) || c == 0xA0) {
+            return ' ';
+        }
+
+        return Character.getType(c) == Character.NON_SPACING_MARK
+                ? 0 : Character.toLowerCase(c);
+    }
+
+    /**
+     * Keeps only the digits of the text, as CPF, CNPJ and phone numbers are searched whatever
+     * their punctuation.
+     */
+    public static String digitsOf(final CharSequence text) {
+        if (text == null || text.length() == 0) {
+            return "";
+        }
+
+        final char[] digits = new char[text.length()];
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits[length++] = c;
+            }
+        }
+        return new String(digits, 0, length);
     }
 }
@@ -0,0 +1,77 @@
+package br.com.libertsolutions.libertvendas.app.presentation.widget.recyclerview;
+
+import android.support.annotation.NonNull;
+import android.util.LruCache;
+import java.util.List;
+import rx.Scheduler;
+import rx.schedulers.Schedulers;
+import timber.log.Timber;
+
+/**
+ * Display models of the rows of a list, holding the texts ready to be set on the views. They
+ * are cached by the version of the item they show, so an item is formatted once until it
+ * changes. The rows ahead of the screen are prefetched in the background, the binding only
+ * formats on the main thread the rows it finds missing.
+ *
+ * @author Filipe Bezerra
+ */
+public class DisplayModelCache<T, D> {
+
+    public interface Factory<T, D> {
+
+        /**
+         * Returns the key of the item along with the values it shows, so a changed item gets a
+         * new key and is formatted again.
+         */
+        String versionKeyOf(@NonNull T item);
+
+        /**
+         * Formats the item, possibly on a background thread.
+         */
+        D create(@NonNull T item);
+    }
+
+    private final Factory<T, D> mFactory;
+
+    private final LruCache<String, D> mModels;
+
+    private Scheduler.Worker mPrefetchWorker = Schedulers.computation().createWorker();
+
+    public DisplayModelCache(@NonNull final Factory<T, D> factory, final int maxSize) {
+        mFactory = factory;
+        mModels = new LruCache<>(maxSize);
+    }
+
+    public D get(@NonNull final T item) {
+        final String key = mFactory.versionKeyOf(item);
+        D model = mModels.get(key);
+        if (model == null) {
+            model = mFactory.create(item);
+            mModels.put(key, model);
+        }
+        return model;
+    }
+
+    /**
+     * Formats in the background the items not cached yet, in the order they were prefetched.
+     */
+    public void prefetch(@NonNull final List<T> items) {
+        mPrefetchWorker.schedule(() -> {
+            try {
+                for (T item : items) {
+                    get(item);
+                }
+            } catch (RuntimeException e) {
+                Timber.w(e, "Could not prefetch the display models");
+            }
+        });
+    }
+
+    /**
+     * Drops the prefetches not done yet, the cached models are kept.
+     */
+    public void cancelPrefetches() {
+        mPrefetchWorker.unsubscribe();
+        mPrefetchWorker = Schedulers.computation().createWorker();
+    }
+}
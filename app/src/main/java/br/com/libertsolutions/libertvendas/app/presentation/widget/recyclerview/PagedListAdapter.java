@@ -0,0 +1,205 @@
+package br.com.libertsolutions.libertvendas.app.presentation.widget.recyclerview;
+
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+import br.com.libertsolutions.libertvendas.app.data.repository.ChangeSet;
+import br.com.libertsolutions.libertvendas.app.data.repository.ChangeSet.Range;
+import br.com.libertsolutions.libertvendas.app.data.repository.PagedList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import rx.Subscription;
+
+/**
+ * Adapter of a {@link PagedList} that follows its changes, notifying only the ranges of rows
+ * changed instead of rebinding the whole list. The adapter owns the list and closes it when
+ * swapped or closed.
+ *
+ * <p>Adapters created with a {@link DisplayModelCache.Factory} bind their rows through
+ * {@link #getDisplayModel(int)}, which also prefetches in the background the display models of
+ * the rows about to be scrolled into view and of the changed ones. Adapters without display
+ * models declare {@link Void} as their type.
+ *
+ * @author Filipe Bezerra
+ */
+public abstract class PagedListAdapter<T, D, VH extends RecyclerView.ViewHolder>
+        extends RecyclerView.Adapter<VH> {
+
+    private static final int PREFETCH_SIZE = 30;
+
+    private static final int CACHED_DISPLAY_MODELS = 300;
+
+    private PagedList<T> mItems;
+
+    private final DisplayModelCache<T, D> mDisplayModels;
+
+    private Subscription mChangesSubscription;
+
+    /**
+     * Range of rows whose display models are prepared, from the first up to the one before the
+     * last. It follows the bound position and starts over when the position leaves it.
+     */
+    private int mPrefetchedFrom = 0;
+
+    private int mPrefetchedTo = 0;
+
+    private int mLastBoundPosition = -1;
+
+    protected PagedListAdapter(@NonNull final PagedList<T> items) {
+        mDisplayModels = null;
+        setItems(items);
+    }
+
+    protected PagedListAdapter(
+            @NonNull final PagedList<T> items,
+            @NonNull final DisplayModelCache.Factory<T, D> displayModelFactory) {
+        mDisplayModels = new DisplayModelCache<>(displayModelFactory, CACHED_DISPLAY_MODELS);
+        setItems(items);
+    }
+
+    @Override public int getItemCount() {
+        return mItems.size();
+    }
+
+    public boolean isEmptyList() {
+        return getItemCount() == 0;
+    }
+
+    public T getItem(@IntRange(from = 0) int position) {
+        if (position < 0 || position >= mItems.size()) {
+            return null;
+        }
+        return mItems.get(position);
+    }
+
+    public int getItemPosition(@NonNull T item) {
+        return mItems.indexOf(item);
+    }
+
+    /**
+     * Replaces the list by the results of another query, closing the current one.
+     */
+    public void swapItems(@NonNull final PagedList<T> items) {
+        close();
+        setItems(items);
+        notifyDataSetChanged();
+    }
+
+    public void close() {
+        if (mDisplayModels != null) {
+            mDisplayModels.cancelPrefetches();
+        }
+        mChangesSubscription.unsubscribe();
+        mItems.close();
+    }
+
+    /**
+     * Returns the display model of the row being bound, formatting it on the main thread only
+     * when it was not prefetched, and prefetches the rows ahead of it.
+     */
+    protected D getDisplayModel(@IntRange(from = 0) final int position) {
+        final D displayModel = mDisplayModels.get(getItem(position));
+        prefetchItemsAround(position);
+        return displayModel;
+    }
+
+    /**
+     * Prefetches the rows ahead of the bound position, in the direction it moves, when the ones
+     * prefetched are running out. It goes in batches so the background work is not scheduled
+     * for every row, and the rows left behind are dropped from the range as the cache may
+     * evict them.
+     */
+    private void prefetchItemsAround(final int position) {
+        final boolean forward = position >= mLastBoundPosition;
+        mLastBoundPosition = position;
+
+        if (position < mPrefetchedFrom || position >= mPrefetchedTo) {
+            // Jumped away from the prefetched rows, the bound one is formatted already
+            mPrefetchedFrom = position;
+            mPrefetchedTo = position + 1;
+        }
+
+        if (forward) {
+            if (mPrefetchedTo >= position + PREFETCH_SIZE / 2) {
+                return;
+            }
+
+            final int end = Math.min(position + 1 + PREFETCH_SIZE, getItemCount());
+            if (mPrefetchedTo < end) {
+                mDisplayModels.prefetch(itemsBetween(mPrefetchedTo, end));
+                mPrefetchedTo = end;
+            }
+            mPrefetchedFrom = Math.max(mPrefetchedFrom, position - PREFETCH_SIZE);
+        } else {
+            if (mPrefetchedFrom <= position - PREFETCH_SIZE / 2) {
+                return;
+            }
+
+            final int start = Math.max(position - PREFETCH_SIZE, 0);
+            if (start < mPrefetchedFrom) {
+                // Closest rows first, they are shown first
+                final List<T> items = itemsBetween(start, mPrefetchedFrom);
+                Collections.reverse(items);
+                mDisplayModels.prefetch(items);
+                mPrefetchedFrom = start;
+            }
+            mPrefetchedTo = Math.min(mPrefetchedTo, position + 1 + PREFETCH_SIZE);
+        }
+    }
+
+    protected void onItemsChanged(final ChangeSet changes) {
+        if (changes.isReloaded()) {
+            resetPrefetchedRange();
+            notifyDataSetChanged();
+            return;
+        }
+
+        if (changes.isStructural()) {
+            // The rows from the first removal or insertion on have moved
+            mPrefetchedTo = Math.max(mPrefetchedFrom,
+                    Math.min(mPrefetchedTo, changes.getFirstChangedPosition()));
+        }
+        if (mDisplayModels != null) {
+            for (Range range : changes.getChangedRanges()) {
+                final int end = Math.min(range.getStart() + range.getLength(), getItemCount());
+                if (range.getStart() < end) {
+                    mDisplayModels.prefetch(itemsBetween(range.getStart(),
+                            Math.min(end, range.getStart() + PREFETCH_SIZE)));
+                }
+            }
+        }
+
+        // Removed ranges refer to the old positions, so the last ones go first
+        final Range[] removedRanges = changes.getRemovedRanges();
+        for (int i = removedRanges.length - 1; i >= 0; i--) {
+            notifyItemRangeRemoved(removedRanges[i].getStart(), removedRanges[i].getLength());
+        }
+        for (Range range : changes.getInsertedRanges()) {
+            notifyItemRangeInserted(range.getStart(), range.getLength());
+        }
+        for (Range range : changes.getChangedRanges()) {
+            notifyItemRangeChanged(range.getStart(), range.getLength());
+        }
+    }
+
+    private List<T> itemsBetween(final int start, final int end) {
+        final List<T> items = new ArrayList<>(end - start);
+        for (int position = start; position < end; position++) {
+            items.add(mItems.get(position));
+        }
+        return items;
+    }
+
+    private void resetPrefetchedRange() {
+        mPrefetchedFrom = 0;
+        mPrefetchedTo = 0;
+        mLastBoundPosition = -1;
+    }
+
+    private void setItems(final PagedList<T> items) {
+        mItems = items;
+        resetPrefetchedRange();
+        mChangesSubscription = items.changes().subscribe(this::onItemsChanged);
+    }
+}